@@ -0,0 +1,28 @@
+package swimworkoutbuilder.tests;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+/**
+ * Shared model objects for the tests, so each test file does not carry its own copy.
+ */
+final class Fixtures {
+
+    private Fixtures() { }
+
+    /** {@code reps × yards} freestyle, endurance, SCY. */
+    static SwimSet yards(int reps, int yards) {
+        return new SwimSet(StrokeType.FREESTYLE, reps, Distance.ofYards(yards), Effort.ENDURANCE, Course.SCY);
+    }
+
+    /** A swimmer with only a 1:18 / 100y freestyle seed. */
+    static Swimmer swimmer() {
+        Swimmer sw = new Swimmer("Test", "Swimmer");
+        sw.updateSeed100Y(StrokeType.FREESTYLE, 78);
+        return sw;
+    }
+}
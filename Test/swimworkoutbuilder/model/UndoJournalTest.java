@@ -0,0 +1,311 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.UndoJournal;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UndoJournalTest {
+
+    private static Workout workout200() {
+        Workout w = new Workout(UUID.randomUUID(), "Big", Course.SCY);
+        for (int g = 0; g < 10; g++) {
+            SetGroup group = new SetGroup("G" + g, 1 + g % 3, g + 1);
+            for (int s = 0; s < 20; s++) {
+                group.addSet(new SwimSet(StrokeType.FREESTYLE, 1 + s % 8, Distance.ofYards(25 * (1 + s % 8)),
+                        Effort.ENDURANCE, Course.SCY));
+            }
+            w.addSetGroup(group);
+        }
+        return w;
+    }
+
+    // Everything undo must restore, as one string
+    private static String fingerprint(Workout w) {
+        StringBuilder sb = new StringBuilder(w.getName()).append('|').append(w.getCourse()).append('|')
+                .append(w.getNotes()).append('|').append(w.totalMicroUnits()).append('\n');
+        for (SetGroup g : w.getGroups()) {
+            sb.append(g.getId()).append(' ').append(g.getName()).append(" x").append(g.getReps())
+                    .append(" o").append(g.getOrder()).append(" r").append(g.getRestAfterGroupSec()).append('\n');
+            for (SwimSet s : g.getSets()) {
+                sb.append("  ").append(System.identityHashCode(s)).append(' ').append(s)
+                        .append(' ').append(s.getDistancePerRep().displayUnit()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static SwimSet newSet(Random rnd) {
+        int n = 1 + rnd.nextInt(8);
+        return new SwimSet(StrokeType.BACKSTROKE, n, Distance.ofYards(25 * n), Effort.THRESHOLD, Course.SCY);
+    }
+
+    private static void randomEdit(Workout w, Random rnd) {
+        SetGroup g = w.getGroups().get(rnd.nextInt(w.getGroupCount()));
+        SwimSet s = g.getSets().get(rnd.nextInt(g.getSetCount()));
+        switch (rnd.nextInt(12)) {
+            case 0 -> s.setReps(1 + rnd.nextInt(12));
+            case 1 -> s.setDistancePerRep(Distance.ofYards(25 * (1 + rnd.nextInt(16))));
+            case 2 -> s.setEffort(Effort.values()[rnd.nextInt(Effort.values().length)]);
+            case 3 -> s.setNotes("n" + rnd.nextInt(1000));
+            case 4 -> {
+                Equipment e = Equipment.values()[rnd.nextInt(Equipment.values().length)];
+                if (s.hasEquipment(e)) s.removeEquipment(e); else s.addEquipment(e);
+            }
+            case 5 -> g.setReps(1 + rnd.nextInt(4));
+            case 6 -> g.moveSet(rnd.nextInt(g.getSetCount()), rnd.nextInt(g.getSetCount()));
+            case 7 -> { if (g.getSetCount() > 1) g.removeSet(s); else g.addSet(newSet(rnd)); }
+            case 8 -> g.addSet(newSet(rnd));
+            case 9 -> { if (w.getGroupCount() > 1) w.removeSetGroup(w.getGroups().indexOf(g)); }
+            case 10 -> {
+                SetGroup added = new SetGroup("N" + rnd.nextInt(100), 1, w.getGroupCount() + 1);
+                for (int k = 1 + rnd.nextInt(4); k > 0; k--) added.addSet(newSet(rnd));
+                w.addSetGroup(added);
+            }
+            default -> s.setCourse(Course.values()[rnd.nextInt(Course.values().length)]);
+        }
+    }
+
+    @Test
+    void tenThousandEditsStayWithinAFewMegabytesAndUndoExactly() {
+        Workout w = workout200();
+        String original = fingerprint(w);
+        Random rnd = new Random(23);
+
+        UndoJournal journal = new UndoJournal(w, Long.MAX_VALUE);
+        for (int i = 0; i < 10_000; i++) {
+            randomEdit(w, rnd);
+            journal.checkpoint();
+        }
+        String edited = fingerprint(w);
+
+        assertTrue(journal.estimatedBytes() < 3L << 20, "estimate " + journal.estimatedBytes());
+
+        while (journal.undo()) { }
+        assertEquals(original, fingerprint(w));
+        while (journal.redo()) { }
+        assertEquals(edited, fingerprint(w));
+    }
+
+    @Test
+    void budgetEvictsOldestStepsButKeepsRecentOnesUndoable() {
+        Workout w = workout200();
+        Random rnd = new Random(7);
+        UndoJournal journal = new UndoJournal(w, 64 * 1024);
+        String[] states = new String[5_001];
+        states[0] = fingerprint(w);
+        for (int i = 1; i <= 5_000; i++) {
+            randomEdit(w, rnd);
+            journal.checkpoint();
+            states[i] = fingerprint(w);
+        }
+
+        assertTrue(journal.estimatedBytes() <= 64 * 1024);
+        int kept = journal.undoCount();
+        assertTrue(kept > 100 && kept < 5_000, "kept " + kept);
+        for (int i = 0; i < 50; i++) assertTrue(journal.undo());
+        // Merged steps cover several edits, so compare against the last state reached, not an index
+        String afterUndo = fingerprint(w);
+        assertNotEquals(states[5_000], afterUndo);
+        while (journal.redo()) { }
+        assertEquals(states[5_000], fingerprint(w));
+    }
+
+    @Test
+    void deletedGroupComesBackWithItsSets() {
+        Workout w = workout200();
+        UndoJournal journal = new UndoJournal(w);
+        String before = fingerprint(w);
+        long total = w.totalMicroUnits();
+        SetGroup victim = w.getGroups().get(3);
+
+        w.removeSetGroup(3);
+        for (int i = 0; i < w.getGroupCount(); i++) w.getGroups().get(i).setOrder(i + 1);   // as the UI renumbers
+        journal.checkpoint();
+        assertNotEquals(total, w.totalMicroUnits());
+
+        assertTrue(journal.undo());
+        assertSame(victim, w.getGroups().get(3));
+        assertEquals(total, w.totalMicroUnits());
+        assertEquals(before, fingerprint(w));
+        assertFalse(journal.canUndo());
+
+        assertTrue(journal.redo());
+        assertEquals(9, w.getGroupCount());
+        assertFalse(w.getGroups().contains(victim));
+    }
+
+    @Test
+    void consecutiveEditsOfOneFieldMergeAndNoOpsAreIgnored() {
+        Workout w = workout200();
+        UndoJournal journal = new UndoJournal(w);
+        SwimSet s = w.getGroups().get(0).getSets().get(0);
+        int reps = s.getReps();
+
+        for (int r = 5; r <= 9; r++) { s.setReps(r); journal.checkpoint(); }
+        assertEquals(1, journal.undoCount());
+
+        s.setStroke(s.getStroke());       // same value: nothing to undo
+        journal.checkpoint();
+        assertEquals(1, journal.undoCount());
+
+        s.setEffort(Effort.SPRINT);        // another field breaks the run
+        journal.checkpoint();
+        s.setReps(3);
+        journal.checkpoint();
+        assertEquals(3, journal.undoCount());
+
+        journal.undo();
+        assertEquals(9, s.getReps());
+        journal.undo();
+        assertEquals(Effort.ENDURANCE, s.getEffort());
+        journal.undo();
+        assertEquals(reps, s.getReps());
+
+        // A new edit after undo drops the redo branch
+        s.setNotes("new");
+        journal.checkpoint();
+        assertFalse(journal.canRedo());
+    }
+
+    @Test
+    void estimateTracksTheMeasuredRetainedSize() {
+        for (long seed : new long[]{1, 23, 99}) {
+            Workout w = workout200();
+            Random rnd = new Random(seed);
+            UndoJournal journal = new UndoJournal(w, Long.MAX_VALUE);
+            for (int i = 0; i < 3_000; i++) {
+                randomEdit(w, rnd);
+                journal.checkpoint();
+            }
+            for (int i = 0; i < 1_000; i++) journal.undo();          // history on both sides
+
+            long measured = Layout.retainedBytes(journal, w);
+            long estimate = journal.estimatedBytes();
+            // The measurement sees no spare list capacity, so the estimate may sit a little above it
+            assertTrue(estimate >= measured * 0.95 && estimate <= measured * 1.15,
+                    "seed " + seed + ": estimate " + estimate + " vs measured " + measured);
+        }
+    }
+
+    /**
+     * JOL-style shallow layout for a 64-bit JVM with compressed oops and class pointers
+     * (12-byte object header, 16-byte array header, 4-byte references, 8-byte alignment),
+     * summed over the objects only the journal keeps alive.
+     */
+    private static final class Layout {
+
+        static long retainedBytes(UndoJournal journal, Workout live) {
+            Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+            shared.add(journal);
+            walk(live, shared, null);                                  // everything the workout still holds
+            shared.remove(journal);
+
+            long[] total = {0};
+            Set<Object> own = Collections.newSetFromMap(new IdentityHashMap<>());
+            own.addAll(shared);
+            walk(journal, own, total);
+            return total[0];
+        }
+
+        // Depth-first over instance fields; JDK internals that cannot be opened are sized from their API
+        private static void walk(Object root, Set<Object> seen, long[] total) {
+            ArrayDeque<Object> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Object o = stack.pop();
+                if (isShared(o) || !seen.add(o)) continue;
+                Class<?> c = o.getClass();
+                if (c.isArray()) {
+                    if (total != null) total[0] += align(16 + (long) Array.getLength(o) * slot(c.getComponentType()));
+                    if (!c.getComponentType().isPrimitive()) {
+                        for (int i = Array.getLength(o) - 1; i >= 0; i--) push(stack, Array.get(o, i));
+                    }
+                    continue;
+                }
+                if (total != null) total[0] += shallow(c);
+                if (o instanceof String str) {
+                    if (total != null) total[0] += align(16 + (long) str.length() * (isLatin1(str) ? 1 : 2));
+                    continue;
+                }
+                if (c.getName().startsWith("java.")) {
+                    if (o instanceof Collection<?> col) {
+                        if (total != null) total[0] += align(16 + 4L * col.size());   // backing array, no slack
+                        for (Object e : col) push(stack, e);
+                    } else if (o instanceof Map<?, ?> map) {
+                        if (total != null) total[0] += align(16 + 4L * map.size()) + 32L * map.size();
+                        for (Map.Entry<?, ?> e : map.entrySet()) { push(stack, e.getKey()); push(stack, e.getValue()); }
+                    }
+                    continue;
+                }
+                for (Class<?> k = c; k != null; k = k.getSuperclass()) {
+                    for (Field f : k.getDeclaredFields()) {
+                        if (Modifier.isStatic(f.getModifiers()) || f.getType().isPrimitive()) continue;
+                        if (!f.trySetAccessible()) continue;
+                        try {
+                            push(stack, f.get(o));
+                        } catch (IllegalAccessException ex) {
+                            throw new AssertionError(ex);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void push(ArrayDeque<Object> stack, Object o) {
+            if (o != null) stack.push(o);
+        }
+
+        // Enums, classes, and cached boxes are shared by the whole JVM
+        private static boolean isShared(Object o) {
+            if (o instanceof Enum<?> || o instanceof Class<?>) return true;
+            if (o instanceof Integer i) return i >= -128 && i <= 127;
+            return o instanceof Boolean;
+        }
+
+        private static long shallow(Class<?> c) {
+            long size = 12;
+            for (Class<?> k = c; k != null; k = k.getSuperclass()) {
+                for (Field f : k.getDeclaredFields()) {
+                    if (!Modifier.isStatic(f.getModifiers())) size += slot(f.getType());
+                }
+            }
+            return align(size);
+        }
+
+        private static int slot(Class<?> t) {
+            if (t == long.class || t == double.class) return 8;
+            if (t == int.class || t == float.class) return 4;
+            if (t == short.class || t == char.class) return 2;
+            if (t == byte.class || t == boolean.class) return 1;
+            return 4;
+        }
+
+        private static boolean isLatin1(String s) {
+            for (int i = 0; i < s.length(); i++) if (s.charAt(i) > 0xFF) return false;
+            return true;
+        }
+
+        private static long align(long bytes) { return (bytes + 7) & ~7L; }
+    }
+}
@@ -0,0 +1,123 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.PacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkoutAggregatesTest {
+
+    /** Recomputes every total the slow way and compares with the maintained ones. */
+    private static void assertConsistent(Workout w) {
+        long pass = 0, total = 0, passReps = 0, totalReps = 0;
+        for (SetGroup g : w.getGroups()) {
+            long gMicro = 0, gReps = 0;
+            for (SwimSet s : g.getSets()) {
+                gMicro += s.getDistancePerRep().rawMicroUnits() * s.getReps();
+                gReps += s.getReps();
+            }
+            assertEquals(gMicro, g.singlePassMicroUnits(), g.getName());
+            assertEquals(gReps, g.singlePassRepCount(), g.getName());
+            pass += gMicro;
+            total += gMicro * g.getReps();
+            passReps += gReps;
+            totalReps += gReps * g.getReps();
+        }
+        assertEquals(pass, w.singlePassMicroUnits());
+        assertEquals(total, w.totalMicroUnits());
+        assertEquals(passReps, w.singlePassRepCount());
+        assertEquals(totalReps, w.totalRepCount());
+        assertEquals(total, w.totalDistance().rawMicroUnits());
+    }
+
+    @Test
+    void totalsFollowRandomEdits() {
+        Random rnd = new Random(20);
+        Workout w = new Workout(new Swimmer("A", "B").getId(), "Random", Course.SCY);
+        for (int step = 0; step < 2_000; step++) {
+            int groups = w.getGroupCount();
+            SetGroup g = (groups == 0) ? null : w.getGroups().get(rnd.nextInt(groups));
+            SwimSet s = (g == null || g.getSetCount() == 0) ? null : g.getSets().get(rnd.nextInt(g.getSetCount()));
+            switch (rnd.nextInt(10)) {
+                case 0 -> w.addSetGroup(new SetGroup("G" + step, 1 + rnd.nextInt(4), step));
+                case 1 -> { if (g != null) g.addSet(Fixtures.yards(1 + rnd.nextInt(8), 25 * (1 + rnd.nextInt(8)))); }
+                case 2 -> { if (g != null) g.getSets().add(0, Fixtures.yards(2, 100)); }
+                case 3 -> { if (s != null) g.removeSet(s); }
+                case 4 -> { if (s != null) s.setReps(1 + rnd.nextInt(10)); }
+                case 5 -> { if (s != null) s.setDistancePerRep(Distance.ofYards(10 + rnd.nextInt(300))); }
+                case 6 -> { if (s != null) s.setCourse(Course.values()[rnd.nextInt(Course.values().length)]); }
+                case 7 -> { if (g != null) g.setReps(1 + rnd.nextInt(5)); }
+                case 8 -> { if (groups > 1) Collections.swap(w.getGroups(), 0, groups - 1); }
+                default -> { if (groups > 3) w.getGroups().remove(g); }
+            }
+            assertConsistent(w);
+        }
+    }
+
+    @Test
+    void listsAreViewsThatKeepTotalsInStep() {
+        Workout w = new Workout(new Swimmer("A", "B").getId(), "Views", Course.SCY);
+        SetGroup main = new SetGroup("Main", 3, 1);
+        SwimSet shared = Fixtures.yards(4, 100);
+        w.getGroups().add(main);
+        main.getSets().add(shared);
+        main.getSets().add(shared);                 // same set twice in one pass
+        SetGroup other = new SetGroup("Other", 1, 2);
+        other.addSet(shared);                       // and again in another group
+        w.insertSetGroup(0, other);
+
+        assertEquals(Distance.ofYards(4 * 100 * 2 * 3 + 400).rawMicroUnits(), w.totalMicroUnits());
+        shared.setReps(1);
+        assertEquals(Distance.ofYards(100 * 2 * 3 + 100).rawMicroUnits(), w.totalMicroUnits());
+        assertConsistent(w);
+
+        main.getSets().remove(shared);
+        w.getGroups().set(0, new SetGroup("Empty", 1, 0));
+        assertConsistent(w);
+        assertEquals(Distance.ofYards(100 * 3).rawMicroUnits(), w.totalMicroUnits());
+        assertThrows(UnsupportedOperationException.class, () -> shared.getEquipment().add(Equipment.FINS));
+    }
+
+    @Test
+    void compiledPlanGoesStaleOnAnyEdit() {
+        Swimmer sw = new Swimmer("A", "B");
+        sw.updateSeedTime(StrokeType.FREESTYLE, Distance.ofYards(100), TimeSpan.ofSeconds(70));
+        Workout w = new Workout(sw.getId(), "Plan", Course.SCY);
+        SetGroup g = new SetGroup("Main", 1, 1);
+        SwimSet s = Fixtures.yards(4, 100);
+        g.addSet(s);
+        w.addSetGroup(g);
+        PacePolicy policy = new DefaultPacePolicy();
+
+        PacingPlan plan = PacingPlan.compile(w, sw, policy);
+        assertTrue(plan.isFor(w, sw, policy));
+        long rev = w.getRevision();
+
+        s.setEffort(Effort.SPRINT);                 // no distance change, timing changes
+        assertTrue(w.getRevision() > rev);
+        assertFalse(plan.isFor(w, sw, policy));
+
+        plan = PacingPlan.compile(w, sw, policy);
+        g.setRestAfterGroupSec(30);
+        assertFalse(plan.isFor(w, sw, policy));
+
+        plan = PacingPlan.compile(w, sw, policy);
+        sw.updateSeedTime(StrokeType.FREESTYLE, Distance.ofYards(100), TimeSpan.ofSeconds(65));
+        assertFalse(plan.isFor(w, sw, policy));
+    }
+}
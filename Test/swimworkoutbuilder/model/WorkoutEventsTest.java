@@ -0,0 +1,128 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.WorkoutChangeBatch;
+import swimworkoutbuilder.model.WorkoutEvent;
+import swimworkoutbuilder.model.WorkoutEvent.Kind;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkoutEventsTest {
+
+    private static Workout workout() {
+        return new Workout(new Swimmer("A", "B").getId(), "Events", Course.SCY);
+    }
+
+    @Test
+    void mutatorsFireTypedEventsWithPositions() {
+        Workout w = workout();
+        List<WorkoutEvent> seen = new ArrayList<>();
+        w.addChangeListener(seen::add);
+
+        SetGroup g = new SetGroup("Main", 1, 1);
+        w.addSetGroup(g);
+        SwimSet a = Fixtures.yards(4, 100), b = Fixtures.yards(8, 50);
+        g.addSet(a);
+        g.getSets().add(0, b);
+        g.moveSet(0, 1);
+        a.setEffort(Effort.SPRINT);
+        g.setReps(3);
+        g.removeSet(b);
+        w.setName("Renamed");
+
+        assertEquals(List.of(Kind.GROUP_ADDED, Kind.SET_ADDED, Kind.SET_ADDED, Kind.SET_MOVED,
+                        Kind.SET_CHANGED, Kind.GROUP_CHANGED, Kind.SET_REMOVED, Kind.WORKOUT_CHANGED),
+                seen.stream().map(WorkoutEvent::getKind).toList());
+        assertEquals(0, seen.get(2).getToIndex());
+        assertSame(b, seen.get(3).getSet());
+        assertEquals(0, seen.get(3).getFromIndex());
+        assertEquals(1, seen.get(3).getToIndex());
+        assertSame(a, seen.get(4).getSet());
+        assertSame(g, seen.get(4).getGroup());
+        assertEquals(1, seen.get(6).getFromIndex());
+        assertSame(w, seen.get(7).getWorkout());
+    }
+
+    @Test
+    void replayingStructuralEventsReproducesTheOrder() {
+        Workout w = workout();
+        for (int i = 0; i < 6; i++) w.addSetGroup(new SetGroup("G" + i, 1, i));
+        List<SetGroup> mirror = new ArrayList<>(w.getGroups());
+        WorkoutChangeBatch batch = new WorkoutChangeBatch();
+        w.addChangeListener(batch);
+
+        Random rnd = new Random(21);
+        for (int step = 0; step < 500; step++) {
+            int n = w.getGroupCount();
+            switch (rnd.nextInt(5)) {
+                case 0 -> w.swapGroups(rnd.nextInt(n), rnd.nextInt(n));
+                case 1 -> w.moveGroup(rnd.nextInt(n), rnd.nextInt(n));
+                case 2 -> Collections.swap(w.getGroups(), rnd.nextInt(n), rnd.nextInt(n));
+                case 3 -> w.insertSetGroup(rnd.nextInt(n + 1), new SetGroup("N" + step, 1, 0));
+                default -> { if (n > 3) w.removeSetGroup(rnd.nextInt(n)); }
+            }
+        }
+        for (WorkoutEvent e : batch.structuralEvents()) {
+            switch (e.getKind()) {
+                case GROUP_ADDED   -> mirror.add(e.getToIndex(), e.getGroup());
+                case GROUP_REMOVED -> assertSame(e.getGroup(), mirror.remove(e.getFromIndex()));
+                case GROUP_MOVED   -> mirror.add(e.getToIndex(), mirror.remove(e.getFromIndex()));
+                default -> fail("unexpected " + e);
+            }
+        }
+        assertEquals(w.getGroups(), mirror);
+    }
+
+    @Test
+    void batchCoalescesEditsAndSchedulesOnce() {
+        Workout w = workout();
+        SetGroup g = new SetGroup("Main", 1, 1);
+        SwimSet s = Fixtures.yards(4, 100);
+        g.addSet(s);
+        w.addSetGroup(g);
+
+        int[] scheduled = {0};
+        WorkoutChangeBatch batch = new WorkoutChangeBatch(() -> scheduled[0]++);
+        w.addChangeListener(batch);
+
+        // What the set dialog does on OK: one call per field
+        s.setStroke(StrokeType.BACKSTROKE);
+        s.setEffort(Effort.THRESHOLD);
+        s.setReps(6);
+        s.setDistancePerRep(Distance.ofYards(75));
+        s.setNotes("smooth");
+        s.addEquipment(Equipment.FINS);
+        g.setName("Main 1");
+        g.setRestAfterGroupSec(60);
+
+        assertEquals(1, scheduled[0]);
+        assertEquals(8, batch.eventCount());
+        assertFalse(batch.hasStructuralChanges());
+        assertEquals(1, batch.changedSets().size());
+        assertTrue(batch.changedSets().contains(s));
+        assertEquals(1, batch.changedGroups().size());
+
+        batch.clear();
+        assertTrue(batch.isEmpty());
+        s.setReps(2);
+        assertEquals(2, scheduled[0]);
+
+        w.removeChangeListener(batch);
+        s.setReps(3);
+        assertEquals(1, batch.eventCount());
+    }
+}
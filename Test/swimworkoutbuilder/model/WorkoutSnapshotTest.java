@@ -0,0 +1,113 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.GroupSnapshot;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.WorkoutSnapshot;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeSpan;
+import swimworkoutbuilder.model.utils.PersistentVector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkoutSnapshotTest {
+
+    private static Workout bigWorkout(Swimmer sw) {
+        Workout w = new Workout(sw.getId(), "Big", Course.SCY);
+        for (int g = 0; g < 10; g++) {
+            SetGroup group = new SetGroup("G" + g, 1 + g % 3, g + 1);
+            for (int s = 0; s < 15; s++) group.addSet(Fixtures.yards(1 + s % 8, 25 * (1 + s % 8)));
+            w.addSetGroup(group);
+        }
+        return w;
+    }
+
+    @Test
+    void vectorVersionsBehaveLikeIndependentLists() {
+        Random rnd = new Random(22);
+        for (int n : new int[] {0, 1, 31, 32, 33, 64, 1_056, 1_057, 40_000}) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) expected.add(i);
+            PersistentVector<Integer> built = PersistentVector.of(expected);
+            PersistentVector<Integer> appended = PersistentVector.empty();
+            for (int i = 0; i < n; i++) appended = appended.append(i);
+            assertEquals(expected, built.asList(), "of " + n);
+            assertEquals(expected, appended.asList(), "append " + n);
+
+            PersistentVector<Integer> edited = built;
+            List<Integer> editedExpected = new ArrayList<>(expected);
+            for (int k = 0; k < Math.min(n, 200); k++) {
+                int i = rnd.nextInt(n);
+                edited = edited.set(i, -i);
+                editedExpected.set(i, -i);
+            }
+            PersistentVector<Integer> grown = edited.append(n).append(n + 1);
+            editedExpected.add(n);
+            editedExpected.add(n + 1);
+            assertEquals(editedExpected, grown.asList(), "edited " + n);
+            assertEquals(expected, built.asList(), "original untouched " + n);
+        }
+    }
+
+    @Test
+    void editProducesNewSnapshotSharingUntouchedParts() {
+        Workout w = bigWorkout(new Swimmer("A", "B"));
+        WorkoutSnapshot s1 = w.snapshot();
+        assertSame(s1, w.snapshot());
+
+        SwimSet edited = w.getGroups().get(4).getSets().get(7);
+        edited.setReps(9);
+        WorkoutSnapshot s2 = w.snapshot();
+
+        assertNotSame(s1, s2);
+        for (int g = 0; g < 10; g++) {
+            GroupSnapshot before = s1.getGroups().get(g), after = s2.getGroups().get(g);
+            if (g != 4) { assertSame(before, after, "group " + g); continue; }
+            assertNotSame(before, after);
+            for (int i = 0; i < 15; i++) {
+                if (i == 7) assertEquals(9, after.getSets().get(i).getReps());
+                else assertSame(before.getSets().get(i), after.getSets().get(i), "set " + i);
+            }
+        }
+        assertEquals(w.totalMicroUnits(), s2.totalMicroUnits());
+        assertNotEquals(s1.totalMicroUnits(), s2.totalMicroUnits());
+
+        // Structural edit: the moved groups are still the same snapshots
+        w.moveGroup(0, 9);
+        WorkoutSnapshot s3 = w.snapshot();
+        assertSame(s2.getGroups().get(0), s3.getGroups().get(9));
+        assertSame(s2.getGroups().get(1), s3.getGroups().get(0));
+    }
+
+    @Test
+    void backgroundPacingSeesTheSnapshotNotLaterEdits() throws Exception {
+        Swimmer sw = new Swimmer("A", "B");
+        sw.updateSeedTime(StrokeType.FREESTYLE, Distance.ofYards(100), TimeSpan.ofSeconds(75));
+        Workout w = bigWorkout(sw);
+        WorkoutSnapshot snap = w.snapshot();
+        long expected = PacingPlan.compile(snap.toWorkout(), sw, new DefaultPacePolicy()).totalSeconds();
+
+        CompletableFuture<Long> background = CompletableFuture.supplyAsync(
+                () -> PacingPlan.compile(snap, sw, new DefaultPacePolicy()).totalSeconds());
+        for (SetGroup g : w.getGroups()) g.setReps(g.getReps() + 1);   // user keeps editing
+        w.getGroups().remove(0);
+
+        assertEquals(expected, background.get());
+        Workout copy = snap.toWorkout();
+        assertEquals(snap.getId(), copy.getId());
+        assertEquals(snap.totalMicroUnits(), copy.totalMicroUnits());
+        assertEquals(10, copy.getGroupCount());
+    }
+}
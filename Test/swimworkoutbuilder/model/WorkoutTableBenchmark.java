@@ -0,0 +1,80 @@
+package swimworkoutbuilder.tests;
+
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.WorkoutTable;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.pacing.TablePacer;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Manual micro-benchmark: per-stroke volume and whole-plan pacing over a 100k-set plan,
+ * walking {@link SwimSet} objects vs. looping over a {@link WorkoutTable}.
+ */
+public class WorkoutTableBenchmark {
+
+    private static final int GROUPS = 2_000;
+    private static final int SETS_PER_GROUP = 50;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) {
+        Random rnd = new Random(1);
+        Workout w = new Workout(UUID.randomUUID(), "Season", Course.SCY);
+        for (int g = 0; g < GROUPS; g++) {
+            SetGroup group = new SetGroup("G" + g, 1 + rnd.nextInt(3), g + 1);
+            for (int s = 0; s < SETS_PER_GROUP; s++) {
+                group.addSet(new SwimSet(StrokeType.values()[rnd.nextInt(4)], 1 + rnd.nextInt(8),
+                        Distance.ofYards(25 * (1 + rnd.nextInt(16))),
+                        Effort.values()[rnd.nextInt(Effort.values().length)], Course.SCY));
+            }
+            w.addSetGroup(group);
+        }
+        Swimmer sw = new Swimmer("Ana", "Lane");
+        for (StrokeType st : StrokeType.values()) sw.updateSeedTime(st, Distance.ofYards(100), TimeSpan.ofSeconds(80));
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+
+        long t0 = System.nanoTime();
+        WorkoutTable table = WorkoutTable.of(w);
+        long buildNs = System.nanoTime() - t0;
+
+        double objVolume = time(() -> objectVolume(w));
+        double tabVolume = time(() -> table.microUnitsByStroke()[0]);
+        double objPacing = time(() -> PacingPlan.compile(w, sw, policy).totalSeconds());
+        double tabPacing = time(() -> TablePacer.compute(table, sw, policy).totalSeconds());
+
+        System.out.printf("sets=%d build table %.1f ms (%d column bytes)%n",
+                table.setCount(), buildNs / 1e6, table.columnBytes());
+        System.out.printf("%-22s objects %8.1f µs   table %8.1f µs   %5.2fx%n", "volume by stroke", objVolume / 1e3, tabVolume / 1e3, objVolume / tabVolume);
+        System.out.printf("%-22s objects %8.1f µs   table %8.1f µs   %5.2fx%n", "pacing totals", objPacing / 1e3, tabPacing / 1e3, objPacing / tabPacing);
+    }
+
+    private static long objectVolume(Workout w) {
+        long[] byStroke = new long[StrokeType.values().length];
+        for (SetGroup g : w.getGroups()) {
+            for (SwimSet s : g.getSets()) byStroke[s.getStroke().ordinal()] += s.totalMicroUnits() * g.getReps();
+        }
+        return byStroke[0];
+    }
+
+    /** Mean nanoseconds per call. */
+    private static double time(java.util.function.LongSupplier task) {
+        long sink = 0;
+        for (int r = 0; r < WARMUP_ROUNDS; r++) sink += task.getAsLong();
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += task.getAsLong();
+        long elapsed = System.nanoTime() - t0;
+        if (sink == 42) System.out.println(); // keep results live
+        return (double) elapsed / ROUNDS;
+    }
+}
@@ -0,0 +1,109 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.WorkoutTable;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkoutTableTest {
+
+    static Workout randomWorkout(long seed, int groups, int setsPerGroup) {
+        Random rnd = new Random(seed);
+        Workout w = new Workout(UUID.randomUUID(), "Season", Course.SCY, "notes", 45);
+        for (int g = 0; g < groups; g++) {
+            SetGroup group = new SetGroup("G" + g, 1 + rnd.nextInt(3), g + 1);
+            group.setRestAfterGroupSec(rnd.nextBoolean() ? 0 : 30 + rnd.nextInt(60));
+            group.setNotes(rnd.nextBoolean() ? null : "group " + g);
+            for (int s = 0; s < setsPerGroup; s++) {
+                StrokeType stroke = StrokeType.values()[rnd.nextInt(StrokeType.values().length)];
+                Distance d = rnd.nextBoolean() ? Distance.ofYards(25 * (1 + rnd.nextInt(16)))
+                                               : Distance.ofMeters(25 * (1 + rnd.nextInt(16)));
+                Effort effort = Effort.values()[rnd.nextInt(Effort.values().length)];
+                Course course = Course.values()[rnd.nextInt(Course.values().length)];
+                SwimSet set = new SwimSet(stroke, 1 + rnd.nextInt(10), d, effort, course, "s" + s);
+                for (Equipment e : Equipment.values()) if (rnd.nextInt(4) == 0) set.addEquipment(e);
+                set.setRepPattern(RepPattern.values()[rnd.nextInt(RepPattern.values().length)]);
+                set.setPatternRoundSize(rnd.nextInt(5));
+                group.addSet(set);
+            }
+            w.addSetGroup(group);
+        }
+        return w;
+    }
+
+    private static String describe(Workout w) {
+        StringBuilder sb = new StringBuilder()
+                .append(w.getId()).append(w.getSwimmerId()).append(w.getName()).append(w.getCourse())
+                .append(w.getNotes()).append(w.getDefaultRestBetweenGroupsSeconds()).append('\n');
+        for (SetGroup g : w.getGroups()) {
+            sb.append(g.getId()).append(g.getName()).append(g.getReps()).append(g.getOrder())
+                    .append(g.getRestAfterGroupSec()).append(g.getNotes()).append('\n');
+            for (SwimSet s : g.getSets()) {
+                sb.append(s).append(s.getDistancePerRep().displayUnit()).append(s.getCourse())
+                        .append(s.getEquipment()).append(s.getRepPattern()).append(s.getPatternRoundSize())
+                        .append(s.getNotes()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void roundTripKeepsEveryField() {
+        Workout w = randomWorkout(24, 12, 15);
+        w.getGroups().get(0).getSets().get(0).setStroke(null);
+        w.getGroups().get(0).getSets().get(1).setEffort(null);
+
+        WorkoutTable t = WorkoutTable.of(w);
+        assertEquals(12, t.groupCount());
+        assertEquals(180, t.setCount());
+        assertEquals(15, t.groupStart(1));
+        assertEquals(30, t.groupEnd(1));
+        assertEquals(WorkoutTable.NO_ORDINAL, t.strokeOrdinal(0));
+        assertNull(t.effort(1));
+
+        Workout back = t.toWorkout();
+        assertEquals(describe(w), describe(back));
+        assertEquals(w.totalMicroUnits(), back.totalMicroUnits());
+    }
+
+    @Test
+    void aggregatesMatchTheObjectModel() {
+        Workout w = randomWorkout(7, 40, 25);
+        WorkoutTable t = WorkoutTable.of(w);
+
+        assertEquals(w.totalMicroUnits(), t.totalMicroUnits());
+        assertEquals(w.totalRepCount(), t.totalRepCount());
+
+        long[] byStroke = new long[StrokeType.values().length];
+        long[] byEffort = new long[Effort.values().length];
+        for (SetGroup g : w.getGroups()) {
+            for (SwimSet s : g.getSets()) {
+                long d = s.totalMicroUnits() * g.getReps();
+                byStroke[s.getStroke().ordinal()] += d;
+                byEffort[s.getEffort().ordinal()] += d;
+            }
+        }
+        assertArrayEquals(byStroke, t.microUnitsByStroke());
+        assertArrayEquals(byEffort, t.microUnitsByEffort());
+    }
+
+    @Test
+    void emptyWorkout() {
+        WorkoutTable t = WorkoutTable.of(new Workout(UUID.randomUUID(), "Empty", Course.LCM));
+        assertEquals(0, t.groupCount());
+        assertEquals(0, t.totalMicroUnits());
+        assertEquals(0, t.toWorkout().getGroupCount());
+    }
+}
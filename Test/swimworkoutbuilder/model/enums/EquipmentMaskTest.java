@@ -0,0 +1,90 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquipmentMaskTest {
+
+    private static EnumSet<Equipment> enumSetOf(int mask) {
+        EnumSet<Equipment> set = EnumSet.noneOf(Equipment.class);
+        for (Equipment e : Equipment.values()) if ((mask & e.bit()) != 0) set.add(e);
+        return set;
+    }
+
+    @Test
+    void everyMaskRoundTripsAndMatchesAnEnumSet() {
+        assertEquals(1 << Equipment.values().length, Equipment.MASK_COUNT);
+        for (int mask = 0; mask < Equipment.MASK_COUNT; mask++) {
+            Set<Equipment> view = Equipment.setOf(mask);
+            EnumSet<Equipment> expected = enumSetOf(mask);
+            assertEquals(expected, view);
+            assertEquals(view, expected);
+            assertEquals(expected.hashCode(), view.hashCode());
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(view), "ordinal iteration order");
+            assertEquals(mask, Equipment.maskOf(view));
+            assertEquals(mask, Equipment.maskOf(expected));
+            assertSame(view, Equipment.setOf(mask));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> Equipment.setOf(Equipment.MASK_COUNT));
+    }
+
+    @Test
+    void combinedMultiplierMatchesTheProductOverTheSet() {
+        for (int mask = 0; mask < Equipment.MASK_COUNT; mask++) {
+            double product = 1.0;
+            for (Equipment e : enumSetOf(mask)) product *= e.multiplier();
+            assertEquals(product, Equipment.combinedMultiplier(mask));
+            assertEquals(product, Equipment.combinedMultiplier(enumSetOf(mask)));
+        }
+        assertEquals(1.0, Equipment.combinedMultiplier((Set<Equipment>) null));
+    }
+
+    @Test
+    void viewsAreReadOnly() {
+        Set<Equipment> view = Equipment.setOf(Equipment.FINS.bit());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(Equipment.PADDLES));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(Equipment.FINS));
+        assertThrows(UnsupportedOperationException.class, view::clear);
+    }
+
+    @Test
+    void swimSetStoresEquipmentAsMask() {
+        SwimSet set = new SwimSet(StrokeType.FREESTYLE, 4, Distance.ofYards(100), Effort.EASY, Course.SCY);
+        assertEquals(0, set.getEquipmentMask());
+        assertTrue(set.getEquipment().isEmpty());
+
+        set.addEquipment(Equipment.PULL_BUOY);
+        set.addEquipment(Equipment.FINS);
+        set.addEquipment(Equipment.FINS);
+        assertEquals(Equipment.FINS.bit() | Equipment.PULL_BUOY.bit(), set.getEquipmentMask());
+        assertEquals(List.of(Equipment.FINS, Equipment.PULL_BUOY), new ArrayList<>(set.getEquipment()));
+        assertTrue(set.hasEquipment(Equipment.PULL_BUOY));
+        assertFalse(set.hasEquipment(Equipment.SNORKEL));
+        assertFalse(set.hasEquipment(null));
+
+        set.removeEquipment(Equipment.FINS);
+        assertEquals(EnumSet.of(Equipment.PULL_BUOY), set.getEquipment());
+
+        set.setEquipment(EnumSet.of(Equipment.SNORKEL, Equipment.PARACHUTE));
+        SwimSet other = new SwimSet(StrokeType.BACKSTROKE, 2, Distance.ofYards(50), Effort.EASY, Course.SCY);
+        other.setEquipmentMask(set.getEquipmentMask());
+        assertSame(set.getEquipment(), other.getEquipment());
+
+        set.setEquipment(null);
+        assertEquals(0, set.getEquipmentMask());
+        assertThrows(IndexOutOfBoundsException.class, () -> set.setEquipmentMask(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.setEquipmentMask(Equipment.MASK_COUNT));
+    }
+}
@@ -0,0 +1,254 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.CachingPacePolicy;
+import swimworkoutbuilder.model.pacing.CalibratedPacePolicy;
+import swimworkoutbuilder.model.pacing.CoefficientPacePolicy;
+import swimworkoutbuilder.model.pacing.CssPacePolicy;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.FatigueModel;
+import swimworkoutbuilder.model.pacing.PacePolicy;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingPacePolicyTest {
+
+    /** DefaultPacePolicy that counts how often it is asked, per-rep and fatigue-aware. */
+    private static final class Counting implements PacePolicy {
+        final DefaultPacePolicy rules = new DefaultPacePolicy();
+        int perRepCalls;
+        int fatigueFills;
+
+        @Override public double goalSeconds(Workout w, SwimSet s, Swimmer sw, int r) { perRepCalls++; return rules.goalSeconds(w, s, sw, r); }
+        @Override public int intervalSeconds(Workout w, SwimSet s, Swimmer sw, int r) { perRepCalls++; return rules.intervalSeconds(w, s, sw, r); }
+        @Override public int restSeconds(Workout w, SwimSet s, Swimmer sw, int r) { perRepCalls++; return rules.restSeconds(w, s, sw, r); }
+        @Override public String timingLabel(Workout w, SwimSet s, Swimmer sw, int r) { return "counted " + r; }
+
+        @Override
+        public void fillSet(Workout w, SwimSet s, Swimmer sw, double[] goals, int[] rests, int[] intervals,
+                            int offset, FatigueModel.Tracker fatigue) {
+            if (fatigue != null) fatigueFills++;
+            rules.fillSet(w, s, sw, goals, rests, intervals, offset, fatigue);
+        }
+    }
+
+    private static Swimmer swimmer(String first, double free, double back) {
+        Swimmer sw = new Swimmer(first, "Swimmer");
+        sw.updateSeed100Y(StrokeType.FREESTYLE, free);
+        sw.updateSeed100Y(StrokeType.BACKSTROKE, back);
+        return sw;
+    }
+
+    private static SwimSet free() {
+        return new SwimSet(StrokeType.FREESTYLE, 5, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+    }
+
+    private static Workout workout(SwimSet... sets) {
+        Workout w = new Workout(UUID.randomUUID(), "Cache", Course.SCY);
+        SetGroup g = new SetGroup("Main", 1, 1);
+        for (SwimSet s : sets) g.addSet(s);
+        w.addSetGroup(g);
+        return w;
+    }
+
+    @Test
+    void lruBoundIsRespectedAndEvictionsAreCounted() {
+        Swimmer sw = swimmer("Ana", 78, 85);
+        SwimSet set = free();
+        Workout w = workout(set);
+        DefaultPacePolicy rules = new DefaultPacePolicy();
+        CachingPacePolicy cache = new CachingPacePolicy(rules, 3);
+
+        for (int r = 0; r < 3; r++) cache.goalSeconds(w, set, sw, r);     // miss r0, r1, r2
+        cache.goalSeconds(w, set, sw, 0);                                  // hit  → LRU order r1, r2, r0
+        cache.goalSeconds(w, set, sw, 3);                                  // miss → evicts r1
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictions());
+
+        cache.goalSeconds(w, set, sw, 0);                                  // hits: order r2, r3, r0 → r3, r0, r2 …
+        cache.goalSeconds(w, set, sw, 2);
+        cache.goalSeconds(w, set, sw, 3);                                  // … → r0, r2, r3
+        cache.goalSeconds(w, set, sw, 1);                                  // miss → evicts r0 (least recent)
+        assertEquals(2, cache.evictions());
+        assertEquals(3, cache.size());
+        assertEquals(3, cache.capacity());
+
+        long hits = cache.hits();
+        cache.goalSeconds(w, set, sw, 2);
+        assertEquals(hits + 1, cache.hits(), "r2 survived");
+        cache.goalSeconds(w, set, sw, 0);
+        assertEquals(hits + 1, cache.hits(), "r0 was evicted");
+
+        assertEquals(rules.goalSeconds(w, set, sw, 0), cache.goalSeconds(w, set, sw, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CachingPacePolicy(rules, 0));
+    }
+
+    @Test
+    void hitMissAndHitRateStats() {
+        Swimmer sw = swimmer("Ana", 78, 85);
+        SwimSet set = free();
+        Workout w = workout(set);
+        Counting delegate = new Counting();
+        CachingPacePolicy cache = new CachingPacePolicy(delegate);
+
+        assertEquals(0.0, cache.hitRate());
+        double goal = cache.goalSeconds(w, set, sw, 0);                     // miss computes all three
+        int rest = cache.restSeconds(w, set, sw, 0);
+        int interval = cache.intervalSeconds(w, set, sw, 0);
+        assertEquals(1, cache.misses());
+        assertEquals(2, cache.hits());
+        assertEquals(3, delegate.perRepCalls);
+        assertEquals(2.0 / 3.0, cache.hitRate(), 1e-12);
+
+        assertEquals(delegate.rules.goalSeconds(w, set, sw, 0), goal);
+        assertEquals(delegate.rules.restSeconds(w, set, sw, 0), rest);
+        assertEquals(delegate.rules.intervalSeconds(w, set, sw, 0), interval);
+
+        // A second swimmer with the same seed shares the entry
+        cache.goalSeconds(w, set, swimmer("Ben", 78, 90), 0);
+        assertEquals(3, cache.hits());
+        assertEquals(3, delegate.perRepCalls);
+
+        cache.resetStats();
+        assertEquals(0, cache.hits());
+        assertEquals(0, cache.misses());
+        assertEquals(0.0, cache.hitRate());
+        assertEquals(1, cache.size(), "resetting stats keeps entries");
+    }
+
+    @Test
+    void seedChangeEvictsOnlyThatStrokeAndSeed() {
+        Swimmer ana = swimmer("Ana", 78, 85);
+        Swimmer ben = swimmer("Ben", 80, 85);
+        SwimSet free = free();
+        SwimSet back = new SwimSet(StrokeType.BACKSTROKE, 5, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+        Workout w = workout(free, back);
+        DefaultPacePolicy rules = new DefaultPacePolicy();
+        CachingPacePolicy cache = new CachingPacePolicy(rules);
+        ana.addSeedListener(cache);
+
+        cache.goalSeconds(w, free, ana, 0);
+        cache.goalSeconds(w, back, ana, 0);
+        cache.goalSeconds(w, free, ben, 0);
+        assertEquals(3, cache.size());
+
+        ana.updateSeed100Y(StrokeType.FREESTYLE, 75);
+        assertEquals(2, cache.size(), "only Ana's old freestyle entry goes");
+
+        long hits = cache.hits();
+        cache.goalSeconds(w, back, ana, 0);
+        cache.goalSeconds(w, free, ben, 0);
+        assertEquals(hits + 2, cache.hits());
+        assertEquals(rules.goalSeconds(w, free, ana, 0), cache.goalSeconds(w, free, ana, 0), "new seed is priced fresh");
+
+        ana.removeSeedListener(cache);
+        ana.updateSeed100Y(StrokeType.BACKSTROKE, 88);
+        assertEquals(3, cache.size(), "no longer notified after removal");
+    }
+
+    @Test
+    void invalidateAllAndVersionChangesDropEntries() {
+        Swimmer sw = swimmer("Ana", 78, 85);
+        SwimSet set = free();
+        Workout w = workout(set);
+        CoefficientPacePolicy coefficients = new CoefficientPacePolicy(new DefaultPacePolicy());
+        CachingPacePolicy cache = new CachingPacePolicy(coefficients);
+
+        for (int r = 0; r < 3; r++) cache.goalSeconds(w, set, sw, r);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(3, cache.misses(), "counters are kept");
+        cache.goalSeconds(w, set, sw, 0);
+        assertEquals(4, cache.misses());
+
+        double before = cache.goalSeconds(w, set, sw, 0);
+        coefficients.setGoalScale(0.9);
+        assertEquals(before * 0.9, cache.goalSeconds(w, set, sw, 0), 1e-9);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void fatiguedFillSetBypassesTheCache() {
+        Swimmer sw = swimmer("Ana", 78, 85);
+        SwimSet set = free();
+        Workout w = workout(set);
+        Counting delegate = new Counting();
+        CachingPacePolicy cache = new CachingPacePolicy(delegate);
+        double[] goals = new double[5];
+        int[] rests = new int[5], intervals = new int[5];
+
+        cache.fillSet(w, set, sw, goals, rests, intervals, 0, FatigueModel.standard().newTracker());
+        assertEquals(1, delegate.fatigueFills);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hits() + cache.misses());
+
+        double[] expected = new double[5];
+        delegate.rules.fillSet(w, set, sw, expected, new int[5], new int[5], 0, FatigueModel.standard().newTracker());
+        assertArrayEquals(expected, goals);
+
+        cache.fillSet(w, set, sw, goals, rests, intervals, 0, null);        // no tracker → cached
+        assertEquals(1, delegate.fatigueFills);
+        assertEquals(5, cache.misses());
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    void perSwimmerDelegatesNeverShareEntriesBetweenSwimmers() {
+        Swimmer ana = swimmer("Ana", 78, 85);
+        Swimmer ben = swimmer("Ben", 78, 85);                               // same seeds as Ana
+        SwimSet set = free();
+        Workout w = workout(set);
+        CalibratedPacePolicy calibrated = new CalibratedPacePolicy();
+        for (int r = 0; r < 20; r++) calibrated.observe(w, set, ana, r % 5, 70.0);   // Ana swims faster than seeded
+        CachingPacePolicy cache = new CachingPacePolicy(new CoefficientPacePolicy(calibrated));
+
+        assertTrue(cache.dependsOnSwimmer(), "seen through the coefficient wrapper");
+        assertNotEquals(calibrated.goalSeconds(w, set, ana, 0), calibrated.goalSeconds(w, set, ben, 0));
+        assertEquals(calibrated.goalSeconds(w, set, ana, 0), cache.goalSeconds(w, set, ana, 0));
+        assertEquals(calibrated.goalSeconds(w, set, ben, 0), cache.goalSeconds(w, set, ben, 0));
+        assertEquals(2, cache.misses());
+        assertEquals(2, cache.size());
+
+        assertFalse(new CachingPacePolicy(new DefaultPacePolicy()).dependsOnSwimmer());
+    }
+
+    @Test
+    void testSwimChangesAreNeverServedStale() {
+        Swimmer ana = swimmer("Ana", 78, 85);
+        SwimSet set = new SwimSet(StrokeType.FREESTYLE, 3, Distance.ofYards(400), Effort.ENDURANCE, Course.SCY);
+        Workout w = workout(set);
+        CssPacePolicy css = new CssPacePolicy();
+        CachingPacePolicy cache = new CachingPacePolicy(css);
+
+        double before = cache.goalSeconds(w, set, ana, 0);
+        ana.addTestSwim(StrokeType.FREESTYLE, Distance.ofYards(400), TimeSpan.ofSeconds(300));
+        double after = cache.goalSeconds(w, set, ana, 0);                   // no listener registered
+        assertNotEquals(before, after);
+        assertEquals(css.goalSeconds(w, set, ana, 0), after);
+
+        ana.addSeedListener(cache);
+        ana.clearTestSwims(StrokeType.FREESTYLE);
+        assertEquals(0, cache.size(), "listener evicts every entry of that swimmer");
+        assertEquals(before, cache.goalSeconds(w, set, ana, 0));
+        ana.removeSeedListener(cache);
+    }
+
+    @Test
+    void timingLabelComesFromTheDelegate() {
+        Swimmer sw = swimmer("Ana", 78, 85);
+        SwimSet set = free();
+        Workout w = workout(set);
+        assertEquals("counted 2", new CachingPacePolicy(new Counting()).timingLabel(w, set, sw, 2));
+    }
+}
@@ -0,0 +1,102 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.CalibratedPacePolicy;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibratedPacePolicyTest {
+
+    private static SwimSet set(int yards, Effort effort) {
+        return new SwimSet(StrokeType.FREESTYLE, 4, Distance.ofYards(yards), effort, Course.SCY);
+    }
+
+    @Test
+    void matchesDefaultPolicyUntilRepsAreLogged() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = new Workout(sw.getId(), "Cal", Course.SCY);
+        DefaultPacePolicy def = new DefaultPacePolicy();
+        CalibratedPacePolicy cal = new CalibratedPacePolicy();
+        for (Effort e : Effort.values()) {
+            SwimSet s = set(200, e);
+            assertEquals(def.goalSeconds(w, s, sw, 0), cal.goalSeconds(w, s, sw, 0));
+            assertEquals(def.intervalSeconds(w, s, sw, 0), cal.intervalSeconds(w, s, sw, 0));
+        }
+        assertEquals(0, cal.observations(sw));
+    }
+
+    @Test
+    void convergesToTheSwimmersActualPace() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = new Workout(sw.getId(), "Cal", Course.SCY);
+        DefaultPacePolicy def = new DefaultPacePolicy();
+        CalibratedPacePolicy cal = new CalibratedPacePolicy();
+        SwimSet s = set(100, Effort.THRESHOLD);
+
+        // This swimmer's threshold 100s are really 8% slower than the table says
+        double truth = def.goalSeconds(w, s, sw, 0) * 1.08;
+        Random rnd = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            cal.observe(w, s, sw, 0, truth * (1 + 0.02 * rnd.nextGaussian()));
+        }
+        assertEquals(300, cal.observations(sw));
+        assertEquals(truth, cal.goalSeconds(w, s, sw, 0), truth * 0.01);
+
+        double combined = cal.effortMultiplier(sw, Effort.THRESHOLD) * cal.distanceMultiplier(sw, DistanceFactors.D100);
+        assertEquals(Effort.THRESHOLD.paceMultiplier() * 1.08, combined, 0.02);
+
+        // Efforts that were never logged keep their defaults
+        assertEquals(Effort.EASY.paceMultiplier(), cal.effortMultiplier(sw, Effort.EASY), 1e-12);
+    }
+
+    @Test
+    void followsDriftAndClipsOutliers() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = new Workout(sw.getId(), "Cal", Course.SCY);
+        CalibratedPacePolicy cal = new CalibratedPacePolicy();
+        SwimSet s = set(200, Effort.ENDURANCE);
+        double base = new DefaultPacePolicy().goalSeconds(w, s, sw, 0);
+
+        for (int i = 0; i < 200; i++) cal.observe(w, s, sw, 0, base);
+        double before = cal.goalSeconds(w, s, sw, 0);
+        cal.observe(w, s, sw, 0, base * 20); // stopwatch left running
+        assertTrue(cal.goalSeconds(w, s, sw, 0) < before * 1.05, "one outlier moves the fit only a little");
+
+        // Swimmer gets 5% faster over the season
+        for (int i = 0; i < 1500; i++) cal.observe(w, s, sw, 0, base * 0.95);
+        assertEquals(base * 0.95, cal.goalSeconds(w, s, sw, 0), base * 0.005);
+
+        cal.reset(sw);
+        assertEquals(base, cal.goalSeconds(w, s, sw, 0));
+        assertThrows(IllegalArgumentException.class, () -> cal.observe(w, s, sw, 0, 0.0));
+    }
+
+    @Test
+    void batchMatchesPerRep() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = new Workout(sw.getId(), "Cal", Course.SCY);
+        CalibratedPacePolicy cal = new CalibratedPacePolicy();
+        SwimSet s = set(50, Effort.SPRINT);
+        for (int i = 0; i < 20; i++) cal.observe(w, s, sw, 0, 30.0);
+
+        double[] goals = new double[4];
+        int[] rests = new int[4], intervals = new int[4];
+        cal.fillSet(w, s, sw, goals, rests, intervals, 0);
+        for (int r = 0; r < 4; r++) {
+            assertEquals(cal.goalSeconds(w, s, sw, r), goals[r]);
+            assertEquals(cal.restSeconds(w, s, sw, r), rests[r]);
+            assertEquals(cal.intervalSeconds(w, s, sw, r), intervals[r]);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The batch {@code fillSet} override must write exactly what the per-rep methods return. */
+class DefaultPacePolicyBatchTest {
+
+    private static final int[] REPS = {1, 2, 5, 8, 12};
+    private static final int[] ROUND_SIZES = {0, 3, 4};
+    private static final int[] OFFSETS = {0, 1, 7};
+    private static final int SENTINEL = -12345;
+
+    private static Workout workout(Swimmer sw, Course course, SwimSet set) {
+        Workout w = new Workout(sw.getId(), "Batch", course);
+        SetGroup g = new SetGroup("Main", 1, 1);
+        g.addSet(set);
+        w.addSetGroup(g);
+        return w;
+    }
+
+    @Test
+    void batchMatchesPerRepForEveryPatternAndOffset() {
+        Swimmer sw = Fixtures.swimmer();
+        sw.updateSeed100Y(StrokeType.BACKSTROKE, 86);
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+        int checked = 0;
+
+        for (Course course : Course.values()) {
+            for (StrokeType stroke : new StrokeType[]{StrokeType.FREESTYLE, StrokeType.BACKSTROKE}) {
+                for (Effort effort : Effort.values()) {
+                    for (int distance : new int[]{50, 100, 200}) {
+                        for (RepPattern pattern : RepPattern.values()) {
+                            for (int roundSize : ROUND_SIZES) {
+                                for (int reps : REPS) {
+                                    Distance d = (course == Course.SCY) ? Distance.ofYards(distance) : Distance.ofMeters(distance);
+                                    SwimSet set = new SwimSet(stroke, reps, d, effort, course);
+                                    set.setRepPattern(pattern);
+                                    set.setPatternRoundSize(roundSize);
+                                    set.setEquipmentMask((checked * 5) % Equipment.MASK_COUNT);
+                                    Workout w = workout(sw, course, set);
+                                    for (int offset : OFFSETS) {
+                                        assertBatchMatches(policy, w, set, sw, offset);
+                                        checked++;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(checked > 1000, "checked " + checked + " sets");
+    }
+
+    private static void assertBatchMatches(DefaultPacePolicy policy, Workout w, SwimSet set, Swimmer sw, int offset) {
+        int reps = set.getReps();
+        int size = offset + reps + 3;                 // slack after the set
+        double[] goals = new double[size];
+        int[] rests = new int[size], intervals = new int[size];
+        Arrays.fill(goals, SENTINEL);
+        Arrays.fill(rests, SENTINEL);
+        Arrays.fill(intervals, SENTINEL);
+
+        policy.fillSet(w, set, sw, goals, rests, intervals, offset);
+
+        String where = set.getStroke() + " " + set.getReps() + "x" + set.getDistancePerRep() + " " + set.getEffort()
+                + " " + set.getRepPattern() + "/" + set.getPatternRoundSize() + " @" + offset;
+        for (int i = 0; i < size; i++) {
+            int r = i - offset;
+            if (r < 0 || r >= reps) {
+                assertEquals(SENTINEL, goals[i], where + " wrote outside the set at " + i);
+                assertEquals(SENTINEL, rests[i], where + " wrote outside the set at " + i);
+                assertEquals(SENTINEL, intervals[i], where + " wrote outside the set at " + i);
+                continue;
+            }
+            assertEquals(policy.goalSeconds(w, set, sw, r), goals[i], where + " goal " + r);
+            assertEquals(policy.restSeconds(w, set, sw, r), rests[i], where + " rest " + r);
+            assertEquals(policy.intervalSeconds(w, set, sw, r), intervals[i], where + " interval " + r);
+        }
+
+        double[] viaNullTracker = new double[size];
+        policy.fillSet(w, set, sw, viaNullTracker, new int[size], new int[size], offset, null);
+        assertArrayEquals(Arrays.copyOfRange(goals, offset, offset + reps),
+                Arrays.copyOfRange(viaNullTracker, offset, offset + reps), where + " null tracker");
+    }
+
+    @Test
+    void outOfRangeOffsetsAreRejectedBeforeWriting() {
+        Swimmer sw = Fixtures.swimmer();
+        SwimSet set = Fixtures.yards(4, 100);
+        Workout w = workout(sw, Course.SCY, set);
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+        double[] goals = new double[6];
+        int[] rests = new int[6], intervals = new int[6];
+
+        assertThrows(IndexOutOfBoundsException.class, () -> policy.fillSet(w, set, sw, goals, rests, intervals, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> policy.fillSet(w, set, sw, goals, rests, intervals, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> policy.fillSet(w, set, sw, goals, new int[3], intervals, 0));
+        assertArrayEquals(new double[6], goals);
+        assertArrayEquals(new int[6], rests);
+    }
+}
@@ -0,0 +1,59 @@
+package swimworkoutbuilder.tests;
+
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DistanceTimeFit;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.Random;
+
+/**
+ * Manual benchmark: fitting distance–time curves for a 5,000-swimmer roster at startup
+ * (seed + 200 and 400 test swims for each of the four competitive strokes).
+ */
+public class DistanceTimeFitBenchmark {
+
+    private static final int SWIMMERS = 5_000;
+    private static final int ROUNDS = 20;
+    private static final StrokeType[] STROKES = {
+            StrokeType.FREESTYLE, StrokeType.BACKSTROKE, StrokeType.BREASTSTROKE, StrokeType.BUTTERFLY};
+
+    public static void main(String[] args) {
+        long best = Long.MAX_VALUE;
+        double sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Swimmer[] roster = roster(round);       // fresh swimmers: nothing cached yet
+            long t0 = System.nanoTime();
+            for (Swimmer s : roster) {
+                for (StrokeType st : STROKES) {
+                    DistanceTimeFit fit = s.getDistanceTimeFit(st);
+                    sink += fit.exponent();
+                }
+            }
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (sink == 42) System.out.println(); // keep results live
+
+        int fits = SWIMMERS * STROKES.length;
+        System.out.printf("swimmers=%d strokes=%d fits=%d%n", SWIMMERS, STROKES.length, fits);
+        System.out.printf("roster fit: %.2f ms (best of %d)  %.0f ns/fit%n", best / 1e6, ROUNDS, (double) best / fits);
+    }
+
+    private static Swimmer[] roster(long seed) {
+        Random rnd = new Random(seed);
+        Swimmer[] roster = new Swimmer[SWIMMERS];
+        for (int i = 0; i < SWIMMERS; i++) {
+            Swimmer s = new Swimmer("S", "" + i);
+            for (StrokeType st : STROKES) {
+                double per100 = 55 + 50 * rnd.nextDouble();
+                double fade = 1.03 + 0.08 * rnd.nextDouble();
+                s.updateSeed100Y(st, per100);
+                s.addTestSwim(st, Distance.ofYards(200), TimeSpan.ofSeconds(per100 * 2 * fade));
+                s.addTestSwim(st, Distance.ofYards(400), TimeSpan.ofSeconds(per100 * 4 * fade * fade));
+            }
+            roster[i] = s;
+        }
+        return roster;
+    }
+}
@@ -0,0 +1,92 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.CssPacePolicy;
+import swimworkoutbuilder.model.pacing.DistanceTimeFit;
+import swimworkoutbuilder.model.pacing.SeedPace;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTimeFitTest {
+
+    private static SeedPace swim(double meters, double seconds) {
+        return new SeedPace(Distance.ofMeters(meters), TimeSpan.ofSeconds(seconds));
+    }
+
+    @Test
+    void recoversRiegelExponentAndCss() {
+        // t = 1.0 × d^1.08, sampled at 100/200/400
+        double b = 1.08;
+        DistanceTimeFit fit = DistanceTimeFit.of(List.of(
+                swim(100, Math.pow(100, b)), swim(200, Math.pow(200, b)), swim(400, Math.pow(400, b))));
+        assertEquals(3, fit.points());
+        assertEquals(b, fit.exponent(), 1e-4);
+        assertEquals(Math.pow(800, b), fit.secondsFor(800), 0.5);
+
+        // Two-point CSS: 400 in 300 s and 200 in 140 s → CSS = 200/160 m/s, D' = 25 m
+        DistanceTimeFit css = DistanceTimeFit.of(List.of(swim(400, 300), swim(200, 140)));
+        assertEquals(1.25, css.cssMps(), 1e-9);
+        assertEquals(25.0, css.dPrimeMeters(), 1e-9);
+    }
+
+    @Test
+    void singleSwimUsesDefaultExponentAndNoCss() {
+        DistanceTimeFit fit = DistanceTimeFit.of(List.of(swim(100, 70)));
+        assertEquals(DistanceTimeFit.DEFAULT_EXPONENT, fit.exponent());
+        assertEquals(70.0, fit.secondsFor(100), 1e-9);
+        assertTrue(Double.isNaN(fit.cssMps()));
+        assertNull(DistanceTimeFit.of(List.of()));
+    }
+
+    @Test
+    void swimmerCachesFitUntilSwimsChange() {
+        Swimmer sw = new Swimmer("Test", "Swimmer");
+        assertNull(sw.getDistanceTimeFit(StrokeType.FREESTYLE));
+
+        sw.updateSeed100M(StrokeType.FREESTYLE, 70);
+        DistanceTimeFit first = sw.getDistanceTimeFit(StrokeType.FREESTYLE);
+        assertSame(first, sw.getDistanceTimeFit(StrokeType.FREESTYLE));
+
+        sw.addTestSwim(StrokeType.FREESTYLE, Distance.ofMeters(400), TimeSpan.ofSeconds(330));
+        DistanceTimeFit second = sw.getDistanceTimeFit(StrokeType.FREESTYLE);
+        assertNotSame(first, second);
+        assertEquals(2, second.points());
+
+        sw.clearTestSwims(StrokeType.FREESTYLE);
+        assertEquals(1, sw.getDistanceTimeFit(StrokeType.FREESTYLE).points());
+        assertTrue(sw.getTestSwims(StrokeType.FREESTYLE).isEmpty());
+    }
+
+    @Test
+    void policyUsesTheSwimmersOwnCurve() {
+        Workout w = new Workout(java.util.UUID.randomUUID(), "CSS", Course.LCM);
+        SwimSet s400 = new SwimSet(StrokeType.FREESTYLE, 2, Distance.ofMeters(400), Effort.THRESHOLD, Course.LCM);
+        CssPacePolicy css = new CssPacePolicy();
+
+        // Same 100 seed; the sprinter fades much more over 400
+        Swimmer miler = new Swimmer("Dist", "Swimmer");
+        miler.updateSeed100M(StrokeType.FREESTYLE, 70);
+        miler.addTestSwim(StrokeType.FREESTYLE, Distance.ofMeters(400), TimeSpan.ofSeconds(295));
+        Swimmer sprinter = new Swimmer("Sprint", "Swimmer");
+        sprinter.updateSeed100M(StrokeType.FREESTYLE, 70);
+        sprinter.addTestSwim(StrokeType.FREESTYLE, Distance.ofMeters(400), TimeSpan.ofSeconds(330));
+
+        assertTrue(css.goalSeconds(w, s400, sprinter, 0) > css.goalSeconds(w, s400, miler, 0));
+
+        double[] goals = new double[2];
+        int[] rests = new int[2], intervals = new int[2];
+        css.fillSet(w, s400, miler, goals, rests, intervals, 0);
+        assertEquals(css.goalSeconds(w, s400, miler, 1), goals[1]);
+        assertEquals(css.intervalSeconds(w, s400, miler, 1), intervals[1]);
+    }
+}
@@ -0,0 +1,150 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.CoefficientPacePolicy;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.FatigueModel;
+import swimworkoutbuilder.model.pacing.PacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.units.Distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FatigueModelTest {
+
+    /** Group of 30×100 threshold free, swum {@code passes} times. */
+    private static Workout aerobic(Swimmer sw, int passes) {
+        Workout w = new Workout(sw.getId(), "Aerobic", Course.SCY, "", 60);
+        SetGroup g = new SetGroup("Main", passes, 1);
+        g.addSet(new SwimSet(StrokeType.FREESTYLE, 30, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY));
+        w.addSetGroup(g);
+        return w;
+    }
+
+    @Test
+    void noneMatchesPerRepPolicy() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = aerobic(sw, 2);
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+        PacingPlan plan = PacingPlan.compile(w, sw, policy);
+        SwimSet set = w.getGroups().get(0).getSets().get(0);
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int r = 0; r < 30; r++) {
+                assertEquals(policy.goalSeconds(w, set, sw, r), plan.goalSeconds(0, pass, r));
+                assertEquals(policy.restSeconds(w, set, sw, r), plan.restSeconds(0, pass, r));
+                assertEquals(policy.intervalSeconds(w, set, sw, r), plan.intervalSeconds(0, pass, r));
+            }
+        }
+    }
+
+    @Test
+    void goalsSlowDownAcrossRepsAndGroupPasses() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = aerobic(sw, 2);
+        PacingPlan fresh = PacingPlan.compile(w, sw, new DefaultPacePolicy());
+        PacingPlan tired = PacingPlan.compile(w, sw, new DefaultPacePolicy(FatigueModel.standard()));
+
+        assertEquals(fresh.goalSeconds(0, 0, 0), tired.goalSeconds(0, 0, 0), "first rep is fresh");
+        double prev = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int r = 0; r < 30; r++) {
+                double g = tired.goalSeconds(0, pass, r);
+                assertTrue(g >= prev, "pass " + pass + " rep " + r);
+                prev = g;
+            }
+        }
+        assertTrue(tired.goalSeconds(0, 1, 0) > tired.goalSeconds(0, 0, 0), "load carries into the next group pass");
+        assertTrue(tired.goalSeconds(0, 1, 29) <= fresh.goalSeconds(0, 0, 29) * (1 + FatigueModel.standard().maxSlowdown()) + 1e-9);
+        assertTrue(tired.totalSwimSeconds() > fresh.totalSwimSeconds());
+    }
+
+    @Test
+    void totalsCoverEveryGroupPass() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = aerobic(sw, 3);
+        PacingPlan plan = PacingPlan.compile(w, sw, new DefaultPacePolicy(FatigueModel.standard()));
+
+        long swim = 0, rest = 0;
+        for (int pass = 0; pass < plan.passCount(0); pass++) {
+            for (int r = 0; r < plan.repCount(0); r++) {
+                swim += Math.round(plan.goalSeconds(0, pass, r));
+                rest += plan.restSeconds(0, pass, r);
+            }
+        }
+        assertEquals(swim, plan.totalSwimSeconds());
+        assertEquals(rest, plan.totalIntraRestSeconds());
+        assertEquals(swim, plan.setSwimSeconds(0));
+    }
+
+    @Test
+    void restRecoversLoad() {
+        FatigueModel.Tracker t = FatigueModel.standard().newTracker();
+        t.swam(400, Effort.THRESHOLD);
+        assertEquals(4.0, t.load(), 1e-12);
+        double before = t.multiplier();
+        t.rested(240);
+        assertEquals(4.0 / Math.E, t.load(), 1e-12);
+        assertEquals(4.0 * StrictMath.exp(-1.0), t.load(), "bit-exact, platform-independent recovery");
+        assertTrue(t.multiplier() < before);
+        assertEquals(1.0, FatigueModel.NONE.newTracker().multiplier());
+    }
+
+    @Test
+    void coefficientPolicyAtUnitScalesMatchesFatiguedBase() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = aerobic(sw, 2);
+        DefaultPacePolicy base = new DefaultPacePolicy(FatigueModel.standard());
+        PacingPlan expected = PacingPlan.compile(w, sw, base);
+        PacingPlan actual = PacingPlan.compile(w, sw, new CoefficientPacePolicy(base));
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int r = 0; r < 30; r++) {
+                assertEquals(expected.goalSeconds(0, pass, r), actual.goalSeconds(0, pass, r));
+                assertEquals(expected.restSeconds(0, pass, r), actual.restSeconds(0, pass, r));
+                assertEquals(expected.intervalSeconds(0, pass, r), actual.intervalSeconds(0, pass, r));
+            }
+        }
+        assertEquals(expected.totalSeconds(), actual.totalSeconds());
+    }
+
+    /** Per-rep methods only, so PacingPlan goes through PacePolicy's default fatigue-aware fillSet. */
+    private static final class PerRepOnly implements PacePolicy {
+        private final DefaultPacePolicy rules = new DefaultPacePolicy();
+
+        @Override public FatigueModel fatigueModel() { return FatigueModel.standard(); }
+        @Override public double goalSeconds(Workout w, SwimSet s, Swimmer sw, int r) { return rules.goalSeconds(w, s, sw, r); }
+        @Override public int intervalSeconds(Workout w, SwimSet s, Swimmer sw, int r) { return rules.intervalSeconds(w, s, sw, r); }
+        @Override public int restSeconds(Workout w, SwimSet s, Swimmer sw, int r) { return rules.restSeconds(w, s, sw, r); }
+        @Override public String timingLabel(Workout w, SwimSet s, Swimmer sw, int r) { return rules.timingLabel(w, s, sw, r); }
+    }
+
+    @Test
+    void defaultFatigueFillRebuildsRestAndSendOffFromFatiguedGoal() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = aerobic(sw, 2);
+        PacingPlan expected = PacingPlan.compile(w, sw, new DefaultPacePolicy(FatigueModel.standard()));
+        PacingPlan actual = PacingPlan.compile(w, sw, new PerRepOnly());
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int r = 0; r < 30; r++) {
+                double goal = actual.goalSeconds(0, pass, r);
+                int rest = actual.restSeconds(0, pass, r);
+                int interval = actual.intervalSeconds(0, pass, r);
+                // Rest share is taken from the fresh rep, so it may be a second off the rest curve
+                // (and recovery, hence the goal, drifts slightly over a long set)
+                assertEquals(expected.goalSeconds(0, pass, r), goal, goal * 0.01);
+                assertEquals(expected.restSeconds(0, pass, r), rest, 1);
+                assertEquals(0, interval % 5, "send-off on the 5 s grid");
+                assertTrue(Math.abs(interval - (Math.round(goal) + rest)) <= 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package swimworkoutbuilder.tests;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.FixedPointPacePolicy;
+import swimworkoutbuilder.model.pacing.PacePolicy;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Manual micro-benchmark: {@link DefaultPacePolicy} (double) vs. {@link FixedPointPacePolicy}
+ * (integer ms) filling a 1,000-swimmer roster for one patterned set.
+ */
+public class FixedPointPacePolicyBenchmark {
+
+    private static final int SWIMMERS = 1_000;
+    private static final int REPS = 16;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int ROUNDS = 10_000;
+
+    public static void main(String[] args) {
+        Random rnd = new Random(1);
+        Swimmer[] swimmers = new Swimmer[SWIMMERS];
+        for (int i = 0; i < SWIMMERS; i++) {
+            swimmers[i] = new Swimmer("S", "" + i);
+            swimmers[i].updateSeed100Y(StrokeType.FREESTYLE, 55 + 60 * rnd.nextDouble());
+        }
+        Workout w = new Workout(UUID.randomUUID(), "Bench", Course.SCY);
+        SwimSet set = new SwimSet(StrokeType.FREESTYLE, REPS, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+        set.setRepPattern(RepPattern.DESCEND);
+        set.setPatternRoundSize(4);
+
+        double dblNs = time(new DefaultPacePolicy(), w, set, swimmers);
+        double fixNs = time(new FixedPointPacePolicy(), w, set, swimmers);
+
+        System.out.printf("swimmers=%d reps=%d rounds=%d%n", SWIMMERS, REPS, ROUNDS);
+        System.out.printf("%-14s %10.1f µs/roster  %6.2f ns/rep%n", "double", dblNs / 1_000, dblNs / (SWIMMERS * REPS));
+        System.out.printf("%-14s %10.1f µs/roster  %6.2f ns/rep%n", "fixed-point", fixNs / 1_000, fixNs / (SWIMMERS * REPS));
+        System.out.printf("ratio: %.2fx%n", dblNs / fixNs);
+    }
+
+    /** Mean nanoseconds per full-roster pass. */
+    private static double time(PacePolicy policy, Workout w, SwimSet set, Swimmer[] swimmers) {
+        double[] goals = new double[REPS];
+        int[] rests = new int[REPS], intervals = new int[REPS];
+        long sink = 0;
+        for (int r = 0; r < WARMUP_ROUNDS; r++) {
+            for (Swimmer s : swimmers) policy.fillSet(w, set, s, goals, rests, intervals, 0);
+            sink += intervals[r % REPS];
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (Swimmer s : swimmers) policy.fillSet(w, set, s, goals, rests, intervals, 0);
+            sink += intervals[r % REPS];
+        }
+        long elapsed = System.nanoTime() - t0;
+        if (sink == 42) System.out.println(); // keep results live
+        return (double) elapsed / ROUNDS;
+    }
+}
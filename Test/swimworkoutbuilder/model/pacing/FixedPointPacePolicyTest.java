@@ -0,0 +1,187 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.FatigueModel;
+import swimworkoutbuilder.model.pacing.FixedPointPacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointPacePolicyTest {
+
+    private static final int[] YARDS = {25, 50, 75, 100, 150, 200, 300, 400, 500, 1000, 1650};
+
+    @Test
+    void matchesDoublePathWithinOneMillisecond() {
+        Random rnd = new Random(3);
+        DefaultPacePolicy dbl = new DefaultPacePolicy();
+        FixedPointPacePolicy fix = new FixedPointPacePolicy();
+        int compared = 0, rounding = 0;
+
+        for (Course c : Course.values()) {
+            Workout w = new Workout(UUID.randomUUID(), "FP", c);
+            for (int trial = 0; trial < 40; trial++) {
+                Swimmer sw = new Swimmer("S", "" + trial);
+                double seed = 50 + 90 * rnd.nextDouble();
+                if (rnd.nextBoolean()) sw.updateSeed100Y(StrokeType.FREESTYLE, seed);
+                else sw.updateSeed100M(StrokeType.FREESTYLE, seed);
+
+                for (Effort e : Effort.values()) {
+                    SwimSet set = new SwimSet(StrokeType.FREESTYLE, 6,
+                            Distance.ofYards(YARDS[rnd.nextInt(YARDS.length)]), e, c);
+                    if (rnd.nextBoolean()) set.addEquipment(Equipment.values()[rnd.nextInt(Equipment.values().length)]);
+                    set.setRepPattern(RepPattern.values()[rnd.nextInt(RepPattern.values().length)]);
+
+                    for (int r = 0; r < set.getReps(); r++) {
+                        double goal = dbl.goalSeconds(w, set, sw, r);
+                        long ms = fix.goalMillis(w, set, sw, r);
+                        assertEquals(goal * 1000.0, ms, 1.0, set + " rep " + r);
+                        assertEquals(ms / 1000.0, fix.goalSeconds(w, set, sw, r));
+
+                        // Rest/send-off use the goal rounded to whole seconds; only a goal
+                        // within 1 ms of a half second may round the other way.
+                        double frac = goal - Math.floor(goal);
+                        if (Math.abs(frac - 0.5) > 0.002) {
+                            int dRest = dbl.restSeconds(w, set, sw, r), fRest = fix.restSeconds(w, set, sw, r);
+                            // Exact half-second rests (45 × 0.70 = 31.5) round up in fixed point;
+                            // the double product can land just under and round down.
+                            assertTrue(Math.abs(dRest - fRest) <= 1, set + " rep " + r);
+                            if (dRest != fRest) rounding++;
+                            else assertEquals(dbl.intervalSeconds(w, set, sw, r), fix.intervalSeconds(w, set, sw, r), set + " rep " + r);
+                            compared++;
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(compared > 1000);
+        assertTrue(rounding * 100 < compared, "half-second rest ties should be rare: " + rounding);
+    }
+
+    @Test
+    void batchMatchesPerRepMethods() {
+        Swimmer sw = new Swimmer("Test", "Swimmer");
+        sw.updateSeed100Y(StrokeType.FREESTYLE, 78.37);
+        Workout w = new Workout(sw.getId(), "FP", Course.SCY);
+        SwimSet set = new SwimSet(StrokeType.FREESTYLE, 8, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+        set.setRepPattern(RepPattern.DESCEND);
+        set.setPatternRoundSize(4);
+        FixedPointPacePolicy fix = new FixedPointPacePolicy();
+
+        long[] ms = new long[10];
+        double[] sec = new double[10];
+        int[] rests = new int[10], intervals = new int[10];
+        fix.fillSetMillis(w, set, sw, ms, rests, intervals, 2, null);
+        for (int r = 0; r < 8; r++) {
+            assertEquals(fix.goalMillis(w, set, sw, r), ms[2 + r]);
+            assertEquals(fix.restSeconds(w, set, sw, r), rests[2 + r]);
+            assertEquals(fix.intervalSeconds(w, set, sw, r), intervals[2 + r]);
+        }
+        fix.fillSet(w, set, sw, sec, rests, intervals, 2);
+        for (int r = 0; r < 8; r++) assertEquals(ms[2 + r] / 1000.0, sec[2 + r]);
+    }
+
+    @Test
+    void resultsAreWholeMillisecondsAndRepeatable() {
+        Swimmer sw = new Swimmer("Test", "Swimmer");
+        sw.updateSeed100M(StrokeType.FREESTYLE, 71.234);
+        Workout w = new Workout(sw.getId(), "FP", Course.LCM);
+        SwimSet set = new SwimSet(StrokeType.FREESTYLE, 5, Distance.ofMeters(200), Effort.RACE_PACE, Course.LCM);
+        set.setRepPattern(RepPattern.BUILD);
+        FixedPointPacePolicy fix = new FixedPointPacePolicy();
+
+        for (int r = set.getReps() - 1; r >= 0; r--) {
+            double g = fix.goalSeconds(w, set, sw, r);
+            assertEquals(Math.round(g * 1000.0), g * 1000.0, 1e-6, "whole ms");
+            assertEquals(fix.goalMillis(w, set, sw, r), new FixedPointPacePolicy().goalMillis(w, set, sw, r));
+        }
+    }
+
+    @Test
+    void fatiguePlanSlowsDownAndStaysInWholeMilliseconds() {
+        Swimmer sw = new Swimmer("Test", "Swimmer");
+        sw.updateSeed100Y(StrokeType.FREESTYLE, 78);
+        Workout w = new Workout(sw.getId(), "Aerobic", Course.SCY, "", 60);
+        SetGroup g = new SetGroup("Main", 1, 1);
+        g.addSet(new SwimSet(StrokeType.FREESTYLE, 20, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY));
+        w.addSetGroup(g);
+
+        PacingPlan fresh = PacingPlan.compile(w, sw, new FixedPointPacePolicy());
+        PacingPlan tired = PacingPlan.compile(w, sw, new FixedPointPacePolicy(FatigueModel.standard()));
+        assertEquals(fresh.goalSeconds(0, 0), tired.goalSeconds(0, 0));
+        assertTrue(tired.goalSeconds(0, 19) > fresh.goalSeconds(0, 19));
+        for (int r = 0; r < 20; r++) {
+            double ms = tired.goalSeconds(0, r) * 1000.0;
+            assertEquals(Math.round(ms), ms, 1e-6);
+        }
+    }
+
+    @Test
+    void trackerCarriesTheSameFatigueInFixedPoint() {
+        Random rnd = new Random(10);
+        FatigueModel.Tracker t = FatigueModel.standard().newTracker();
+        FatigueModel.Tracker viaDoubles = FatigueModel.standard().newTracker();
+        assertEquals(1_000_000_000L, t.multiplierPpb());
+
+        for (int i = 0; i < 500; i++) {
+            Distance d = Distance.ofYards(25 * (1 + rnd.nextInt(16)));
+            Effort e = Effort.values()[rnd.nextInt(Effort.values().length)];
+            int rest = rnd.nextInt(40);
+            t.swam(d, e);
+            t.rested(rest);
+            viaDoubles.swam(d.toMeters(), e);
+            viaDoubles.rested((double) rest);
+
+            assertEquals(t.load(), t.loadPpb() / 1e9, 1e-6, "step " + i);
+            assertEquals(t.multiplier(), t.multiplierPpb() / 1e9, 1e-8, "step " + i);
+            assertEquals(t.loadPpb(), viaDoubles.loadPpb(), "both entry points feed the same fixed-point load");
+            assertEquals(t.load(), viaDoubles.load());
+        }
+        t.rested(10_000);
+        assertEquals(0, t.loadPpb());
+        assertEquals(1_000_000_000L, t.multiplierPpb());
+    }
+
+    @Test
+    void fatiguedPatternedPlanTracksTheDoublePlan() {
+        Swimmer sw = new Swimmer("Test", "Swimmer");
+        sw.updateSeed100Y(StrokeType.FREESTYLE, 78.37);
+        Workout w = new Workout(sw.getId(), "Patterns", Course.SCY, "", 45);
+        SetGroup g = new SetGroup("Main", 3, 1);
+        for (RepPattern p : RepPattern.values()) {
+            SwimSet set = new SwimSet(StrokeType.FREESTYLE, 7, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+            set.setRepPattern(p);
+            set.setPatternRoundSize(3);
+            g.addSet(set);
+        }
+        w.addSetGroup(g);
+
+        PacingPlan fix = PacingPlan.compile(w, sw, new FixedPointPacePolicy(FatigueModel.standard()));
+        PacingPlan dbl = PacingPlan.compile(w, sw, new DefaultPacePolicy(FatigueModel.standard()));
+        assertEquals(fix.goalSeconds(0, 0, 0), PacingPlan.compile(w, sw, new FixedPointPacePolicy(FatigueModel.standard())).goalSeconds(0, 0, 0));
+        for (int s = 0; s < fix.setCount(); s++) {
+            for (int pass = 0; pass < 3; pass++) {
+                for (int r = 0; r < 7; r++) {
+                    double f = fix.goalSeconds(s, pass, r), d = dbl.goalSeconds(s, pass, r);
+                    assertEquals(d, f, d * 1e-4, "set " + s + " pass " + pass + " rep " + r);
+                    assertEquals(Math.round(f * 1000.0), f * 1000.0, 1e-6, "whole ms");
+                }
+            }
+        }
+        assertTrue(fix.goalSeconds(0, 2, 0) > fix.goalSeconds(0, 0, 0));
+    }
+}
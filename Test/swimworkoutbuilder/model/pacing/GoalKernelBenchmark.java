@@ -0,0 +1,61 @@
+package swimworkoutbuilder.tests;
+
+import swimworkoutbuilder.model.pacing.GoalKernel;
+
+import java.util.Random;
+
+/**
+ * Manual micro-benchmark: scalar vs. best available {@link GoalKernel} on a 10k-swimmer roster.
+ *
+ * <p>To enable the vector kernel, put the compiled {@code src-vector} classes on the
+ * classpath and run with {@code --add-modules jdk.incubator.vector}; without either, both
+ * rows use the scalar kernel.</p>
+ */
+public class GoalKernelBenchmark {
+
+    private static final int SWIMMERS = 10_000;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int ROUNDS = 20_000;
+
+    public static void main(String[] args) {
+        Random rnd = new Random(1);
+        double[] speed = new double[SWIMMERS];
+        double[] pct = new double[SWIMMERS];
+        for (int i = 0; i < SWIMMERS; i++) {
+            speed[i] = 0.9 + 1.0 * rnd.nextDouble();
+            pct[i] = 0.055;
+        }
+        double[] goals = new double[SWIMMERS];
+        int[] rests = new int[SWIMMERS];
+        int[] intervals = new int[SWIMMERS];
+
+        GoalKernel scalar = GoalKernel.scalar();
+        GoalKernel best = GoalKernel.best();
+
+        double scalarNs = time(scalar, speed, pct, goals, rests, intervals);
+        double bestNs = time(best, speed, pct, goals, rests, intervals);
+
+        System.out.printf("swimmers=%d rounds=%d%n", SWIMMERS, ROUNDS);
+        System.out.printf("%-16s %10.1f µs/roster  %6.2f ns/swimmer%n", scalar.name(), scalarNs / 1_000, scalarNs / SWIMMERS);
+        System.out.printf("%-16s %10.1f µs/roster  %6.2f ns/swimmer%n", best.name(), bestNs / 1_000, bestNs / SWIMMERS);
+        System.out.printf("speedup: %.2fx%n", scalarNs / bestNs);
+    }
+
+    /** Mean nanoseconds per full-roster call. */
+    private static double time(GoalKernel k, double[] speed, double[] pct,
+                               double[] goals, int[] rests, int[] intervals) {
+        long sink = 0;
+        for (int r = 0; r < WARMUP_ROUNDS; r++) {
+            k.compute(91.44, 1.02 + r * 1e-9, speed, pct, goals, rests, intervals, 0, SWIMMERS);
+            sink += intervals[r % SWIMMERS];
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            k.compute(91.44, 1.02 + r * 1e-9, speed, pct, goals, rests, intervals, 0, SWIMMERS);
+            sink += intervals[r % SWIMMERS];
+        }
+        long elapsed = System.nanoTime() - t0;
+        if (sink == 42) System.out.println(); // keep results live
+        return (double) elapsed / ROUNDS;
+    }
+}
@@ -0,0 +1,87 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.GoalKernel;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoalKernelTest {
+
+    @Test
+    void scalarKernelMatchesDefaultPacePolicy() {
+        Random rnd = new Random(7);
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+        for (Course c : Course.values()) {
+            Workout w = new Workout(UUID.randomUUID(), "K", c);
+            for (Effort effort : Effort.values()) {
+                SwimSet set = new SwimSet(StrokeType.FREESTYLE, 1, Distance.ofYards(200), effort, c);
+                set.addEquipment(Equipment.PULL_BUOY);
+
+                int n = 64;
+                double[] speed = new double[n], pct = new double[n], goals = new double[n];
+                int[] rests = new int[n], intervals = new int[n];
+                Swimmer[] swimmers = new Swimmer[n];
+                for (int i = 0; i < n; i++) {
+                    swimmers[i] = new Swimmer("S", "" + i);
+                    swimmers[i].updateSeed100Y(StrokeType.FREESTYLE, 55 + 60 * rnd.nextDouble());
+                    speed[i] = swimmers[i].getSeedTime(StrokeType.FREESTYLE).speedMps();
+                    pct[i] = GoalKernel.restPercent(set,
+                            swimmers[i].getSeedTime(StrokeType.FREESTYLE).getOriginalDistance().toMeters());
+                }
+                GoalKernel.scalar().compute(set.getDistancePerRep().toMeters(), GoalKernel.setMultiplier(w, set),
+                        speed, pct, goals, rests, intervals, 0, n);
+
+                for (int i = 0; i < n; i++) {
+                    assertEquals(policy.goalSeconds(w, set, swimmers[i], 0), goals[i]);
+                    assertEquals(policy.restSeconds(w, set, swimmers[i], 0), rests[i]);
+                    assertEquals(policy.intervalSeconds(w, set, swimmers[i], 0), intervals[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void bestKernelIsBitIdenticalToScalar() {
+        Random rnd = new Random(11);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + rnd.nextInt(300); // exercise vector tails
+            double repMeters = 22.86 * (1 + rnd.nextInt(60));
+            double mult = 0.8 + 0.6 * rnd.nextDouble();
+            double[] speed = new double[n], pct = new double[n];
+            for (int i = 0; i < n; i++) {
+                speed[i] = 0.5 + 1.7 * rnd.nextDouble();
+                pct[i] = 0.7 * rnd.nextDouble();
+            }
+            if (trial == 0) { speed[0] = repMeters / 2.5; pct[0] = 0.5; } // exact .5 ties
+
+            double[] g1 = new double[n], g2 = new double[n];
+            int[] r1 = new int[n], r2 = new int[n], i1 = new int[n], i2 = new int[n];
+            GoalKernel.scalar().compute(repMeters, mult, speed, pct, g1, r1, i1, 0, n);
+            GoalKernel.best().compute(repMeters, mult, speed, pct, g2, r2, i2, 0, n);
+
+            assertArrayEquals(g1, g2, GoalKernel.best().name());
+            assertArrayEquals(r1, r2, GoalKernel.best().name());
+            assertArrayEquals(i1, i2, GoalKernel.best().name());
+        }
+    }
+
+    @Test
+    void computeChecksBounds() {
+        double[] d = new double[4];
+        int[] r = new int[4];
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> GoalKernel.best().compute(100, 1, d, d, d, r, new int[3], 0, 4));
+    }
+}
@@ -0,0 +1,151 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.units.Distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end check of {@link DefaultPacePolicy} against the original per-call formula.
+ *
+ * <p>The original multiplied left to right:
+ * {@code (rep / speed) × effort × dist × course × equip}. The table-driven policy multiplies
+ * the four enum factors out first and computes {@code (rep / speed) × product}. The two
+ * groupings can differ in the last bits of the goal. That is the accepted difference:</p>
+ * <ul>
+ *   <li>goals agree to within a few ulps;</li>
+ *   <li>a rounded goal can only differ when the original goal sat on a half-second
+ *       (within 1e-9 s), and then by one second, which moves rest by at most one second
+ *       and the send-off by at most one 5 s step;</li>
+ *   <li>everywhere else goal, rest, and send-off are identical.</li>
+ * </ul>
+ */
+class LegacyGoalFormulaTest {
+
+    private static final int[] DISTANCES = {25, 50, 75, 100, 150, 200, 400, 500, 1000};
+    private static final int[] MASKS = {0, Equipment.FINS.bit(), Equipment.PULL_BUOY.bit() | Equipment.PADDLES.bit(),
+            Equipment.MASK_COUNT - 1};
+
+    @Test
+    void goalsRestsAndSendOffsMatchTheOriginalFormulaUpToHalfSecondTies() {
+        Swimmer sw = new Swimmer("Legacy", "Formula");
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+        long checked = 0, roundedGoalDiffs = 0;
+
+        for (Course course : Course.values()) {
+            Workout w = new Workout(sw.getId(), "Legacy", course);
+            SetGroup g = new SetGroup("Main", 1, 1);
+            w.addSetGroup(g);
+            for (Effort effort : Effort.values()) {
+                for (int d : DISTANCES) {
+                    for (int mask : MASKS) {
+                        SwimSet set = new SwimSet(StrokeType.FREESTYLE, 1, Distance.ofYards(d), effort, course);
+                        set.setEquipmentMask(mask);
+                        for (int hundredths = 5_500; hundredths <= 9_500; hundredths += 1) {
+                            sw.updateSeed100Y(StrokeType.FREESTYLE, hundredths / 100.0);
+                            double speed = sw.getSeedTime(StrokeType.FREESTYLE).speedMps();
+                            double seedMeters = sw.getSeedTime(StrokeType.FREESTYLE).getOriginalDistance().toMeters();
+
+                            double oldGoal = legacyGoal(w, set, speed);
+                            double goal = policy.goalSeconds(w, set, sw, 0);
+                            int rest = policy.restSeconds(w, set, sw, 0);
+                            int interval = policy.intervalSeconds(w, set, sw, 0);
+                            String at = course + " " + effort + " " + d + "y mask " + mask + " seed " + hundredths / 100.0;
+
+                            assertEquals(oldGoal, goal, 4 * Math.ulp(oldGoal), at);
+                            int oldRest = legacyRest(set, oldGoal, seedMeters);
+                            int oldInterval = roundToNearest5((int) Math.round(oldGoal) + oldRest);
+                            if (Math.round(goal) == Math.round(oldGoal)) {
+                                assertEquals(oldRest, rest, at);
+                                assertEquals(oldInterval, interval, at);
+                            } else {
+                                roundedGoalDiffs++;
+                                double frac = oldGoal - Math.floor(oldGoal);
+                                assertEquals(0.5, frac, 1e-9, at + ": differs off a half-second tie");
+                                assertEquals(1, Math.abs(Math.round(goal) - Math.round(oldGoal)), at);
+                                assertTrue(Math.abs(rest - oldRest) <= 1, at);
+                                assertTrue(Math.abs(interval - oldInterval) <= 5, at);
+                            }
+                            checked++;
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(roundedGoalDiffs * 10_000 < checked,
+                roundedGoalDiffs + " of " + checked + " rounded goals differ from the original formula");
+    }
+
+    // ----------------------------------------------------------
+    // The original per-call formula
+    // ----------------------------------------------------------
+
+    private static double legacyGoal(Workout w, SwimSet set, double speedMps) {
+        Effort effort = set.getEffort();
+        double mEffort = (effort == null) ? 1.0 : effort.paceMultiplier();
+        double mDist   = usesDistanceFactor(effort) ? DistanceFactors.forDistance(set.getDistancePerRep()) : 1.0;
+        double mCourse = w.getCourse().multiplier();
+        double mEquip  = 1.0;
+        for (Equipment eq : set.getEquipment()) mEquip *= eq.multiplier();
+        double repMeters = set.getDistancePerRep().toMeters();
+        return (repMeters / speedMps) * mEffort * mDist * mCourse * mEquip * 1.0;
+    }
+
+    private static int legacyRest(SwimSet set, double goal, double seedMeters) {
+        double base = (seedMeters <= 0.0) ? 100.0 : seedMeters;
+        double r = Math.max(0.1, set.getDistancePerRep().toMeters() / base);
+        return Math.max(0, (int) Math.round((int) Math.round(goal) * legacyRestPercent(set.getEffort(), r)));
+    }
+
+    private static boolean usesDistanceFactor(Effort e) {
+        return e == Effort.THRESHOLD || e == Effort.RACE_PACE || e == Effort.VO2_MAX || e == Effort.SPRINT;
+    }
+
+    private static double lerp(double a, double b, double t) {
+        if (t <= 0) return a;
+        if (t >= 1) return b;
+        return a + (b - a) * t;
+    }
+
+    private static double legacyRestPercent(Effort e, double r) {
+        if (e == null) return 0.06;
+        switch (e) {
+            case EASY:
+                if (r <= 1.0) return 0.10;
+                if (r <= 4.0) return lerp(0.10, 0.18, (r - 1.0) / 3.0);
+                return lerp(0.18, 0.05, Math.min((r - 4.0) / 11.0, 1.0));
+            case ENDURANCE:
+                if (r <= 1.0) return 0.04;
+                if (r <= 4.0) return lerp(0.04, 0.05, (r - 1.0) / 3.0);
+                return lerp(0.05, 0.045, Math.min((r - 4.0) / 11.0, 1.0));
+            case THRESHOLD:
+                if (r <= 1.0) return 0.067;
+                if (r <= 4.0) return lerp(0.067, 0.055, (r - 1.0) / 3.0);
+                return lerp(0.055, 0.040, Math.min((r - 4.0) / 11.0, 1.0));
+            case RACE_PACE:
+            case VO2_MAX:
+            case SPRINT:
+                if (r <= 1.0) return 0.70;
+                if (r <= 4.0) return lerp(0.70, 0.25, (r - 1.0) / 3.0);
+                return lerp(0.25, 0.05, Math.min((r - 4.0) / 11.0, 1.0));
+            default:
+                return 0.06;
+        }
+    }
+
+    private static int roundToNearest5(int secs) {
+        int rem = secs % 5;
+        if (rem < 0) rem += 5;
+        return (rem < 3) ? (secs - rem) : (secs + (5 - rem));
+    }
+}
@@ -0,0 +1,113 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.pacing.PaceMultiplierTable;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaceMultiplierTableTest {
+
+    private static final Effort[] EFFORTS_AND_NONE = {
+            Effort.EASY, Effort.ENDURANCE, Effort.THRESHOLD,
+            Effort.RACE_PACE, Effort.VO2_MAX, Effort.SPRINT, null
+    };
+
+    @Test
+    void goalMultiplierIsBitIdenticalToPerCallFormula() {
+        for (Effort effort : EFFORTS_AND_NONE) {
+            for (DistanceFactors bucket : DistanceFactors.values()) {
+                for (Course course : Course.values()) {
+                    for (int mask = 0; mask < PaceMultiplierTable.EQUIPMENT_MASKS; mask++) {
+                        Set<Equipment> eq = equipmentFor(mask);
+
+                        // Formula as DefaultPacePolicy evaluated it per call before the table
+                        double mEffort = (effort == null) ? 1.0 : effort.paceMultiplier();
+                        double mDist   = usesDistanceFactor(effort) ? bucket.multiplier() : 1.0;
+                        double mCourse = course.multiplier();
+                        double mEquip  = 1.0;
+                        for (Equipment e : eq) mEquip *= e.multiplier();
+                        double expected = mEffort * mDist * mCourse * mEquip;
+
+                        double actual = PaceMultiplierTable.goalMultiplier(effort, bucket, course, Equipment.maskOf(eq));
+                        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual),
+                                effort + "/" + bucket + "/" + course + "/" + eq);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void equipmentTableMatchesCombinedMultiplier() {
+        for (int mask = 0; mask < PaceMultiplierTable.EQUIPMENT_MASKS; mask++) {
+            Set<Equipment> eq = equipmentFor(mask);
+            assertEquals(Double.doubleToLongBits(Equipment.combinedMultiplier(eq)),
+                    Double.doubleToLongBits(PaceMultiplierTable.equipmentMultiplier(mask)));
+        }
+    }
+
+    @Test
+    void restPercentIsBitIdenticalToSwitchFormula() {
+        for (Effort effort : EFFORTS_AND_NONE) {
+            for (int i = 0; i <= 2000; i++) {
+                double r = 0.1 + i * 0.01;
+                assertEquals(Double.doubleToLongBits(restPercentSwitch(effort, r)),
+                        Double.doubleToLongBits(PaceMultiplierTable.restPercent(effort, r)),
+                        effort + " r=" + r);
+            }
+        }
+    }
+
+    // --- reference implementation (the pre-table per-call code) ---
+
+    private static Set<Equipment> equipmentFor(int mask) {
+        Set<Equipment> eq = EnumSet.noneOf(Equipment.class);
+        for (Equipment e : Equipment.values()) {
+            if ((mask & (1 << e.ordinal())) != 0) eq.add(e);
+        }
+        return eq;
+    }
+
+    private static boolean usesDistanceFactor(Effort e) {
+        return e == Effort.THRESHOLD || e == Effort.RACE_PACE || e == Effort.VO2_MAX || e == Effort.SPRINT;
+    }
+
+    private static double lerp(double a, double b, double t) {
+        if (t <= 0) return a;
+        if (t >= 1) return b;
+        return a + (b - a) * t;
+    }
+
+    private static double restPercentSwitch(Effort e, double r) {
+        if (e == null) return 0.06;
+        switch (e) {
+            case EASY: {
+                if (r <= 1.0) return 0.10;
+                if (r <= 4.0) return lerp(0.10, 0.18, (r - 1.0) / 3.0);
+                return lerp(0.18, 0.05, Math.min((r - 4.0) / 11.0, 1.0));
+            }
+            case ENDURANCE: {
+                if (r <= 1.0) return 0.04;
+                if (r <= 4.0) return lerp(0.04, 0.05, (r - 1.0) / 3.0);
+                return lerp(0.05, 0.045, Math.min((r - 4.0) / 11.0, 1.0));
+            }
+            case THRESHOLD: {
+                if (r <= 1.0) return 0.067;
+                if (r <= 4.0) return lerp(0.067, 0.055, (r - 1.0) / 3.0);
+                return lerp(0.055, 0.040, Math.min((r - 4.0) / 11.0, 1.0));
+            }
+            default: {
+                if (r <= 1.0) return 0.70;
+                if (r <= 4.0) return lerp(0.70, 0.25, (r - 1.0) / 3.0);
+                return lerp(0.25, 0.05, Math.min((r - 4.0) / 11.0, 1.0));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.CachingPacePolicy;
+import swimworkoutbuilder.model.pacing.CalibratedPacePolicy;
+import swimworkoutbuilder.model.pacing.CoefficientPacePolicy;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.PacePolicyRegistry;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.units.Distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacePolicyRegistryTest {
+
+    private static SwimSet set() {
+        return new SwimSet(StrokeType.FREESTYLE, 4, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+    }
+
+    private static Workout workout(Swimmer sw, SwimSet set) {
+        Workout w = new Workout(sw.getId(), "Registry", Course.SCY);
+        SetGroup g = new SetGroup("Main", 1, 1);
+        g.addSet(set);
+        w.addSetGroup(g);
+        return w;
+    }
+
+    @Test
+    void groupsFallBackToTheDefaultSelection() {
+        PacePolicyRegistry r = PacePolicyRegistry.withDefaults();
+        assertEquals(PacePolicyRegistry.DEFAULT, r.selectedName(null));
+        assertSame(r.get(PacePolicyRegistry.DEFAULT), r.policyFor("Sprint"));
+
+        r.select("Sprint", PacePolicyRegistry.CSS);
+        r.select(PacePolicyRegistry.CALIBRATED);
+        assertSame(r.get(PacePolicyRegistry.CSS), r.policyFor("Sprint"));
+        assertSame(r.get(PacePolicyRegistry.CALIBRATED), r.policyFor("Distance"));
+        assertSame(r.get(PacePolicyRegistry.CALIBRATED), r.policyFor(null));
+
+        r.select("Sprint", null);
+        assertFalse(r.hasOverride("Sprint"));
+        assertSame(r.get(PacePolicyRegistry.CALIBRATED), r.policyFor("Sprint"));
+
+        assertThrows(IllegalArgumentException.class, () -> r.select("No such policy"));
+    }
+
+    @Test
+    void versionAdvancesOnlyWhenTheSelectionChanges() {
+        PacePolicyRegistry r = PacePolicyRegistry.withDefaults();
+        long v0 = r.version();
+        r.select(PacePolicyRegistry.DEFAULT);           // already selected
+        assertEquals(v0, r.version());
+        r.select("Sprint", PacePolicyRegistry.CSS);
+        long v1 = r.version();
+        assertTrue(v1 > v0);
+        r.select("Sprint", PacePolicyRegistry.CSS);     // same override
+        assertEquals(v1, r.version());
+        r.select("Sprint", null);
+        assertTrue(r.version() > v1);
+    }
+
+    @Test
+    void planGoesStaleWhenThePolicyVersionChanges() {
+        Swimmer sw = Fixtures.swimmer();
+        SwimSet s = set();
+        Workout w = workout(sw, s);
+
+        CalibratedPacePolicy cal = new CalibratedPacePolicy();
+        PacingPlan plan = PacingPlan.compile(w, sw, cal);
+        assertTrue(plan.isFor(w, sw, cal));
+
+        cal.observe(w, s, sw, 0, cal.goalSeconds(w, s, sw, 0) * 1.1);
+        assertFalse(plan.isFor(w, sw, cal));
+        assertTrue(PacingPlan.compile(w, sw, cal).isFor(w, sw, cal));
+
+        CoefficientPacePolicy custom = new CoefficientPacePolicy(new DefaultPacePolicy());
+        plan = PacingPlan.compile(w, sw, custom);
+        custom.setGoalScale(1.0);                       // unchanged value: plan stays valid
+        assertTrue(plan.isFor(w, sw, custom));
+        custom.setRestScale(1.5);
+        assertFalse(plan.isFor(w, sw, custom));
+    }
+
+    @Test
+    void cacheRecomputesAfterTheDelegateChanges() {
+        Swimmer sw = Fixtures.swimmer();
+        SwimSet s = set();
+        Workout w = workout(sw, s);
+        DefaultPacePolicy def = new DefaultPacePolicy();
+
+        CoefficientPacePolicy custom = new CoefficientPacePolicy(def);
+        CachingPacePolicy cached = new CachingPacePolicy(custom);
+        assertEquals(def.goalSeconds(w, s, sw, 0), cached.goalSeconds(w, s, sw, 0));
+        assertEquals(def.intervalSeconds(w, s, sw, 0), cached.intervalSeconds(w, s, sw, 0));
+
+        custom.setGoalScale(0.9);
+        assertEquals(def.goalSeconds(w, s, sw, 0) * 0.9, cached.goalSeconds(w, s, sw, 0), 1e-9);
+        assertEquals(custom.intervalSeconds(w, s, sw, 0), cached.intervalSeconds(w, s, sw, 0));
+        assertEquals(custom.version(), cached.version());
+    }
+}
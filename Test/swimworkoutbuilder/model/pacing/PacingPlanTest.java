@@ -0,0 +1,162 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.CoefficientPacePolicy;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.FatigueModel;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.units.Distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacingPlanTest {
+
+    /** Warmup 1×, main 3× with a descend and a build set, then a backstroke set (no seed). */
+    private static Workout workout(Swimmer sw) {
+        Workout w = new Workout(sw.getId(), "Plan", Course.SCY, "", 60);
+
+        SetGroup warm = new SetGroup("Warmup", 1, 1);
+        warm.addSet(new SwimSet(StrokeType.FREESTYLE, 4, Distance.ofYards(50), Effort.EASY, Course.SCY));
+        w.addSetGroup(warm);
+
+        SetGroup main = new SetGroup("Main", 3, 2);
+        SwimSet descend = new SwimSet(StrokeType.FREESTYLE, 8, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+        descend.setRepPattern(RepPattern.DESCEND);
+        descend.setPatternRoundSize(4);
+        SwimSet build = new SwimSet(StrokeType.FREESTYLE, 5, Distance.ofYards(75), Effort.RACE_PACE, Course.SCY);
+        build.setRepPattern(RepPattern.BUILD);
+        main.addSet(descend);
+        main.addSet(build);
+        main.setRestAfterGroupSec(90);
+        w.addSetGroup(main);
+
+        SetGroup back = new SetGroup("Back", 2, 3);
+        back.addSet(new SwimSet(StrokeType.BACKSTROKE, 6, Distance.ofYards(50), Effort.ENDURANCE, Course.SCY));
+        w.addSetGroup(back);
+        return w;
+    }
+
+    @Test
+    void everyRepMatchesThePolicyAndTotalsAddUp() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = workout(sw);
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+        PacingPlan plan = PacingPlan.compile(w, sw, policy);
+
+        assertEquals(3, plan.groupCount());
+        assertEquals(4, plan.setCount());
+        long swim = 0, rest = 0;
+        for (int gi = 0; gi < plan.groupCount(); gi++) {
+            SetGroup g = w.getGroups().get(gi);
+            assertEquals(g.getReps(), plan.passCount(gi));
+            for (int k = 0; k < plan.setCount(gi); k++) {
+                SwimSet s = g.getSets().get(k);
+                int flat = plan.flatSetIndex(gi, k);
+                assertEquals(flat, plan.flatSetIndexOf(s));
+                assertEquals(gi, plan.groupOf(flat));
+                assertEquals(s.getReps(), plan.repCount(flat));
+                if (!plan.isTimed(flat)) continue;
+
+                long setSwim = 0, setRest = 0;
+                for (int pass = 0; pass < plan.passCount(gi); pass++) {
+                    for (int r = 0; r < s.getReps(); r++) {
+                        String at = s.getStroke() + " pass " + pass + " rep " + r;
+                        assertEquals(policy.goalSeconds(w, s, sw, r), plan.goalSeconds(flat, pass, r), at);
+                        assertEquals(policy.restSeconds(w, s, sw, r), plan.restSeconds(flat, pass, r), at);
+                        assertEquals(policy.intervalSeconds(w, s, sw, r), plan.intervalSeconds(flat, pass, r), at);
+                        setSwim += Math.round(plan.goalSeconds(flat, pass, r));
+                        setRest += plan.restSeconds(flat, pass, r);
+                    }
+                }
+                assertEquals(setSwim, plan.setSwimSeconds(flat));
+                assertEquals(setRest, plan.setRestSeconds(flat));
+                swim += setSwim;
+                rest += setRest;
+            }
+        }
+        assertEquals(swim, plan.totalSwimSeconds());
+        assertEquals(rest, plan.totalIntraRestSeconds());
+        assertEquals(60 + 90, plan.totalBetweenGroupRestSeconds(), "workout default after warmup, override after main");
+        assertEquals(0, plan.restAfterGroupSeconds(2), "nothing after the last group");
+        assertEquals(swim + rest + 150, plan.totalSeconds());
+        assertEquals(-1, plan.flatSetIndexOf(Fixtures.yards(1, 100)));
+    }
+
+    @Test
+    void repeatedGroupPassesCopyWithoutFatigueAndSlowWithIt() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = workout(sw);
+        int descend = 1;
+
+        PacingPlan fresh = PacingPlan.compile(w, sw, new DefaultPacePolicy());
+        for (int pass = 1; pass < fresh.passCount(1); pass++) {
+            for (int r = 0; r < fresh.repCount(descend); r++) {
+                assertEquals(fresh.goalSeconds(descend, r), fresh.goalSeconds(descend, pass, r));
+                assertEquals(fresh.intervalSeconds(descend, r), fresh.intervalSeconds(descend, pass, r));
+            }
+        }
+
+        PacingPlan tired = PacingPlan.compile(w, sw, new DefaultPacePolicy(FatigueModel.standard()));
+        for (int r = 0; r < tired.repCount(descend); r++) {
+            assertTrue(tired.goalSeconds(descend, 0, r) >= fresh.goalSeconds(descend, r), "fatigue never speeds up rep " + r);
+            assertTrue(tired.goalSeconds(descend, 2, r) > tired.goalSeconds(descend, 0, r), "third pass slower at rep " + r);
+        }
+        assertTrue(tired.totalSwimSeconds() > fresh.totalSwimSeconds());
+        assertThrows(IndexOutOfBoundsException.class, () -> tired.goalSeconds(descend, 3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> tired.goalSeconds(descend, 0, 8));
+    }
+
+    @Test
+    void setsWithoutASeedAreUntimedNotFatal() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = workout(sw);
+        PacingPlan plan = PacingPlan.compile(w, sw, new DefaultPacePolicy());
+
+        int back = plan.flatSetIndex(2, 0);
+        assertFalse(plan.isTimed(back));
+        assertEquals(0, plan.setSwimSeconds(back));
+        assertEquals(0, plan.groupSwimSeconds(2));
+        assertThrows(IllegalStateException.class, () -> plan.goalSeconds(back, 0));
+        assertThrows(IllegalStateException.class, () -> plan.intervalSeconds(back, 1, 0));
+        for (int k = 0; k < back; k++) assertTrue(plan.isTimed(k));
+
+        sw.updateSeed100Y(StrokeType.BACKSTROKE, 85);
+        assertTrue(PacingPlan.compile(w, sw, new DefaultPacePolicy()).isTimed(back));
+    }
+
+    @Test
+    void isForGoesStaleWhenWorkoutSeedsOrPolicyChange() {
+        Swimmer sw = Fixtures.swimmer();
+        Workout w = workout(sw);
+        CoefficientPacePolicy policy = new CoefficientPacePolicy(new DefaultPacePolicy());
+
+        PacingPlan plan = PacingPlan.compile(w, sw, policy);
+        assertTrue(plan.isFor(w, sw, policy));
+        assertFalse(plan.isFor(w, sw, new CoefficientPacePolicy(new DefaultPacePolicy())), "other policy instance");
+        assertFalse(plan.isFor(workout(sw), sw, policy), "other workout instance");
+
+        w.getGroups().get(1).getSets().get(0).setReps(6);
+        assertFalse(plan.isFor(w, sw, policy), "workout revision moved");
+
+        plan = PacingPlan.compile(w, sw, policy);
+        sw.updateSeed100Y(StrokeType.FREESTYLE, 76);
+        assertFalse(plan.isFor(w, sw, policy), "seed revision moved");
+
+        plan = PacingPlan.compile(w, sw, policy);
+        policy.setGoalScale(0.95);
+        assertFalse(plan.isFor(w, sw, policy), "policy version moved");
+
+        plan = PacingPlan.compile(w, sw, policy);
+        assertTrue(plan.isFor(w, sw, policy));
+        assertEquals(w.getRevision(), plan.getWorkoutRevision());
+        assertEquals(policy.version(), plan.getPolicyVersion());
+    }
+}
@@ -0,0 +1,106 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.pacing.PacingTrace;
+import swimworkoutbuilder.model.units.Distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacingTraceTest {
+
+    @AfterEach
+    void reset() {
+        PacingTrace.stop();
+        PacingTrace.buffer().clear();
+    }
+
+    private static Swimmer swimmer(String last) {
+        Swimmer sw = new Swimmer("Test", last);
+        sw.updateSeed100Y(StrokeType.FREESTYLE, 78);
+        return sw;
+    }
+
+    private static Workout workout(Swimmer sw) {
+        Workout w = new Workout(sw.getId(), "Trace", Course.SCY, "", 60);
+        SetGroup g = new SetGroup("Main", 1, 1);
+        g.addSet(new SwimSet(StrokeType.FREESTYLE, 4, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY));
+        w.addSetGroup(g);
+        return w;
+    }
+
+    @Test
+    void recordsNothingUnlessWatched() {
+        Swimmer sw = swimmer("A");
+        PacingPlan.compile(workout(sw), sw, new DefaultPacePolicy());
+        assertEquals(0, PacingTrace.buffer().size());
+
+        PacingTrace.watch(swimmer("Other").getId());
+        PacingPlan.compile(workout(sw), sw, new DefaultPacePolicy());
+        assertEquals(0, PacingTrace.buffer().size());
+    }
+
+    @Test
+    void watchedSwimmerProducesOneBatchRowPerRep() {
+        Swimmer sw = swimmer("A");
+        Workout w = workout(sw);
+        PacingTrace.watch(sw.getId());
+        PacingPlan plan = PacingPlan.compile(w, sw, new DefaultPacePolicy());
+
+        String[] lines = PacingTrace.buffer().toCsv().split("\n");
+        assertEquals(PacingTrace.CSV_HEADER, lines[0]);
+        assertEquals(1 + 4, lines.length);
+        for (int r = 0; r < 4; r++) {
+            String[] f = lines[1 + r].split(",", -1);
+            assertEquals("BATCH", f[1]);
+            assertEquals(w.getId().toString(), f[2]);
+            assertEquals(sw.getId().toString(), f[3]);
+            assertEquals("FREESTYLE", f[4]);
+            assertEquals("THRESHOLD", f[5]);
+            assertEquals(String.valueOf(r + 1), f[6]);
+            assertEquals(String.valueOf(plan.intervalSeconds(0, r)), f[19]);
+            int raw = Integer.parseInt(f[18]);
+            assertEquals(plan.intervalSeconds(0, r) - raw, Integer.parseInt(f[20]));
+        }
+    }
+
+    @Test
+    void perRepCallsRecordEachStepAndLeaveUnknownsBlank() {
+        Swimmer sw = swimmer("A");
+        Workout w = workout(sw);
+        SwimSet set = w.getGroups().get(0).getSets().get(0);
+        PacingTrace.watch(w.getId());
+        new DefaultPacePolicy().goalSeconds(w, set, sw, 0);
+
+        String[] f = PacingTrace.buffer().toCsv().split("\n")[1].split(",", -1);
+        assertEquals("GOAL", f[1]);
+        assertFalse(f[15].isEmpty(), "goal");
+        assertTrue(f[16].isEmpty(), "rest % unknown on a goal row");
+        assertTrue(f[17].isEmpty(), "rest unknown on a goal row");
+    }
+
+    @Test
+    void ringBufferKeepsNewestRows() {
+        Swimmer sw = swimmer("A");
+        Workout w = workout(sw);
+        SwimSet set = w.getGroups().get(0).getSets().get(0);
+        PacingTrace trace = new PacingTrace(3);
+        for (int r = 0; r < 5; r++) {
+            trace.record(PacingTrace.Kind.GOAL, w, set, sw, r, 1.0, 1.0, 1.0, 60.0, Double.NaN, -1, -1, -1);
+        }
+        assertEquals(3, trace.size());
+        assertEquals(2, trace.dropped());
+        String[] lines = trace.toCsv().split("\n");
+        assertTrue(lines[1].startsWith("2,GOAL,"));
+        assertTrue(lines[3].startsWith("4,GOAL,"));
+    }
+}
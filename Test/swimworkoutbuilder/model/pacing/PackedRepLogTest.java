@@ -0,0 +1,75 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.PackedRepLog;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.DistanceAccumulator;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedRepLogTest {
+
+    @Test
+    void distanceCodecRoundTripsValueAndUnit() {
+        Distance[] samples = {
+                Distance.ofYards(25), Distance.ofMeters(25), Distance.ofYards(1650), Distance.ofMeters(1500),
+                Distance.ofMeters(33.3333), Distance.ofYards(0), Distance.ofMeters(-50)};
+        for (Distance d : samples) {
+            Distance back = Distance.unpack(d.pack());
+            assertEquals(d.rawMicroUnits(), back.rawMicroUnits(), d.toString());
+            assertEquals(d.displayUnit(), back.displayUnit(), d.toString());
+            assertEquals(d.rawMicroUnits(), Distance.packedMicroUnits(d.pack()));
+        }
+        assertSame(Distance.ofYards(100), Distance.unpack(Distance.ofYards(100).pack()));
+        assertThrows(ArithmeticException.class,
+                () -> Distance.ofCanonicalMicroUnits(Long.MAX_VALUE / 2 + 1, Distance.Unit.METERS).pack());
+    }
+
+    @Test
+    void storesAndMaterializesRecords() {
+        PackedRepLog log = new PackedRepLog(2);
+        log.add(Distance.ofYards(100), StrokeType.FREESTYLE, Effort.THRESHOLD,
+                TimeSpan.ofSeconds(72.5), TimeSpan.ofSeconds(71.84));
+        log.add(Distance.ofMeters(50), StrokeType.BUTTERFLY, Effort.SPRINT, TimeSpan.ofSeconds(31), null);
+        log.addPacked(Distance.ofMeters(200).pack(), StrokeType.BACKSTROKE, Effort.ENDURANCE, 180_000, 178_250);
+
+        assertEquals(3, log.size());
+        assertEquals(Distance.ofYards(100), log.distance(0));
+        assertEquals(Distance.Unit.YARDS, log.distance(0).displayUnit());
+        assertEquals(72_500, log.goalMillis(0));
+        assertEquals(TimeSpan.ofMillis(71_840), log.actual(0));
+        assertFalse(log.isTimed(1));
+        assertNull(log.actual(1));
+        assertEquals(StrokeType.BUTTERFLY, log.stroke(1));
+        assertEquals(Effort.SPRINT, log.effort(1));
+        assertEquals(Distance.ofMeters(200).rawMicroUnits(), log.distanceMicroUnits(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> log.goalMillis(3));
+    }
+
+    @Test
+    void growsToMillionsOfRepsAndTotalsExactly() {
+        PackedRepLog log = new PackedRepLog(0);
+        Random rnd = new Random(19);
+        DistanceAccumulator expected = new DistanceAccumulator();
+        int n = 1_000_000;
+        for (int i = 0; i < n; i++) {
+            Distance d = Distance.ofYards(25 * (1 + rnd.nextInt(8)));
+            expected.add(d);
+            log.addPacked(d.pack(), StrokeType.FREESTYLE, Effort.ENDURANCE, 60_000 + i % 1000, PackedRepLog.NO_TIME);
+        }
+        assertEquals(n, log.size());
+        DistanceAccumulator actual = new DistanceAccumulator();
+        log.addDistanceTo(actual);
+        assertEquals(expected.microUnits(), actual.microUnits());
+
+        log.trimToSize();
+        assertEquals((long) n * PackedRepLog.BYTES_PER_REP, log.columnBytes());
+        log.clear();
+        assertTrue(log.isEmpty());
+    }
+}
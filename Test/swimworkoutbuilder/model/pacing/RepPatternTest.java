@@ -0,0 +1,100 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.CachingPacePolicy;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.units.Distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepPatternTest {
+
+    private static Workout workout(Swimmer sw, SwimSet set) {
+        Workout w = new Workout(sw.getId(), "Patterns", Course.SCY, "", 60);
+        SetGroup g = new SetGroup("Main", 1, 1);
+        g.addSet(set);
+        w.addSetGroup(g);
+        return w;
+    }
+
+    private static SwimSet set(int reps, RepPattern pattern, int roundSize) {
+        SwimSet s = new SwimSet(StrokeType.FREESTYLE, reps, Distance.ofYards(100), Effort.THRESHOLD, Course.SCY);
+        s.setRepPattern(pattern);
+        s.setPatternRoundSize(roundSize);
+        return s;
+    }
+
+    @Test
+    void multipliersFollowThePattern() {
+        // descend 1-4 twice through 8 reps: slowest first, target on the 4th
+        assertEquals(1.0 + 3 * 0.02, RepPattern.DESCEND.multiplier(0, 8, 4), 1e-12);
+        assertEquals(1.0, RepPattern.DESCEND.multiplier(3, 8, 4), 1e-12);
+        assertEquals(1.0 + 3 * 0.02, RepPattern.DESCEND.multiplier(4, 8, 4), 1e-12);
+
+        assertEquals(1.06, RepPattern.BUILD.multiplier(0, 5, 0), 1e-12);
+        assertEquals(1.0, RepPattern.BUILD.multiplier(4, 5, 0), 1e-12);
+        assertEquals(1.0, RepPattern.BUILD.multiplier(0, 1, 0), 1e-12);
+
+        assertEquals(1.06, RepPattern.ODDS_EVENS.multiplier(0, 4, 0), 1e-12);
+        assertEquals(1.0, RepPattern.ODDS_EVENS.multiplier(1, 4, 0), 1e-12);
+
+        assertEquals(1.03, RepPattern.NEGATIVE_SPLIT.multiplier(1, 4, 0), 1e-12);
+        assertEquals(1.0, RepPattern.NEGATIVE_SPLIT.multiplier(2, 4, 0), 1e-12);
+
+        for (int r = 0; r < 6; r++) assertEquals(1.0, RepPattern.NONE.multiplier(r, 6, 0));
+    }
+
+    @Test
+    void descendGoalsGetFasterWithinEachRound() {
+        Swimmer sw = Fixtures.swimmer();
+        SwimSet s = set(8, RepPattern.DESCEND, 4);
+        Workout w = workout(sw, s);
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+
+        for (int r = 1; r < 8; r++) {
+            double prev = policy.goalSeconds(w, s, sw, r - 1);
+            double cur = policy.goalSeconds(w, s, sw, r);
+            if (r % 4 == 0) assertTrue(cur > prev, "new round restarts slow at rep " + r);
+            else assertTrue(cur < prev, "rep " + r + " faster than rep " + (r - 1));
+        }
+    }
+
+    @Test
+    void planMatchesPerRepPolicy() {
+        Swimmer sw = Fixtures.swimmer();
+        DefaultPacePolicy policy = new DefaultPacePolicy();
+        for (RepPattern p : RepPattern.values()) {
+            SwimSet s = set(10, p, 5);
+            Workout w = workout(sw, s);
+            PacingPlan plan = PacingPlan.compile(w, sw, policy);
+            for (int r = 0; r < 10; r++) {
+                assertEquals(policy.goalSeconds(w, s, sw, r), plan.goalSeconds(0, r), p + " goal " + r);
+                assertEquals(policy.restSeconds(w, s, sw, r), plan.restSeconds(0, r), p + " rest " + r);
+                assertEquals(policy.intervalSeconds(w, s, sw, r), plan.intervalSeconds(0, r), p + " interval " + r);
+            }
+        }
+    }
+
+    @Test
+    void cacheKeepsPatternsApart() {
+        Swimmer sw = Fixtures.swimmer();
+        CachingPacePolicy cached = new CachingPacePolicy(new DefaultPacePolicy());
+        SwimSet even = set(4, RepPattern.NONE, 0);
+        SwimSet build = set(4, RepPattern.BUILD, 0);
+        Workout w = workout(sw, even);
+
+        double evenGoal = cached.goalSeconds(w, even, sw, 0);
+        double buildGoal = cached.goalSeconds(w, build, sw, 0);
+        assertTrue(buildGoal > evenGoal);
+        assertEquals(evenGoal, cached.goalSeconds(w, even, sw, 0));
+    }
+}
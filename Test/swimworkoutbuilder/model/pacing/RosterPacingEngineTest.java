@@ -0,0 +1,150 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.FatigueModel;
+import swimworkoutbuilder.model.pacing.PacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.pacing.RosterPacingEngine;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterPacingEngineTest {
+
+    private static Workout workout(Course c) {
+        Workout w = new Workout(UUID.randomUUID(), "Club Workout", c, "", 45);
+        SetGroup warm = new SetGroup("Warmup", 1, 1);
+        warm.addSet(new SwimSet(StrokeType.FREESTYLE, 1, Distance.ofYards(400), Effort.EASY, c));
+        SwimSet kick = new SwimSet(StrokeType.KICK, 4, Distance.ofYards(50), Effort.ENDURANCE, c);
+        kick.addEquipment(Equipment.FINS);
+        warm.addSet(kick);
+
+        SetGroup main = new SetGroup("Main", 3, 2);
+        main.addSet(new SwimSet(StrokeType.FREESTYLE, 6, Distance.ofYards(100), Effort.THRESHOLD, c));
+        main.addSet(new SwimSet(StrokeType.BUTTERFLY, 4, Distance.ofYards(50), Effort.SPRINT, c));
+        main.setRestAfterGroupSec(90);
+
+        SetGroup cool = new SetGroup("Cool", 1, 3);
+        cool.addSet(new SwimSet(StrokeType.BACKSTROKE, 2, Distance.ofYards(100), Effort.EASY, c));
+
+        w.addSetGroup(warm);
+        w.addSetGroup(main);
+        w.addSetGroup(cool);
+        return w;
+    }
+
+    private static List<Swimmer> roster(int n) {
+        Random rnd = new Random(42);
+        List<Swimmer> roster = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Swimmer s = new Swimmer("Swimmer", "#" + i);
+            s.updateSeed100Y(StrokeType.FREESTYLE, 60 + rnd.nextInt(40) + rnd.nextDouble());
+            s.updateSeed100Y(StrokeType.KICK, 90 + rnd.nextInt(40));
+            s.updateSeed100Y(StrokeType.BACKSTROKE, 70 + rnd.nextInt(40) + rnd.nextDouble());
+            if (i % 7 != 0) s.updateSeed100M(StrokeType.BUTTERFLY, 70 + rnd.nextInt(40)); // some lack fly
+            roster.add(s);
+        }
+        return roster;
+    }
+
+    @Test
+    void matchesSerialPerRepLoop() {
+        Workout w = workout(Course.SCY);
+        List<Swimmer> roster = roster(300);
+        PacePolicy policy = new DefaultPacePolicy();
+
+        RosterPacingEngine.Result r = new RosterPacingEngine().compute(w, roster, policy);
+        assertEquals(300, r.swimmerCount());
+
+        for (int i = 0; i < roster.size(); i++) {
+            Swimmer sw = roster.get(i);
+            int flat = 0;
+            for (int g = 0; g < w.getGroups().size(); g++) {
+                SetGroup group = w.getGroups().get(g);
+                for (SwimSet set : group.getSets()) {
+                    boolean seeded = sw.getSeedTime(set.getStroke()) != null;
+                    assertEquals(seeded, r.isTimed(i, flat), "swimmer " + i + " set " + flat);
+                    for (int pass = 0; pass < group.getReps(); pass++) {
+                        for (int rep = 0; rep < set.getReps(); rep++) {
+                            int k = r.repIndex(flat, pass, rep);
+                            if (!seeded) {
+                                assertEquals(0.0, r.goalSeconds(i, k));
+                                continue;
+                            }
+                            assertEquals(policy.goalSeconds(w, set, sw, rep), r.goalSeconds(i, k));
+                            assertEquals(policy.restSeconds(w, set, sw, rep), r.restSeconds(i, k));
+                            assertEquals(policy.intervalSeconds(w, set, sw, rep), r.intervalSeconds(i, k));
+                        }
+                    }
+                    flat++;
+                }
+            }
+        }
+    }
+
+    @Test
+    void fatiguedRosterMatchesPerSwimmerPlans() {
+        Workout w = workout(Course.LCM);
+        List<Swimmer> roster = roster(50);
+        PacePolicy policy = new DefaultPacePolicy(FatigueModel.standard());
+
+        RosterPacingEngine.Result r = new RosterPacingEngine().compute(w, roster, policy);
+        for (int i = 0; i < roster.size(); i++) {
+            PacingPlan plan = PacingPlan.compile(w, roster.get(i), policy);
+            for (int s = 0; s < plan.setCount(); s++) {
+                if (!plan.isTimed(s)) continue;
+                for (int pass = 0; pass < plan.passCount(plan.groupOf(s)); pass++) {
+                    for (int rep = 0; rep < plan.repCount(s); rep++) {
+                        int k = r.repIndex(s, pass, rep);
+                        assertEquals(plan.goalSeconds(s, pass, rep), r.goalSeconds(i, k));
+                        assertEquals(plan.intervalSeconds(s, pass, rep), r.intervalSeconds(i, k));
+                    }
+                }
+            }
+            assertEquals(plan.totalSeconds(), r.totalSeconds(i));
+        }
+    }
+
+    @Test
+    void resultIsIndependentOfParallelism() {
+        Workout w = workout(Course.SCM);
+        List<Swimmer> roster = roster(137);
+        PacePolicy policy = new DefaultPacePolicy(FatigueModel.standard());
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(4);
+        try {
+            RosterPacingEngine.Result a = new RosterPacingEngine(single, 1_000).compute(w, roster, policy);
+            RosterPacingEngine.Result b = new RosterPacingEngine(wide, 1).compute(w, roster, policy);
+            assertArrayEquals(a.goals(), b.goals());
+            assertArrayEquals(a.rests(), b.rests());
+            assertArrayEquals(a.intervals(), b.intervals());
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void emptyRoster() {
+        RosterPacingEngine.Result r = new RosterPacingEngine()
+                .compute(workout(Course.SCY), List.of(), new DefaultPacePolicy());
+        assertEquals(0, r.swimmerCount());
+        assertEquals(0, r.goals().length);
+    }
+}
@@ -0,0 +1,115 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.WorkoutTable;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.FatigueModel;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.pacing.TablePacer;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablePacerTest {
+
+    private static Workout randomWorkout(long seed) {
+        Random rnd = new Random(seed);
+        Workout w = new Workout(UUID.randomUUID(), "Plan", Course.SCY, "", 40);
+        for (int g = 0; g < 30; g++) {
+            SetGroup group = new SetGroup("G" + g, 1 + rnd.nextInt(4), g + 1);
+            group.setRestAfterGroupSec(rnd.nextBoolean() ? 0 : 20 + rnd.nextInt(90));
+            for (int s = 0; s < 12; s++) {
+                StrokeType stroke = StrokeType.values()[rnd.nextInt(StrokeType.values().length)];
+                Effort effort = Effort.values()[rnd.nextInt(Effort.values().length)];
+                SwimSet set = new SwimSet(stroke, 1 + rnd.nextInt(8), Distance.ofYards(25 * (1 + rnd.nextInt(32))),
+                        effort, Course.SCY);
+                if (rnd.nextInt(3) == 0) set.addEquipment(Equipment.values()[rnd.nextInt(Equipment.values().length)]);
+                if (rnd.nextInt(3) == 0) set.setRepPattern(RepPattern.values()[rnd.nextInt(RepPattern.values().length)]);
+                set.setPatternRoundSize(rnd.nextInt(4));
+                group.addSet(set);
+            }
+            w.addSetGroup(group);
+        }
+        return w;
+    }
+
+    // Every stroke but BUTTERFLY, so some sets are untimed
+    private static Swimmer swimmer() {
+        Swimmer sw = new Swimmer("Ana", "Lane");
+        int secs = 70;
+        for (StrokeType st : StrokeType.values()) {
+            if (st == StrokeType.BUTTERFLY) continue;
+            sw.updateSeedTime(st, Distance.ofYards(100), TimeSpan.ofSeconds(secs += 6));
+        }
+        return sw;
+    }
+
+    private static void assertSameTotals(Workout w, Swimmer sw, DefaultPacePolicy policy) {
+        PacingPlan plan = PacingPlan.compile(w, sw, policy);
+        TablePacer.Result r = TablePacer.compute(WorkoutTable.of(w), sw, policy);
+
+        for (int s = 0; s < plan.setCount(); s++) {
+            assertEquals(plan.isTimed(s), r.isTimed(s), "timed " + s);
+            assertEquals(plan.setSwimSeconds(s), r.setSwimSeconds(s), "swim " + s);
+            assertEquals(plan.setRestSeconds(s), r.setRestSeconds(s), "rest " + s);
+        }
+        for (int g = 0; g < plan.groupCount(); g++) {
+            assertEquals(plan.groupSwimSeconds(g), r.groupSwimSeconds(g), "group swim " + g);
+            assertEquals(plan.groupRestSeconds(g), r.groupRestSeconds(g), "group rest " + g);
+        }
+        assertEquals(plan.totalSwimSeconds(), r.totalSwimSeconds());
+        assertEquals(plan.totalIntraRestSeconds(), r.totalIntraRestSeconds());
+        assertEquals(plan.totalBetweenGroupRestSeconds(), r.totalBetweenGroupRestSeconds());
+        assertEquals(plan.totalSeconds(), r.totalSeconds());
+    }
+
+    @Test
+    void matchesPacingPlanWithoutFatigue() {
+        for (long seed = 1; seed <= 5; seed++) assertSameTotals(randomWorkout(seed), swimmer(), new DefaultPacePolicy());
+    }
+
+    @Test
+    void matchesPacingPlanWithFatigue() {
+        DefaultPacePolicy policy = new DefaultPacePolicy(FatigueModel.standard());
+        for (long seed = 1; seed <= 5; seed++) assertSameTotals(randomWorkout(seed), swimmer(), policy);
+    }
+
+    @Test
+    void secondsByEffortAddUpToSetTotals() {
+        Workout w = randomWorkout(9);
+        Swimmer sw = swimmer();
+        PacingPlan plan = PacingPlan.compile(w, sw, new DefaultPacePolicy());
+        TablePacer.Result r = TablePacer.compute(WorkoutTable.of(w), sw, new DefaultPacePolicy());
+
+        long[] expected = new long[Effort.values().length];
+        int flat = 0;
+        for (SetGroup g : w.getGroups()) {
+            for (SwimSet s : g.getSets()) {
+                expected[s.getEffort().ordinal()] += plan.setSwimSeconds(flat) + plan.setRestSeconds(flat);
+                flat++;
+            }
+        }
+        assertArrayEquals(expected, r.secondsByEffort());
+        assertEquals(plan.totalSwimSeconds() + plan.totalIntraRestSeconds(), java.util.Arrays.stream(expected).sum());
+    }
+
+    @Test
+    void rejectsDefaultPacePolicySubclasses() {
+        DefaultPacePolicy subclass = new DefaultPacePolicy() {};
+        WorkoutTable table = WorkoutTable.of(randomWorkout(3));
+        assertThrows(IllegalArgumentException.class, () -> TablePacer.compute(table, swimmer(), subclass));
+    }
+}
@@ -0,0 +1,76 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.DistanceAccumulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceAccumulatorTest {
+
+    /** 4×50 warmup, 3 × (8×25 + 2×175), 1×1650: odd yardages that round badly in meters. */
+    private static Workout scyWorkout() {
+        Workout w = new Workout(new Swimmer("A", "B").getId(), "SCY", Course.SCY);
+        SetGroup warm = new SetGroup("Warmup", 1, 1);
+        warm.addSet(Fixtures.yards(4, 50));
+        SetGroup main = new SetGroup("Main", 3, 2);
+        main.addSet(Fixtures.yards(8, 25));
+        main.addSet(Fixtures.yards(2, 175));
+        SetGroup mile = new SetGroup("Mile", 1, 3);
+        mile.addSet(Fixtures.yards(1, 1650));
+        w.addSetGroup(warm);
+        w.addSetGroup(main);
+        w.addSetGroup(mile);
+        return w;
+    }
+
+    @Test
+    void scyTotalsAreExactInYards() {
+        Workout w = scyWorkout();
+        int expectedYards = 4 * 50 + 3 * (8 * 25 + 2 * 175) + 1650;   // 3500
+        assertEquals(Distance.ofYards(expectedYards).rawMicroUnits(), w.totalDistance().rawMicroUnits());
+        assertEquals(expectedYards, w.totalDistance().toYards(), 0.0);
+
+        int singlePass = 4 * 50 + (8 * 25 + 2 * 175) + 1650;
+        assertEquals(Distance.ofYards(singlePass).rawMicroUnits(), w.singlePassDistance().rawMicroUnits());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation") // the deprecated totalDistanceMeters() must agree too
+    void everyAggregationPathAgrees() {
+        Workout w = scyWorkout();
+        DistanceAccumulator viaWorkout = new DistanceAccumulator();
+        w.addTotalTo(viaWorkout);
+
+        DistanceAccumulator viaGroups = new DistanceAccumulator();
+        for (SetGroup g : w.getGroups()) viaGroups.add(g.totalDistance());
+
+        assertEquals(w.totalDistance().rawMicroUnits(), viaWorkout.microUnits());
+        assertEquals(viaWorkout.microUnits(), viaGroups.microUnits());
+        assertEquals(Math.round(w.totalDistance().toMeters()), w.totalDistanceMeters());
+    }
+
+    @Test
+    void arithmeticIsExactAndReusable() {
+        DistanceAccumulator acc = new DistanceAccumulator()
+                .add(Distance.ofYards(25), 3)
+                .add(Distance.ofYards(25));
+        assertEquals(100.0, acc.toYards(), 0.0);
+        assertSame(Distance.ofYards(100), acc.toDistance(Distance.Unit.YARDS));
+
+        acc.reset().addMicroUnits(Distance.ofMeters(50).rawMicroUnits(), 30);
+        assertEquals(1500.0, acc.toMeters(), 0.0);
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        DistanceAccumulator acc = new DistanceAccumulator().addMicroUnits(Long.MAX_VALUE - 1, 1);
+        assertThrows(ArithmeticException.class, () -> acc.add(Distance.ofMeters(1)));
+        assertThrows(ArithmeticException.class,
+                () -> new DistanceAccumulator().add(Distance.ofMeters(1000), Long.MAX_VALUE));
+    }
+}
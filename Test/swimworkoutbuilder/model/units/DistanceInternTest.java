@@ -0,0 +1,58 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.units.Distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceInternTest {
+
+    @Test
+    void factoriesShareStandardPoolMultiples() {
+        for (int d = Distance.STANDARD_STEP; d <= Distance.STANDARD_MAX; d += Distance.STANDARD_STEP) {
+            assertSame(Distance.ofYards(d), Distance.ofYards(d), d + " yd");
+            assertSame(Distance.ofMeters(d), Distance.ofMeters(d), d + " m");
+            assertEquals(d, Distance.ofMeters(d).toMeters(), 1e-9);
+        }
+        assertSame(Course.SCY.getLength(), Distance.ofYards(25));
+        assertSame(Course.LCM.getLength(), Distance.ofMeters(50));
+    }
+
+    @Test
+    void nonStandardValuesAreStillFreshInstances() {
+        assertNotSame(Distance.ofYards(30), Distance.ofYards(30));
+        assertNotSame(Distance.ofMeters(1675), Distance.ofMeters(1675));
+        assertNotSame(Distance.ofMeters(100.5), Distance.ofMeters(100.5));
+        assertEquals(Distance.ofYards(30), Distance.ofYards(30));
+    }
+
+    @Test
+    void displayUnitSelectsItsOwnCache() {
+        Distance y100 = Distance.ofYards(100);
+        Distance m100 = Distance.ofMeters(100);
+        assertEquals(Distance.Unit.YARDS, y100.displayUnit());
+        assertEquals(Distance.Unit.METERS, m100.displayUnit());
+        assertNotEquals(y100, m100);
+
+        // 100 yd shown in meters is 91.44 m: not a standard meter distance
+        Distance y100AsMeters = y100.withDisplay(Distance.Unit.METERS);
+        assertEquals(Distance.Unit.METERS, y100AsMeters.displayUnit());
+        assertEquals(y100, y100AsMeters);
+    }
+
+    @Test
+    void arithmeticAndCanonicalReturnSharedInstances() {
+        Distance y25 = Distance.ofYards(25);
+        assertSame(Distance.ofYards(100), y25.times(4));
+        assertSame(Distance.ofYards(75), Distance.ofYards(100).minus(y25));
+        assertSame(Distance.ofMeters(1500), Distance.ofMeters(1000).plus(Distance.ofMeters(500)));
+
+        long raw = Distance.ofMeters(200).rawMicroUnits();
+        assertSame(Distance.ofMeters(200), Distance.ofCanonicalMicroUnits(raw, Distance.Unit.METERS));
+
+        Distance odd = Distance.ofMeters(33);
+        assertSame(odd, Distance.canonical(odd));
+        assertSame(Distance.ofYards(500), Distance.canonical(Distance.ofYards(500)));
+    }
+}
@@ -0,0 +1,102 @@
+package swimworkoutbuilder.tests;
+
+import swimworkoutbuilder.model.units.SwimTimeParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Manual benchmark: parsing a 200,000-row meet-result export with the old
+ * String-based seed-form parser versus {@link SwimTimeParser} (from Strings and from
+ * one ASCII byte buffer).
+ */
+public class SwimTimeParserBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int ROUNDS = 30;
+
+    public static void main(String[] args) {
+        String[] times = times();
+        StringBuilder csv = new StringBuilder(ROWS * 8);
+        for (String t : times) csv.append(t).append('\n');
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.US_ASCII);
+
+        long legacy = Long.MAX_VALUE, chars = Long.MAX_VALUE, raw = Long.MAX_VALUE;
+        double sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            for (String t : times) {
+                double s = legacyParseSeconds(t);
+                if (!Double.isNaN(s)) sink += s;
+            }
+            long t1 = System.nanoTime();
+            for (String t : times) {
+                long r = SwimTimeParser.parseMillis(t);
+                if (r >= 0) sink += r;
+            }
+            long t2 = System.nanoTime();
+            int start = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == '\n') {
+                    long r = SwimTimeParser.parseMillis(bytes, start, i);
+                    if (r >= 0) sink += r;
+                    start = i + 1;
+                }
+            }
+            long t3 = System.nanoTime();
+            legacy = Math.min(legacy, t1 - t0);
+            chars = Math.min(chars, t2 - t1);
+            raw = Math.min(raw, t3 - t2);
+        }
+        if (sink == 42) System.out.println(); // keep results live
+
+        System.out.printf("rows=%d (best of %d)%n", ROWS, ROUNDS);
+        System.out.printf("legacy String parser : %6.2f ms  %5.1f ns/row%n", legacy / 1e6, (double) legacy / ROWS);
+        System.out.printf("SwimTimeParser chars : %6.2f ms  %5.1f ns/row  (%.1fx)%n",
+                chars / 1e6, (double) chars / ROWS, (double) legacy / chars);
+        System.out.printf("SwimTimeParser bytes : %6.2f ms  %5.1f ns/row  (%.1fx)%n",
+                raw / 1e6, (double) raw / ROWS, (double) legacy / raw);
+    }
+
+    /** Mix of meet-export shapes: m:ss.hh, ss.hh, m:ss, and no-time marks. */
+    private static String[] times() {
+        Random rnd = new Random(18);
+        String[] out = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            int hundredths = 2_200 + rnd.nextInt(60_000);
+            int secs = hundredths / 100, h = hundredths % 100;
+            out[i] = switch (rnd.nextInt(10)) {
+                case 0 -> "NT";
+                case 1, 2 -> secs + "." + (h < 10 ? "0" : "") + h;
+                case 3 -> (secs / 60) + ":" + (secs % 60 < 10 ? "0" : "") + (secs % 60);
+                default -> (secs / 60) + ":" + (secs % 60 < 10 ? "0" : "") + (secs % 60) + "." + (h < 10 ? "0" : "") + h;
+            };
+        }
+        return out;
+    }
+
+    /** The seed form's original parser (indexOf / substring / parseInt / parseDouble). */
+    private static double legacyParseSeconds(String s) {
+        if (s == null || s.isBlank()) return Double.NaN;
+        s = s.trim();
+        int i = s.indexOf(':');
+        if (i >= 0) {
+            String m = s.substring(0, i).trim();
+            String sec = s.substring(i + 1).trim();
+            try {
+                int minutes = Integer.parseInt(m);
+                double seconds = Double.parseDouble(sec);
+                if (minutes < 0 || seconds < 0) return Double.NaN;
+                return minutes * 60.0 + seconds;
+            } catch (NumberFormatException ex) {
+                return Double.NaN;
+            }
+        }
+        try {
+            double seconds = Double.parseDouble(s);
+            return seconds >= 0 ? seconds : Double.NaN;
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.units.SwimTimeParser;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwimTimeParserTest {
+
+    private static long p(String s) { return SwimTimeParser.parseMillis(s); }
+
+    @Test
+    void parsesCommonMeetFormats() {
+        assertEquals(65_320, p("1:05.32"));
+        assertEquals(65_320, p("65.32"));
+        assertEquals(65_000, p("1:05"));
+        assertEquals(65_000, p("65"));
+        assertEquals(932_100, p("15:32.1"));
+        assertEquals(3_723_400, p("1:02:03.4"));
+        assertEquals(25_007, p(" \t25.007 "));
+        assertEquals(60_000, p("59.9996"));      // rounds half-up into the next second
+        assertEquals(59_999, p("59.9994"));
+    }
+
+    @Test
+    void noTimeMarksAreNotErrors() {
+        for (String s : new String[] {"NT", "nt", " NS ", "DQ", "SCR", "dnf"}) {
+            long r = p(s);
+            assertTrue(SwimTimeParser.isNoTime(r), s);
+            assertFalse(SwimTimeParser.isError(r), s);
+        }
+    }
+
+    @Test
+    void errorsReportThePosition() {
+        assertEquals(2, SwimTimeParser.errorIndex(p("1:x5")));
+        assertEquals(3, SwimTimeParser.errorIndex(p("1:75")));      // seconds field ≥ 60
+        assertEquals(3, SwimTimeParser.errorIndex(p("65.")));       // nothing after the point
+        assertEquals(0, SwimTimeParser.errorIndex(p("N/A")));
+        assertEquals(3, SwimTimeParser.errorIndex(p("   ")));        // blank: ended before any digit
+        assertEquals(5, SwimTimeParser.errorIndex(p("1:2:3:4")));   // at most h:mm:ss
+        assertEquals(4, SwimTimeParser.errorIndex(p("65.3-")));
+        assertTrue(SwimTimeParser.isError(p("9999999999")));
+    }
+
+    @Test
+    void byteAndCharRangesAgree() {
+        String row = "Smith,1:05.32,NT,28.4,bad";
+        byte[] b = row.getBytes(StandardCharsets.US_ASCII);
+        int start = 0;
+        for (int i = 0; i <= row.length(); i++) {
+            if (i == row.length() || row.charAt(i) == ',') {
+                assertEquals(SwimTimeParser.parseMillis(row, start, i), SwimTimeParser.parseMillis(b, start, i));
+                start = i + 1;
+            }
+        }
+        assertEquals(65_320, SwimTimeParser.parseMillis(b, 6, 13));
+        assertEquals(22, SwimTimeParser.errorIndex(SwimTimeParser.parseMillis(row, 22, 25)));
+    }
+}
@@ -0,0 +1,56 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.units.TimeFormat;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeFormatTest {
+
+    private static String minSec(long s)  { return TimeFormat.appendMinSec(new StringBuilder(), s).toString(); }
+    private static String tenths(long t)  { return TimeFormat.appendTenths(new StringBuilder(), t).toString(); }
+
+    @Test
+    void minSecAndCompactMatchTheOldFormats() {
+        for (long s = -3; s < 4000; s++) {
+            long c = Math.max(0, s);
+            assertEquals(String.format("%d:%02d", c / 60, c % 60), minSec(s), "m:ss " + s);
+            String compact = (c / 60 > 0) ? (c / 60 + ":" + String.format("%02d", c % 60)) : (c + "s");
+            assertEquals(compact, TimeFormat.compact(s), "compact " + s);
+        }
+    }
+
+    @Test
+    void hundredthsCarryIntoSecondsAndMinutes() {
+        assertEquals("1:23.45", TimeSpan.ofMillis(83_450).toString());
+        assertEquals("1:00.00", TimeSpan.ofMillis(59_995).toString());
+        assertEquals("0:59.99", TimeSpan.ofMillis(59_994).toString());
+        assertEquals("10:05.07", TimeSpan.ofSeconds(605.07).toString());
+        assertEquals("-0:05.00", TimeSpan.ofSeconds(5).minus(TimeSpan.ofSeconds(10)).toString());
+    }
+
+    @Test
+    void tenthsDropAZeroDigit() {
+        assertEquals("45", tenths(450));
+        assertEquals("45.3", tenths(453));
+        assertEquals("1:05", tenths(650));
+        assertEquals("1:05.1", tenths(651));
+        assertEquals("1:00", tenths(600));
+        assertEquals("0", tenths(-7));
+    }
+
+    @Test
+    void appendableFormsMatchStringBuilderForms() throws IOException {
+        for (long s : new long[] {0, 9, 59, 60, 65, 599, 3600, 7261}) {
+            StringWriter w = new StringWriter();
+            TimeFormat.appendMinSec(w, s);
+            w.append(' ');
+            TimeFormat.appendCompact(w, s);
+            assertEquals(TimeFormat.minSec(s) + " " + TimeFormat.compact(s), w.toString());
+        }
+    }
+}
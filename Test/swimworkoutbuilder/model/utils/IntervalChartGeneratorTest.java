@@ -0,0 +1,78 @@
+package swimworkoutbuilder.tests;
+
+import org.junit.jupiter.api.Test;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.utils.IntervalChartGenerator;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalChartGeneratorTest {
+
+    private static final int[] DISTANCES = {25, 50, 75, 100, 200};
+    private static final Effort[] EFFORTS = {Effort.EASY, Effort.THRESHOLD, Effort.SPRINT};
+
+    private static int parseMinSec(String cell) {
+        int colon = cell.indexOf(':');
+        return Integer.parseInt(cell.substring(0, colon)) * 60 + Integer.parseInt(cell.substring(colon + 1));
+    }
+
+    private static int expectedSendOff(Course course, double seedPer100, Effort effort, int d) {
+        Swimmer sw = new Swimmer("Chart", "Probe");
+        boolean yards = course == Course.SCY;
+        if (yards) sw.updateSeed100Y(StrokeType.FREESTYLE, seedPer100);
+        else sw.updateSeed100M(StrokeType.FREESTYLE, seedPer100);
+        Workout w = new Workout(UUID.randomUUID(), "Probe", course);
+        SwimSet set = new SwimSet(StrokeType.FREESTYLE, 1, yards ? Distance.ofYards(d) : Distance.ofMeters(d), effort, course);
+        return new DefaultPacePolicy().intervalSeconds(w, set, sw, 0);
+    }
+
+    @Test
+    void cellsMatchDefaultPacePolicyAndSkipIllegalDistances() {
+        IntervalChartGenerator gen = new IntervalChartGenerator(60.0, 90.0, 7.5, DISTANCES, EFFORTS,
+                new Course[] {Course.SCY, Course.LCM});
+        String[] lines = gen.toCsv().split("\n");
+        assertEquals(1 + 2 * gen.rowCount(), lines.length);
+
+        int checkedScy = 0, checkedLcm = 0;
+        for (int l = 1; l < lines.length; l++) {
+            String[] cells = lines[l].split(",", -1);
+            assertEquals(2 + gen.columnCount(), cells.length, lines[l]);
+            Course course = Course.valueOf(cells[0]);
+            double seed = 60.0 + 7.5 * ((l - 1) % gen.rowCount());
+            for (int c = 0; c < gen.columnCount(); c++) {
+                Effort effort = EFFORTS[c / DISTANCES.length];
+                int d = DISTANCES[c % DISTANCES.length];
+                String cell = cells[2 + c];
+                if (course == Course.LCM && (d == 25 || d == 75)) {
+                    assertEquals("", cell, "LCM " + d + " is not a whole number of lengths");
+                    continue;
+                }
+                assertEquals(expectedSendOff(course, seed, effort, d), parseMinSec(cell), course + " " + effort + " " + d + " @" + seed);
+                if (course == Course.SCY) checkedScy++; else checkedLcm++;
+            }
+        }
+        assertEquals(gen.rowCount() * EFFORTS.length * DISTANCES.length, checkedScy);
+        assertEquals(gen.rowCount() * EFFORTS.length * 3, checkedLcm);
+    }
+
+    @Test
+    void htmlHeadersListOnlyLegalDistancesPerCourse() throws Exception {
+        IntervalChartGenerator gen = new IntervalChartGenerator(60.0, 60.0, 1.0, DISTANCES,
+                new Effort[] {Effort.EASY}, new Course[] {Course.LCM});
+        StringBuilder html = new StringBuilder();
+        gen.writeHtml(html);
+        assertFalse(html.toString().contains("<th>25m</th>"));
+        assertFalse(html.toString().contains("<th>75m</th>"));
+        assertTrue(html.toString().contains("<th>50m</th><th>100m</th><th>200m</th>"));
+        assertTrue(html.toString().contains("colspan=\"3\""));
+    }
+}
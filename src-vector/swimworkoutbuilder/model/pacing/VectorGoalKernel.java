@@ -0,0 +1,86 @@
+package swimworkoutbuilder.model.pacing;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD {@link GoalKernel} using the incubating Vector API.
+ *
+ * <p>Only referenced reflectively from {@link GoalKernel#best()}; the class fails to load
+ * (and the scalar kernel is used) unless the JVM resolves {@code jdk.incubator.vector}. It sits in the {@code src-vector}
+ * source root (IntelliJ module {@code SwimWorkoutBuilder-vector}), the only code compiled
+ * with {@code --add-modules jdk.incubator.vector}; a build without it simply has no
+ * vector kernel.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Goals use the same IEEE division and multiply as the scalar path, so they are
+ *       bit-identical.</li>
+ *   <li>{@code Math.round} (half up) is rebuilt from lane arithmetic: {@code floor} via the
+ *       2^52 trick, then +1 where the exact fraction is ≥ 0.5. Inputs are non-negative and
+ *       far below 2^52 seconds.</li>
+ *   <li>Rounding to the nearest 5 s is {@code 5 × floor((n + 2) / 5)} for n ≥ 0.</li>
+ *   <li>Whole-second results stay in double lanes and are narrowed to {@code int} through
+ *       a small spill buffer; a shape-changing D2I lane conversion is not intrinsified on
+ *       common JDKs and measured several times slower than the scalar loop.</li>
+ * </ul>
+ */
+final class VectorGoalKernel extends GoalKernel {
+
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+
+    private static final double TWO_52 = 4_503_599_627_370_496.0; // 2^52
+
+    VectorGoalKernel() {
+        if (D.length() < 2) throw new UnsupportedOperationException("no vector shape");
+    }
+
+    @Override
+    public String name() { return "vector-" + D.length() + "x64"; }
+
+    @Override
+    void computeRange(double repMeters, double multiplier,
+                      double[] speedMps, double[] restPct,
+                      double[] goals, int[] rests, int[] intervals,
+                      int from, int to) {
+        DoubleVector meters = DoubleVector.broadcast(D, repMeters);
+        int n = D.length();
+        double[] lanes = new double[2 * n]; // spill buffer for narrowing to int
+        int i = from;
+        int upper = from + D.loopBound(to - from);
+        for (; i < upper; i += n) {
+            DoubleVector speed = DoubleVector.fromArray(D, speedMps, i);
+            DoubleVector goal = meters.div(speed).mul(multiplier);
+            goal.intoArray(goals, i);
+
+            DoubleVector goalRounded = roundHalfUp(goal);
+            DoubleVector rest = roundHalfUp(goalRounded.mul(DoubleVector.fromArray(D, restPct, i))).max(0.0);
+            DoubleVector interval = floor(goalRounded.add(rest).add(2.0).div(5.0)).mul(5.0);
+
+            rest.intoArray(lanes, 0);
+            interval.intoArray(lanes, n);
+            for (int j = 0; j < n; j++) {
+                rests[i + j]     = (int) lanes[j];
+                intervals[i + j] = (int) lanes[n + j];
+            }
+        }
+        // Tail
+        if (i < to) GoalKernel.scalar().computeRange(repMeters, multiplier, speedMps, restPct, goals, rests, intervals, i, to);
+    }
+
+    /** floor(x) for 0 ≤ x &lt; 2^52. */
+    private static DoubleVector floor(DoubleVector x) {
+        DoubleVector nearest = x.add(TWO_52).sub(TWO_52);
+        VectorMask<Double> over = nearest.compare(VectorOperators.GT, x);
+        return nearest.sub(1.0, over);
+    }
+
+    /** Math.round (half up) for 0 ≤ x &lt; 2^52, returned as a double. */
+    private static DoubleVector roundHalfUp(DoubleVector x) {
+        DoubleVector f = floor(x);
+        VectorMask<Double> up = x.sub(f).compare(VectorOperators.GE, 0.5);
+        return f.add(1.0, up);
+    }
+}
@@ -0,0 +1,82 @@
+package swimworkoutbuilder.model;
+
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.utils.PersistentVector;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a {@link SetGroup} at one moment; its sets are a
+ * {@link PersistentVector} of {@link SetSnapshot}s.
+ *
+ * <p>Taken by {@link SetGroup#snapshot()}, which hands out the same instance until the
+ * group or one of its sets is edited. When only some sets changed, the new snapshot's
+ * vector is the old one with those slots replaced, so untouched sets (and vector nodes)
+ * are shared.</p>
+ *
+ * @see WorkoutSnapshot
+ */
+public final class GroupSnapshot {
+
+    private final UUID id;
+    private final String name;
+    private final int reps;
+    private final int order;
+    private final int restAfterGroupSec;
+    private final String notes;
+    private final PersistentVector<SetSnapshot> sets;
+    private final long passMicroUnits;
+    private final long passRepCount;
+
+    GroupSnapshot(SetGroup g, PersistentVector<SetSnapshot> sets) {
+        this.id = g.getId();
+        this.name = g.getName();
+        this.reps = g.getReps();
+        this.order = g.getOrder();
+        this.restAfterGroupSec = g.getRestAfterGroupSec();
+        this.notes = g.getNotes();
+        this.sets = sets;
+        this.passMicroUnits = g.singlePassMicroUnits();
+        this.passRepCount = g.singlePassRepCount();
+    }
+
+    public UUID getId() { return id; }
+    public String getName() { return name; }
+    public int getReps() { return reps; }
+    public int getOrder() { return order; }
+    public int getRestAfterGroupSec() { return restAfterGroupSec; }
+    public String getNotes() { return notes; }
+
+    /** The sets, in order (read-only view). */
+    public List<SetSnapshot> getSets() { return sets.asList(); }
+
+    /** The underlying persistent vector (for callers that want to derive new versions). */
+    public PersistentVector<SetSnapshot> setVector() { return sets; }
+
+    public long singlePassMicroUnits() { return passMicroUnits; }
+    public long totalMicroUnits() { return Math.multiplyExact(passMicroUnits, (long) reps); }
+    public long singlePassRepCount() { return passRepCount; }
+
+    public Distance totalDistance() {
+        return Distance.ofCanonicalMicroUnits(totalMicroUnits(), Distance.Unit.METERS);
+    }
+
+    /** A new, independent mutable {@link SetGroup} (same id) with these values and sets. */
+    public SetGroup toSetGroup() {
+        SetGroup g = new SetGroup(id, name, reps, order);
+        g.setRestAfterGroupSec(restAfterGroupSec);
+        g.setNotes(notes);
+        for (SetSnapshot s : sets) g.addSet(s.toSwimSet());
+        return g;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupSnapshot{" +
+                "name='" + name + '\'' +
+                ", reps=" + reps +
+                ", sets=" + sets.size() +
+                '}';
+    }
+}
@@ -1,9 +1,13 @@
 package swimworkoutbuilder.model;
 
 import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.DistanceAccumulator;
+import swimworkoutbuilder.model.utils.PersistentVector;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -28,6 +32,13 @@ import java.util.UUID;
  *   <li>The group does not perform timing or pacing logic — only structural data storage.</li>
  *   <li>Distances are computed canonically using {@link Distance} (internally stored in meters).</li>
  *   <li>Intended to be managed and displayed within a {@link Workout} tree or UI component.</li>
+ *   <li>Single-pass distance and rep count are kept as running totals: adding, removing, or
+ *       editing a set adjusts them by the set's delta, and the owning {@link Workout}s are
+ *       told in turn, so distance queries are O(1) instead of a walk over every set.</li>
+ *   <li>{@link #getSets()} is a view that routes edits through {@link #addSet} /
+ *       {@link #removeSet}; there is no way to change the sets behind the totals' back.</li>
+ *   <li>Every change is also reported to the owning workouts' listeners as a
+ *       {@link WorkoutEvent} ({@code SET_ADDED}, {@code SET_CHANGED}, {@code GROUP_CHANGED}, ...).</li>
  * </ul>
  *
  * <h2>Typical Usage</h2>
@@ -56,9 +67,22 @@ public class SetGroup {
     private int reps;                     // how many times this group repeats (>=1)
     private int order;                    // display/sequence order in the workout
     private final List<SwimSet> sets = new ArrayList<>();
+    private final List<SwimSet> setsView = new SetList();
     private int restAfterGroupSec;        // optional rest after completing the group
     private String notes;                 // optional description or focus notes
 
+    // Running totals for one pass (Σ set reps × distance, Σ set reps)
+    private long passMicroUnits;
+    private long passRepCount;
+
+    // Workouts holding this group (one entry per occurrence); null while unowned
+    private ArrayList<Workout> owners;
+
+    // Last snapshot (reused while valid; its vector is patched when only sets' contents changed)
+    private GroupSnapshot snapshot;
+    private boolean snapshotValid;
+    private boolean setsReshaped;    // sets added, removed, or moved since the last snapshot
+
     // ----------------------------------------------------------
     // Constructors
     // ----------------------------------------------------------
@@ -72,8 +96,13 @@ public class SetGroup {
      * @throws IllegalArgumentException if {@code reps < 1}
      */
     public SetGroup(String name, int reps, int order) {
+        this(UUID.randomUUID(), name, reps, order);
+    }
+
+    // Keeps the id (e.g., when a snapshot is turned back into a group)
+    SetGroup(UUID id, String name, int reps, int order) {
         if (reps < 1) throw new IllegalArgumentException("Group reps must be >= 1");
-        this.id = UUID.randomUUID();
+        this.id = id;
         this.name = name;
         this.reps = reps;
         this.order = order;
@@ -87,27 +116,51 @@ public class SetGroup {
     public UUID getId() { return id; }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) {
+        String old = this.name;
+        this.name = name;
+        touched(WorkoutEvent.Property.NAME, old);
+    }
 
     public int getReps() { return reps; }
     public void setReps(int reps) {
         if (reps < 1) throw new IllegalArgumentException("Group reps must be >= 1");
+        int oldReps = this.reps;
         this.reps = reps;
+        snapshotValid = false;
+        if (owners == null) return;
+        for (int i = 0; i < owners.size(); i++) owners.get(i).groupRepsChanged(this, oldReps);
+        fireChanged(null, WorkoutEvent.Property.REPS, oldReps);
     }
 
     public int getOrder() { return order; }
-    public void setOrder(int order) { this.order = order; }
+    public void setOrder(int order) {
+        int old = this.order;
+        this.order = order;
+        touched(WorkoutEvent.Property.ORDER, old);
+    }
 
-    /** Returns all {@link SwimSet}s contained in this group. */
-    public List<SwimSet> getSets() { return sets; }
+    /**
+     * Returns the {@link SwimSet}s contained in this group, in order.
+     * <p>The list is a live view: {@code add}, {@code remove}, and {@code set} go through
+     * {@link #addSet} / {@link #removeSet} bookkeeping, so group and workout totals stay
+     * correct.</p>
+     */
+    public List<SwimSet> getSets() { return setsView; }
 
     public int getRestAfterGroupSec() { return restAfterGroupSec; }
     public void setRestAfterGroupSec(int restAfterGroupSec) {
+        int old = this.restAfterGroupSec;
         this.restAfterGroupSec = Math.max(0, restAfterGroupSec);
+        touched(WorkoutEvent.Property.REST_AFTER, old);
     }
 
     public String getNotes() { return notes; }
-    public void setNotes(String notes) { this.notes = notes; }
+    public void setNotes(String notes) {
+        String old = this.notes;
+        this.notes = notes;
+        touched(WorkoutEvent.Property.NOTES, old);
+    }
 
     // ----------------------------------------------------------
     // Set management
@@ -115,12 +168,25 @@ public class SetGroup {
 
     /** Adds a {@link SwimSet} to this group (ignores nulls). */
     public void addSet(SwimSet set) {
-        if (set != null) sets.add(set);
+        if (set != null) insertSet(sets.size(), set);
     }
 
     /** Removes a specific {@link SwimSet} from this group (if present). */
     public void removeSet(SwimSet set) {
-        sets.remove(set);
+        int i = sets.indexOf(set);
+        if (i >= 0) removeSetAt(i);
+    }
+
+    /** Moves a set from one index to another, preserving relative order. */
+    public void moveSet(int fromIndex, int toIndex) {
+        Objects.checkIndex(fromIndex, sets.size());
+        Objects.checkIndex(toIndex, sets.size());
+        if (fromIndex == toIndex) return;
+        SwimSet s = sets.remove(fromIndex);
+        sets.add(toIndex, s);
+        setsReshaped = true;
+        adjust(0, 0);
+        fire(WorkoutEvent.Kind.SET_MOVED, s, fromIndex, toIndex);
     }
 
     /** Returns how many {@link SwimSet}s this group currently contains. */
@@ -140,13 +206,7 @@ public class SetGroup {
      * is expressed in meters by default for display and analytics.</p>
      */
     public Distance singlePassDistance() {
-        long totalMicroUnits = 0L;
-        for (SwimSet s : sets) {
-            long perRepMicroUnits = s.getDistancePerRep().rawMicroUnits();
-            totalMicroUnits = Math.addExact(totalMicroUnits,
-                    Math.multiplyExact(perRepMicroUnits, s.getReps()));
-        }
-        return Distance.ofCanonicalMicroUnits(totalMicroUnits, Distance.Unit.METERS);
+        return Distance.ofCanonicalMicroUnits(passMicroUnits, Distance.Unit.METERS);
     }
 
     /**
@@ -154,9 +214,145 @@ public class SetGroup {
      * <p>Equivalent to {@code singlePassDistance() × reps}.</p>
      */
     public Distance totalDistance() {
-        long singleMicroUnits = singlePassDistance().rawMicroUnits();
-        long totalMicroUnits  = Math.multiplyExact(singleMicroUnits, Math.max(1, (long) reps));
-        return Distance.ofCanonicalMicroUnits(totalMicroUnits, Distance.Unit.METERS);
+        return Distance.ofCanonicalMicroUnits(totalMicroUnits(), Distance.Unit.METERS);
+    }
+
+    /** One pass through the group in canonical microUnits (maintained, O(1)). */
+    public long singlePassMicroUnits() { return passMicroUnits; }
+
+    /** The whole group, including group repetitions, in canonical microUnits. */
+    public long totalMicroUnits() { return Math.multiplyExact(passMicroUnits, (long) reps); }
+
+    /** Reps swum in one pass through the group (Σ set reps). */
+    public long singlePassRepCount() { return passRepCount; }
+
+    /** Reps swum in the whole group, including group repetitions. */
+    public long totalRepCount() { return Math.multiplyExact(passRepCount, (long) reps); }
+
+    /** Adds one pass through the group (every set's reps × distance) to {@code acc}. */
+    public void addSinglePassTo(DistanceAccumulator acc) {
+        acc.addMicroUnits(passMicroUnits, 1);
+    }
+
+    /** Adds the whole group, including group repetitions, to {@code acc}. */
+    public void addTotalTo(DistanceAccumulator acc) {
+        acc.addMicroUnits(passMicroUnits, reps);
+    }
+
+    // ----------------------------------------------------------
+    // Snapshots
+    // ----------------------------------------------------------
+
+    /**
+     * Immutable copy of this group and its sets; the same instance is returned until
+     * something in the group changes. After edits to some sets only, the new snapshot
+     * shares every other {@link SetSnapshot} and most of the vector with the previous one.
+     * Call on the editing thread.
+     */
+    public GroupSnapshot snapshot() {
+        if (snapshot != null && snapshotValid) return snapshot;
+        PersistentVector<SetSnapshot> v;
+        if (snapshot == null || setsReshaped) {
+            List<SetSnapshot> copies = new ArrayList<>(sets.size());
+            for (SwimSet s : sets) copies.add(s.snapshot());
+            v = PersistentVector.of(copies);
+        } else {
+            v = snapshot.setVector();
+            for (int i = 0; i < sets.size(); i++) v = v.set(i, sets.get(i).snapshot());   // no-op when shared
+        }
+        snapshot = new GroupSnapshot(this, v);
+        snapshotValid = true;
+        setsReshaped = false;
+        return snapshot;
+    }
+
+    // ----------------------------------------------------------
+    // Aggregate bookkeeping
+    // ----------------------------------------------------------
+
+    private void insertSet(int index, SwimSet set) {
+        sets.add(index, set);
+        set.attach(this);
+        setsReshaped = true;
+        adjust(set.totalMicroUnits(), set.getReps());
+        fire(WorkoutEvent.Kind.SET_ADDED, set, -1, index);
+    }
+
+    private SwimSet removeSetAt(int index) {
+        SwimSet set = sets.remove(index);
+        set.detach(this);
+        setsReshaped = true;
+        adjust(-set.totalMicroUnits(), -set.getReps());
+        fire(WorkoutEvent.Kind.SET_REMOVED, set, index, -1);
+        return set;
+    }
+
+    /** Called by a contained {@link SwimSet} after an edit, with its one-pass delta. */
+    void setChanged(SwimSet set, long dMicroUnits, long dReps, WorkoutEvent.Property property, Object oldValue) {
+        adjust(dMicroUnits, dReps);
+        fireChanged(set, property, oldValue);
+    }
+
+    private void adjust(long dMicroUnits, long dReps) {
+        snapshotValid = false;
+        passMicroUnits = Math.addExact(passMicroUnits, dMicroUnits);
+        passRepCount += dReps;
+        if (owners == null) return;
+        for (int i = 0; i < owners.size(); i++) owners.get(i).groupChanged(this, dMicroUnits, dReps);
+    }
+
+    private void touched(WorkoutEvent.Property property, Object oldValue) {
+        adjust(0, 0);
+        fireChanged(null, property, oldValue);
+    }
+
+    private void fire(WorkoutEvent.Kind kind, SwimSet set, int fromIndex, int toIndex) {
+        if (owners == null) return;
+        for (int i = 0; i < owners.size(); i++) owners.get(i).fire(kind, this, set, fromIndex, toIndex);
+    }
+
+    // SET_CHANGED when set != null, else GROUP_CHANGED
+    private void fireChanged(SwimSet set, WorkoutEvent.Property property, Object oldValue) {
+        if (owners == null) return;
+        WorkoutEvent.Kind kind = (set != null) ? WorkoutEvent.Kind.SET_CHANGED : WorkoutEvent.Kind.GROUP_CHANGED;
+        for (int i = 0; i < owners.size(); i++) owners.get(i).fire(kind, this, set, property, oldValue);
+    }
+
+    void attach(Workout workout) {
+        if (owners == null) owners = new ArrayList<>(1);
+        owners.add(workout);
+    }
+
+    void detach(Workout workout) {
+        if (owners != null) owners.remove(workout);
+    }
+
+    /** {@link #getSets()}: reads straight through, writes go through the bookkeeping. */
+    private final class SetList extends AbstractList<SwimSet> {
+        @Override public SwimSet get(int index) { return sets.get(index); }
+        @Override public int size() { return sets.size(); }
+        @Override public int indexOf(Object o) { return sets.indexOf(o); }
+        @Override public boolean contains(Object o) { return sets.contains(o); }
+
+        @Override public void add(int index, SwimSet set) {
+            if (set == null) throw new NullPointerException("set");
+            if (index < 0 || index > sets.size()) throw new IndexOutOfBoundsException(index);
+            insertSet(index, set);
+            modCount++;
+        }
+
+        @Override public SwimSet remove(int index) {
+            SwimSet removed = removeSetAt(index);
+            modCount++;
+            return removed;
+        }
+
+        @Override public SwimSet set(int index, SwimSet set) {
+            if (set == null) throw new NullPointerException("set");
+            SwimSet old = removeSetAt(index);
+            insertSet(index, set);
+            return old;
+        }
     }
 
     // ----------------------------------------------------------
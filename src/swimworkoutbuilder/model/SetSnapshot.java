@@ -0,0 +1,76 @@
+package swimworkoutbuilder.model;
+
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Set;
+
+/**
+ * Immutable copy of a {@link SwimSet} at one moment; the leaf of a {@link WorkoutSnapshot}.
+ *
+ * <p>Taken by {@link SwimSet#snapshot()}, which hands out the same instance until the set
+ * is edited, so consecutive workout snapshots share every untouched set.</p>
+ *
+ * @see WorkoutSnapshot
+ */
+public final class SetSnapshot {
+
+    private final StrokeType stroke;
+    private final int reps;
+    private final Distance distancePerRep;
+    private final Effort effort;
+    private final String notes;
+    private final Course course;
+    private final Set<Equipment> equipment;
+    private final RepPattern repPattern;
+    private final int patternRoundSize;
+
+    SetSnapshot(SwimSet s) {
+        this.stroke = s.getStroke();
+        this.reps = s.getReps();
+        this.distancePerRep = s.getDistancePerRep();
+        this.effort = s.getEffort();
+        this.notes = s.getNotes();
+        this.course = s.getCourse();
+        this.equipment = s.getEquipment();          // shared immutable per-mask set
+        this.repPattern = s.getRepPattern();
+        this.patternRoundSize = s.getPatternRoundSize();
+    }
+
+    public StrokeType getStroke() { return stroke; }
+    public int getReps() { return reps; }
+    public Distance getDistancePerRep() { return distancePerRep; }
+    public Effort getEffort() { return effort; }
+    public String getNotes() { return notes; }
+    public Course getCourse() { return course; }
+    public Set<Equipment> getEquipment() { return equipment; }
+    public RepPattern getRepPattern() { return repPattern; }
+    public int getPatternRoundSize() { return patternRoundSize; }
+
+    /** Distance of the whole set (reps × distance per rep) in canonical microUnits. */
+    public long totalMicroUnits() {
+        return Math.multiplyExact(distancePerRep.rawMicroUnits(), (long) reps);
+    }
+
+    /** A new, independent mutable {@link SwimSet} with these values. */
+    public SwimSet toSwimSet() {
+        SwimSet s = new SwimSet(stroke, reps, distancePerRep, effort, course, notes);
+        s.setEquipment(equipment);
+        s.setRepPattern(repPattern);
+        s.setPatternRoundSize(patternRoundSize);
+        return s;
+    }
+
+    @Override
+    public String toString() {
+        return "SetSnapshot{" +
+                reps + "x" + distancePerRep +
+                " " + stroke +
+                ", " + effort +
+                '}';
+    }
+}
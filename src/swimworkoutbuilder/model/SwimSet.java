@@ -3,10 +3,12 @@ package swimworkoutbuilder.model;
 import swimworkoutbuilder.model.enums.Course;
 import swimworkoutbuilder.model.enums.Effort;
 import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
 import swimworkoutbuilder.model.enums.StrokeType;
 import swimworkoutbuilder.model.units.Distance;
 
-import java.util.EnumSet;
+import java.util.ArrayList;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -22,6 +24,7 @@ import java.util.Set;
  *   <li>{@link Effort} – pacing intensity (EASY, THRESHOLD, RACE_PACE, etc.)</li>
  *   <li>{@link Course} – pool length and type (SCY, SCM, LCM)</li>
  *   <li>{@link Equipment} – optional training gear (fins, paddles, etc.)</li>
+ *   <li>{@link RepPattern} – optional rep-to-rep pacing (descend, build, odds/evens, negative split)</li>
  * </ul></p>
  *
  * <h2>Responsibilities</h2>
@@ -37,7 +40,12 @@ import java.util.Set;
  *   <li>{@link Distance} ensures exact math using integer micro-units (0.0001 m precision).</li>
  *   <li>Distances are “snapped up” to legal pool multiples to maintain realistic workout structure.
  *       For example, a 75 m request in a 50 m pool becomes 100 m.</li>
- *   <li>Equipment is modeled as an {@link EnumSet} to efficiently represent multiple active aids.</li>
+ *   <li>Equipment is stored as a one-byte bitmask ({@link Equipment#bit()}); {@link #getEquipment()}
+ *       returns the shared immutable {@link Set} for that mask, so reading it allocates nothing and
+ *       pacing uses {@link #getEquipmentMask()} directly.</li>
+ *   <li>Every mutator reports to the owning {@link SetGroup}s, which keep their distance and
+ *       rep totals (and their workout's) current without rescanning: reps and distance
+ *       changes are sent as deltas, anything else only bumps the workout revision.</li>
  * </ul>
  *
  * <h2>Example</h2>
@@ -68,7 +76,13 @@ public class SwimSet {
     private Effort effort;
     private String notes;            // optional user notes
     private Course course;           // pool context for snapping distance
-    private Set<Equipment> equipment = EnumSet.noneOf(Equipment.class); // defaults to none
+    private byte equipment;          // Equipment bitmask; 0 = none
+    private RepPattern repPattern = RepPattern.NONE;
+    private int patternRoundSize;    // DESCEND round length; 0 = whole set
+
+    // Groups holding this set (one entry per occurrence); null while unowned
+    private ArrayList<SetGroup> owners;
+    private SetSnapshot snapshot;    // last snapshot; null after any edit
 
     // ----------------------------------------------------------
     // Constructors
@@ -122,55 +136,145 @@ public class SwimSet {
     // ----------------------------------------------------------
 
     public StrokeType getStroke() { return stroke; }
-    public void setStroke(StrokeType stroke) { this.stroke = stroke; }
+    public void setStroke(StrokeType stroke) {
+        StrokeType old = this.stroke;
+        this.stroke = stroke;
+        touched(WorkoutEvent.Property.STROKE, old);
+    }
 
     public int getReps() { return reps; }
     public void setReps(int reps) {
         if (reps < 1) throw new IllegalArgumentException("reps must be >= 1");
+        long oldMicro = totalMicroUnits();
+        int oldReps = this.reps;
         this.reps = reps;
+        changed(oldMicro, oldReps, WorkoutEvent.Property.REPS, oldReps);
     }
 
     public Distance getDistancePerRep() { return distancePerRep; }
     public void setDistancePerRep(Distance distancePerRep) {
         if (distancePerRep == null || distancePerRep.rawMicroUnits() <= 0)
             throw new IllegalArgumentException("distancePerRep must be > 0");
+        long oldMicro = totalMicroUnits();
+        Distance old = this.distancePerRep;
         this.distancePerRep = snapUpToCourseMultiple(distancePerRep, this.course);
+        changed(oldMicro, reps, WorkoutEvent.Property.DISTANCE, old);
     }
 
     public Effort getEffort() { return effort; }
-    public void setEffort(Effort effort) { this.effort = effort; }
+    public void setEffort(Effort effort) {
+        Effort old = this.effort;
+        this.effort = effort;
+        touched(WorkoutEvent.Property.EFFORT, old);
+    }
 
     public String getNotes() { return notes; }
-    public void setNotes(String notes) { this.notes = (notes == null ? "" : notes); }
+    public void setNotes(String notes) {
+        String old = this.notes;
+        this.notes = (notes == null ? "" : notes);
+        touched(WorkoutEvent.Property.NOTES, old);
+    }
 
     public Course getCourse() { return course; }
     public void setCourse(Course course) {
         if (course == null) throw new IllegalArgumentException("course must not be null");
+        long oldMicro = totalMicroUnits();
+        Course oldCourse = this.course;
+        Distance oldDistance = this.distancePerRep;
         this.course = course;
         // Resnap distance whenever the course changes (e.g., switching SCY → LCM)
         this.distancePerRep = snapUpToCourseMultiple(this.distancePerRep, this.course);
+        if (!distancePerRep.equals(oldDistance)) changed(oldMicro, reps, WorkoutEvent.Property.DISTANCE, oldDistance);
+        touched(WorkoutEvent.Property.COURSE, oldCourse);
     }
 
-    public Set<Equipment> getEquipment() { return equipment; }
-    public void setEquipment(Set<Equipment> equipment) {
-        this.equipment = (equipment == null)
-                ? EnumSet.noneOf(Equipment.class)
-                : EnumSet.copyOf(equipment);
+    /** Immutable set of the equipment (shared per combination); change it through the mutators below. */
+    public Set<Equipment> getEquipment() { return Equipment.setOf(getEquipmentMask()); }
+    public void setEquipment(Set<Equipment> equipment) { setEquipmentMask(Equipment.maskOf(equipment)); }
+
+    /** Equipment as a bitmask (bit {@code i} = constant with ordinal {@code i}). */
+    public int getEquipmentMask() { return equipment & 0xFF; }
+    public void setEquipmentMask(int mask) {
+        Objects.checkIndex(mask, Equipment.MASK_COUNT);
+        int old = getEquipmentMask();
+        this.equipment = (byte) mask;
+        touched(WorkoutEvent.Property.EQUIPMENT, Equipment.setOf(old));
     }
 
     public void addEquipment(Equipment e) {
-        if (e == null) return;
-        if (equipment == null) equipment = EnumSet.noneOf(Equipment.class);
-        equipment.add(e);
+        if (e != null && !hasEquipment(e)) setEquipmentMask(getEquipmentMask() | e.bit());
     }
 
     public void removeEquipment(Equipment e) {
-        if (e == null || equipment == null) return;
-        equipment.remove(e);
+        if (e != null && hasEquipment(e)) setEquipmentMask(getEquipmentMask() & ~e.bit());
     }
 
     public boolean hasEquipment(Equipment e) {
-        return equipment != null && equipment.contains(e);
+        return e != null && (equipment & e.bit()) != 0;
+    }
+
+    public RepPattern getRepPattern() { return repPattern; }
+    public void setRepPattern(RepPattern repPattern) {
+        RepPattern old = this.repPattern;
+        this.repPattern = (repPattern == null) ? RepPattern.NONE : repPattern;
+        touched(WorkoutEvent.Property.REP_PATTERN, old);
+    }
+
+    /** DESCEND round length (e.g., 4 for "descend 1–4"); 0 means the whole set. */
+    public int getPatternRoundSize() { return patternRoundSize; }
+    public void setPatternRoundSize(int patternRoundSize) {
+        if (patternRoundSize < 0) throw new IllegalArgumentException("patternRoundSize must be >= 0");
+        int old = this.patternRoundSize;
+        this.patternRoundSize = patternRoundSize;
+        touched(WorkoutEvent.Property.PATTERN_ROUND_SIZE, old);
+    }
+
+    /** Goal multiplier from the rep pattern for a zero-based rep (1.0 without a pattern). */
+    public double repMultiplier(int repIndex) {
+        return repPattern.multiplier(repIndex, reps, patternRoundSize);
+    }
+
+    /** Distance of the whole set (reps × distance per rep) in canonical microUnits. */
+    public long totalMicroUnits() {
+        return Math.multiplyExact(distancePerRep.rawMicroUnits(), (long) reps);
+    }
+
+    /**
+     * Immutable copy of this set; the same instance is returned until the set is edited.
+     * Call on the editing thread.
+     */
+    public SetSnapshot snapshot() {
+        if (snapshot == null) snapshot = new SetSnapshot(this);
+        return snapshot;
+    }
+
+    // ----------------------------------------------------------
+    // Owner bookkeeping (see SetGroup)
+    // ----------------------------------------------------------
+
+    void attach(SetGroup group) {
+        if (owners == null) owners = new ArrayList<>(1);
+        owners.add(group);
+    }
+
+    void detach(SetGroup group) {
+        if (owners != null) owners.remove(group);
+    }
+
+    // Sends the distance/rep delta since (oldMicro, oldReps) and the edited field to every owning group
+    private void changed(long oldMicro, int oldReps, WorkoutEvent.Property property, Object oldValue) {
+        snapshot = null;
+        if (owners == null) return;
+        long dMicro = Math.subtractExact(totalMicroUnits(), oldMicro);
+        int dReps = reps - oldReps;
+        for (int i = 0; i < owners.size(); i++) owners.get(i).setChanged(this, dMicro, dReps, property, oldValue);
+    }
+
+    // A change that affects timing or content but not distance or rep counts
+    private void touched(WorkoutEvent.Property property, Object oldValue) {
+        snapshot = null;
+        if (owners == null) return;
+        for (int i = 0; i < owners.size(); i++) owners.get(i).setChanged(this, 0, 0, property, oldValue);
     }
 
     // ----------------------------------------------------------
@@ -207,7 +311,8 @@ public class SwimSet {
                 ", distancePerRep=" + distancePerRep +
                 ", effort=" + effort +
                 ", course=" + course +
-                (equipment != null && !equipment.isEmpty() ? ", equipment=" + equipment : "") +
+                (equipment != 0 ? ", equipment=" + getEquipment() : "") +
+                (repPattern != RepPattern.NONE ? ", pattern=" + repPattern.describe(reps, patternRoundSize) : "") +
                 (notes != null && !notes.isBlank() ? ", notes='" + notes + '\'' : "") +
                 '}';
     }
@@ -1,25 +1,49 @@
 package swimworkoutbuilder.model;
 
 import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DistanceTimeFit;
 import swimworkoutbuilder.model.pacing.SeedPace;
 import swimworkoutbuilder.model.units.Distance;
 import swimworkoutbuilder.model.units.TimeSpan;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Represents an individual swimmer with personal details and performance data.
+ *
+ * <p>Each stroke has one baseline seed plus any number of extra test swims
+ * (e.g., 200 and 400 time trials). Together they define the stroke's
+ * {@link DistanceTimeFit}, which is cached here and rebuilt on the next request
+ * after the seed or test swims change.</p>
  */
 public class Swimmer {
+
+    /**
+     * Callback fired after a seed is created, replaced, or cleared, or after the stroke's
+     * test swims change (then {@code oldSeed == newSeed}).
+     * {@code oldSeed} / {@code newSeed} are null when the stroke had / has no seed.
+     */
+    @FunctionalInterface
+    public interface SeedListener {
+        void seedChanged(Swimmer swimmer, StrokeType stroke, SeedPace oldSeed, SeedPace newSeed);
+    }
+
     private final UUID id;
     private String firstName;
     private String lastName;
     private String preferredName;   // optional / nullable
     private String teamName;        // optional / nullable
     private final Map<StrokeType, SeedPace> seedPaces = new EnumMap<>(StrokeType.class);
+    private final Map<StrokeType, List<SeedPace>> testSwims = new EnumMap<>(StrokeType.class);
+    private final Map<StrokeType, DistanceTimeFit> fitCache = new EnumMap<>(StrokeType.class);
+    private final List<SeedListener> seedListeners = new ArrayList<>();
+    private long seedRevision;      // bumped on every seed / test-swim change
 
     // --- Constructors ---
 
@@ -66,7 +90,8 @@ public class Swimmer {
     public void updateSeedTime(StrokeType stroke, SeedPace seed) {
         Objects.requireNonNull(stroke, "stroke");
         Objects.requireNonNull(seed,   "seed");
-        seedPaces.put(stroke, seed);
+        SeedPace old = seedPaces.put(stroke, seed);
+        fireSeedChanged(stroke, old, seed);
     }
 
     /** Convenience: set a seed defined as "per 100 yards" in seconds. */
@@ -98,11 +123,92 @@ public class Swimmer {
 
     public void clearSeed(StrokeType stroke) {
         Objects.requireNonNull(stroke, "stroke");
-        seedPaces.remove(stroke);
+        SeedPace old = seedPaces.remove(stroke);
+        if (old != null) fireSeedChanged(stroke, old, null);
     }
 
     /** Removes all seeds for this swimmer. */
-    public void clearAllSeeds() { seedPaces.clear(); }
+    public void clearAllSeeds() {
+        for (StrokeType stroke : StrokeType.values()) {
+            if (seedPaces.containsKey(stroke)) clearSeed(stroke);
+        }
+    }
+
+    // --- Test swims (per stroke) ---
+
+    /** Adds a test swim (e.g., a 400 time trial) for the stroke. */
+    public void addTestSwim(StrokeType stroke, SeedPace swim) {
+        Objects.requireNonNull(stroke, "stroke");
+        Objects.requireNonNull(swim, "swim");
+        testSwims.computeIfAbsent(stroke, k -> new ArrayList<>()).add(swim);
+        SeedPace seed = seedPaces.get(stroke);
+        fireSeedChanged(stroke, seed, seed);
+    }
+
+    /** Convenience: test swim from a distance and time (e.g., 400m in 5:10.0). */
+    public void addTestSwim(StrokeType stroke, Distance distance, TimeSpan time) {
+        addTestSwim(stroke, new SeedPace(distance, time));
+    }
+
+    /** Test swims for the stroke (not including the seed); never null. */
+    public List<SeedPace> getTestSwims(StrokeType stroke) {
+        Objects.requireNonNull(stroke, "stroke");
+        List<SeedPace> list = testSwims.get(stroke);
+        return (list == null) ? Collections.emptyList() : Collections.unmodifiableList(list);
+    }
+
+    /** Removes all test swims for the stroke (the seed is kept). */
+    public void clearTestSwims(StrokeType stroke) {
+        Objects.requireNonNull(stroke, "stroke");
+        List<SeedPace> old = testSwims.remove(stroke);
+        if (old != null && !old.isEmpty()) {
+            SeedPace seed = seedPaces.get(stroke);
+            fireSeedChanged(stroke, seed, seed);
+        }
+    }
+
+    /**
+     * Distance–time curve through the stroke's seed and test swims, or null if the
+     * stroke has neither. Fitted on first use and cached until they change.
+     */
+    public DistanceTimeFit getDistanceTimeFit(StrokeType stroke) {
+        Objects.requireNonNull(stroke, "stroke");
+        DistanceTimeFit fit = fitCache.get(stroke);
+        if (fit != null) return fit;
+
+        List<SeedPace> swims = new ArrayList<>(getTestSwims(stroke));
+        SeedPace seed = seedPaces.get(stroke);
+        if (seed != null) swims.add(seed);
+        fit = DistanceTimeFit.of(swims);
+        if (fit != null) fitCache.put(stroke, fit);
+        return fit;
+    }
+
+    // --- Seed change notification ---
+
+    /**
+     * Registers a listener that is told about every seed change (e.g., to drop cached timing).
+     * The listener is held strongly until {@link #removeSeedListener} is called.
+     */
+    public void addSeedListener(SeedListener listener) {
+        seedListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /** Unregisters a listener added with {@link #addSeedListener}; unknown listeners are ignored. */
+    public void removeSeedListener(SeedListener listener) {
+        seedListeners.remove(listener);
+    }
+
+    /** Increases on every seed or test-swim change; timing caches compare it to detect staleness. */
+    public long getSeedRevision() { return seedRevision; }
+
+    private void fireSeedChanged(StrokeType stroke, SeedPace oldSeed, SeedPace newSeed) {
+        fitCache.remove(stroke);
+        seedRevision++;
+        for (int i = 0; i < seedListeners.size(); i++) {
+            seedListeners.get(i).seedChanged(this, stroke, oldSeed, newSeed);
+        }
+    }
 
     // --- Derived helpers ---
 
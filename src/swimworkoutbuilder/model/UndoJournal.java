@@ -0,0 +1,375 @@
+package swimworkoutbuilder.model;
+
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Memory-bounded undo/redo history for one {@link Workout}.
+ *
+ * <p>The journal listens to the workout's {@link WorkoutEvent}s and keeps them as its
+ * inverse operations: an event already says what changed, where, and (for field edits) the
+ * old value, so undoing it is "put the old value back", "re-insert the removed set/group at
+ * its old index", or "move it back". Nothing is copied up front; a deleted group is kept
+ * alive by its removal event, which is exactly what undo needs to restore it.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li><b>Steps.</b> Events are collected into an open step until {@link #checkpoint()}
+ *       (the UI calls it once per user action); {@link #undo()} reverts a whole step, in
+ *       reverse order. Replaying a step fires events of its own, and those are recorded as
+ *       the opposite step, so redo needs no separate bookkeeping.</li>
+ *   <li><b>Merging.</b> Consecutive edits of the same field of the same set, group, or
+ *       workout collapse into one entry that keeps the oldest value, both within a step and
+ *       across steps (typing reps 4 → 6 → 8 is one undo back to 4). Edits that write the
+ *       value the field already has are not recorded.</li>
+ *   <li><b>Budget.</b> Each entry has an estimated footprint (event, old value, and any
+ *       removed set or group it keeps alive). When undo + redo history exceeds the budget,
+ *       the oldest steps are dropped first; the newest step in each direction is always
+ *       kept.</li>
+ *   <li>Edits made through any path (dialogs, list views, moves) are captured, because
+ *       they all fire events. Not thread-safe: use from the thread that edits the workout.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * UndoJournal journal = new UndoJournal(workout);   // starts listening
+ * workout.removeSetGroup(2);
+ * journal.checkpoint();
+ * journal.undo();                                   // group 2 is back, with its sets
+ * journal.redo();
+ * }</pre>
+ */
+public final class UndoJournal implements Workout.ChangeListener {
+
+    /** Default memory budget for the whole history, in bytes. */
+    public static final long DEFAULT_BUDGET_BYTES = 4L << 20;
+
+    // Estimated sizes (12-byte headers, compressed references, 8-byte alignment) for the budget
+    private static final int STEP_BYTES     = 48;    // Step (header + 3 fields) + empty array header
+    private static final int REF_BYTES      = 4;
+    private static final int EVENT_BYTES    = 48;    // WorkoutEvent: header + 6 references + 2 ints
+    private static final int SET_BYTES      = 128;   // SwimSet 56 + owners list 24 + its array 24 + Distance 24
+    private static final int GROUP_BYTES    = 264;   // SetGroup 72 + UUID 32 + name ~48 + set list, view, owners
+    private static final int INTEGER_BYTES  = 16;    // boxed Integer outside the -128..127 cache
+    private static final int DISTANCE_BYTES = 24;
+    private static final int UUID_BYTES     = 32;
+    private static final int STRING_BYTES   = 40;    // String + byte[] header; Latin-1 adds 1 byte per char
+
+    private final Workout workout;
+    private final long budgetBytes;
+    private final ArrayDeque<Step> undo = new ArrayDeque<>();
+    private final ArrayDeque<Step> redo = new ArrayDeque<>();
+    private Step open;         // user edits since the last checkpoint
+    private Step replaying;    // collects the opposite step during undo/redo
+    private long bytes;        // estimate for everything held
+
+    public UndoJournal(Workout workout) {
+        this(workout, DEFAULT_BUDGET_BYTES);
+    }
+
+    /** A journal that keeps at most about {@code budgetBytes} of history. */
+    public UndoJournal(Workout workout, long budgetBytes) {
+        if (budgetBytes <= 0) throw new IllegalArgumentException("budgetBytes must be > 0");
+        this.workout = Objects.requireNonNull(workout, "workout");
+        this.budgetBytes = budgetBytes;
+        workout.addChangeListener(this);
+    }
+
+    /** Stops listening; the history is dropped. */
+    public void close() {
+        workout.removeChangeListener(this);
+        clear();
+    }
+
+    // ----------------------------------------------------------
+    // Queries
+    // ----------------------------------------------------------
+
+    public Workout getWorkout() { return workout; }
+    public long getBudgetBytes() { return budgetBytes; }
+
+    /** Estimated memory held by the history, in bytes. */
+    public long estimatedBytes() { return bytes; }
+
+    public boolean canUndo() { return !undo.isEmpty() || open != null; }
+    public boolean canRedo() { return !redo.isEmpty(); }
+
+    /** Undo steps available (counting the open step). */
+    public int undoCount() { return undo.size() + (open != null ? 1 : 0); }
+
+    public int redoCount() { return redo.size(); }
+
+    // ----------------------------------------------------------
+    // Recording
+    // ----------------------------------------------------------
+
+    @Override
+    public void workoutChanged(WorkoutEvent e) {
+        if (isNoop(e)) return;
+        if (replaying != null) {
+            append(replaying, e);
+            return;
+        }
+        if (open == null) {
+            dropAll(redo);                 // a new edit ends the redo branch
+            open = new Step();
+            bytes += open.bytes;
+        }
+        append(open, e);
+        trim();
+    }
+
+    /**
+     * Ends the current step: everything recorded since the previous checkpoint is undone
+     * together. A step holding one field edit merges into the previous step if that was
+     * an edit of the same field.
+     */
+    public void checkpoint() {
+        Step s = open;
+        if (s == null) return;
+        open = null;
+        Step top = undo.peekLast();
+        if (s.size == 1 && top != null && top.size == 1 && sameField(top.events[0], s.events[0])) {
+            bytes -= s.bytes;
+            return;
+        }
+        undo.addLast(s);
+        trim();
+    }
+
+    /** Reverts the most recent step. Returns false if there was nothing to undo. */
+    public boolean undo() {
+        checkpoint();
+        return replay(undo, redo);
+    }
+
+    /** Re-applies the most recently undone step. Returns false if there was nothing to redo. */
+    public boolean redo() {
+        checkpoint();
+        return replay(redo, undo);
+    }
+
+    /** Forgets all history (the workout is unchanged). */
+    public void clear() {
+        dropAll(undo);
+        dropAll(redo);
+        open = null;
+        bytes = 0;
+    }
+
+    // ----------------------------------------------------------
+    // Replay
+    // ----------------------------------------------------------
+
+    private boolean replay(ArrayDeque<Step> from, ArrayDeque<Step> to) {
+        Step s = from.pollLast();
+        if (s == null) return false;
+        bytes -= s.bytes;
+        Step opposite = new Step();
+        bytes += opposite.bytes;
+        replaying = opposite;
+        try {
+            for (int i = s.size - 1; i >= 0; i--) revert(s.events[i]);
+        } finally {
+            replaying = null;
+        }
+        if (opposite.size > 0) to.addLast(opposite);
+        else bytes -= opposite.bytes;
+        trim();
+        return true;
+    }
+
+    private void revert(WorkoutEvent e) {
+        SetGroup g = e.getGroup();
+        switch (e.getKind()) {
+            case SET_ADDED     -> g.getSets().remove(e.getToIndex());
+            case SET_REMOVED   -> g.getSets().add(e.getFromIndex(), e.getSet());
+            case SET_MOVED     -> g.moveSet(e.getToIndex(), e.getFromIndex());
+            case SET_CHANGED   -> restore(e.getSet(), e.getProperty(), e.getOldValue());
+            case GROUP_ADDED   -> workout.removeSetGroup(e.getToIndex());
+            case GROUP_REMOVED -> workout.insertSetGroup(e.getFromIndex(), g);
+            case GROUP_MOVED   -> workout.moveGroup(e.getToIndex(), e.getFromIndex());
+            case GROUP_CHANGED -> restore(g, e.getProperty(), e.getOldValue());
+            case WORKOUT_CHANGED -> restore(e.getProperty(), e.getOldValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void restore(SwimSet s, WorkoutEvent.Property p, Object old) {
+        switch (p) {
+            case STROKE             -> s.setStroke((StrokeType) old);
+            case REPS               -> s.setReps((Integer) old);
+            case DISTANCE           -> s.setDistancePerRep((Distance) old);
+            case EFFORT             -> s.setEffort((Effort) old);
+            case NOTES              -> s.setNotes((String) old);
+            case COURSE             -> s.setCourse((Course) old);
+            case EQUIPMENT          -> s.setEquipment((Set<Equipment>) old);
+            case REP_PATTERN        -> s.setRepPattern((RepPattern) old);
+            case PATTERN_ROUND_SIZE -> s.setPatternRoundSize((Integer) old);
+            default -> throw new IllegalStateException("Not a set property: " + p);
+        }
+    }
+
+    private static void restore(SetGroup g, WorkoutEvent.Property p, Object old) {
+        switch (p) {
+            case NAME       -> g.setName((String) old);
+            case REPS       -> g.setReps((Integer) old);
+            case ORDER      -> g.setOrder((Integer) old);
+            case REST_AFTER -> g.setRestAfterGroupSec((Integer) old);
+            case NOTES      -> g.setNotes((String) old);
+            default -> throw new IllegalStateException("Not a group property: " + p);
+        }
+    }
+
+    private void restore(WorkoutEvent.Property p, Object old) {
+        switch (p) {
+            case NAME         -> workout.setName((String) old);
+            case NOTES        -> workout.setNotes((String) old);
+            case COURSE       -> workout.setCourse((Course) old);
+            case SWIMMER      -> workout.setSwimmerId((UUID) old);
+            case DEFAULT_REST -> workout.setDefaultRestBetweenGroupsSeconds((Integer) old);
+            default -> throw new IllegalStateException("Not a workout property: " + p);
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Field comparison (merging and no-op edits)
+    // ----------------------------------------------------------
+
+    // Same kind, same target, same field (the older entry's old value wins)
+    private static boolean sameField(WorkoutEvent a, WorkoutEvent b) {
+        if (a.getKind() != b.getKind() || a.getProperty() != b.getProperty()) return false;
+        return switch (a.getKind()) {
+            case SET_CHANGED     -> a.getSet() == b.getSet();
+            case GROUP_CHANGED   -> a.getGroup() == b.getGroup();
+            case WORKOUT_CHANGED -> true;
+            default -> false;
+        };
+    }
+
+    // An edit that wrote the value the field already had
+    private static boolean isNoop(WorkoutEvent e) {
+        if (e.getKind().isStructural()) return false;
+        Object old = e.getOldValue();
+        Object now = currentValue(e);
+        if (old instanceof Distance d && now instanceof Distance n) {
+            return d.equals(n) && d.displayUnit() == n.displayUnit();
+        }
+        return Objects.equals(old, now);
+    }
+
+    private static Object currentValue(WorkoutEvent e) {
+        WorkoutEvent.Property p = e.getProperty();
+        if (e.getKind() == WorkoutEvent.Kind.SET_CHANGED) {
+            SwimSet s = e.getSet();
+            return switch (p) {
+                case STROKE             -> s.getStroke();
+                case REPS               -> s.getReps();
+                case DISTANCE           -> s.getDistancePerRep();
+                case EFFORT             -> s.getEffort();
+                case NOTES              -> s.getNotes();
+                case COURSE             -> s.getCourse();
+                case EQUIPMENT          -> s.getEquipment();
+                case REP_PATTERN        -> s.getRepPattern();
+                case PATTERN_ROUND_SIZE -> s.getPatternRoundSize();
+                default -> null;
+            };
+        }
+        if (e.getKind() == WorkoutEvent.Kind.GROUP_CHANGED) {
+            SetGroup g = e.getGroup();
+            return switch (p) {
+                case NAME       -> g.getName();
+                case REPS       -> g.getReps();
+                case ORDER      -> g.getOrder();
+                case REST_AFTER -> g.getRestAfterGroupSec();
+                case NOTES      -> g.getNotes();
+                default -> null;
+            };
+        }
+        Workout w = e.getWorkout();
+        return switch (p) {
+            case NAME         -> w.getName();
+            case NOTES        -> w.getNotes();
+            case COURSE       -> w.getCourse();
+            case SWIMMER      -> w.getSwimmerId();
+            case DEFAULT_REST -> w.getDefaultRestBetweenGroupsSeconds();
+            default -> null;
+        };
+    }
+
+    // ----------------------------------------------------------
+    // Memory accounting
+    // ----------------------------------------------------------
+
+    private void append(Step s, WorkoutEvent e) {
+        if (s.size > 0 && sameField(s.events[s.size - 1], e)) return;   // keep the older value
+        bytes += s.add(e, footprint(e));
+    }
+
+    // Oldest undo steps first, then the farthest redo steps; the newest of each stays
+    private void trim() {
+        while (bytes > budgetBytes && undo.size() > 1) bytes -= undo.pollFirst().bytes;
+        while (bytes > budgetBytes && redo.size() > 1) bytes -= redo.pollFirst().bytes;
+    }
+
+    private void dropAll(ArrayDeque<Step> steps) {
+        for (Step s : steps) bytes -= s.bytes;
+        steps.clear();
+    }
+
+    private static long footprint(WorkoutEvent e) {
+        long b = EVENT_BYTES;
+        switch (e.getKind()) {
+            case SET_REMOVED   -> b += SET_BYTES;   // the journal now keeps the set alive
+            case GROUP_REMOVED -> b += GROUP_BYTES + (long) e.getGroup().getSetCount() * (SET_BYTES + REF_BYTES);
+            default -> {
+                Object old = e.getOldValue();
+                if (old instanceof String str) b += STRING_BYTES + str.length();
+                else if (old instanceof Distance) b += DISTANCE_BYTES;
+                else if (old instanceof UUID) b += UUID_BYTES;
+                else if (old instanceof Integer i && (i < -128 || i > 127)) b += INTEGER_BYTES;
+                // enums, equipment views, and cached Integers are shared
+            }
+        }
+        return b;
+    }
+
+    /** One undoable unit: events in the order they happened. */
+    private static final class Step {
+        WorkoutEvent[] events = new WorkoutEvent[1];
+        int size;
+        long bytes = STEP_BYTES + REF_BYTES;
+
+        // Returns the bytes added
+        long add(WorkoutEvent e, long eventBytes) {
+            long added = eventBytes;
+            if (size == events.length) {
+                int grown = size * 2;
+                added += (long) (grown - size) * REF_BYTES;
+                events = Arrays.copyOf(events, grown);
+            }
+            events[size++] = e;
+            bytes += added;
+            return added;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UndoJournal{" +
+                "undo=" + undoCount() +
+                ", redo=" + redoCount() +
+                ", bytes=" + bytes +
+                '}';
+    }
+}
@@ -2,7 +2,10 @@ package swimworkoutbuilder.model;
 
 import swimworkoutbuilder.model.enums.Course;
 import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.DistanceAccumulator;
+import swimworkoutbuilder.model.utils.PersistentVector;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -29,6 +32,16 @@ import java.util.UUID;
  *   <li>Workouts are immutable in ID but mutable in content (groups can be edited or rearranged).</li>
  *   <li>Distances are measured canonically in meters via {@link Distance} for consistency.</li>
  *   <li>This class is model-only; the UI and pacing logic are defined elsewhere.</li>
+ *   <li>Distance and rep totals are maintained incrementally: every {@link SetGroup} and
+ *       {@link SwimSet} mutator reports its delta up to the workout, so
+ *       {@link #totalDistance()} and friends are O(1). {@link #getGroups()} is a view that
+ *       routes edits through the same bookkeeping.</li>
+ *   <li>{@link #getRevision()} increases on every content change anywhere in the tree
+ *       (including stroke, effort, rest, and equipment edits); caches derived from the
+ *       workout, such as a compiled pacing plan, compare it to detect staleness.</li>
+ *   <li>Views that need to know <em>what</em> changed register a {@link ChangeListener}
+ *       and receive typed {@link WorkoutEvent}s (set added / removed / moved / changed,
+ *       group changed, ...); see {@link WorkoutChangeBatch} for coalescing them.</li>
  * </ul>
  *
  * <h2>Typical Usage</h2>
@@ -50,6 +63,12 @@ import java.util.UUID;
  */
 public class Workout {
 
+    /** Callback fired after every change to the workout or anything inside it. */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void workoutChanged(WorkoutEvent event);
+    }
+
     // ----------------------------------------------------------
     // Identity & metadata
     // ----------------------------------------------------------
@@ -65,6 +84,20 @@ public class Workout {
 
     // Contents
     private final List<SetGroup> groups = new ArrayList<>();
+    private final List<SetGroup> groupsView = new GroupList();
+
+    // Running totals, kept current by group and set mutators
+    private long passMicroUnits;              // one pass through every group
+    private long totalMicroUnits;             // including group repetitions
+    private long passRepCount;
+    private long totalRepCount;
+    private long revision;                    // bumped on every content change
+
+    private final List<ChangeListener> changeListeners = new ArrayList<>();
+
+    // Last snapshot (valid while its revision matches); its vector is patched when no group moved
+    private WorkoutSnapshot snapshot;
+    private boolean groupsReshaped;
 
     // ----------------------------------------------------------
     // Constructors
@@ -94,7 +127,12 @@ public class Workout {
      * @param defaultRestBetweenGroupsSeconds default rest between consecutive groups (≥0)
      */
     public Workout(UUID swimmerId, String name, Course course, String notes, int defaultRestBetweenGroupsSeconds) {
-        this.id = UUID.randomUUID();
+        this(UUID.randomUUID(), swimmerId, name, course, notes, defaultRestBetweenGroupsSeconds);
+    }
+
+    // Keeps the id (e.g., when a snapshot is turned back into a workout)
+    Workout(UUID id, UUID swimmerId, String name, Course course, String notes, int defaultRestBetweenGroupsSeconds) {
+        this.id = Objects.requireNonNull(id, "id");
         this.swimmerId = Objects.requireNonNull(swimmerId, "swimmerId");
         this.name = Objects.requireNonNull(name, "name");
         this.course = Objects.requireNonNull(course, "course");
@@ -110,46 +148,75 @@ public class Workout {
     public UUID getId() { return id; }
 
     public UUID getSwimmerId() { return swimmerId; }
-    public void setSwimmerId(UUID swimmerId) { this.swimmerId = Objects.requireNonNull(swimmerId, "swimmerId"); }
+    public void setSwimmerId(UUID swimmerId) {
+        UUID old = this.swimmerId;
+        this.swimmerId = Objects.requireNonNull(swimmerId, "swimmerId");
+        changed(WorkoutEvent.Property.SWIMMER, old);
+    }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = Objects.requireNonNull(name, "name"); }
+    public void setName(String name) {
+        String old = this.name;
+        this.name = Objects.requireNonNull(name, "name");
+        changed(WorkoutEvent.Property.NAME, old);
+    }
 
     public Course getCourse() { return course; }
-    public void setCourse(Course course) { this.course = Objects.requireNonNull(course, "course"); }
+    public void setCourse(Course course) {
+        Course old = this.course;
+        this.course = Objects.requireNonNull(course, "course");
+        changed(WorkoutEvent.Property.COURSE, old);
+    }
 
     public String getNotes() { return notes; }
-    public void setNotes(String notes) { this.notes = notes; }
+    public void setNotes(String notes) {
+        String old = this.notes;
+        this.notes = notes;
+        changed(WorkoutEvent.Property.NOTES, old);
+    }
 
     public int getDefaultRestBetweenGroupsSeconds() { return defaultRestBetweenGroupsSeconds; }
     public void setDefaultRestBetweenGroupsSeconds(int seconds) {
+        int old = this.defaultRestBetweenGroupsSeconds;
         this.defaultRestBetweenGroupsSeconds = Math.max(0, seconds);
+        changed(WorkoutEvent.Property.DEFAULT_REST, old);
     }
 
+    /**
+     * Content revision: increases whenever anything in the workout changes, down to a
+     * single set's effort or equipment. Equal revisions mean unchanged content.
+     */
+    public long getRevision() { return revision; }
+
     // ----------------------------------------------------------
     // Group management (ordered & mutable)
     // ----------------------------------------------------------
 
-    /** Returns the list of {@link SetGroup}s that make up this workout. */
-    public List<SetGroup> getGroups() { return groups; }
+    /**
+     * Returns the {@link SetGroup}s that make up this workout, in order.
+     * <p>The list is a live view; {@code add}, {@code remove}, and {@code set} go through
+     * the same bookkeeping as {@link #addSetGroup} / {@link #removeSetGroup}.</p>
+     */
+    public List<SetGroup> getGroups() { return groupsView; }
 
     /** Returns how many groups this workout currently contains. */
     public int getGroupCount() { return groups.size(); }
 
     /** Appends a new group to the workout. Null values are ignored. */
     public void addSetGroup(SetGroup group) {
-        if (group != null) groups.add(group);
+        if (group != null) insertGroup(groups.size(), group);
     }
 
     /** Inserts a group at a specific index (throws if index invalid). */
     public void insertSetGroup(int index, SetGroup group) {
         if (group == null) return;
-        groups.add(index, group);
+        if (index < 0 || index > groups.size()) throw new IndexOutOfBoundsException(index);
+        insertGroup(index, group);
     }
 
     /** Removes and returns the group at the specified index. */
     public SetGroup removeSetGroup(int index) {
-        return groups.remove(index);
+        return removeGroupAt(index);
     }
 
     /** Moves a group from one index to another, preserving relative order. */
@@ -157,15 +224,23 @@ public class Workout {
         if (fromIndex == toIndex) return;
         SetGroup g = groups.remove(fromIndex);
         groups.add(toIndex, g);
+        groupsReshaped = true;
+        revision++;
+        fire(WorkoutEvent.Kind.GROUP_MOVED, g, null, fromIndex, toIndex);
     }
 
-    /** Swaps the position of two groups in the list. */
+    /** Swaps the position of two groups in the list (reported as two moves). */
     public void swapGroups(int i, int j) {
         if (i == j) return;
+        if (i > j) { int t = i; i = j; j = t; }
         SetGroup a = groups.get(i);
         SetGroup b = groups.get(j);
         groups.set(i, b);
         groups.set(j, a);
+        groupsReshaped = true;
+        revision++;
+        fire(WorkoutEvent.Kind.GROUP_MOVED, b, null, j, i);
+        if (j > i + 1) fire(WorkoutEvent.Kind.GROUP_MOVED, a, null, i + 1, j);
     }
 
     // ----------------------------------------------------------
@@ -174,10 +249,11 @@ public class Workout {
 
     /**
      * Returns the total distance for one full pass through all groups.
-     * <p>Uses the canonical meter-based representation via {@link Distance}.</p>
+     * <p>Summed exactly in canonical microUnits (see {@link DistanceAccumulator});
+     * expressed in meters.</p>
      */
     public Distance singlePassDistance() {
-        return Distance.ofMeters(singlePassDistanceMeters());
+        return Distance.ofCanonicalMicroUnits(passMicroUnits, Distance.Unit.METERS);
     }
 
     /**
@@ -185,23 +261,174 @@ public class Workout {
      * any group repetitions (e.g., “Main ×4” counts 4× its base distance).
      */
     public Distance totalDistance() {
-        return Distance.ofMeters(totalDistanceMeters());
+        return Distance.ofCanonicalMicroUnits(totalMicroUnits, Distance.Unit.METERS);
+    }
+
+    /** One pass through all groups in canonical microUnits (maintained, O(1)). */
+    public long singlePassMicroUnits() { return passMicroUnits; }
+
+    /** The whole workout, including group repetitions, in canonical microUnits. */
+    public long totalMicroUnits() { return totalMicroUnits; }
+
+    /** Reps in one pass through all groups. */
+    public long singlePassRepCount() { return passRepCount; }
+
+    /** Reps swum in the whole workout, including group repetitions. */
+    public long totalRepCount() { return totalRepCount; }
+
+    /** Adds the whole workout, including group repetitions, to {@code acc}. */
+    public void addTotalTo(DistanceAccumulator acc) {
+        acc.addMicroUnits(totalMicroUnits, 1);
     }
 
-    /** Sum of group distances (in meters) for one pass. */
+    /** One pass through all groups in meters, rounded once from the exact total. */
     @Deprecated
     public int singlePassDistanceMeters() {
-        int sum = 0;
-        for (SetGroup g : groups) sum += g.singlePassDistanceMeters();
-        return sum;
+        return (int) Math.round(singlePassDistance().toMeters());
     }
 
-    /** Total workout distance (in meters), including group repetitions. */
+    /** Total workout distance in meters (including group repetitions), rounded once. */
     @Deprecated
     public int totalDistanceMeters() {
-        int sum = 0;
-        for (SetGroup g : groups) sum += g.totalDistanceMeters();
-        return sum;
+        return (int) Math.round(totalDistance().toMeters());
+    }
+
+    // ----------------------------------------------------------
+    // Snapshots
+    // ----------------------------------------------------------
+
+    /**
+     * Immutable copy of the whole workout, safe to hand to other threads. Returns the same
+     * instance until the next edit; afterwards only the edited groups and sets are copied
+     * and everything else is shared with the previous snapshot. Call on the editing thread.
+     */
+    public WorkoutSnapshot snapshot() {
+        if (snapshot != null && snapshot.getRevision() == revision) return snapshot;
+        PersistentVector<GroupSnapshot> v;
+        if (snapshot == null || groupsReshaped) {
+            List<GroupSnapshot> copies = new ArrayList<>(groups.size());
+            for (SetGroup g : groups) copies.add(g.snapshot());
+            v = PersistentVector.of(copies);
+        } else {
+            v = snapshot.groupVector();
+            for (int i = 0; i < groups.size(); i++) v = v.set(i, groups.get(i).snapshot());   // no-op when shared
+        }
+        snapshot = new WorkoutSnapshot(this, v);
+        groupsReshaped = false;
+        return snapshot;
+    }
+
+    // ----------------------------------------------------------
+    // Aggregate bookkeeping
+    // ----------------------------------------------------------
+
+    private void insertGroup(int index, SetGroup group) {
+        groups.add(index, group);
+        group.attach(this);
+        addGroupTotals(group, 1);
+        fire(WorkoutEvent.Kind.GROUP_ADDED, group, null, -1, index);
+    }
+
+    private SetGroup removeGroupAt(int index) {
+        SetGroup group = groups.remove(index);
+        group.detach(this);
+        addGroupTotals(group, -1);
+        fire(WorkoutEvent.Kind.GROUP_REMOVED, group, null, index, -1);
+        return group;
+    }
+
+    private void addGroupTotals(SetGroup g, int sign) {
+        groupsReshaped = true;
+        passMicroUnits  = Math.addExact(passMicroUnits, sign * g.singlePassMicroUnits());
+        totalMicroUnits = Math.addExact(totalMicroUnits, sign * g.totalMicroUnits());
+        passRepCount  += sign * g.singlePassRepCount();
+        totalRepCount += sign * g.totalRepCount();
+        revision++;
+    }
+
+    /** Called by a contained group with its one-pass delta (zero for non-distance edits). */
+    void groupChanged(SetGroup g, long dMicroUnits, long dReps) {
+        if (dMicroUnits != 0 || dReps != 0) {
+            passMicroUnits  = Math.addExact(passMicroUnits, dMicroUnits);
+            totalMicroUnits = Math.addExact(totalMicroUnits, Math.multiplyExact(dMicroUnits, (long) g.getReps()));
+            passRepCount  += dReps;
+            totalRepCount += dReps * g.getReps();
+        }
+        revision++;
+    }
+
+    /** Called by a contained group after its repetition count changed. */
+    void groupRepsChanged(SetGroup g, int oldReps) {
+        long d = g.getReps() - oldReps;
+        totalMicroUnits = Math.addExact(totalMicroUnits, Math.multiplyExact(g.singlePassMicroUnits(), d));
+        totalRepCount += g.singlePassRepCount() * d;
+        revision++;
+    }
+
+    // ----------------------------------------------------------
+    // Change notification
+    // ----------------------------------------------------------
+
+    /** Registers a listener that is told about every change (e.g., to patch a tree view). */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void changed(WorkoutEvent.Property property, Object oldValue) {
+        revision++;
+        fire(WorkoutEvent.Kind.WORKOUT_CHANGED, null, null, property, oldValue);
+    }
+
+    /** Delivers a structural event to the listeners. */
+    void fire(WorkoutEvent.Kind kind, SetGroup group, SwimSet set, int fromIndex, int toIndex) {
+        fire(kind, group, set, fromIndex, toIndex, WorkoutEvent.Property.NONE, null);
+    }
+
+    /** Delivers a {@code *_CHANGED} event for one field to the listeners. */
+    void fire(WorkoutEvent.Kind kind, SetGroup group, SwimSet set, WorkoutEvent.Property property, Object oldValue) {
+        fire(kind, group, set, -1, -1, property, oldValue);
+    }
+
+    // No event is created when there are no listeners
+    private void fire(WorkoutEvent.Kind kind, SetGroup group, SwimSet set, int fromIndex, int toIndex,
+                      WorkoutEvent.Property property, Object oldValue) {
+        if (changeListeners.isEmpty()) return;
+        WorkoutEvent e = new WorkoutEvent(this, kind, group, set, fromIndex, toIndex, property, oldValue);
+        for (int i = 0; i < changeListeners.size(); i++) {
+            changeListeners.get(i).workoutChanged(e);
+        }
+    }
+
+    /** {@link #getGroups()}: reads straight through, writes go through the bookkeeping. */
+    private final class GroupList extends AbstractList<SetGroup> {
+        @Override public SetGroup get(int index) { return groups.get(index); }
+        @Override public int size() { return groups.size(); }
+        @Override public int indexOf(Object o) { return groups.indexOf(o); }
+        @Override public boolean contains(Object o) { return groups.contains(o); }
+
+        @Override public void add(int index, SetGroup group) {
+            if (group == null) throw new NullPointerException("group");
+            if (index < 0 || index > groups.size()) throw new IndexOutOfBoundsException(index);
+            insertGroup(index, group);
+            modCount++;
+        }
+
+        @Override public SetGroup remove(int index) {
+            SetGroup removed = removeGroupAt(index);
+            modCount++;
+            return removed;
+        }
+
+        @Override public SetGroup set(int index, SetGroup group) {
+            if (group == null) throw new NullPointerException("group");
+            SetGroup old = removeGroupAt(index);
+            insertGroup(index, group);
+            return old;
+        }
     }
 
     // ----------------------------------------------------------
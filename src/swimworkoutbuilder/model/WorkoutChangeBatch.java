@@ -0,0 +1,112 @@
+package swimworkoutbuilder.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects {@link WorkoutEvent}s between two view refreshes and folds them into what a
+ * view actually has to redo.
+ *
+ * <p>A dialog that edits one set fires eight {@code SET_CHANGED} events (stroke, effort,
+ * reps, ...); the batch turns them into one entry in {@link #changedSets()}. Structural
+ * events are kept in order in {@link #structuralEvents()}, because their indices only
+ * make sense replayed one after another.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>The batch is a {@link Workout.ChangeListener}. The optional {@code onFirstEvent}
+ *       callback runs when an empty batch receives its first event — the place to schedule
+ *       one refresh (e.g., {@code Platform.runLater}) for everything that follows.</li>
+ *   <li>Changed sets and groups are tracked by identity; sets and groups that are later
+ *       removed in the same batch stay listed, so consumers skip ones they no longer show.</li>
+ *   <li>Model-only and UI-agnostic; not thread-safe (events arrive on the editing thread).</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * WorkoutChangeBatch pending = new WorkoutChangeBatch(() -> Platform.runLater(this::flush));
+ * workout.addChangeListener(pending);
+ * ...
+ * void flush() {
+ *     for (WorkoutEvent e : pending.structuralEvents()) patchTree(e);
+ *     for (SwimSet s : pending.changedSets()) refreshRow(s);
+ *     pending.clear();
+ * }
+ * }</pre>
+ */
+public final class WorkoutChangeBatch implements Workout.ChangeListener {
+
+    private final Runnable onFirstEvent;
+    private final List<WorkoutEvent> structural = new ArrayList<>();
+    private final Set<SwimSet> changedSets = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<SetGroup> changedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean workoutChanged;
+    private int eventCount;
+
+    public WorkoutChangeBatch() {
+        this(null);
+    }
+
+    /** @param onFirstEvent run when an empty batch receives an event (nullable) */
+    public WorkoutChangeBatch(Runnable onFirstEvent) {
+        this.onFirstEvent = onFirstEvent;
+    }
+
+    @Override
+    public void workoutChanged(WorkoutEvent event) {
+        switch (event.getKind()) {
+            case SET_CHANGED     -> changedSets.add(event.getSet());
+            case GROUP_CHANGED   -> changedGroups.add(event.getGroup());
+            case WORKOUT_CHANGED -> workoutChanged = true;
+            default              -> structural.add(event);
+        }
+        if (eventCount++ == 0 && onFirstEvent != null) onFirstEvent.run();
+    }
+
+    // ----------------------------------------------------------
+    // Coalesced view
+    // ----------------------------------------------------------
+
+    /** True if nothing arrived since the last {@link #clear()}. */
+    public boolean isEmpty() { return eventCount == 0; }
+
+    /** Raw number of events folded into this batch. */
+    public int eventCount() { return eventCount; }
+
+    /** Additions, removals, and moves, in the order they happened. */
+    public List<WorkoutEvent> structuralEvents() { return Collections.unmodifiableList(structural); }
+
+    public boolean hasStructuralChanges() { return !structural.isEmpty(); }
+
+    /** Sets edited in place (each listed once however many edits it received). */
+    public Set<SwimSet> changedSets() { return Collections.unmodifiableSet(changedSets); }
+
+    /** Groups edited in place (name, reps, notes, rest, order). */
+    public Set<SetGroup> changedGroups() { return Collections.unmodifiableSet(changedGroups); }
+
+    /** True if workout metadata (name, course, notes, default rest) changed. */
+    public boolean hasWorkoutChange() { return workoutChanged; }
+
+    /** Empties the batch; the next event triggers {@code onFirstEvent} again. */
+    public void clear() {
+        structural.clear();
+        changedSets.clear();
+        changedGroups.clear();
+        workoutChanged = false;
+        eventCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkoutChangeBatch{" +
+                "events=" + eventCount +
+                ", structural=" + structural.size() +
+                ", changedSets=" + changedSets.size() +
+                ", changedGroups=" + changedGroups.size() +
+                (workoutChanged ? ", workoutChanged" : "") +
+                '}';
+    }
+}
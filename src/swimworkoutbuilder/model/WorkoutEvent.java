@@ -0,0 +1,115 @@
+package swimworkoutbuilder.model;
+
+/**
+ * One typed change to a {@link Workout} or anything inside it, delivered to
+ * {@link Workout.ChangeListener}s right after the change is applied.
+ *
+ * <p>Structural events carry positions so a view can patch itself in place:</p>
+ * <ul>
+ *   <li>{@code *_ADDED}: {@link #getToIndex()} is the new position;</li>
+ *   <li>{@code *_REMOVED}: {@link #getFromIndex()} is the old position;</li>
+ *   <li>{@code *_MOVED}: both;</li>
+ *   <li>{@code *_CHANGED}: neither (both {@code -1}); look the element up by identity.</li>
+ * </ul>
+ * <p>Set positions are within {@link #getGroup()}; group positions are within the workout.
+ * {@code *_CHANGED} events also name the edited {@link Property} and carry the value it had
+ * before the edit, which is enough to undo it (see {@link UndoJournal}).</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Events are built only when the workout has listeners, so unobserved edits
+ *       allocate nothing.</li>
+ *   <li>{@code SET_CHANGED} covers every per-set edit (reps, distance, stroke, effort,
+ *       equipment, pattern, notes); listeners re-read the set rather than diffing fields.</li>
+ *   <li>Replacing a list element through {@link Workout#getGroups()} or
+ *       {@link SetGroup#getSets()} is reported as a removal followed by an addition.</li>
+ * </ul>
+ *
+ * @see Workout#addChangeListener(Workout.ChangeListener)
+ * @see WorkoutChangeBatch
+ */
+public final class WorkoutEvent {
+
+    /** What happened. */
+    public enum Kind {
+        SET_ADDED, SET_REMOVED, SET_MOVED, SET_CHANGED,
+        GROUP_ADDED, GROUP_REMOVED, GROUP_MOVED, GROUP_CHANGED,
+        /** Workout metadata (name, notes, course, default rest, swimmer). */
+        WORKOUT_CHANGED;
+
+        /** True for additions, removals, and moves (positions change). */
+        public boolean isStructural() {
+            return this != SET_CHANGED && this != GROUP_CHANGED && this != WORKOUT_CHANGED;
+        }
+    }
+
+    /** The field a {@code *_CHANGED} event edited ({@link #NONE} for structural events). */
+    public enum Property {
+        NONE,
+        // shared
+        NAME, NOTES, REPS, COURSE,
+        // workout
+        SWIMMER, DEFAULT_REST,
+        // group
+        ORDER, REST_AFTER,
+        // set
+        STROKE, DISTANCE, EFFORT, EQUIPMENT, REP_PATTERN, PATTERN_ROUND_SIZE
+    }
+
+    private final Workout workout;
+    private final Kind kind;
+    private final SetGroup group;   // null for WORKOUT_CHANGED
+    private final SwimSet set;      // null unless SET_*
+    private final int fromIndex;
+    private final int toIndex;
+    private final Property property;
+    private final Object oldValue;
+
+    WorkoutEvent(Workout workout, Kind kind, SetGroup group, SwimSet set, int fromIndex, int toIndex,
+                 Property property, Object oldValue) {
+        this.workout = workout;
+        this.kind = kind;
+        this.group = group;
+        this.set = set;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.property = property;
+        this.oldValue = oldValue;
+    }
+
+    public Workout getWorkout() { return workout; }
+    public Kind getKind() { return kind; }
+
+    /** The group affected (or holding the affected set); null for {@code WORKOUT_CHANGED}. */
+    public SetGroup getGroup() { return group; }
+
+    /** The set affected; null unless this is a {@code SET_*} event. */
+    public SwimSet getSet() { return set; }
+
+    /** Old position for removals and moves, else {@code -1}. */
+    public int getFromIndex() { return fromIndex; }
+
+    /** New position for additions and moves, else {@code -1}. */
+    public int getToIndex() { return toIndex; }
+
+    /** The edited field for {@code *_CHANGED} events, else {@link Property#NONE}. */
+    public Property getProperty() { return property; }
+
+    /**
+     * The field's value before the edit (boxed for ints; may be null, e.g. cleared notes).
+     * Always null for structural events.
+     */
+    public Object getOldValue() { return oldValue; }
+
+    @Override
+    public String toString() {
+        return "WorkoutEvent{" +
+                kind +
+                (group != null ? ", group='" + group.getName() + '\'' : "") +
+                (set != null ? ", set=" + set : "") +
+                (fromIndex >= 0 ? ", from=" + fromIndex : "") +
+                (toIndex >= 0 ? ", to=" + toIndex : "") +
+                (property != Property.NONE ? ", " + property + " was " + oldValue : "") +
+                '}';
+    }
+}
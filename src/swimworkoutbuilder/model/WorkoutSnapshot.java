@@ -0,0 +1,103 @@
+package swimworkoutbuilder.model;
+
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.utils.PersistentVector;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, thread-safe copy of a whole {@link Workout} (workout → {@link GroupSnapshot}s →
+ * {@link SetSnapshot}s) that can be handed to background pacing, printing, or saving while
+ * the user keeps editing the live workout on the FX thread.
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Taken with {@link Workout#snapshot()} on the thread that edits the workout. Each
+ *       level caches its last snapshot until an edit touches it, so after editing one set the
+ *       next workout snapshot is new, that set's group snapshot is new, and every other
+ *       group and set is the very same object as in the previous snapshot.</li>
+ *   <li>Groups and sets are held in {@link PersistentVector}s; replacing one slot copies
+ *       only a short path of nodes. Structural edits (insert, remove, move) rebuild that
+ *       one vector, still sharing the elements.</li>
+ *   <li>All fields are final and nothing inside is mutable, so a snapshot may be read from
+ *       any thread without locking once published.</li>
+ *   <li>{@link #toWorkout()} materializes an independent mutable copy (same ids) for APIs
+ *       that take a {@link Workout}, such as
+ *       {@link swimworkoutbuilder.model.pacing.PacingPlan}; do that on the background
+ *       thread.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * WorkoutSnapshot snap = workout.snapshot();           // FX thread, O(changes)
+ * executor.submit(() -> WorkoutPrinter.printWorkout(
+ *         PacingPlan.compile(snap.toWorkout(), swimmer, policy)));
+ * }</pre>
+ */
+public final class WorkoutSnapshot {
+
+    private final UUID id;
+    private final UUID swimmerId;
+    private final String name;
+    private final Course course;
+    private final String notes;
+    private final int defaultRestBetweenGroupsSeconds;
+    private final long revision;
+    private final PersistentVector<GroupSnapshot> groups;
+    private final long totalMicroUnits;
+    private final long totalRepCount;
+
+    WorkoutSnapshot(Workout w, PersistentVector<GroupSnapshot> groups) {
+        this.id = w.getId();
+        this.swimmerId = w.getSwimmerId();
+        this.name = w.getName();
+        this.course = w.getCourse();
+        this.notes = w.getNotes();
+        this.defaultRestBetweenGroupsSeconds = w.getDefaultRestBetweenGroupsSeconds();
+        this.revision = w.getRevision();
+        this.groups = groups;
+        this.totalMicroUnits = w.totalMicroUnits();
+        this.totalRepCount = w.totalRepCount();
+    }
+
+    public UUID getId() { return id; }
+    public UUID getSwimmerId() { return swimmerId; }
+    public String getName() { return name; }
+    public Course getCourse() { return course; }
+    public String getNotes() { return notes; }
+    public int getDefaultRestBetweenGroupsSeconds() { return defaultRestBetweenGroupsSeconds; }
+
+    /** {@link Workout#getRevision()} at the time of the snapshot. */
+    public long getRevision() { return revision; }
+
+    /** The groups, in order (read-only view). */
+    public List<GroupSnapshot> getGroups() { return groups.asList(); }
+
+    /** The underlying persistent vector (for callers that want to derive new versions). */
+    public PersistentVector<GroupSnapshot> groupVector() { return groups; }
+
+    public long totalMicroUnits() { return totalMicroUnits; }
+    public long totalRepCount() { return totalRepCount; }
+
+    public Distance totalDistance() {
+        return Distance.ofCanonicalMicroUnits(totalMicroUnits, Distance.Unit.METERS);
+    }
+
+    /** A new, independent mutable {@link Workout} (same ids) with this content. */
+    public Workout toWorkout() {
+        Workout w = new Workout(id, swimmerId, name, course, notes, defaultRestBetweenGroupsSeconds);
+        for (GroupSnapshot g : groups) w.addSetGroup(g.toSetGroup());
+        return w;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkoutSnapshot{" +
+                "name='" + name + '\'' +
+                ", revision=" + revision +
+                ", groups=" + groups.size() +
+                '}';
+    }
+}
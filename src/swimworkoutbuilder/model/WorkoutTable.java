@@ -0,0 +1,317 @@
+package swimworkoutbuilder.model;
+
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Column-wise (struct-of-arrays) copy of a {@link Workout} for very large plans and
+ * library analytics: one primitive array per set field, with groups described by offsets
+ * into those arrays.
+ *
+ * <p>Walking a season of {@link SwimSet}s means chasing a reference per set and per
+ * {@code Distance}. Here the fields a loop needs sit next to each other in memory ({@value #BYTES_PER_SET} column bytes per set, plus one
+ * reference for notes), so totals, per-stroke volume, and batch pacing
+ * ({@link swimworkoutbuilder.model.pacing.TablePacer}) are plain indexed loops.</p>
+ *
+ * <h2>Layout</h2>
+ * <ul>
+ *   <li>Sets are numbered in workout order (group by group). The sets of group {@code g}
+ *       are {@code [groupStart(g), groupEnd(g))}.</li>
+ *   <li>Strokes, efforts, courses, and rep patterns are enum ordinals in {@code byte}s;
+ *       {@link #NO_ORDINAL} stands for a null stroke or effort.</li>
+ *   <li>Distances use the {@link Distance#pack()} codec (microUnits and display unit in one
+ *       {@code long}); equipment is the {@link Equipment#maskOf} bitmask in a {@code byte}.</li>
+ * </ul>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Immutable once built: columns are filled by {@link #of(Workout)} and never change,
+ *       so a table may be shared across threads like a {@link WorkoutSnapshot}.</li>
+ *   <li>{@link #toWorkout()} rebuilds the object model (same workout and group ids), so
+ *       {@code WorkoutTable.of(w).toWorkout()} has the same content as {@code w}.</li>
+ *   <li>Primitive accessors never allocate; the enum accessors return shared constants.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * WorkoutTable table = WorkoutTable.of(seasonPlan);
+ * long[] byStroke = table.microUnitsByStroke();          // index = StrokeType.ordinal()
+ * TablePacer.Result timing = TablePacer.compute(table, swimmer, new DefaultPacePolicy());
+ * }</pre>
+ */
+public final class WorkoutTable {
+
+    /** Ordinal stored for a null stroke or effort. */
+    public static final byte NO_ORDINAL = -1;
+
+    /** Column bytes per set (long distance, int reps, int round size, 5 bytes). */
+    public static final int BYTES_PER_SET = Long.BYTES + 2 * Integer.BYTES + 5;
+
+    private static final StrokeType[] STROKES = StrokeType.values();
+    private static final Effort[] EFFORTS = Effort.values();
+    private static final Course[] COURSES = Course.values();
+    private static final RepPattern[] PATTERNS = RepPattern.values();
+
+    // Workout
+    private final UUID id;
+    private final UUID swimmerId;
+    private final String name;
+    private final Course course;
+    private final String notes;
+    private final int defaultRestBetweenGroupsSeconds;
+
+    // Groups (g)
+    private final int[] groupStart;          // length = groups + 1
+    private final int[] groupReps;
+    private final int[] groupOrder;
+    private final int[] groupRestAfter;
+    private final long[] groupIdHigh;
+    private final long[] groupIdLow;
+    private final String[] groupName;
+    private final String[] groupNotes;
+
+    // Sets (s)
+    private final long[] distance;           // Distance.pack()
+    private final int[] reps;
+    private final int[] patternRoundSize;
+    private final byte[] stroke;             // ordinal or NO_ORDINAL
+    private final byte[] effort;             // ordinal or NO_ORDINAL
+    private final byte[] equipment;          // Equipment bitmask
+    private final byte[] courseColumn;       // ordinal
+    private final byte[] pattern;            // ordinal
+    private final String[] notesColumn;
+
+    private WorkoutTable(Workout w, int setCount) {
+        id = w.getId();
+        swimmerId = w.getSwimmerId();
+        name = w.getName();
+        course = w.getCourse();
+        notes = w.getNotes();
+        defaultRestBetweenGroupsSeconds = w.getDefaultRestBetweenGroupsSeconds();
+
+        int groups = w.getGroupCount();
+        groupStart     = new int[groups + 1];
+        groupReps      = new int[groups];
+        groupOrder     = new int[groups];
+        groupRestAfter = new int[groups];
+        groupIdHigh    = new long[groups];
+        groupIdLow     = new long[groups];
+        groupName      = new String[groups];
+        groupNotes     = new String[groups];
+
+        distance         = new long[setCount];
+        reps             = new int[setCount];
+        patternRoundSize = new int[setCount];
+        stroke           = new byte[setCount];
+        effort           = new byte[setCount];
+        equipment        = new byte[setCount];
+        courseColumn     = new byte[setCount];
+        pattern          = new byte[setCount];
+        notesColumn      = new String[setCount];
+    }
+
+    // ----------------------------------------------------------
+    // Conversion
+    // ----------------------------------------------------------
+
+    /** Copies {@code workout} into columns (call on the thread that edits it). */
+    public static WorkoutTable of(Workout workout) {
+        Objects.requireNonNull(workout, "workout");
+        List<SetGroup> groups = workout.getGroups();
+        int setCount = 0;
+        for (int g = 0; g < groups.size(); g++) setCount += groups.get(g).getSetCount();
+
+        WorkoutTable t = new WorkoutTable(workout, setCount);
+        int s = 0;
+        for (int g = 0; g < groups.size(); g++) {
+            SetGroup group = groups.get(g);
+            t.groupStart[g]     = s;
+            t.groupReps[g]      = group.getReps();
+            t.groupOrder[g]     = group.getOrder();
+            t.groupRestAfter[g] = group.getRestAfterGroupSec();
+            t.groupIdHigh[g]    = group.getId().getMostSignificantBits();
+            t.groupIdLow[g]     = group.getId().getLeastSignificantBits();
+            t.groupName[g]      = group.getName();
+            t.groupNotes[g]     = group.getNotes();
+            List<SwimSet> sets = group.getSets();
+            for (int i = 0; i < sets.size(); i++, s++) {
+                SwimSet set = sets.get(i);
+                t.distance[s]         = set.getDistancePerRep().pack();
+                t.reps[s]             = set.getReps();
+                t.patternRoundSize[s] = set.getPatternRoundSize();
+                t.stroke[s]           = ordinal(set.getStroke());
+                t.effort[s]           = ordinal(set.getEffort());
+                t.equipment[s]        = (byte) set.getEquipmentMask();
+                t.courseColumn[s]     = (byte) set.getCourse().ordinal();
+                t.pattern[s]          = (byte) set.getRepPattern().ordinal();
+                t.notesColumn[s]      = set.getNotes();
+            }
+        }
+        t.groupStart[groups.size()] = s;
+        return t;
+    }
+
+    /** A new, independent {@link Workout} (same workout and group ids) with this content. */
+    public Workout toWorkout() {
+        Workout w = new Workout(id, swimmerId, name, course, notes, defaultRestBetweenGroupsSeconds);
+        for (int g = 0; g < groupCount(); g++) {
+            SetGroup group = new SetGroup(groupId(g), groupName[g], groupReps[g], groupOrder[g]);
+            group.setRestAfterGroupSec(groupRestAfter[g]);
+            group.setNotes(groupNotes[g]);
+            for (int s = groupStart[g]; s < groupStart[g + 1]; s++) group.addSet(toSwimSet(s));
+            w.addSetGroup(group);
+        }
+        return w;
+    }
+
+    private SwimSet toSwimSet(int s) {
+        SwimSet set = new SwimSet(stroke(s), reps[s], Distance.unpack(distance[s]), effort(s), COURSES[courseColumn[s]], notesColumn[s]);
+        set.setEquipmentMask(equipment[s]);
+        set.setRepPattern(PATTERNS[pattern[s]]);
+        set.setPatternRoundSize(patternRoundSize[s]);
+        return set;
+    }
+
+    // ----------------------------------------------------------
+    // Workout and group columns
+    // ----------------------------------------------------------
+
+    public UUID getId() { return id; }
+    public UUID getSwimmerId() { return swimmerId; }
+    public String getName() { return name; }
+    public Course getCourse() { return course; }
+    public String getNotes() { return notes; }
+    public int getDefaultRestBetweenGroupsSeconds() { return defaultRestBetweenGroupsSeconds; }
+
+    public int groupCount() { return groupReps.length; }
+    public int setCount() { return reps.length; }
+
+    /** First set of group {@code g}. */
+    public int groupStart(int g) { return groupStart[Objects.checkIndex(g, groupCount())]; }
+
+    /** One past the last set of group {@code g}. */
+    public int groupEnd(int g) { return groupStart[Objects.checkIndex(g, groupCount()) + 1]; }
+
+    public int groupReps(int g) { return groupReps[g]; }
+    public int groupOrder(int g) { return groupOrder[g]; }
+    public int groupRestAfterSeconds(int g) { return groupRestAfter[g]; }
+    public String groupName(int g) { return groupName[g]; }
+    public String groupNotes(int g) { return groupNotes[g]; }
+    public UUID groupId(int g) { return new UUID(groupIdHigh[g], groupIdLow[g]); }
+
+    // ----------------------------------------------------------
+    // Set columns (primitive access does not allocate)
+    // ----------------------------------------------------------
+
+    public long packedDistance(int s)     { return distance[s]; }
+    public long distanceMicroUnits(int s) { return Distance.packedMicroUnits(distance[s]); }
+    public int reps(int s)                { return reps[s]; }
+    public int strokeOrdinal(int s)       { return stroke[s]; }
+    public int effortOrdinal(int s)       { return effort[s]; }
+    public int equipmentMask(int s)       { return equipment[s] & 0xFF; }
+    public int patternRoundSize(int s)    { return patternRoundSize[s]; }
+
+    /** Stroke of set {@code s}, or null. */
+    public StrokeType stroke(int s) { return (stroke[s] == NO_ORDINAL) ? null : STROKES[stroke[s]]; }
+
+    /** Effort of set {@code s}, or null. */
+    public Effort effort(int s) { return (effort[s] == NO_ORDINAL) ? null : EFFORTS[effort[s]]; }
+
+    public Course course(int s) { return COURSES[courseColumn[s]]; }
+    public RepPattern repPattern(int s) { return PATTERNS[pattern[s]]; }
+    public String notes(int s) { return notesColumn[s]; }
+
+    /** Distance per rep of set {@code s} (a shared instance for standard distances). */
+    public Distance distance(int s) { return Distance.unpack(distance[s]); }
+
+    // ----------------------------------------------------------
+    // Aggregations
+    // ----------------------------------------------------------
+
+    /** Whole-workout distance (group repeats included) in canonical microUnits. */
+    public long totalMicroUnits() {
+        long total = 0;
+        for (int g = 0; g < groupReps.length; g++) {
+            long pass = 0;
+            for (int s = groupStart[g]; s < groupStart[g + 1]; s++) {
+                pass = Math.addExact(pass, Math.multiplyExact(Distance.packedMicroUnits(distance[s]), (long) reps[s]));
+            }
+            total = Math.addExact(total, Math.multiplyExact(pass, (long) groupReps[g]));
+        }
+        return total;
+    }
+
+    public Distance totalDistance() {
+        return Distance.ofCanonicalMicroUnits(totalMicroUnits(), Distance.Unit.METERS);
+    }
+
+    /** Reps swum over the whole workout (group repeats included). */
+    public long totalRepCount() {
+        long total = 0;
+        for (int g = 0; g < groupReps.length; g++) {
+            long pass = 0;
+            for (int s = groupStart[g]; s < groupStart[g + 1]; s++) pass += reps[s];
+            total += pass * groupReps[g];
+        }
+        return total;
+    }
+
+    /**
+     * Distance per stroke (group repeats included) in canonical microUnits, indexed by
+     * {@link StrokeType#ordinal()}; sets without a stroke are not counted.
+     */
+    public long[] microUnitsByStroke() {
+        return microUnitsBy(stroke, STROKES.length);
+    }
+
+    /** Distance per {@link Effort#ordinal()}, as {@link #microUnitsByStroke()}. */
+    public long[] microUnitsByEffort() {
+        return microUnitsBy(effort, EFFORTS.length);
+    }
+
+    private long[] microUnitsBy(byte[] key, int keys) {
+        long[] out = new long[keys];
+        for (int g = 0; g < groupReps.length; g++) {
+            long passes = groupReps[g];
+            for (int s = groupStart[g]; s < groupStart[g + 1]; s++) {
+                int k = key[s];
+                if (k == NO_ORDINAL) continue;
+                long d = Math.multiplyExact(Distance.packedMicroUnits(distance[s]), reps[s] * passes);
+                out[k] = Math.addExact(out[k], d);
+            }
+        }
+        return out;
+    }
+
+    /** Bytes held by the set and group columns (excluding array headers and strings). */
+    public long columnBytes() {
+        return (long) setCount() * (BYTES_PER_SET + 4)                    // + notes reference
+                + (long) groupCount() * (4 * Integer.BYTES + 2 * Long.BYTES + 8) + Integer.BYTES;
+    }
+
+    // ----------------------------------------------------------
+    // Helpers
+    // ----------------------------------------------------------
+
+    private static byte ordinal(Enum<?> e) {
+        return (e == null) ? NO_ORDINAL : (byte) e.ordinal();
+    }
+
+
+    @Override
+    public String toString() {
+        return "WorkoutTable{" +
+                "name='" + name + '\'' +
+                ", groups=" + groupCount() +
+                ", sets=" + setCount() +
+                '}';
+    }
+}
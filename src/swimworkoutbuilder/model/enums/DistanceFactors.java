@@ -42,15 +42,28 @@ public enum DistanceFactors {
      * to approximate performance trends.
      */
     public static double forDistance(Distance d) {
-        long meters = Math.round(d.toMeters());
-        if (meters <= 25)   return D25.multiplier;
-        if (meters <= 50)   return D50.multiplier;
-        if (meters <= 75)   return D75.multiplier;
-        if (meters <= 100)  return D100.multiplier;
-        if (meters <= 200)  return D200.multiplier;
-        if (meters <= 400)  return D400.multiplier;
-        if (meters <= 800)  return D800.multiplier;
-        return D1500.multiplier; // default for anything longer
+        return bucketFor(d).multiplier;
+    }
+
+    /**
+     * Returns the bucket an arbitrary distance falls into
+     * (rounded up to the nearest defined distance, D1500 for anything longer).
+     */
+    public static DistanceFactors bucketFor(Distance d) {
+        return bucketForMeters(d.toMeters());
+    }
+
+    /** {@link #bucketFor(Distance)} for a distance already in canonical meters. */
+    public static DistanceFactors bucketForMeters(double distanceMeters) {
+        long meters = Math.round(distanceMeters);
+        if (meters <= 25)   return D25;
+        if (meters <= 50)   return D50;
+        if (meters <= 75)   return D75;
+        if (meters <= 100)  return D100;
+        if (meters <= 200)  return D200;
+        if (meters <= 400)  return D400;
+        if (meters <= 800)  return D800;
+        return D1500; // default for anything longer
     }
 
     @Override
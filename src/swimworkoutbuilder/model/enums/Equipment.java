@@ -1,5 +1,8 @@
 package swimworkoutbuilder.model.enums;
 
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
@@ -14,6 +17,10 @@ import java.util.Set;
  *  - SNORKEL:    0.99 (neutral to slightly slower)
  *  - DRAG_SOCKS: 1.15 (slower due to resistance)
  *  - PARACHUTE:  1.20 (significantly slower due to resistance)
+ *
+ * <p>A combination of equipment is also available as a bitmask ({@link #bit()},
+ * {@link #maskOf}); {@link #setOf(int)} and {@link #combinedMultiplier(int)} answer from
+ * tables precomputed for all {@value #MASK_COUNT} masks, so neither allocates nor loops.</p>
  */
 public enum Equipment {
     FINS("Fins", 0.88),
@@ -23,6 +30,27 @@ public enum Equipment {
     DRAG_SOCKS("Drag Socks", 1.15),
     PARACHUTE("Parachute", 1.20);
 
+    /** Number of distinct equipment bitmasks ({@code 1 << values().length}). */
+    public static final int MASK_COUNT = 64;
+
+    private static final Equipment[] VALUES = values();
+    private static final MaskSet[] SETS = new MaskSet[MASK_COUNT];
+    private static final double[] COMBINED = new double[MASK_COUNT];
+
+    static {
+        if (VALUES.length > Byte.SIZE || (1 << VALUES.length) != MASK_COUNT) {
+            throw new ExceptionInInitializerError("MASK_COUNT must be 1 << Equipment.values().length (at most a byte)");
+        }
+        for (int mask = 0; mask < MASK_COUNT; mask++) {
+            double m = 1.0;
+            for (Equipment e : VALUES) {
+                if ((mask & e.bit()) != 0) m *= e.multiplier;
+            }
+            COMBINED[mask] = m;
+            SETS[mask] = new MaskSet(mask);
+        }
+    }
+
     private final String label;
     private final double multiplier;
 
@@ -37,19 +65,76 @@ public enum Equipment {
     /** Performance multiplier for this equipment. */
     public double multiplier() { return multiplier; }
 
+    /** Bit for this item in an equipment bitmask ({@code 1 << ordinal()}). */
+    public int bit() { return 1 << ordinal(); }
+
+    /**
+     * Encodes a set of equipment as a bitmask (bit {@code i} = constant with ordinal {@code i}).
+     * Null or empty sets encode as 0.
+     */
+    public static int maskOf(Set<Equipment> equipment) {
+        if (equipment instanceof MaskSet m) return m.mask;
+        if (equipment == null || equipment.isEmpty()) return 0;
+        int mask = 0;
+        for (Equipment e : equipment) {
+            if (e != null) mask |= e.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Immutable set holding the equipment in {@code mask}. The instance for each mask is
+     * shared, so this never allocates.
+     *
+     * @throws IndexOutOfBoundsException if {@code mask} is not in {@code [0, MASK_COUNT)}
+     */
+    public static Set<Equipment> setOf(int mask) {
+        return SETS[mask];
+    }
+
     /**
      * Compute the combined multiplier for a set of equipment items.
      * If the set is null or empty, returns 1.0 (neutral).
      */
     public static double combinedMultiplier(Set<Equipment> equipment) {
-        if (equipment == null || equipment.isEmpty()) return 1.0;
-        double m = 1.0;
-        for (Equipment e : equipment) {
-            if (e != null) m *= e.multiplier;
-        }
-        return m;
+        return COMBINED[maskOf(equipment)];
+    }
+
+    /** Combined multiplier for a bitmask (1.0 for 0), from the precomputed table. */
+    public static double combinedMultiplier(int mask) {
+        return COMBINED[mask];
     }
 
     @Override
     public String toString() { return label; }
+
+    /** Read-only set backed by a fixed bitmask; iterates in ordinal order like an EnumSet. */
+    private static final class MaskSet extends AbstractSet<Equipment> {
+        private final int mask;
+
+        MaskSet(int mask) { this.mask = mask; }
+
+        @Override public int size() { return Integer.bitCount(mask); }
+
+        @Override public boolean isEmpty() { return mask == 0; }
+
+        @Override public boolean contains(Object o) {
+            return o instanceof Equipment e && (mask & e.bit()) != 0;
+        }
+
+        @Override public Iterator<Equipment> iterator() {
+            return new Iterator<>() {
+                private int rest = mask;
+
+                @Override public boolean hasNext() { return rest != 0; }
+
+                @Override public Equipment next() {
+                    if (rest == 0) throw new NoSuchElementException();
+                    int i = Integer.numberOfTrailingZeros(rest);
+                    rest &= rest - 1;
+                    return VALUES[i];
+                }
+            };
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package swimworkoutbuilder.model.enums;
+
+/**
+ * Rep patterns vary the goal time from rep to rep within a set (e.g., "4×100 descend 1–4").
+ * The multiplier scales the set's goal; 1.0 is the effort's target pace and larger values
+ * are slower. Every pattern is closed-form in (rep index, reps, round size), so the goals
+ * for a whole set are generated in O(reps) without allocating anything per rep.
+ *
+ * Typical defaults (tunable):
+ *  - NONE:           every rep at target
+ *  - DESCEND:        rounds of N reps, each 2% faster than the one before; the last rep
+ *                    of each round is at target (N = whole set if not given)
+ *  - BUILD:          steady build across the whole set, first rep 6% slower, last at target
+ *  - ODDS_EVENS:     odd reps (1st, 3rd, …) 6% easier, even reps at target
+ *  - NEGATIVE_SPLIT: first half of the set 3% slower, second half at target
+ */
+public enum RepPattern {
+    NONE("Even", 0.00),
+    DESCEND("Descend", 0.02),
+    BUILD("Build", 0.06),
+    ODDS_EVENS("Odds easy / evens fast", 0.06),
+    NEGATIVE_SPLIT("Negative split", 0.03);
+
+    private final String label;
+    private final double step;   // slowdown fraction (meaning depends on the pattern)
+
+    RepPattern(String label, double step) {
+        this.label = label;
+        this.step = step;
+    }
+
+    /** User-friendly label for UI display. */
+    public String getLabel() { return label; }
+
+    /** Slowdown fraction used by this pattern (see class docs). */
+    public double step() { return step; }
+
+    /**
+     * Goal multiplier for one rep.
+     *
+     * @param repIndex  zero-based rep within the set
+     * @param reps      reps in the set (≥1)
+     * @param roundSize DESCEND round length; ≤0 or &gt; reps means the whole set
+     */
+    public double multiplier(int repIndex, int reps, int roundSize) {
+        switch (this) {
+            case DESCEND: {
+                int n = (roundSize <= 0 || roundSize > reps) ? reps : roundSize;
+                return 1.0 + step * (n - 1 - repIndex % n);
+            }
+            case BUILD:
+                return (reps <= 1) ? 1.0 : 1.0 + step * (reps - 1 - repIndex) / (reps - 1);
+            case ODDS_EVENS:
+                return (repIndex % 2 == 0) ? 1.0 + step : 1.0;
+            case NEGATIVE_SPLIT:
+                return (repIndex < reps / 2) ? 1.0 + step : 1.0;
+            case NONE:
+            default:
+                return 1.0;
+        }
+    }
+
+    /** Short description for printouts, e.g. "descend 1-4" or "build". */
+    public String describe(int reps, int roundSize) {
+        switch (this) {
+            case DESCEND: {
+                int n = (roundSize <= 0 || roundSize > reps) ? reps : roundSize;
+                return "descend 1-" + n;
+            }
+            case BUILD:          return "build";
+            case ODDS_EVENS:     return "odds easy/evens fast";
+            case NEGATIVE_SPLIT: return "negative split";
+            case NONE:
+            default:             return "";
+        }
+    }
+
+    @Override
+    public String toString() { return label; }
+}
@@ -0,0 +1,365 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Memoizing decorator for any {@link PacePolicy}.
+ *
+ * <p>Across a team the same set (e.g., 4×100 threshold free) is priced over and over for
+ * swimmers whose seeds are identical. {@code CachingPacePolicy} keys each rep's timing on
+ * the inputs that actually drive the math and answers repeat questions from a bounded
+ * LRU cache instead of re-running the wrapped policy.</p>
+ *
+ * <h2>Cache key</h2>
+ * <ul>
+ *   <li>stroke, effort, distance per rep (canonical microUnits), and {@link Course};</li>
+ *   <li>equipment as a bitmask (see {@link Equipment#maskOf});</li>
+ *   <li>the swimmer's seed for that stroke: speed (m/s) and seed distance (the rest
+ *       curve depends on rep/seed distance ratio);</li>
+ *   <li>the rep index and the set's {@link RepPattern}
+ *       (with round size and rep count when a pattern is set), so rep-dependent goals
+ *       stay correct;</li>
+ *   <li>only when the delegate {@link PacePolicy#dependsOnSwimmer() depends on the swimmer}
+ *       (e.g., {@link CalibratedPacePolicy}, {@link CssPacePolicy}): the swimmer's id and
+ *       {@link Swimmer#getSeedRevision() seed revision}, so entries are never shared
+ *       between swimmers and test-swim changes are never served stale.</li>
+ * </ul>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>The wrapped policy must depend only on the inputs above (true for
+ *       {@link DefaultPacePolicy}); anything else in the workout is not part of the key.
+ *       Swimmers with the same seed share entries unless the delegate depends on the
+ *       swimmer.</li>
+ *   <li>A miss computes goal, rest, and interval together, so the follow-up calls for the
+ *       same rep are hits.</li>
+ *   <li>Seed changes never return stale values (the seed is part of the key).
+ *       {@link #seedChanged} evicts the old seed's entries early so they don't occupy the
+ *       LRU; register the cache with {@link Swimmer#addSeedListener}. A swimmer holds its
+ *       listeners strongly, so call {@link Swimmer#removeSeedListener} when the cache is
+ *       retired (e.g., the roster or policy is replaced) or the swimmer keeps it alive.</li>
+ *   <li>Reps priced with a {@link FatigueModel.Tracker} are passed through uncached.</li>
+ *   <li>The cache remembers the delegate's {@link PacePolicy#version()}; when it changes
+ *       the cache is cleared on the next lookup.</li>
+ *   <li>All cache methods are synchronized; the cache can be shared across threads.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * CachingPacePolicy pace = new CachingPacePolicy(new DefaultPacePolicy(), 10_000);
+ * for (Swimmer s : roster) s.addSeedListener(pace);
+ * ...
+ * System.out.printf("hit rate %.1f%%%n", pace.hitRate() * 100);
+ * ...
+ * for (Swimmer s : roster) s.removeSeedListener(pace);   // teardown
+ * }</pre>
+ *
+ * @see DefaultPacePolicy
+ */
+public final class CachingPacePolicy implements PacePolicy, Swimmer.SeedListener {
+
+    /** Default maximum number of cached reps. */
+    public static final int DEFAULT_CAPACITY = 4_096;
+
+    private final PacePolicy delegate;
+    private final boolean perSwimmer;   // delegate.dependsOnSwimmer(): key on the swimmer too
+    private final int capacity;
+    private final LinkedHashMap<Key, Timing> cache;
+
+    private long delegateVersion;   // delegate.version() the cached entries were computed under
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CachingPacePolicy(PacePolicy delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate the policy whose results are memoized
+     * @param capacity maximum number of cached reps (≥1); least recently used entries are evicted
+     */
+    public CachingPacePolicy(PacePolicy delegate, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.perSwimmer = delegate.dependsOnSwimmer();
+        this.capacity = capacity;
+        this.delegateVersion = delegate.version();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Timing> eldest) {
+                if (size() > CachingPacePolicy.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public PacePolicy getDelegate() { return delegate; }
+
+    // ----------------------------------------------------------
+    // PacePolicy
+    // ----------------------------------------------------------
+
+    @Override
+    public synchronized double goalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return lookup(workout, set, swimmer, repIndex).goal;
+    }
+
+    @Override
+    public synchronized int intervalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return lookup(workout, set, swimmer, repIndex).interval;
+    }
+
+    @Override
+    public synchronized int restSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return lookup(workout, set, swimmer, repIndex).rest;
+    }
+
+    @Override
+    public String timingLabel(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return delegate.timingLabel(workout, set, swimmer, repIndex);
+    }
+
+    @Override
+    public synchronized void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                                     double[] goals, int[] rests, int[] intervals, int offset) {
+        int reps = set.getReps();
+        for (int r = 0; r < reps; r++) {
+            Timing t = lookup(workout, set, swimmer, r);
+            goals[offset + r]     = t.goal;
+            rests[offset + r]     = t.rest;
+            intervals[offset + r] = t.interval;
+        }
+    }
+
+    @Override
+    public FatigueModel fatigueModel() { return delegate.fatigueModel(); }
+
+    @Override
+    public long version() { return delegate.version(); }
+
+    @Override
+    public boolean dependsOnSwimmer() { return perSwimmer; }
+
+    /**
+     * Fatigued reps depend on everything swum before them, so they are not cacheable;
+     * with a tracker the call goes straight to the delegate.
+     */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset,
+                        FatigueModel.Tracker fatigue) {
+        if (fatigue == null) {
+            fillSet(workout, set, swimmer, goals, rests, intervals, offset);
+        } else {
+            delegate.fillSet(workout, set, swimmer, goals, rests, intervals, offset, fatigue);
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Invalidation
+    // ----------------------------------------------------------
+
+    /**
+     * Seed-change hook: evicts entries computed from {@code oldSeed} for {@code stroke}.
+     * Other swimmers sharing that seed simply recompute on their next miss. For a
+     * delegate that depends on the swimmer, every entry of that swimmer is evicted
+     * instead (they are keyed on the seed revision, which just moved).
+     */
+    @Override
+    public synchronized void seedChanged(Swimmer swimmer, StrokeType stroke, SeedPace oldSeed, SeedPace newSeed) {
+        if (perSwimmer) {
+            UUID id = swimmer.getId();
+            cache.keySet().removeIf(k -> id.equals(k.swimmerId));
+            return;
+        }
+        if (oldSeed == null) return;
+        long speedBits = Double.doubleToLongBits(oldSeed.speedMps());
+        long seedMicro = oldSeed.getOriginalDistance().rawMicroUnits();
+        for (Iterator<Key> it = cache.keySet().iterator(); it.hasNext(); ) {
+            Key k = it.next();
+            if (k.stroke == stroke && k.speedBits == speedBits && k.seedMicroUnits == seedMicro) it.remove();
+        }
+    }
+
+    /** Drops every cached entry (counters are kept). */
+    public synchronized void invalidateAll() { cache.clear(); }
+
+    // ----------------------------------------------------------
+    // Statistics
+    // ----------------------------------------------------------
+
+    public synchronized long hits() { return hits; }
+    public synchronized long misses() { return misses; }
+    public synchronized long evictions() { return evictions; }
+    public synchronized int size() { return cache.size(); }
+    public int capacity() { return capacity; }
+
+    /** hits / (hits + misses), or 0 before the first lookup. */
+    public synchronized double hitRate() {
+        long total = hits + misses;
+        return (total == 0) ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized void resetStats() { hits = 0; misses = 0; evictions = 0; }
+
+    @Override
+    public synchronized String toString() {
+        return "CachingPacePolicy{" +
+                "delegate=" + delegate.getClass().getSimpleName() +
+                ", size=" + cache.size() + "/" + capacity +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    // ----------------------------------------------------------
+    // Internals
+    // ----------------------------------------------------------
+
+    private Timing lookup(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+
+        StrokeType stroke = set.getStroke();
+        SeedPace seed = (stroke == null) ? null : swimmer.getSeedTime(stroke);
+        if (seed == null) throw new IllegalStateException("Missing seed for stroke: " + stroke);
+
+        long v = delegate.version();
+        if (v != delegateVersion) {
+            cache.clear();
+            delegateVersion = v;
+        }
+
+        Key key = new Key(stroke, set.getEffort(), set.getDistancePerRep().rawMicroUnits(),
+                workout.getCourse(), set.getEquipmentMask(),
+                Double.doubleToLongBits(seed.speedMps()), seed.getOriginalDistance().rawMicroUnits(),
+                repIndex, patternKey(set),
+                perSwimmer ? swimmer.getId() : null, perSwimmer ? swimmer.getSeedRevision() : 0L);
+
+        Timing t = cache.get(key);
+        if (t != null) {
+            hits++;
+            return t;
+        }
+        misses++;
+        t = new Timing(
+                delegate.goalSeconds(workout, set, swimmer, repIndex),
+                delegate.restSeconds(workout, set, swimmer, repIndex),
+                delegate.intervalSeconds(workout, set, swimmer, repIndex));
+        cache.put(key, t);
+        return t;
+    }
+
+    /**
+     * Packs the rep pattern inputs into one long: 0 without a pattern (so plain sets share
+     * entries across rep counts), else pattern ordinal | round size | reps.
+     */
+    private static long patternKey(SwimSet set) {
+        RepPattern p = set.getRepPattern();
+        if (p == RepPattern.NONE) return 0L;
+        int reps = set.getReps();
+        int round = set.getPatternRoundSize();
+        if (round > reps) round = 0; // same as "whole set"
+        return ((long) (p.ordinal() + 1) << 48) | ((long) round << 24) | reps;
+    }
+
+    /** Immutable cache key; see class docs for what goes in it. */
+    private static final class Key {
+        final StrokeType stroke;
+        final Effort effort;
+        final long distanceMicroUnits;
+        final Course course;
+        final int equipmentMask;
+        final long speedBits;
+        final long seedMicroUnits;
+        final int repIndex;
+        final long pattern;
+        final UUID swimmerId;       // null unless the delegate depends on the swimmer
+        final long seedRevision;
+        final int hash;
+
+        Key(StrokeType stroke, Effort effort, long distanceMicroUnits, Course course,
+            int equipmentMask, long speedBits, long seedMicroUnits, int repIndex, long pattern,
+            UUID swimmerId, long seedRevision) {
+            this.stroke = stroke;
+            this.effort = effort;
+            this.distanceMicroUnits = distanceMicroUnits;
+            this.course = course;
+            this.equipmentMask = equipmentMask;
+            this.speedBits = speedBits;
+            this.seedMicroUnits = seedMicroUnits;
+            this.repIndex = repIndex;
+            this.pattern = pattern;
+            this.swimmerId = swimmerId;
+            this.seedRevision = seedRevision;
+
+            int h = stroke.ordinal();
+            h = 31 * h + (effort == null ? -1 : effort.ordinal());
+            h = 31 * h + Long.hashCode(distanceMicroUnits);
+            h = 31 * h + course.ordinal();
+            h = 31 * h + equipmentMask;
+            h = 31 * h + Long.hashCode(speedBits);
+            h = 31 * h + Long.hashCode(seedMicroUnits);
+            h = 31 * h + repIndex;
+            h = 31 * h + Long.hashCode(pattern);
+            h = 31 * h + Objects.hashCode(swimmerId);
+            h = 31 * h + Long.hashCode(seedRevision);
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return hash == k.hash
+                    && stroke == k.stroke
+                    && effort == k.effort
+                    && distanceMicroUnits == k.distanceMicroUnits
+                    && course == k.course
+                    && equipmentMask == k.equipmentMask
+                    && speedBits == k.speedBits
+                    && seedMicroUnits == k.seedMicroUnits
+                    && repIndex == k.repIndex
+                    && pattern == k.pattern
+                    && Objects.equals(swimmerId, k.swimmerId)
+                    && seedRevision == k.seedRevision;
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+    }
+
+    /** Cached timing for one rep. */
+    private static final class Timing {
+        final double goal;
+        final int rest;
+        final int interval;
+
+        Timing(double goal, int rest, int interval) {
+            this.goal = goal;
+            this.rest = rest;
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pace policy whose effort and distance multipliers are refit per swimmer from logged
+ * rep times by recursive least squares (RLS).
+ *
+ * <p>Until a swimmer has logged a rep, timings are identical to {@link DefaultPacePolicy}.
+ * Each {@link #observe} call then nudges that swimmer's {@link Effort} and
+ * {@link DistanceFactors} multipliers toward what they actually swim.</p>
+ *
+ * <h2>Model</h2>
+ * <p>In log space a goal is additive:
+ * {@code log(goal) = log(rep / speed × course × equipment × pattern) + θ[effort] + θ[bucket]},
+ * where the bucket term is only present for efforts that use distance factors
+ * ({@link PaceMultiplierTable#usesDistanceFactor}). The regressor is therefore one or two
+ * indicator entries, and each logged rep is one RLS step on θ.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>θ starts at the enum constants (log of {@link Effort#paceMultiplier()} and
+ *       {@link DistanceFactors#multiplier()}) with a diagonal prior, so a few reps only
+ *       move the fit a little and unlogged efforts keep their defaults.</li>
+ *   <li>An update costs O(k²) for k = efforts + buckets (a constant), independent of how
+ *       many reps were logged before. History is never re-read.</li>
+ *   <li>A forgetting factor (default {@value #DEFAULT_FORGETTING}) lets the fit follow a
+ *       swimmer through a season. Variances are capped at the prior so directions that
+ *       are not being logged do not wind up.</li>
+ *   <li>Residuals are clipped to ±{@value #MAX_LOG_RESIDUAL} in log space so one mistimed
+ *       rep cannot drag the fit far.</li>
+ *   <li>Course, equipment, rep pattern, rest, and send-off rules are unchanged.</li>
+ *   <li>{@link #version()} advances on every logged rep or reset, so cached plans
+ *       recompile on their next read.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * CalibratedPacePolicy pace = new CalibratedPacePolicy();
+ * pace.observe(workout, set, swimmer, rep, 74.8);   // after each timed rep
+ * int sendOff = pace.intervalSeconds(workout, set, swimmer, 0);
+ * }</pre>
+ *
+ * @see DefaultPacePolicy
+ * @see PaceMultiplierTable
+ */
+public class CalibratedPacePolicy implements PacePolicy {
+
+    /** Default forgetting factor (weight of the previous fit per logged rep). */
+    public static final double DEFAULT_FORGETTING = 0.995;
+    /** Default prior variance of each log multiplier (≈ ±10% one sigma). */
+    public static final double DEFAULT_PRIOR_VARIANCE = 0.01;
+    /** Largest log residual a single rep may apply. */
+    public static final double MAX_LOG_RESIDUAL = 0.4;
+
+    private static final Effort[] EFFORTS = Effort.values();
+    private static final DistanceFactors[] BUCKETS = DistanceFactors.values();
+    private static final int K = EFFORTS.length + BUCKETS.length;
+
+    private final double forgetting;
+    private final double priorVariance;
+    private final Map<UUID, Fit> fits = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    /** Policy with {@link #DEFAULT_FORGETTING} and {@link #DEFAULT_PRIOR_VARIANCE}. */
+    public CalibratedPacePolicy() {
+        this(DEFAULT_FORGETTING, DEFAULT_PRIOR_VARIANCE);
+    }
+
+    /**
+     * @param forgetting    weight kept per update, in (0, 1]; 1 = never forget
+     * @param priorVariance prior variance of each log multiplier (&gt;0)
+     */
+    public CalibratedPacePolicy(double forgetting, double priorVariance) {
+        if (!(forgetting > 0.0 && forgetting <= 1.0))
+            throw new IllegalArgumentException("forgetting must be in (0, 1]");
+        if (!(priorVariance > 0.0)) throw new IllegalArgumentException("priorVariance must be > 0");
+        this.forgetting = forgetting;
+        this.priorVariance = priorVariance;
+    }
+
+    // ----------------------------------------------------------
+    // Calibration
+    // ----------------------------------------------------------
+
+    /**
+     * Logs one swum rep and updates the swimmer's fit in constant time.
+     *
+     * @param actualSeconds the rep's measured time (&gt;0)
+     * @throws IllegalArgumentException if {@code actualSeconds} is not positive
+     */
+    public void observe(Workout workout, SwimSet set, Swimmer swimmer, int repIndex, double actualSeconds) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+        if (!(actualSeconds > 0.0) || Double.isInfinite(actualSeconds))
+            throw new IllegalArgumentException("actualSeconds must be > 0");
+        if (set.getEffort() == null) return; // nothing to calibrate
+
+        // Everything the fit does not own is divided out first
+        double known = baseSeconds(workout, set, swimmer) * set.repMultiplier(repIndex);
+        double y = Math.log(actualSeconds / known);
+
+        fits.computeIfAbsent(swimmer.getId(), id -> new Fit(forgetting, priorVariance))
+            .update(effortSlot(set.getEffort()), bucketSlot(set), y);
+        version.incrementAndGet();
+    }
+
+    /** Calibrated effort multiplier for the swimmer (the enum default if nothing was logged). */
+    public double effortMultiplier(Swimmer swimmer, Effort effort) {
+        Fit fit = fits.get(swimmer.getId());
+        return (fit == null) ? effort.paceMultiplier() : Math.exp(fit.theta(effortSlot(effort)));
+    }
+
+    /** Calibrated distance multiplier for the swimmer (the enum default if nothing was logged). */
+    public double distanceMultiplier(Swimmer swimmer, DistanceFactors bucket) {
+        Fit fit = fits.get(swimmer.getId());
+        return (fit == null) ? bucket.multiplier() : Math.exp(fit.theta(EFFORTS.length + bucket.ordinal()));
+    }
+
+    /** Number of reps logged for the swimmer. */
+    public long observations(Swimmer swimmer) {
+        Fit fit = fits.get(swimmer.getId());
+        return (fit == null) ? 0 : fit.count();
+    }
+
+    /** Drops the swimmer's fit; timings return to the defaults. */
+    public void reset(Swimmer swimmer) {
+        if (fits.remove(swimmer.getId()) != null) version.incrementAndGet();
+    }
+
+    // ----------------------------------------------------------
+    // PacePolicy
+    // ----------------------------------------------------------
+
+    @Override
+    public long version() { return version.get(); }
+
+    /** Each swimmer has their own fit. */
+    @Override
+    public boolean dependsOnSwimmer() { return true; }
+
+    @Override
+    public double goalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+        return freshSeconds(workout, set, swimmer) * set.repMultiplier(repIndex);
+    }
+
+    @Override
+    public int restSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return DefaultPacePolicy.restFromGoal(goalSeconds(workout, set, swimmer, repIndex), restPercent(set, swimmer));
+    }
+
+    @Override
+    public int intervalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        double goal = goalSeconds(workout, set, swimmer, repIndex);
+        return DefaultPacePolicy.intervalFromGoal(goal, DefaultPacePolicy.restFromGoal(goal, restPercent(set, swimmer)));
+    }
+
+    @Override
+    public String timingLabel(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        int rest = restSeconds(workout, set, swimmer, repIndex);
+        return "rest: " + rest;
+    }
+
+    /** Batch override: resolves the calibrated multiplier and rest curve once per set. */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+
+        int reps = set.getReps();
+        Objects.checkFromIndexSize(offset, reps, goals.length);
+        Objects.checkFromIndexSize(offset, reps, rests.length);
+        Objects.checkFromIndexSize(offset, reps, intervals.length);
+
+        double fresh = freshSeconds(workout, set, swimmer);
+        double pct = restPercent(set, swimmer);
+        for (int r = 0; r < reps; r++) {
+            double goal = fresh * set.repMultiplier(r);
+            int rest = DefaultPacePolicy.restFromGoal(goal, pct);
+            goals[offset + r]     = goal;
+            rests[offset + r]     = rest;
+            intervals[offset + r] = DefaultPacePolicy.intervalFromGoal(goal, rest);
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Internals
+    // ----------------------------------------------------------
+
+    /** Goal before the rep pattern: default table until the swimmer has a fit. */
+    private double freshSeconds(Workout workout, SwimSet set, Swimmer swimmer) {
+        Fit fit = (set.getEffort() == null) ? null : fits.get(swimmer.getId());
+        if (fit == null) {
+            double speedMps = requireSeed(swimmer, set.getStroke()).speedMps();
+            return (set.getDistancePerRep().toMeters() / speedMps) * DefaultPacePolicy.tableMultiplier(workout, set);
+        }
+        return baseSeconds(workout, set, swimmer) * Math.exp(fit.predict(effortSlot(set.getEffort()), bucketSlot(set)));
+    }
+
+    /** Rep / speed × course × equipment (the factors the fit does not own). */
+    private static double baseSeconds(Workout workout, SwimSet set, Swimmer swimmer) {
+        double speedMps = requireSeed(swimmer, set.getStroke()).speedMps();
+        double courseEquip = PaceMultiplierTable.goalMultiplier(
+                null,
+                DistanceFactors.bucketFor(set.getDistancePerRep()),
+                workout.getCourse(),
+                set.getEquipmentMask());
+        return (set.getDistancePerRep().toMeters() / speedMps) * courseEquip;
+    }
+
+    private static double restPercent(SwimSet set, Swimmer swimmer) {
+        SeedPace seed = requireSeed(swimmer, set.getStroke());
+        double r = DefaultPacePolicy.distanceRatio(
+                set.getDistancePerRep().toMeters(), seed.getOriginalDistance().toMeters());
+        return PaceMultiplierTable.restPercent(set.getEffort(), r);
+    }
+
+    private static int effortSlot(Effort e) { return e.ordinal(); }
+
+    /** θ index of the set's distance bucket, or -1 if its effort ignores distance. */
+    private static int bucketSlot(SwimSet set) {
+        if (!PaceMultiplierTable.usesDistanceFactor(set.getEffort())) return -1;
+        return EFFORTS.length + DistanceFactors.bucketFor(set.getDistancePerRep()).ordinal();
+    }
+
+    private static SeedPace requireSeed(Swimmer swimmer, StrokeType stroke) {
+        SeedPace seed = swimmer.getSeedTime(stroke);
+        if (seed == null) throw new IllegalStateException("Missing seed for stroke: " + stroke);
+        if (seed.speedMps() <= 0.0) throw new IllegalStateException("Seed speed must be > 0 m/s for " + stroke);
+        return seed;
+    }
+
+    /**
+     * One swimmer's RLS state: θ (log multipliers) and its covariance P (K×K, row-major).
+     * Regressors are indicator vectors with one or two ones, so P·x is a column sum.
+     */
+    private static final class Fit {
+        private final double lambda;
+        private final double maxVariance;
+        private final double[] theta = new double[K];
+        private final double[] p = new double[K * K];
+        private final double[] px = new double[K];
+        private long count;
+
+        Fit(double lambda, double priorVariance) {
+            this.lambda = lambda;
+            this.maxVariance = priorVariance;
+            for (Effort e : EFFORTS) theta[e.ordinal()] = Math.log(e.paceMultiplier());
+            for (DistanceFactors b : BUCKETS) theta[EFFORTS.length + b.ordinal()] = Math.log(b.multiplier());
+            for (int i = 0; i < K; i++) p[i * K + i] = priorVariance;
+        }
+
+        synchronized double theta(int i) { return theta[i]; }
+
+        synchronized long count() { return count; }
+
+        synchronized double predict(int a, int b) {
+            return (b < 0) ? theta[a] : theta[a] + theta[b];
+        }
+
+        /** One RLS step for regressor x = e_a (+ e_b when b ≥ 0) and observation y. */
+        synchronized void update(int a, int b, double y) {
+            // P·x and xᵀ·P·x
+            double xpx = p[a * K + a];
+            for (int i = 0; i < K; i++) px[i] = p[i * K + a];
+            if (b >= 0) {
+                for (int i = 0; i < K; i++) px[i] += p[i * K + b];
+                xpx += p[b * K + b] + 2 * p[a * K + b];
+            }
+
+            double err = y - ((b < 0) ? theta[a] : theta[a] + theta[b]);
+            err = Math.max(-MAX_LOG_RESIDUAL, Math.min(MAX_LOG_RESIDUAL, err));
+
+            // Gain k = P·x / (λ + xᵀPx); θ += k·err; P = (P − k·(P·x)ᵀ) / λ
+            double denom = lambda + xpx;
+            for (int i = 0; i < K; i++) theta[i] += px[i] / denom * err;
+            for (int i = 0; i < K; i++) {
+                double ki = px[i] / denom;
+                int row = i * K;
+                for (int j = 0; j < K; j++) p[row + j] = (p[row + j] - ki * px[j]) / lambda;
+            }
+
+            // Cap variances at the prior (scale row/col i by s: P stays symmetric PSD)
+            for (int i = 0; i < K; i++) {
+                double v = p[i * K + i];
+                if (v <= maxVariance) continue;
+                double s = Math.sqrt(maxVariance / v);
+                for (int j = 0; j < K; j++) {
+                    p[i * K + j] *= s;
+                    p[j * K + i] *= s;
+                }
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pace policy with coach-edited coefficients layered over a base policy.
+ *
+ * <p>The goal from the base policy is scaled by {@link #getGoalScale()} (e.g., 0.98 for a
+ * group that is ahead of its seeds), and rest by {@link #getRestScale()}. The send-off is
+ * then rebuilt from the scaled goal and rest with the usual round-to-5 rule.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Coefficients are editable at runtime. Every change advances {@link #version()},
+ *       so {@link PacingPlan}s and {@link CachingPacePolicy} entries recompute lazily on
+ *       their next read instead of being pushed a rebuild.</li>
+ *   <li>The base policy's own version is folded in, so wrapping a
+ *       {@link CalibratedPacePolicy} still invalidates on new calibration data.</li>
+ *   <li>With both scales at 1.0 the timings equal the base policy's, with or without
+ *       fatigue. Fatigue is applied by the base policy, so its tracker recovers over the
+ *       base rest rather than the scaled one.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * CoefficientPacePolicy custom = new CoefficientPacePolicy(new DefaultPacePolicy());
+ * custom.setGoalScale(0.98);
+ * custom.setRestScale(1.25);
+ * }</pre>
+ */
+public class CoefficientPacePolicy implements PacePolicy {
+
+    private final PacePolicy base;
+    private final AtomicLong edits = new AtomicLong();
+    private volatile double goalScale = 1.0;
+    private volatile double restScale = 1.0;
+
+    public CoefficientPacePolicy(PacePolicy base) {
+        this.base = Objects.requireNonNull(base, "base");
+    }
+
+    public PacePolicy getBase() { return base; }
+    public double getGoalScale() { return goalScale; }
+    public double getRestScale() { return restScale; }
+
+    /** Multiplier on every goal time (must be &gt; 0). */
+    public void setGoalScale(double goalScale) {
+        if (!(goalScale > 0.0)) throw new IllegalArgumentException("goalScale must be > 0");
+        if (goalScale == this.goalScale) return;
+        this.goalScale = goalScale;
+        edits.incrementAndGet();
+    }
+
+    /** Multiplier on every rest (must be &gt;= 0). */
+    public void setRestScale(double restScale) {
+        if (!(restScale >= 0.0)) throw new IllegalArgumentException("restScale must be >= 0");
+        if (restScale == this.restScale) return;
+        this.restScale = restScale;
+        edits.incrementAndGet();
+    }
+
+    // ----------------------------------------------------------
+    // PacePolicy
+    // ----------------------------------------------------------
+
+    /** Own edits plus the base policy's version (each only ever grows). */
+    @Override
+    public long version() { return edits.get() + base.version(); }
+
+    @Override
+    public FatigueModel fatigueModel() { return base.fatigueModel(); }
+
+    @Override
+    public boolean dependsOnSwimmer() { return base.dependsOnSwimmer(); }
+
+    @Override
+    public double goalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return base.goalSeconds(workout, set, swimmer, repIndex) * goalScale;
+    }
+
+    @Override
+    public int restSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return scaleRest(base.restSeconds(workout, set, swimmer, repIndex));
+    }
+
+    @Override
+    public int intervalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        int goalRounded = (int) Math.round(goalSeconds(workout, set, swimmer, repIndex));
+        return DefaultPacePolicy.roundToNearest5(goalRounded + restSeconds(workout, set, swimmer, repIndex));
+    }
+
+    @Override
+    public String timingLabel(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return "rest: " + restSeconds(workout, set, swimmer, repIndex);
+    }
+
+    /** Batch form: one base batch call for the set, then the coefficients per rep. */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset) {
+        base.fillSet(workout, set, swimmer, goals, rests, intervals, offset);
+        applyScales(goals, rests, intervals, offset, set.getReps());
+    }
+
+    /** Fatigue-aware batch form: the base policy applies fatigue, then the coefficients per rep. */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset,
+                        FatigueModel.Tracker fatigue) {
+        base.fillSet(workout, set, swimmer, goals, rests, intervals, offset, fatigue);
+        applyScales(goals, rests, intervals, offset, set.getReps());
+    }
+
+    private void applyScales(double[] goals, int[] rests, int[] intervals, int offset, int reps) {
+        double g = goalScale;
+        for (int i = offset; i < offset + reps; i++) {
+            goals[i] *= g;
+            rests[i] = scaleRest(rests[i]);
+            intervals[i] = DefaultPacePolicy.intervalFromGoal(goals[i], rests[i]);
+        }
+    }
+
+    private int scaleRest(int rest) {
+        return Math.max(0, (int) Math.round(rest * restScale));
+    }
+
+    @Override
+    public String toString() {
+        return "CoefficientPacePolicy{" +
+                "goalScale=" + goalScale +
+                ", restScale=" + restScale +
+                ", base=" + base.getClass().getSimpleName() +
+                '}';
+    }
+}
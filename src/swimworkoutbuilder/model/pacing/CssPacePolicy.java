@@ -0,0 +1,113 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.StrokeType;
+
+import java.util.Objects;
+
+/**
+ * Pace policy driven by each swimmer's fitted distance–time curve
+ * ({@link DistanceTimeFit}: Riegel exponent, with CSS reported alongside).
+ *
+ * <p>The all-out time for the rep distance comes from the swimmer's own curve through
+ * their seed and test swims, instead of scaling the 100 seed by the generic
+ * {@link DistanceFactors} table. Effort, course, equipment, and rep pattern multipliers
+ * are then applied as in {@link DefaultPacePolicy}, and rest/send-off use the same rules.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>The fit is cached on the {@link Swimmer} per stroke and rebuilt only after the
+ *       seed or test swims change, so pricing a rep is one {@code pow} per set.</li>
+ *   <li>With only a seed the curve uses the default Riegel exponent, so short reps get
+ *       slightly faster and long reps slower per 100 than the seed, as with the table.</li>
+ *   <li>Timings depend on the swimmer's test swims, not only the seed, so
+ *       {@link #dependsOnSwimmer()} is true and {@link CachingPacePolicy} keys on the
+ *       swimmer and their seed revision.</li>
+ * </ul>
+ *
+ * @see DistanceTimeFit
+ * @see Swimmer#addTestSwim
+ */
+public class CssPacePolicy implements PacePolicy {
+
+    @Override
+    public double goalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+        return freshSeconds(workout, set, swimmer) * set.repMultiplier(repIndex);
+    }
+
+    @Override
+    public int restSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return DefaultPacePolicy.restFromGoal(goalSeconds(workout, set, swimmer, repIndex), restPercent(set, swimmer));
+    }
+
+    @Override
+    public int intervalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        double goal = goalSeconds(workout, set, swimmer, repIndex);
+        return DefaultPacePolicy.intervalFromGoal(goal, DefaultPacePolicy.restFromGoal(goal, restPercent(set, swimmer)));
+    }
+
+    /** The curve runs through the swimmer's own test swims. */
+    @Override
+    public boolean dependsOnSwimmer() { return true; }
+
+    @Override
+    public String timingLabel(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        int rest = restSeconds(workout, set, swimmer, repIndex);
+        return "rest: " + rest;
+    }
+
+    /** Batch override: evaluates the curve and rest curve once per set. */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+
+        int reps = set.getReps();
+        Objects.checkFromIndexSize(offset, reps, goals.length);
+        Objects.checkFromIndexSize(offset, reps, rests.length);
+        Objects.checkFromIndexSize(offset, reps, intervals.length);
+
+        double fresh = freshSeconds(workout, set, swimmer);
+        double pct = restPercent(set, swimmer);
+        for (int r = 0; r < reps; r++) {
+            double goal = fresh * set.repMultiplier(r);
+            int rest = DefaultPacePolicy.restFromGoal(goal, pct);
+            goals[offset + r]     = goal;
+            rests[offset + r]     = rest;
+            intervals[offset + r] = DefaultPacePolicy.intervalFromGoal(goal, rest);
+        }
+    }
+
+    // --- helpers ---
+
+    /** Curve time for the rep × effort × course × equipment (before the rep pattern). */
+    private static double freshSeconds(Workout workout, SwimSet set, Swimmer swimmer) {
+        DistanceTimeFit fit = requireFit(swimmer, set.getStroke());
+        // D100 is the neutral (1.00) bucket: the fitted curve replaces the distance factors
+        double m = PaceMultiplierTable.goalMultiplier(
+                set.getEffort(), DistanceFactors.D100, workout.getCourse(), set.getEquipmentMask());
+        return fit.secondsFor(set.getDistancePerRep().toMeters()) * m;
+    }
+
+    /** Rest curve on rep / seed distance (100 m if the stroke only has test swims). */
+    private static double restPercent(SwimSet set, Swimmer swimmer) {
+        SeedPace seed = swimmer.getSeedTime(set.getStroke());
+        double seedMeters = (seed == null) ? 0.0 : seed.getOriginalDistance().toMeters();
+        double r = DefaultPacePolicy.distanceRatio(set.getDistancePerRep().toMeters(), seedMeters);
+        return PaceMultiplierTable.restPercent(set.getEffort(), r);
+    }
+
+    private static DistanceTimeFit requireFit(Swimmer swimmer, StrokeType stroke) {
+        DistanceTimeFit fit = swimmer.getDistanceTimeFit(stroke);
+        if (fit == null) throw new IllegalStateException("Missing seed or test swims for stroke: " + stroke);
+        return fit;
+    }
+}
@@ -3,20 +3,45 @@ package swimworkoutbuilder.model.pacing;
 import swimworkoutbuilder.model.SwimSet;
 import swimworkoutbuilder.model.Swimmer;
 import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
 import swimworkoutbuilder.model.enums.DistanceFactors;
 import swimworkoutbuilder.model.enums.Effort;
-import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
 import swimworkoutbuilder.model.enums.StrokeType;
 
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Multiplier-based MVP policy for computing goal, interval, and rest.
+ * Enum-derived multipliers and rest curves come from {@link PaceMultiplierTable}.
+ *
+ * <p>Each rep's goal is also scaled by the set's {@link RepPattern} (descend, build,
+ * odds/evens, negative split), evaluated in closed form from the rep index.</p>
+ *
+ * <p>An optional {@link FatigueModel} slows goals as load accumulates through a workout.
+ * Fatigue depends on everything swum before a rep, so it is only applied by the batch
+ * path when a whole workout is compiled ({@link PacingPlan}); the per-rep methods price
+ * a rep fresh.</p>
+ *
+ * <p>Every factor can be recorded at runtime for chosen workouts or swimmers with
+ * {@link PacingTrace}; when nothing is watched the check costs one flag read.</p>
  */
 public class DefaultPacePolicy implements PacePolicy {
 
-    private static final boolean DEBUG = false;
+    private final FatigueModel fatigue;
+
+    /** Policy without fatigue (every rep of a set has the same timing). */
+    public DefaultPacePolicy() {
+        this(FatigueModel.NONE);
+    }
+
+    /** Policy that applies {@code fatigue} when a workout is compiled. */
+    public DefaultPacePolicy(FatigueModel fatigue) {
+        this.fatigue = Objects.requireNonNull(fatigue, "fatigue");
+    }
+
+    @Override
+    public FatigueModel fatigueModel() { return fatigue; }
 
     @Override
     public double goalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
@@ -27,29 +52,21 @@ public class DefaultPacePolicy implements PacePolicy {
 
         // 1) Seed (canonical speed)
         StrokeType stroke = set.getStroke();
-        SeedPace seed = swimmer.getSeedTime(stroke);
-        if (seed == null) throw new IllegalStateException("Missing seed for stroke: " + stroke);
-        double speedMps = seed.speedMps(); // canonical
-        if (speedMps <= 0.0) throw new IllegalStateException("Seed speed must be > 0 m/s for " + stroke);
+        double speedMps = requireSeed(swimmer, stroke).speedMps();
 
-        // 2) Multipliers
-        Effort effort = set.getEffort();
-        double mEffort  = (effort == null) ? 1.0 : effort.paceMultiplier();
-        double mDist    = usesDistanceFactor(effort) ? DistanceFactors.forDistance(set.getDistancePerRep()) : 1.0;
-        double mCourse  = workout.getCourse().multiplier();
-        double mEquip   = equipmentProduct(set.getEquipment());
-        double mFatigue = 1.0; // hook for future
+        // 2) Multipliers: effort × distance × course × equipment from the precomputed table,
+        //    then the set's rep pattern (descend, build, ...) for this rep
+        double mTable   = tableMultiplier(workout, set);
+        double mPattern = set.repMultiplier(repIndex);
+        double mFatigue = 1.0; // fresh rep; accumulated fatigue is applied in fillSet
 
         // 3) Distance in meters (canonical), compute goal
         double repMeters = set.getDistancePerRep().toMeters();
-        double goal = (repMeters / speedMps) * mEffort * mDist * mCourse * mEquip * mFatigue;
-
-        if (DEBUG) {
-            System.out.printf(
-                    "[DEBUG] %s rep #%d goal: (%.2fm / %.4f m/s) × %.2f(effort) × %.2f(dist) × %.2f(course) × %.2f(equip) × %.2f(fatigue) = %.2fs%n",
-                    stroke, repIndex + 1,
-                    repMeters, speedMps, mEffort, mDist, mCourse, mEquip, mFatigue, goal
-            );
+        double goal = repGoal(freshGoal(repMeters, speedMps, mTable), mPattern, mFatigue);
+
+        if (PacingTrace.isOn(workout, swimmer)) {
+            PacingTrace.buffer().record(PacingTrace.Kind.GOAL, workout, set, swimmer, repIndex,
+                    speedMps, mPattern, mFatigue, goal, Double.NaN, -1, -1, -1);
         }
         return goal;
     }
@@ -68,16 +85,15 @@ public class DefaultPacePolicy implements PacePolicy {
         double repMeters  = set.getDistancePerRep().toMeters();
         double seedMeters = seed.getOriginalDistance().toMeters();
 
-        double r = distanceRatio(repMeters, seedMeters);
-        double pct = restPercent(set.getEffort(), r);
+        double pct = restPercent(set.getEffort(), repMeters, seedMeters);
 
-        int rest = (int) Math.round(goalRounded * pct);
+        int rest = restFromGoal(goalRounded, pct);
 
-        if (DEBUG) {
-            System.out.printf("[DEBUG-REST] r=%.2f (rep=%.2fm / seed=%.2fm), effort=%s, rest%%=%.1f%% -> rest=%ds%n",
-                    r, repMeters, seedMeters, set.getEffort(), pct * 100.0, rest);
+        if (PacingTrace.isOn(workout, swimmer)) {
+            PacingTrace.buffer().record(PacingTrace.Kind.REST, workout, set, swimmer, repIndex,
+                    seed.speedMps(), Double.NaN, Double.NaN, goalRounded, pct, rest, -1, -1);
         }
-        return Math.max(0, rest);
+        return rest;
     }
 
     @Override
@@ -86,8 +102,9 @@ public class DefaultPacePolicy implements PacePolicy {
         int rest = restSeconds(workout, set, swimmer, repIndex);
         int interval = goalRounded + rest;
         int rounded = roundToNearest5(interval);
-        if (DEBUG && rounded != interval) {
-            System.out.printf("[DEBUG-INT] interval %ds -> rounded to %ds%n", interval, rounded);
+        if (PacingTrace.isOn(workout, swimmer)) {
+            PacingTrace.buffer().record(PacingTrace.Kind.INTERVAL, workout, set, swimmer, repIndex,
+                    Double.NaN, Double.NaN, Double.NaN, goalRounded, Double.NaN, rest, interval, rounded);
         }
         return rounded;
     }
@@ -98,83 +115,152 @@ public class DefaultPacePolicy implements PacePolicy {
         return "rest: " + rest;
     }
 
-    // --- helpers ---
-
-    private static boolean usesDistanceFactor(Effort e) {
-        if (e == null) return false;
-        switch (e) {
-            case THRESHOLD:
-            case RACE_PACE:
-            case VO2_MAX:
-            case SPRINT:
-                return true;
-            case EASY:
-            case ENDURANCE:
-            default:
-                return false;
-        }
+    /**
+     * Batch override: resolves the seed, effort/distance/course/equipment multipliers,
+     * and rest percentage once for the whole set, then writes every rep without
+     * allocating. Produces the same values as the per-rep methods.
+     */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset) {
+        fillSet(workout, set, swimmer, goals, rests, intervals, offset, null);
     }
 
-    private static double equipmentProduct(Set<Equipment> equipment) {
-        if (equipment == null || equipment.isEmpty()) return 1.0;
-        double m = 1.0;
-        for (Equipment eq : equipment) {
-            if (eq != null) m *= eq.multiplier();
+    /**
+     * Fatigue-aware batch override. Each rep's goal is scaled by the tracker's current
+     * multiplier, and its rest and send-off are derived from that fatigued goal with the
+     * same rules as the per-rep methods.
+     */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset,
+                        FatigueModel.Tracker fatigue) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+
+        int reps = set.getReps();
+        Objects.checkFromIndexSize(offset, reps, goals.length);
+        Objects.checkFromIndexSize(offset, reps, rests.length);
+        Objects.checkFromIndexSize(offset, reps, intervals.length);
+
+        // 1) Seed (canonical speed)
+        SeedPace seed = requireSeed(swimmer, set.getStroke());
+        double speedMps = seed.speedMps();
+
+        // 2) Per-set multiplier and rest curve
+        double mTable = tableMultiplier(workout, set);
+
+        double repMeters  = set.getDistancePerRep().toMeters();
+        double seedMeters = seed.getOriginalDistance().toMeters();
+        double pct = restPercent(set.getEffort(), repMeters, seedMeters);
+        double fresh = freshGoal(repMeters, speedMps, mTable);
+
+        boolean trace = PacingTrace.isOn(workout, swimmer);
+
+        // 3a) No fatigue and no rep pattern: every rep is identical
+        if (fatigue == null && set.getRepPattern() == RepPattern.NONE) {
+            int goalRounded = (int) Math.round(fresh);
+            int rest = restFromGoal(fresh, pct);
+            int interval = intervalFromGoal(fresh, rest);
+            for (int r = 0; r < reps; r++) {
+                goals[offset + r]     = fresh;
+                rests[offset + r]     = rest;
+                intervals[offset + r] = interval;
+            }
+            if (trace) {
+                for (int r = 0; r < reps; r++) {
+                    PacingTrace.buffer().record(PacingTrace.Kind.BATCH, workout, set, swimmer, r,
+                            speedMps, 1.0, 1.0, fresh, pct, rest, goalRounded + rest, interval);
+                }
+            }
+            return;
+        }
+
+        // 3b) Per rep: closed-form pattern multiplier, then one forward fatigue step
+        //     (load carries over from earlier sets)
+        for (int r = 0; r < reps; r++) {
+            double mPattern = set.repMultiplier(r);
+            double mFatigue = (fatigue == null) ? 1.0 : fatigue.multiplier();
+            double goal = repGoal(fresh, mPattern, mFatigue);
+            int goalRounded = (int) Math.round(goal);
+            int rest = restFromGoal(goal, pct);
+            goals[offset + r]     = goal;
+            rests[offset + r]     = rest;
+            intervals[offset + r] = intervalFromGoal(goal, rest);
+            if (trace) {
+                PacingTrace.buffer().record(PacingTrace.Kind.BATCH, workout, set, swimmer, r,
+                        speedMps, mPattern, mFatigue, goal, pct, rest, goalRounded + rest, intervals[offset + r]);
+            }
+
+            if (fatigue == null) continue;
+            fatigue.swam(repMeters, set.getEffort());
+            fatigue.rested(rest);
         }
-        return m;
+    }
+
+    // --- helpers (package-private statics are the pricing rules; GoalKernel and
+    //     TablePacer call them instead of restating the arithmetic) ---
+
+    /** Seed for the stroke; throws if missing or if its canonical speed is not positive. */
+    private static SeedPace requireSeed(Swimmer swimmer, StrokeType stroke) {
+        SeedPace seed = swimmer.getSeedTime(stroke);
+        if (seed == null) throw new IllegalStateException("Missing seed for stroke: " + stroke);
+        if (seed.speedMps() <= 0.0) throw new IllegalStateException("Seed speed must be > 0 m/s for " + stroke);
+        return seed;
+    }
+
+    /** Effort × distance × course × equipment, looked up in {@link PaceMultiplierTable}. */
+    static double tableMultiplier(Workout workout, SwimSet set) {
+        return tableMultiplier(set.getEffort(), set.getDistancePerRep().toMeters(),
+                workout.getCourse(), set.getEquipmentMask());
+    }
+
+    /** {@link #tableMultiplier(Workout, SwimSet)} from primitive set fields. */
+    static double tableMultiplier(Effort effort, double repMeters, Course course, int equipmentMask) {
+        return PaceMultiplierTable.goalMultiplier(effort, DistanceFactors.bucketForMeters(repMeters), course, equipmentMask);
+    }
+
+    /** Rest percentage for a rep of {@code repMeters} against a seed over {@code seedMeters}. */
+    static double restPercent(Effort effort, double repMeters, double seedMeters) {
+        return PaceMultiplierTable.restPercent(effort, distanceRatio(repMeters, seedMeters));
+    }
+
+    /**
+     * Fresh goal (no pattern, no fatigue): {@code (rep / speed) × table multiplier}.
+     * {@link TablePacer} and {@link GoalKernel} use the same grouping, so they match bit for bit.
+     */
+    static double freshGoal(double repMeters, double speedMps, double tableMultiplier) {
+        return (repMeters / speedMps) * tableMultiplier;
+    }
+
+    /** Goal for one rep: fresh goal × rep-pattern × fatigue multipliers. */
+    static double repGoal(double fresh, double mPattern, double mFatigue) {
+        return fresh * mPattern * mFatigue;
     }
 
     /** Distance ratio r = rep / seedBase, clamped to avoid degenerate values. */
-    private static double distanceRatio(double repMeters, double seedMeters) {
+    static double distanceRatio(double repMeters, double seedMeters) {
         double base = (seedMeters <= 0.0) ? 100.0 : seedMeters; // fallback: per-100m baseline
         double r = repMeters / base;
         return Math.max(0.1, r);
     }
 
-    private static double lerp(double a, double b, double t) {
-        if (t <= 0) return a;
-        if (t >= 1) return b;
-        return a + (b - a) * t;
+    /** Rest rule: {@code max(0, round(round(goal) × restPct))}. */
+    static int restFromGoal(double goal, double restPct) {
+        int goalRounded = (int) Math.round(goal);
+        return Math.max(0, (int) Math.round(goalRounded * restPct));
+    }
+
+    /** Send-off rule: {@code round(goal) + rest}, rounded to the nearest 5 s. */
+    static int intervalFromGoal(double goal, int rest) {
+        return roundToNearest5((int) Math.round(goal) + rest);
     }
 
     /** Round seconds to the nearest 5-second boundary (ties round up). */
-    private static int roundToNearest5(int secs) {
+    static int roundToNearest5(int secs) {
         int rem = secs % 5;
         if (rem < 0) rem += 5;
         return (rem < 3) ? (secs - rem) : (secs + (5 - rem));
     }
-
-    /**
-     * Rest percentage as a function of effort and distance ratio r.
-     */
-    private static double restPercent(Effort e, double r) {
-        if (e == null) return 0.06;
-
-        switch (e) {
-            case EASY: {
-                if (r <= 1.0) return 0.10;
-                if (r <= 4.0) return lerp(0.10, 0.18, (r - 1.0) / 3.0);
-                return lerp(0.18, 0.05, Math.min((r - 4.0) / 11.0, 1.0));
-            }
-            case ENDURANCE: {
-                if (r <= 1.0) return 0.04;
-                if (r <= 4.0) return lerp(0.04, 0.05, (r - 1.0) / 3.0);
-                return lerp(0.05, 0.045, Math.min((r - 4.0) / 11.0, 1.0));
-            }
-            case THRESHOLD: {
-                if (r <= 1.0) return 0.067;
-                if (r <= 4.0) return lerp(0.067, 0.055, (r - 1.0) / 3.0);
-                return lerp(0.055, 0.040, Math.min((r - 4.0) / 11.0, 1.0));
-            }
-            case RACE_PACE:
-            case VO2_MAX:
-            case SPRINT: {
-                if (r <= 1.0) return 0.70;
-                if (r <= 4.0) return lerp(0.70, 0.25, (r - 1.0) / 3.0);
-                return lerp(0.25, 0.05, Math.min((r - 4.0) / 11.0, 1.0));
-            }
-            default:
-                return 0.06;
-        }
-    }
-}
\ No newline at end of file
+}
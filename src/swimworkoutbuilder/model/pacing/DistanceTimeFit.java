@@ -0,0 +1,120 @@
+package swimworkoutbuilder.model.pacing;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A swimmer's distance–time curve for one stroke, fitted from test swims
+ * (e.g., a 100 seed plus 200 and 400 time trials).
+ *
+ * <p>Two classic models are fitted in one pass over the points:</p>
+ * <ul>
+ *   <li><b>Riegel:</b> {@code t = a × d^b}, a least-squares line in log–log space.
+ *       Used for goal times because it behaves at every rep distance.</li>
+ *   <li><b>Critical Swim Speed (CSS):</b> {@code d = CSS × t + D'}, a least-squares line of
+ *       distance on time. CSS is the sustainable (threshold) speed; D' is the distance
+ *       that can be covered above it. Reported for coaches; not defined for one point.</li>
+ * </ul>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Both fits are closed-form sums (O(points), no iteration or allocation), so a whole
+ *       roster can be fitted at startup.</li>
+ *   <li>With a single test swim (or all swims at one distance) the Riegel exponent falls
+ *       back to {@value #DEFAULT_EXPONENT}, the usual endurance-fatigue value.</li>
+ *   <li>The fitted exponent is clamped to [{@value #MIN_EXPONENT}, {@value #MAX_EXPONENT}]
+ *       so an odd trial cannot make longer reps faster per 100.</li>
+ *   <li>Instances are immutable; {@link swimworkoutbuilder.model.Swimmer} caches one per
+ *       stroke and drops it when the stroke's seed or test swims change.</li>
+ * </ul>
+ *
+ * @see CssPacePolicy
+ * @see SeedPace
+ */
+public final class DistanceTimeFit {
+
+    /** Riegel exponent used when the points cannot determine one. */
+    public static final double DEFAULT_EXPONENT = 1.06;
+    public static final double MIN_EXPONENT = 1.0;
+    public static final double MAX_EXPONENT = 1.2;
+
+    private final double coefficient;   // a in t = a × d^b (seconds at 1 m)
+    private final double exponent;      // b
+    private final double cssMps;        // NaN if undetermined
+    private final double dPrimeMeters;  // NaN if undetermined
+    private final int points;
+
+    private DistanceTimeFit(double coefficient, double exponent, double cssMps, double dPrimeMeters, int points) {
+        this.coefficient = coefficient;
+        this.exponent = exponent;
+        this.cssMps = cssMps;
+        this.dPrimeMeters = dPrimeMeters;
+        this.points = points;
+    }
+
+    /**
+     * Fits the curve through the given swims.
+     *
+     * @param swims test swims (each with positive distance and time)
+     * @return the fit, or {@code null} if {@code swims} is empty
+     */
+    public static DistanceTimeFit of(List<SeedPace> swims) {
+        Objects.requireNonNull(swims, "swims");
+        int n = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;   // log d, log t (Riegel)
+        double st = 0, sd = 0, stt = 0, std = 0;   // t, d (CSS)
+        for (int i = 0; i < swims.size(); i++) {
+            SeedPace s = swims.get(i);
+            double d = s.getOriginalDistance().toMeters();
+            double t = s.getTime().toMillis() / 1000.0;
+            if (!(d > 0.0) || !(t > 0.0)) continue;
+            double x = Math.log(d), y = Math.log(t);
+            sx += x; sy += y; sxx += x * x; sxy += x * y;
+            st += t; sd += d; stt += t * t; std += t * d;
+            n++;
+        }
+        if (n == 0) return null;
+
+        // Riegel: slope of log t on log d
+        double varX = n * sxx - sx * sx;
+        double b = (n > 1 && varX > 1e-12 * n * n) ? (n * sxy - sx * sy) / varX : DEFAULT_EXPONENT;
+        b = Math.max(MIN_EXPONENT, Math.min(MAX_EXPONENT, b));
+        double logA = (sy - b * sx) / n;
+
+        // CSS: slope of d on t
+        double varT = n * stt - st * st;
+        double css = Double.NaN, dPrime = Double.NaN;
+        if (n > 1 && varT > 1e-12 * n * n) {
+            css = (n * std - st * sd) / varT;
+            dPrime = (sd - css * st) / n;
+        }
+        return new DistanceTimeFit(Math.exp(logA), b, css, dPrime, n);
+    }
+
+    /** Predicted all-out time (seconds) for a distance in meters. */
+    public double secondsFor(double meters) {
+        return coefficient * Math.pow(meters, exponent);
+    }
+
+    /** Riegel exponent b. */
+    public double exponent() { return exponent; }
+
+    /** Critical swim speed (m/s), or NaN with fewer than two distinct test times. */
+    public double cssMps() { return cssMps; }
+
+    /** Anaerobic distance capacity D' (meters), or NaN when CSS is undetermined. */
+    public double dPrimeMeters() { return dPrimeMeters; }
+
+    /** Test swims that contributed to the fit. */
+    public int points() { return points; }
+
+    @Override
+    public String toString() {
+        return "DistanceTimeFit{" +
+                "points=" + points +
+                ", exponent=" + String.format("%.4f", exponent) +
+                ", css=" + (Double.isNaN(cssMps) ? "n/a" : String.format("%.3f m/s", cssMps)) +
+                ", dPrime=" + (Double.isNaN(dPrimeMeters) ? "n/a" : String.format("%.1f m", dPrimeMeters)) +
+                '}';
+    }
+}
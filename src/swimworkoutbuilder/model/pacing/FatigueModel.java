@@ -0,0 +1,194 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.units.Distance;
+
+import static swimworkoutbuilder.model.pacing.PaceMultiplierTable.PPB;
+
+/**
+ * Cumulative fatigue model that slows goal times as training load builds up during a workout.
+ *
+ * <p>Load is measured in "threshold hundreds": swimming 100 m at THRESHOLD adds 1.0, easier
+ * efforts add less and harder efforts add more. Load decays exponentially while the swimmer
+ * rests. Before each rep the goal is scaled by {@code 1 + min(maxSlowdown, sensitivity × load)}.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>The model itself is immutable; per-workout state lives in a {@link Tracker}, so
+ *       one model can be shared by many threads and swimmers.</li>
+ *   <li>Load is carried forward rep by rep, so a workout is evaluated in a single pass over
+ *       Workout → SetGroup (including group repeats) → SwimSet → rep. Cost is O(total reps);
+ *       later reps never re-walk the prefix.</li>
+ *   <li>Recovery uses {@link StrictMath#exp}, and the rest of the tracker is plain IEEE
+ *       arithmetic, so a given rep sequence yields bit-identical load on every JVM and CPU.</li>
+ *   <li>The tracker also carries the load in fixed point (parts per billion) for
+ *       {@link FixedPointPacePolicy}: intensities and the decay factor of every whole-second
+ *       rest up to {@value #TABLED_REST_SECONDS} s are quantized once per model, so
+ *       {@link Tracker#multiplierPpb()} is reached with integer arithmetic only.</li>
+ *   <li>{@link #NONE} has zero sensitivity and leaves every goal unchanged (the historical
+ *       behavior of {@link DefaultPacePolicy}).</li>
+ * </ul>
+ *
+ * Typical defaults (tunable):
+ *  - sensitivity: 0.002 (+0.2% per threshold hundred of accumulated load)
+ *  - recovery:    240 s time constant (e.g., :10 rest clears ~4% of the load)
+ *  - cap:         +10% slowdown
+ *
+ * @see PacingPlan
+ * @see DefaultPacePolicy
+ */
+public final class FatigueModel {
+
+    /** No fatigue: every multiplier is exactly 1.0. */
+    public static final FatigueModel NONE = new FatigueModel(0.0, 240.0, 0.0);
+
+    private static final FatigueModel STANDARD = new FatigueModel(0.002, 240.0, 0.10);
+
+    /** Whole-second rests with a precomputed fixed-point decay factor. */
+    static final int TABLED_REST_SECONDS = 600;
+
+    private static final long MICRO_UNITS_PER_100M = 1_000_000L;   // Distance micro-units
+    private static final Effort[] EFFORTS = Effort.values();
+    private static final long[] INTENSITY_PPB = new long[EFFORTS.length + 1];   // last slot: no effort
+
+    static {
+        for (Effort e : EFFORTS) INTENSITY_PPB[e.ordinal()] = Math.round(intensity(e) * PPB);
+        INTENSITY_PPB[EFFORTS.length] = Math.round(intensity(null) * PPB);
+    }
+
+    private final double sensitivity;        // slowdown per unit of load
+    private final double recoveryTauSeconds; // exponential recovery time constant
+    private final double maxSlowdown;        // cap on (multiplier - 1)
+
+    // Fixed-point twins, rounded once here
+    private final long sensitivityPpb;
+    private final long maxSlowdownPpb;
+    private final long[] decayPpb;           // index = whole seconds of rest
+
+    /**
+     * @param sensitivity        goal slowdown per unit of load (≥0)
+     * @param recoveryTauSeconds recovery time constant in seconds (&gt;0)
+     * @param maxSlowdown        cap on the slowdown fraction (≥0), e.g. 0.10 = at most 10% slower
+     */
+    public FatigueModel(double sensitivity, double recoveryTauSeconds, double maxSlowdown) {
+        if (sensitivity < 0) throw new IllegalArgumentException("sensitivity must be >= 0");
+        if (!(recoveryTauSeconds > 0)) throw new IllegalArgumentException("recoveryTauSeconds must be > 0");
+        if (maxSlowdown < 0) throw new IllegalArgumentException("maxSlowdown must be >= 0");
+        this.sensitivity = sensitivity;
+        this.recoveryTauSeconds = recoveryTauSeconds;
+        this.maxSlowdown = maxSlowdown;
+
+        this.sensitivityPpb = Math.round(sensitivity * PPB);
+        this.maxSlowdownPpb = Math.round(maxSlowdown * PPB);
+        this.decayPpb = new long[TABLED_REST_SECONDS + 1];
+        for (int sec = 0; sec <= TABLED_REST_SECONDS; sec++) decayPpb[sec] = decayPpb((double) sec);
+    }
+
+    /** Default tuning (see class docs). */
+    public static FatigueModel standard() { return STANDARD; }
+
+    public double sensitivity() { return sensitivity; }
+    public double recoveryTauSeconds() { return recoveryTauSeconds; }
+    public double maxSlowdown() { return maxSlowdown; }
+
+    /** True if this model never changes a goal. */
+    public boolean isNone() { return sensitivity == 0.0 || maxSlowdown == 0.0; }
+
+    /** Starts a fresh (fully rested) tracker for one pass through a workout. */
+    public Tracker newTracker() { return new Tracker(this); }
+
+    /** Load added per 100 m at the given effort (THRESHOLD = 1.0). */
+    public static double intensity(Effort e) {
+        if (e == null) return 0.7;
+        switch (e) {
+            case EASY:      return 0.4;
+            case ENDURANCE: return 0.7;
+            case THRESHOLD: return 1.0;
+            case RACE_PACE: return 1.4;
+            case VO2_MAX:   return 1.6;
+            case SPRINT:    return 1.8;
+            default:        return 0.7;
+        }
+    }
+
+    private long decayPpb(double seconds) {
+        return Math.round(StrictMath.exp(-seconds / recoveryTauSeconds) * PPB);
+    }
+
+    private static long intensityPpb(Effort e) {
+        return INTENSITY_PPB[(e == null) ? EFFORTS.length : e.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return "FatigueModel{" +
+                "sensitivity=" + sensitivity +
+                ", recoveryTauSeconds=" + recoveryTauSeconds +
+                ", maxSlowdown=" + maxSlowdown +
+                '}';
+    }
+
+    /**
+     * Mutable load accumulator for one forward pass. Call {@link #multiplier()} before a rep,
+     * then {@link #swam} and {@link #rested} after it. Not thread-safe; use one per pass.
+     */
+    public static final class Tracker {
+        private final FatigueModel model;
+        private double load;
+        private long loadPpb;                // the same load in fixed point
+
+        private Tracker(FatigueModel model) { this.model = model; }
+
+        /** Goal multiplier for the next rep given the load accumulated so far. */
+        public double multiplier() {
+            return 1.0 + Math.min(model.maxSlowdown, model.sensitivity * load);
+        }
+
+        /** {@link #multiplier()} in parts per billion, from the fixed-point load only. */
+        public long multiplierPpb() {
+            return PPB + Math.min(model.maxSlowdownPpb, FixedPointPacePolicy.mulDiv(model.sensitivityPpb, loadPpb, PPB));
+        }
+
+        /** Adds the load of one rep. */
+        public void swam(double meters, Effort effort) {
+            if (!(meters > 0)) return;
+            load += (meters / 100.0) * intensity(effort);
+            loadPpb += FixedPointPacePolicy.mulDiv(Math.round(meters * (MICRO_UNITS_PER_100M / 100)),
+                    intensityPpb(effort), MICRO_UNITS_PER_100M);
+        }
+
+        /** Adds the load of one rep from its exact distance (no double on the fixed-point side). */
+        public void swam(Distance distance, Effort effort) {
+            long micro = distance.rawMicroUnits();
+            if (micro <= 0) return;
+            load += (distance.toMeters() / 100.0) * intensity(effort);
+            loadPpb += FixedPointPacePolicy.mulDiv(micro, intensityPpb(effort), MICRO_UNITS_PER_100M);
+        }
+
+        /** Recovers during rest (exponential decay). */
+        public void rested(double seconds) {
+            if (!(seconds > 0)) return;
+            load *= StrictMath.exp(-seconds / model.recoveryTauSeconds); // same bits on every JVM
+            long decay = (seconds <= TABLED_REST_SECONDS && seconds == Math.rint(seconds))
+                    ? model.decayPpb[(int) seconds]
+                    : model.decayPpb(seconds);
+            loadPpb = FixedPointPacePolicy.mulDiv(loadPpb, decay, PPB);
+        }
+
+        /** Whole-second rest; the fixed-point decay is a table lookup. */
+        public void rested(int seconds) {
+            if (seconds <= 0) return;
+            load *= StrictMath.exp(-seconds / model.recoveryTauSeconds);
+            long decay = (seconds <= TABLED_REST_SECONDS) ? model.decayPpb[seconds] : model.decayPpb(seconds);
+            loadPpb = FixedPointPacePolicy.mulDiv(loadPpb, decay, PPB);
+        }
+
+        /** Current accumulated load (threshold hundreds). */
+        public double load() { return load; }
+
+        /** Current load in parts per billion (fixed-point twin of {@link #load()}). */
+        public long loadPpb() { return loadPpb; }
+
+        public FatigueModel model() { return model; }
+    }
+}
@@ -0,0 +1,305 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+import static swimworkoutbuilder.model.pacing.PaceMultiplierTable.PPB;
+
+/**
+ * Integer-millisecond version of {@link DefaultPacePolicy}: same rules, computed in
+ * fixed point so results never depend on floating-point rounding or call order.
+ *
+ * <h2>Pipeline</h2>
+ * <ol>
+ *   <li>Base time in microseconds: {@code seedMs × 1000 × repMicroUnits / seedMicroUnits},
+ *       straight from {@link SeedPace#getTime()} and the exact {@link swimworkoutbuilder.model.units.Distance}
+ *       units. No speed (m/s) is derived.</li>
+ *   <li>Multipliers are integer parts per billion. The table factor
+ *       ({@link PaceMultiplierTable#goalMultiplierPpb}) is applied once per set (kept in µs).
+ *       The rep pattern factor comes from its closed form on integers (each pattern's step
+ *       is quantized once), fatigue from {@link FatigueModel.Tracker#multiplierPpb()}; they
+ *       are combined per rep, applied, and rounded half-up to whole ms.</li>
+ *   <li>Rest and send-off follow the MVP rules on the goal rounded to whole seconds:
+ *       {@code rest = round(goalSec × restPct)}, {@code interval = nearest 5 of goal + rest}.</li>
+ * </ol>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Every rounding is explicit (half-up on non-negative integers), so the same
+ *       inputs give the same milliseconds on every JVM and in any call order.</li>
+ *   <li>The per-rep loop reads no double: divisions are by integer constants or per-set
+ *       values. Products are checked with {@link Math#multiplyHigh} and fall back to
+ *       {@link BigInteger} for out-of-range inputs instead of overflowing. The only
+ *       floating-point step is the final, correctly rounded {@code ms / 1000} of the
+ *       seconds-based {@link #goalSeconds} and {@link #fillSet} outputs.</li>
+ *   <li>Goals agree with {@link DefaultPacePolicy} within ±1 ms. Rest and send-off can
+ *       differ when the double goal lies within 1 ms of a half second, or when the rest
+ *       is exactly a half second: {@code 45 × 0.70} is 31.5 here (rounds to 32) but
+ *       31.499… in doubles (rounds to 31).</li>
+ *   <li>Fatigue is carried in the tracker's fixed-point load, fed with the rep's exact
+ *       distance and whole-second rest, so fatigued plans are integer-only as well. The
+ *       tracker's double load (used by {@link DefaultPacePolicy}) is never read here.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * FixedPointPacePolicy pace = new FixedPointPacePolicy();
+ * long goalMs = pace.goalMillis(workout, set, swimmer, 0);
+ * int sendOff = pace.intervalSeconds(workout, set, swimmer, 0);
+ * }</pre>
+ *
+ * @see DefaultPacePolicy
+ * @see PaceMultiplierTable
+ */
+public class FixedPointPacePolicy implements PacePolicy {
+
+    private static final long MICROS_PER_MILLI = 1_000L;
+    private static final long MILLIS_PER_SECOND = 1_000L;
+    private static final long DEFAULT_SEED_MICRO_UNITS = 100L * 10_000L; // 100 m fallback
+    private static final long MIN_RATIO_PPB = PPB / 10;                   // r ≥ 0.1
+
+    // Each rep pattern's step (slowdown fraction) in ppb, quantized once
+    private static final long[] PATTERN_STEP_PPB = new long[RepPattern.values().length];
+
+    static {
+        for (RepPattern p : RepPattern.values()) PATTERN_STEP_PPB[p.ordinal()] = Math.round(p.step() * PPB);
+    }
+
+    private final FatigueModel fatigue;
+
+    /** Policy without fatigue (every rep of a set has the same timing). */
+    public FixedPointPacePolicy() {
+        this(FatigueModel.NONE);
+    }
+
+    /** Policy that applies {@code fatigue} when a workout is compiled. */
+    public FixedPointPacePolicy(FatigueModel fatigue) {
+        this.fatigue = Objects.requireNonNull(fatigue, "fatigue");
+    }
+
+    @Override
+    public FatigueModel fatigueModel() { return fatigue; }
+
+    // ----------------------------------------------------------
+    // Per-rep API
+    // ----------------------------------------------------------
+
+    /** Goal time for one rep in whole milliseconds (fresh; no fatigue). */
+    public long goalMillis(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+
+        SeedPace seed = requireSeed(swimmer, set.getStroke());
+        long freshMicros = mulDiv(baseMicros(seed, set), tableMultiplierPpb(workout, set), PPB);
+        return goalMillis(freshMicros, patternPpb(set, repIndex));
+    }
+
+    @Override
+    public double goalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        return goalMillis(workout, set, swimmer, repIndex) / (double) MILLIS_PER_SECOND;
+    }
+
+    @Override
+    public int restSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        long goalMs = goalMillis(workout, set, swimmer, repIndex);
+        return restSeconds(goalMs, restPercentPpb(requireSeed(swimmer, set.getStroke()), set));
+    }
+
+    @Override
+    public int intervalSeconds(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        long goalMs = goalMillis(workout, set, swimmer, repIndex);
+        int rest = restSeconds(goalMs, restPercentPpb(requireSeed(swimmer, set.getStroke()), set));
+        return intervalSeconds(goalMs, rest);
+    }
+
+    @Override
+    public String timingLabel(Workout workout, SwimSet set, Swimmer swimmer, int repIndex) {
+        int rest = restSeconds(workout, set, swimmer, repIndex);
+        return "rest: " + rest;
+    }
+
+    // ----------------------------------------------------------
+    // Batch API
+    // ----------------------------------------------------------
+
+    /**
+     * Millisecond batch form: fills goal (ms), rest, and interval for every rep of
+     * {@code set} starting at {@code offset}. A non-null {@code fatigue} tracker scales
+     * each goal by its current multiplier and is fed each rep's distance and rest.
+     *
+     * @throws IndexOutOfBoundsException if an array is shorter than {@code offset + reps}
+     */
+    public void fillSetMillis(Workout workout, SwimSet set, Swimmer swimmer,
+                              long[] goalsMs, int[] rests, int[] intervals, int offset,
+                              FatigueModel.Tracker fatigue) {
+        Objects.requireNonNull(goalsMs, "goalsMs");
+        fill(workout, set, swimmer, goalsMs, null, rests, intervals, offset, fatigue);
+    }
+
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset) {
+        fillSet(workout, set, swimmer, goals, rests, intervals, offset, null);
+    }
+
+    /** Same as {@link #fillSetMillis} with goals written as seconds (ms / 1000). */
+    @Override
+    public void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                        double[] goals, int[] rests, int[] intervals, int offset,
+                        FatigueModel.Tracker fatigue) {
+        Objects.requireNonNull(goals, "goals");
+        fill(workout, set, swimmer, null, goals, rests, intervals, offset, fatigue);
+    }
+
+    /** Shared batch loop; exactly one of {@code goalsMs} / {@code goalsSec} is non-null. */
+    private void fill(Workout workout, SwimSet set, Swimmer swimmer,
+                      long[] goalsMs, double[] goalsSec, int[] rests, int[] intervals, int offset,
+                      FatigueModel.Tracker fatigue) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(set, "set");
+        Objects.requireNonNull(swimmer, "swimmer");
+
+        int reps = set.getReps();
+        Objects.checkFromIndexSize(offset, reps, (goalsMs != null) ? goalsMs.length : goalsSec.length);
+        Objects.checkFromIndexSize(offset, reps, rests.length);
+        Objects.checkFromIndexSize(offset, reps, intervals.length);
+
+        // Per-set inputs
+        SeedPace seed = requireSeed(swimmer, set.getStroke());
+        long freshMicros = mulDiv(baseMicros(seed, set), tableMultiplierPpb(workout, set), PPB);
+        long restPpb = restPercentPpb(seed, set);
+
+        // No fatigue and no rep pattern: every rep is identical
+        if (fatigue == null && set.getRepPattern() == RepPattern.NONE) {
+            long goalMs = goalMillis(freshMicros, PPB);
+            int rest = restSeconds(goalMs, restPpb);
+            int interval = intervalSeconds(goalMs, rest);
+            for (int r = 0; r < reps; r++) {
+                if (goalsMs != null) goalsMs[offset + r] = goalMs;
+                else goalsSec[offset + r] = goalMs / (double) MILLIS_PER_SECOND;
+                rests[offset + r]     = rest;
+                intervals[offset + r] = interval;
+            }
+            return;
+        }
+
+        RepPattern pattern = set.getRepPattern();
+        long stepPpb = PATTERN_STEP_PPB[pattern.ordinal()];
+        int roundSize = set.getPatternRoundSize();
+        for (int r = 0; r < reps; r++) {
+            long m = patternPpb(pattern, stepPpb, r, reps, roundSize);
+            if (fatigue != null) m = mulDiv(m, fatigue.multiplierPpb(), PPB);
+            long goalMs = goalMillis(freshMicros, m);
+            int rest = restSeconds(goalMs, restPpb);
+            if (goalsMs != null) goalsMs[offset + r] = goalMs;
+            else goalsSec[offset + r] = goalMs / (double) MILLIS_PER_SECOND;
+            rests[offset + r]     = rest;
+            intervals[offset + r] = intervalSeconds(goalMs, rest);
+
+            if (fatigue == null) continue;
+            fatigue.swam(set.getDistancePerRep(), set.getEffort());
+            fatigue.rested(rest);
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Fixed-point helpers
+    // ----------------------------------------------------------
+
+    /** Seed time scaled to the rep distance, in microseconds (before multipliers). */
+    private static long baseMicros(SeedPace seed, SwimSet set) {
+        long seedUnits = seed.getOriginalDistance().rawMicroUnits();
+        if (seedUnits <= 0) seedUnits = DEFAULT_SEED_MICRO_UNITS;
+        long seedMicros = seed.getTime().toMillis() * MICROS_PER_MILLI;
+        return mulDiv(seedMicros, set.getDistancePerRep().rawMicroUnits(), seedUnits);
+    }
+
+    /** Applies a per-rep ppb multiplier to the set's fresh time and rounds to whole ms. */
+    private static long goalMillis(long freshMicros, long multiplierPpb) {
+        return mulDiv(freshMicros, multiplierPpb, MICROS_PER_MILLI * PPB);
+    }
+
+    /** MVP rest rule on the goal rounded to whole seconds. */
+    private static int restSeconds(long goalMs, long restPpb) {
+        long goalSec = (goalMs + MILLIS_PER_SECOND / 2) / MILLIS_PER_SECOND;
+        return (int) mulDiv(goalSec, restPpb, PPB);
+    }
+
+    /** Send-off: whole-second goal plus rest, rounded to the nearest 5 (ties up). */
+    private static int intervalSeconds(long goalMs, int rest) {
+        int goalSec = (int) ((goalMs + MILLIS_PER_SECOND / 2) / MILLIS_PER_SECOND);
+        return DefaultPacePolicy.roundToNearest5(goalSec + rest);
+    }
+
+    private static long tableMultiplierPpb(Workout workout, SwimSet set) {
+        return PaceMultiplierTable.goalMultiplierPpb(
+                set.getEffort(),
+                DistanceFactors.bucketFor(set.getDistancePerRep()),
+                workout.getCourse(),
+                set.getEquipmentMask());
+    }
+
+    private static long patternPpb(SwimSet set, int repIndex) {
+        RepPattern p = set.getRepPattern();
+        return patternPpb(p, PATTERN_STEP_PPB[p.ordinal()], repIndex, set.getReps(), set.getPatternRoundSize());
+    }
+
+    /** {@link RepPattern#multiplier} in ppb, in the same closed forms on integers. */
+    private static long patternPpb(RepPattern p, long stepPpb, int repIndex, int reps, int roundSize) {
+        switch (p) {
+            case DESCEND: {
+                int n = (roundSize <= 0 || roundSize > reps) ? reps : roundSize;
+                return PPB + stepPpb * (n - 1 - repIndex % n);
+            }
+            case BUILD:
+                return (reps <= 1) ? PPB : PPB + mulDiv(stepPpb, reps - 1 - repIndex, reps - 1);
+            case ODDS_EVENS:
+                return (repIndex % 2 == 0) ? PPB + stepPpb : PPB;
+            case NEGATIVE_SPLIT:
+                return (repIndex < reps / 2) ? PPB + stepPpb : PPB;
+            case NONE:
+            default:
+                return PPB;
+        }
+    }
+
+    /** Rest percentage (ppb) from the effort and the exact rep / seed distance ratio. */
+    private static long restPercentPpb(SeedPace seed, SwimSet set) {
+        long seedUnits = seed.getOriginalDistance().rawMicroUnits();
+        if (seedUnits <= 0) seedUnits = DEFAULT_SEED_MICRO_UNITS;
+        long rPpb = Math.max(MIN_RATIO_PPB, mulDiv(set.getDistancePerRep().rawMicroUnits(), PPB, seedUnits));
+        return PaceMultiplierTable.restPercentPpb(set.getEffort(), rPpb);
+    }
+
+    /** Seed for the stroke; throws if missing or if its time is not positive. */
+    private static SeedPace requireSeed(Swimmer swimmer, StrokeType stroke) {
+        SeedPace seed = swimmer.getSeedTime(stroke);
+        if (seed == null) throw new IllegalStateException("Missing seed for stroke: " + stroke);
+        if (seed.getTime().toMillis() <= 0) throw new IllegalStateException("Seed time must be > 0 ms for " + stroke);
+        return seed;
+    }
+
+    /**
+     * {@code round(a × b / d)} half-up for non-negative {@code a, b} and positive {@code d}.
+     * Uses a 128-bit product check so large inputs take the exact (slow) path instead of
+     * overflowing.
+     */
+    static long mulDiv(long a, long b, long d) {
+        long lo = a * b;
+        if (Math.multiplyHigh(a, b) == 0 && lo >= 0 && lo <= Long.MAX_VALUE - d / 2) {
+            return (lo + d / 2) / d;
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+                .add(BigInteger.valueOf(d / 2))
+                .divide(BigInteger.valueOf(d))
+                .longValueExact();
+    }
+}
@@ -0,0 +1,150 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Workout;
+
+import java.util.Objects;
+
+/**
+ * Batch kernel for one set priced across many swimmers at once.
+ *
+ * <p>For a single {@link SwimSet} the effort/distance/course/equipment multiplier and the
+ * rep distance are the same for every swimmer; only the seed speed (and the rest
+ * percentage, which depends on the seed distance) varies. The kernel evaluates
+ * {@link DefaultPacePolicy}'s rules over arrays of swimmers:</p>
+ * <pre>
+ * goal     = (repMeters / speedMps) × multiplier
+ * rest     = max(0, round(round(goal) × restPct))
+ * interval = roundToNearest5(round(goal) + rest)
+ * </pre>
+ *
+ * <h2>Implementations</h2>
+ * <ul>
+ *   <li>{@link #scalar()} — plain loop, always available.</li>
+ *   <li>{@code VectorGoalKernel} — SIMD lanes via {@code jdk.incubator.vector}. It is
+ *       loaded reflectively, so the app still runs when the module is not resolved
+ *       (the JVM needs {@code --add-modules jdk.incubator.vector}). It lives in the
+ *       separate {@code src-vector} source root, so {@code src} compiles without the
+ *       flag; see the README's Build Setup.</li>
+ *   <li>{@link #best()} returns the vector kernel when it loads, otherwise the scalar one.
+ *       Both produce bit-identical results.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * double mult = GoalKernel.setMultiplier(workout, set);
+ * double repMeters = set.getDistancePerRep().toMeters();
+ * for (int i = 0; i < n; i++) pct[i] = GoalKernel.restPercent(set, seedMeters[i]);
+ * GoalKernel.best().compute(repMeters, mult, speeds, pct, goals, rests, intervals, 0, n);
+ * }</pre>
+ *
+ * @see DefaultPacePolicy
+ * @see RosterPacingEngine
+ */
+public abstract class GoalKernel {
+
+    private static final String VECTOR_KERNEL = "swimworkoutbuilder.model.pacing.VectorGoalKernel";
+
+    private static final GoalKernel SCALAR = new Scalar();
+    private static final GoalKernel BEST = loadBest();
+
+    /** Subclasses live in this package. */
+    GoalKernel() {}
+
+    /** Always-available scalar kernel. */
+    public static GoalKernel scalar() { return SCALAR; }
+
+    /** Vector kernel if {@code jdk.incubator.vector} is available, else {@link #scalar()}. */
+    public static GoalKernel best() { return BEST; }
+
+    /** Short name for logs and benchmarks. */
+    public abstract String name();
+
+    /**
+     * Computes swimmers {@code [from, to)}. Each output array is indexed like the inputs.
+     *
+     * @param repMeters  rep distance (canonical meters)
+     * @param multiplier effort × distance × course × equipment (see {@link #setMultiplier})
+     * @param speedMps   seed speeds (must be &gt; 0)
+     * @param restPct    rest percentages (see {@link #restPercent})
+     * @throws IndexOutOfBoundsException if any array is shorter than {@code to}
+     */
+    public final void compute(double repMeters, double multiplier,
+                              double[] speedMps, double[] restPct,
+                              double[] goals, int[] rests, int[] intervals,
+                              int from, int to) {
+        Objects.checkFromToIndex(from, to, speedMps.length);
+        Objects.checkFromToIndex(from, to, restPct.length);
+        Objects.checkFromToIndex(from, to, goals.length);
+        Objects.checkFromToIndex(from, to, rests.length);
+        Objects.checkFromToIndex(from, to, intervals.length);
+        computeRange(repMeters, multiplier, speedMps, restPct, goals, rests, intervals, from, to);
+    }
+
+    /** Bounds are already checked. */
+    abstract void computeRange(double repMeters, double multiplier,
+                               double[] speedMps, double[] restPct,
+                               double[] goals, int[] rests, int[] intervals,
+                               int from, int to);
+
+    // ----------------------------------------------------------
+    // Per-set inputs (same rules as DefaultPacePolicy)
+    // ----------------------------------------------------------
+
+    /** Effort × distance × course × equipment multiplier for the set. */
+    public static double setMultiplier(Workout workout, SwimSet set) {
+        return DefaultPacePolicy.tableMultiplier(workout, set);
+    }
+
+    /** Rest percentage for the set given a swimmer's seed distance in meters. */
+    public static double restPercent(SwimSet set, double seedMeters) {
+        double repMeters = set.getDistancePerRep().toMeters();
+        return PaceMultiplierTable.restPercent(set.getEffort(), DefaultPacePolicy.distanceRatio(repMeters, seedMeters));
+    }
+
+    /** Rest rule: {@code max(0, round(round(goal) × restPct))}. */
+    public static int restSeconds(double goal, double restPct) {
+        return DefaultPacePolicy.restFromGoal(goal, restPct);
+    }
+
+    /** Send-off rule: {@code round(goal) + rest}, rounded to the nearest 5 s. */
+    public static int intervalSeconds(double goal, int rest) {
+        return DefaultPacePolicy.intervalFromGoal(goal, rest);
+    }
+
+    @Override
+    public String toString() { return "GoalKernel{" + name() + "}"; }
+
+    // ----------------------------------------------------------
+    // Internals
+    // ----------------------------------------------------------
+
+    private static GoalKernel loadBest() {
+        try {
+            return (GoalKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException ex) {
+            // jdk.incubator.vector not resolved (or no usable vector shape) — stay scalar
+            return SCALAR;
+        }
+    }
+
+    /** Reference implementation; mirrors DefaultPacePolicy.fillSet without fatigue. */
+    private static final class Scalar extends GoalKernel {
+        @Override
+        public String name() { return "scalar"; }
+
+        @Override
+        void computeRange(double repMeters, double multiplier,
+                          double[] speedMps, double[] restPct,
+                          double[] goals, int[] rests, int[] intervals,
+                          int from, int to) {
+            for (int i = from; i < to; i++) {
+                double goal = (repMeters / speedMps[i]) * multiplier;
+                int rest = restSeconds(goal, restPct[i]);
+                goals[i]     = goal;
+                rests[i]     = rest;
+                intervals[i] = intervalSeconds(goal, rest);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.Equipment;
+
+/**
+ * Immutable lookup tables for the multipliers used by {@link DefaultPacePolicy}.
+ *
+ * <p>Every goal time is {@code (repMeters / speedMps) × effort × distance × course × equipment}.
+ * The last four factors only depend on enum values, so they are multiplied out once at
+ * class initialization for every combination of
+ * {@code Effort (+ none) × DistanceFactors bucket × Course × equipment subset}
+ * (6 equipment constants → 64 subsets). A goal then costs one array index and two multiplies.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Each entry is built with the same multiplication order the per-call formula used
+ *       ({@code effort × dist × course × equip}, equipment in ordinal order), so entries
+ *       are bit-identical to that product. The goal itself is now
+ *       {@code (rep / speed) × entry} rather than the old left-to-right chain, which can
+ *       differ in the last bits; only goals sitting on a half-second tie round to a
+ *       different second (LegacyGoalFormulaTest).</li>
+ *   <li>Efforts that do not use distance factors (EASY, ENDURANCE, none) get a distance
+ *       multiplier of 1.0 in every bucket.</li>
+ *   <li>The rest curves are stored as three knots per effort; {@link #restPercent} does the
+ *       same piecewise lerp as before without the per-call switch.</li>
+ *   <li>Fixed-point twins ({@link #goalMultiplierPpb}, {@link #restPercentPpb}) hold the
+ *       same factors as integer parts per billion for {@link FixedPointPacePolicy}.
+ *       They are rounded once here, so integer callers never touch a double.</li>
+ * </ul>
+ *
+ * @see DefaultPacePolicy
+ * @see DistanceFactors
+ * @see Equipment#maskOf
+ */
+public final class PaceMultiplierTable {
+    private PaceMultiplierTable() {}
+
+    private static final Effort[] EFFORTS = Effort.values();
+    private static final DistanceFactors[] BUCKETS = DistanceFactors.values();
+    private static final Course[] COURSES = Course.values();
+
+    /** Effort slots: one per Effort plus a trailing slot for "no effort". */
+    private static final int EFFORT_SLOTS = EFFORTS.length + 1;
+    /** Number of equipment subsets (bitmask values). */
+    public static final int EQUIPMENT_MASKS = Equipment.MASK_COUNT;
+
+    /** Fixed-point scale: 1.0 = {@code PPB} (parts per billion). */
+    public static final long PPB = 1_000_000_000L;
+
+    private static final double[] GOAL = new double[EFFORT_SLOTS * BUCKETS.length * COURSES.length * EQUIPMENT_MASKS];
+    private static final long[] GOAL_PPB = new long[GOAL.length];
+    private static final double[] EQUIP = new double[EQUIPMENT_MASKS];
+
+    // Rest curve knots per effort slot: {r ≤ 1, r = 4, r ≥ 15}
+    private static final double[][] REST_KNOTS = new double[EFFORT_SLOTS][];
+    private static final long[][] REST_KNOTS_PPB = new long[EFFORT_SLOTS][];
+
+    static {
+        for (int mask = 0; mask < EQUIPMENT_MASKS; mask++) EQUIP[mask] = Equipment.combinedMultiplier(mask);
+
+        for (int e = 0; e < EFFORT_SLOTS; e++) {
+            Effort effort = (e < EFFORTS.length) ? EFFORTS[e] : null;
+            double mEffort = (effort == null) ? 1.0 : effort.paceMultiplier();
+            boolean usesDist = usesDistanceFactor(effort);
+            for (DistanceFactors bucket : BUCKETS) {
+                double mDist = usesDist ? bucket.multiplier() : 1.0;
+                for (Course course : COURSES) {
+                    double mCourse = course.multiplier();
+                    for (int mask = 0; mask < EQUIPMENT_MASKS; mask++) {
+                        GOAL[index(e, bucket.ordinal(), course.ordinal(), mask)] = mEffort * mDist * mCourse * EQUIP[mask];
+                    }
+                }
+            }
+            REST_KNOTS[e] = restKnots(effort);
+            REST_KNOTS_PPB[e] = new long[3];
+            for (int k = 0; k < 3; k++) REST_KNOTS_PPB[e][k] = toPpb(REST_KNOTS[e][k]);
+        }
+        for (int i = 0; i < GOAL.length; i++) GOAL_PPB[i] = toPpb(GOAL[i]);
+    }
+
+    // ----------------------------------------------------------
+    // Lookups
+    // ----------------------------------------------------------
+
+    /**
+     * Combined effort × distance × course × equipment multiplier.
+     *
+     * @param effort        set effort (null = neutral)
+     * @param bucket        distance bucket of the rep (see {@link DistanceFactors#bucketFor})
+     * @param course        workout course
+     * @param equipmentMask equipment bitmask (see {@link Equipment#maskOf})
+     */
+    public static double goalMultiplier(Effort effort, DistanceFactors bucket, Course course, int equipmentMask) {
+        return GOAL[index(effortSlot(effort), bucket.ordinal(), course.ordinal(), equipmentMask)];
+    }
+
+    /** {@link #goalMultiplier} as a fixed-point factor ({@link #PPB} = 1.0). */
+    public static long goalMultiplierPpb(Effort effort, DistanceFactors bucket, Course course, int equipmentMask) {
+        return GOAL_PPB[index(effortSlot(effort), bucket.ordinal(), course.ordinal(), equipmentMask)];
+    }
+
+    /** Combined equipment multiplier for a bitmask (1.0 for 0). */
+    public static double equipmentMultiplier(int equipmentMask) {
+        return EQUIP[equipmentMask];
+    }
+
+    /**
+     * Rest percentage as a function of effort and distance ratio r = rep / seed distance.
+     * Flat up to r = 1, then linear to r = 4, then linear to r = 15 and flat beyond.
+     */
+    public static double restPercent(Effort effort, double r) {
+        double[] k = REST_KNOTS[effortSlot(effort)];
+        if (r <= 1.0) return k[0];
+        if (r <= 4.0) return lerp(k[0], k[1], (r - 1.0) / 3.0);
+        return lerp(k[1], k[2], Math.min((r - 4.0) / 11.0, 1.0));
+    }
+
+    /**
+     * {@link #restPercent} in fixed point: both the ratio {@code rPpb} and the result are
+     * parts per billion. The lerp is done in integer arithmetic (truncating).
+     */
+    public static long restPercentPpb(Effort effort, long rPpb) {
+        long[] k = REST_KNOTS_PPB[effortSlot(effort)];
+        if (rPpb <= PPB) return k[0];
+        if (rPpb <= 4 * PPB) return k[0] + (k[1] - k[0]) * (rPpb - PPB) / (3 * PPB);
+        if (rPpb >= 15 * PPB) return k[2];
+        return k[1] + (k[2] - k[1]) * (rPpb - 4 * PPB) / (11 * PPB);
+    }
+
+    /** True for efforts whose goal is scaled by {@link DistanceFactors}. */
+    public static boolean usesDistanceFactor(Effort e) {
+        if (e == null) return false;
+        switch (e) {
+            case THRESHOLD:
+            case RACE_PACE:
+            case VO2_MAX:
+            case SPRINT:
+                return true;
+            case EASY:
+            case ENDURANCE:
+            default:
+                return false;
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Internals
+    // ----------------------------------------------------------
+
+    private static int effortSlot(Effort e) { return (e == null) ? EFFORTS.length : e.ordinal(); }
+
+    private static int index(int effortSlot, int bucket, int course, int mask) {
+        return ((effortSlot * BUCKETS.length + bucket) * COURSES.length + course) * EQUIPMENT_MASKS + mask;
+    }
+
+    private static long toPpb(double factor) { return Math.round(factor * PPB); }
+
+    private static double lerp(double a, double b, double t) {
+        if (t <= 0) return a;
+        if (t >= 1) return b;
+        return a + (b - a) * t;
+    }
+
+    private static double[] restKnots(Effort e) {
+        if (e == null) return new double[]{0.06, 0.06, 0.06};
+        switch (e) {
+            case EASY:      return new double[]{0.10, 0.18, 0.05};
+            case ENDURANCE: return new double[]{0.04, 0.05, 0.045};
+            case THRESHOLD: return new double[]{0.067, 0.055, 0.040};
+            case RACE_PACE:
+            case VO2_MAX:
+            case SPRINT:    return new double[]{0.70, 0.25, 0.05};
+            default:        return new double[]{0.06, 0.06, 0.06};
+        }
+    }
+}
@@ -31,4 +31,75 @@ public interface PacePolicy {
      * Implementations may format this however they wish.
      */
     String timingLabel(Workout workout, SwimSet set, Swimmer swimmer, int repIndex);
+
+    /**
+     * Batch form: fills goal, rest, and interval for every rep of {@code set} into
+     * caller-supplied arrays, starting at {@code offset} (rep {@code r} lands at
+     * {@code offset + r}). Callers can reuse the same buffers across sets and swimmers.
+     *
+     * <p>The default implementation calls the per-rep methods. Policies should override
+     * it to resolve per-set inputs (seed, multipliers) once instead of once per rep.</p>
+     *
+     * @throws IndexOutOfBoundsException if an array is shorter than {@code offset + reps}
+     */
+    default void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                         double[] goals, int[] rests, int[] intervals, int offset) {
+        int reps = set.getReps();
+        for (int r = 0; r < reps; r++) {
+            goals[offset + r]     = goalSeconds(workout, set, swimmer, r);
+            rests[offset + r]     = restSeconds(workout, set, swimmer, r);
+            intervals[offset + r] = intervalSeconds(workout, set, swimmer, r);
+        }
+    }
+
+    /**
+     * Version stamp of this policy's outputs. It must change whenever the same inputs may
+     * price differently (e.g., new calibration data or edited coefficients) and stay the
+     * same otherwise. Holders of cached timings compare it instead of being notified.
+     * Stateless policies return 0.
+     */
+    default long version() { return 0L; }
+
+    /**
+     * Fatigue model applied when a whole workout is compiled (see {@link PacingPlan}).
+     * The per-rep methods above price a rep in isolation and never include fatigue.
+     */
+    default FatigueModel fatigueModel() { return FatigueModel.NONE; }
+
+    /**
+     * True if timings depend on the swimmer beyond their seed for the set's stroke
+     * (e.g., a per-swimmer calibration or recorded test swims), so two swimmers with the
+     * same seed may price differently. Caches must then keep swimmers apart.
+     */
+    default boolean dependsOnSwimmer() { return false; }
+
+    /**
+     * Fatigue-aware batch form. Before each rep the goal is scaled by
+     * {@code fatigue.multiplier()}; afterwards the rep's distance and rest are fed back
+     * into the tracker. A {@code null} tracker behaves like
+     * {@link #fillSet(Workout, SwimSet, Swimmer, double[], int[], int[], int)}.
+     *
+     * <p>The default implementation starts from the fatigue-free values. Each rep keeps
+     * its share of rest ({@code rest / round(goal)}), and rest and send-off are then
+     * rebuilt from the fatigued goal with {@link DefaultPacePolicy}'s rules (send-off
+     * rounded to 5 s). Policies that know their own rest curve should override it.</p>
+     */
+    default void fillSet(Workout workout, SwimSet set, Swimmer swimmer,
+                         double[] goals, int[] rests, int[] intervals, int offset,
+                         FatigueModel.Tracker fatigue) {
+        fillSet(workout, set, swimmer, goals, rests, intervals, offset);
+        if (fatigue == null) return;
+
+        double repMeters = set.getDistancePerRep().toMeters();
+        int reps = set.getReps();
+        for (int i = offset; i < offset + reps; i++) {
+            long before = Math.round(goals[i]);
+            double restPct = (before > 0) ? (double) rests[i] / before : 0.0;
+            goals[i] *= fatigue.multiplier();
+            rests[i] = DefaultPacePolicy.restFromGoal(goals[i], restPct);
+            intervals[i] = DefaultPacePolicy.intervalFromGoal(goals[i], rests[i]);
+            fatigue.swam(repMeters, set.getEffort());
+            fatigue.rested(rests[i]);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package swimworkoutbuilder.model.pacing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Named pace policies that a coach can switch between at runtime, with a default
+ * selection and optional per-training-group overrides.
+ *
+ * <p>Callers never hold a policy across edits; they ask {@link #policyFor(String)} each
+ * time they price something and compare the result (and its {@link PacePolicy#version()})
+ * with what their cached timings were computed under. Switching policies therefore costs
+ * nothing up front: plans, tree cells, and previews recompute lazily the next time they
+ * are read.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Policies are registered once under a display name; registration order is the
+ *       menu order.</li>
+ *   <li>A training group is identified by name (e.g., the swimmer's team). Groups without
+ *       an override use the default selection.</li>
+ *   <li>{@link #version()} advances on every registration or selection change, so a view
+ *       can tell with one compare whether anything it shows may be stale.</li>
+ *   <li>All methods are synchronized; lookups are a hash-map read.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * PacePolicyRegistry registry = PacePolicyRegistry.withDefaults();
+ * registry.select("Sprint", PacePolicyRegistry.CSS);
+ * PacingPlan plan = PacingPlan.compile(workout, swimmer, registry.policyFor(swimmer.getTeamName()));
+ * }</pre>
+ */
+public final class PacePolicyRegistry {
+
+    public static final String DEFAULT     = "Default";
+    public static final String CALIBRATED  = "Calibrated";
+    public static final String CSS         = "CSS";
+    public static final String FIXED_POINT = "Fixed-point";
+    public static final String CUSTOM      = "Custom";
+
+    private final Map<String, PacePolicy> policies = new LinkedHashMap<>();
+    private final Map<String, String> groupSelection = new HashMap<>();
+    private String defaultSelection;
+    private long version;
+
+    /** Registry with the built-in policies; {@link #DEFAULT} is selected. */
+    public static PacePolicyRegistry withDefaults() {
+        PacePolicyRegistry r = new PacePolicyRegistry();
+        r.register(DEFAULT, new DefaultPacePolicy());
+        r.register(CALIBRATED, new CalibratedPacePolicy());
+        r.register(CSS, new CssPacePolicy());
+        r.register(FIXED_POINT, new FixedPointPacePolicy());
+        r.register(CUSTOM, new CoefficientPacePolicy(new DefaultPacePolicy()));
+        return r;
+    }
+
+    /**
+     * Adds or replaces a named policy. The first policy registered becomes the default
+     * selection.
+     */
+    public synchronized void register(String name, PacePolicy policy) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(policy, "policy");
+        policies.put(name, policy);
+        if (defaultSelection == null) defaultSelection = name;
+        version++;
+    }
+
+    /** Registered names, in registration order. */
+    public synchronized List<String> names() {
+        return Collections.unmodifiableList(new ArrayList<>(policies.keySet()));
+    }
+
+    /** The policy registered under {@code name}, or null. */
+    public synchronized PacePolicy get(String name) {
+        return policies.get(name);
+    }
+
+    /** Selects the policy used by groups without an override. */
+    public synchronized void select(String name) {
+        requireRegistered(name);
+        if (name.equals(defaultSelection)) return;
+        defaultSelection = name;
+        version++;
+    }
+
+    /**
+     * Selects the policy for one training group; a null {@code name} removes the
+     * override so the group follows the default selection again.
+     */
+    public synchronized void select(String group, String name) {
+        Objects.requireNonNull(group, "group");
+        String old = (name == null) ? groupSelection.remove(group)
+                                    : groupSelection.put(group, requireRegistered(name));
+        if (!Objects.equals(old, name)) version++;
+    }
+
+    /** Name of the policy in effect for {@code group} (null = the default selection). */
+    public synchronized String selectedName(String group) {
+        String name = (group == null) ? null : groupSelection.get(group);
+        return (name != null) ? name : defaultSelection;
+    }
+
+    /** True if {@code group} has its own selection. */
+    public synchronized boolean hasOverride(String group) {
+        return group != null && groupSelection.containsKey(group);
+    }
+
+    /**
+     * Policy in effect for {@code group} (null = the default selection).
+     *
+     * @throws IllegalStateException if nothing is registered
+     */
+    public synchronized PacePolicy policyFor(String group) {
+        String name = selectedName(group);
+        if (name == null) throw new IllegalStateException("No pace policy registered");
+        return policies.get(name);
+    }
+
+    /** Advances on every registration or selection change. */
+    public synchronized long version() { return version; }
+
+    private String requireRegistered(String name) {
+        Objects.requireNonNull(name, "name");
+        if (!policies.containsKey(name)) throw new IllegalArgumentException("Unknown pace policy: " + name);
+        return name;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PacePolicyRegistry{" +
+                "policies=" + policies.keySet() +
+                ", default=" + defaultSelection +
+                ", groups=" + groupSelection +
+                '}';
+    }
+}
@@ -0,0 +1,377 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.WorkoutSnapshot;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A compiled, read-only pacing table for one {@code (Workout, Swimmer, PacePolicy)} triple.
+ *
+ * <p>{@code PacingPlan} asks the {@link PacePolicy} for the goal, rest, and interval of
+ * every rep exactly once and stores the answers in flat primitive arrays. The printer,
+ * tree cells, and header summaries then read from the plan instead of calling the
+ * policy again for every rep they display.</p>
+ *
+ * <h2>Layout</h2>
+ * <ul>
+ *   <li>Sets are numbered in workout order ("flat set index"); {@code groupSetStart[g]}
+ *       is the first flat set index of group {@code g}.</li>
+ *   <li>Reps are stored in the order they are swum: group {@code g} occupies
+ *       {@code passes × passReps[g]} slots from {@code groupRepStart[g]}, one block per
+ *       group pass; within a pass, set {@code s} starts at {@code setRepOffset[s]}.</li>
+ *   <li>{@code goal}, {@code rest}, and {@code interval} are indexed by that swum order.</li>
+ * </ul>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Rep indices passed to the policy are zero-based within the set.</li>
+ *   <li>When the policy has a {@link FatigueModel}, the whole workout is priced in one
+ *       forward pass (groups → group passes → sets → reps) with a single
+ *       {@link FatigueModel.Tracker}; between-group rest also counts as recovery.
+ *       Without fatigue every group pass is identical and is copied from the first.</li>
+ *   <li>A set whose timing cannot be computed (e.g., missing seed for its stroke) is
+ *       marked untimed instead of failing the whole plan.</li>
+ *   <li>The plan is a snapshot: compile a new one after the workout, seeds, or policy change.
+ *       It records {@link Workout#getRevision()}, {@link Swimmer#getSeedRevision()}, and the
+ *       policy's {@link PacePolicy#version()}, so {@link #isFor} turns false by itself once
+ *       any of them moves on.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * PacingPlan plan = PacingPlan.compile(workout, swimmer, new DefaultPacePolicy(FatigueModel.standard()));
+ * int s = plan.flatSetIndexOf(mainSet);
+ * int sendOff = plan.intervalSeconds(s, 0);       // first group pass
+ * double last = plan.goalSeconds(s, 1, 29);       // second pass, 30th rep
+ * long total  = plan.totalSeconds();
+ * }</pre>
+ *
+ * @see PacePolicy
+ * @see FatigueModel
+ * @see swimworkoutbuilder.model.utils.WorkoutPrinter
+ */
+public final class PacingPlan {
+
+    private final Workout workout;
+    private final Swimmer swimmer;
+    private final PacePolicy policy;
+    private final long policyVersion;           // policy.version() at compile time
+    private final long workoutRevision;         // workout.getRevision() at compile time
+    private final long seedRevision;            // swimmer.getSeedRevision() at compile time
+
+    // Structure (flat indices)
+    private final int[] groupSetStart;          // length = groups + 1
+    private final int[] groupRepStart;          // length = groups + 1
+    private final int[] groupPasses;            // SetGroup reps (≥1)
+    private final int[] passReps;               // reps in one pass through the group
+    private final int[] setGroup;               // owning group of each flat set
+    private final int[] setRepOffset;           // first rep of the set within a group pass
+    private final int[] setReps;
+    private final boolean[] setTimed;           // false when the policy could not time the set
+    private final Map<SwimSet, Integer> setIndex;
+
+    // Per-rep timing (swum order)
+    private final double[] goal;
+    private final int[] rest;
+    private final int[] interval;
+
+    // Per-set totals over all group passes (flat set index)
+    private final long[] setSwimSeconds;        // Σ round(goal)
+    private final long[] setRestSeconds;        // Σ rest
+
+    // Per-group totals including group repeats
+    private final long[] groupSwimSeconds;
+    private final long[] groupRestSeconds;
+    private final int[] restAfterGroupSeconds;  // 0 for the last group
+
+    private final long totalSwimSeconds;
+    private final long totalIntraRestSeconds;
+    private final long totalBetweenGroupRestSeconds;
+
+    private PacingPlan(Workout workout, Swimmer swimmer, PacePolicy policy) {
+        this.workout = workout;
+        this.swimmer = swimmer;
+        this.policy  = policy;
+        this.policyVersion = policy.version();
+        this.workoutRevision = workout.getRevision();
+        this.seedRevision = swimmer.getSeedRevision();
+
+        List<SetGroup> groups = workout.getGroups();
+        int groupCount = groups.size();
+
+        // 1) Size the flat arrays
+        int setCount = 0;
+        for (SetGroup g : groups) setCount += g.getSets().size();
+
+        groupSetStart = new int[groupCount + 1];
+        groupRepStart = new int[groupCount + 1];
+        groupPasses   = new int[groupCount];
+        passReps      = new int[groupCount];
+        setGroup      = new int[setCount];
+        setRepOffset  = new int[setCount];
+        setReps       = new int[setCount];
+        setTimed      = new boolean[setCount];
+        setIndex      = new IdentityHashMap<>(setCount * 2);
+
+        int si = 0, ri = 0;
+        for (int gi = 0; gi < groupCount; gi++) {
+            SetGroup g = groups.get(gi);
+            groupSetStart[gi] = si;
+            groupRepStart[gi] = ri;
+            int perPass = 0;
+            for (SwimSet s : g.getSets()) {
+                setIndex.put(s, si);
+                setGroup[si] = gi;
+                setRepOffset[si] = perPass;
+                setReps[si] = s.getReps();
+                perPass += s.getReps();
+                si++;
+            }
+            groupPasses[gi] = Math.max(1, g.getReps());
+            passReps[gi] = perPass;
+            ri += perPass * groupPasses[gi];
+        }
+        groupSetStart[groupCount] = si;
+        groupRepStart[groupCount] = ri;
+
+        goal     = new double[ri];
+        rest     = new int[ri];
+        interval = new int[ri];
+        setSwimSeconds = new long[setCount];
+        setRestSeconds = new long[setCount];
+        groupSwimSeconds = new long[groupCount];
+        groupRestSeconds = new long[groupCount];
+        restAfterGroupSeconds = new int[groupCount];
+
+        // 2) Fill timing in one forward pass (fatigue carries across sets and groups)
+        FatigueModel model = policy.fatigueModel();
+        FatigueModel.Tracker fatigue = (model == null || model.isNone()) ? null : model.newTracker();
+
+        long swim = 0, intra = 0, between = 0;
+        for (int gi = 0; gi < groupCount; gi++) {
+            SetGroup g = groups.get(gi);
+            int first = groupSetStart[gi], last = groupSetStart[gi + 1];
+
+            for (int pass = 0; pass < groupPasses[gi]; pass++) {
+                int passStart = groupRepStart[gi] + pass * passReps[gi];
+                if (pass > 0 && fatigue == null) {
+                    // Identical to the first pass
+                    System.arraycopy(goal, groupRepStart[gi], goal, passStart, passReps[gi]);
+                    System.arraycopy(rest, groupRepStart[gi], rest, passStart, passReps[gi]);
+                    System.arraycopy(interval, groupRepStart[gi], interval, passStart, passReps[gi]);
+                } else {
+                    int k = first;
+                    for (SwimSet s : g.getSets()) {
+                        if (pass == 0) setTimed[k] = fillSet(s, passStart + setRepOffset[k], fatigue);
+                        else if (setTimed[k]) setTimed[k] = fillSet(s, passStart + setRepOffset[k], fatigue);
+                        k++;
+                    }
+                }
+            }
+
+            // Totals over every pass of the timed sets
+            for (int k = first; k < last; k++) {
+                if (!setTimed[k]) continue;
+                long setSwim = 0, setRest = 0;
+                for (int pass = 0; pass < groupPasses[gi]; pass++) {
+                    int from = groupRepStart[gi] + pass * passReps[gi] + setRepOffset[k];
+                    for (int r = from; r < from + setReps[k]; r++) {
+                        setSwim += Math.round(goal[r]);
+                        setRest += rest[r];
+                    }
+                }
+                setSwimSeconds[k] = setSwim;
+                setRestSeconds[k] = setRest;
+                groupSwimSeconds[gi] += setSwim;
+                groupRestSeconds[gi] += setRest;
+            }
+            swim  += groupSwimSeconds[gi];
+            intra += groupRestSeconds[gi];
+
+            // Between-group rest (group override if present, else workout default)
+            int restAfter = (g.getRestAfterGroupSec() > 0)
+                    ? g.getRestAfterGroupSec()
+                    : workout.getDefaultRestBetweenGroupsSeconds();
+            if (gi < groupCount - 1 && restAfter > 0) {
+                restAfterGroupSeconds[gi] = restAfter;
+                between += restAfter;
+                if (fatigue != null) fatigue.rested(restAfter);
+            }
+        }
+
+        totalSwimSeconds = swim;
+        totalIntraRestSeconds = intra;
+        totalBetweenGroupRestSeconds = between;
+    }
+
+    /**
+     * Compiles the pacing plan for a workout, swimmer, and policy.
+     * The policy's {@link PacePolicy#fatigueModel()} is applied across the whole workout.
+     *
+     * @throws NullPointerException if any argument is {@code null}
+     */
+    public static PacingPlan compile(Workout workout, Swimmer swimmer, PacePolicy policy) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(swimmer, "swimmer");
+        Objects.requireNonNull(policy, "policy");
+        return new PacingPlan(workout, swimmer, policy);
+    }
+
+    /**
+     * Compiles a plan from a snapshot. The snapshot is materialized into a private
+     * {@link Workout} first, so this is safe on a background thread while the live
+     * workout is being edited; {@link #getWorkout()} returns that private copy.
+     */
+    public static PacingPlan compile(WorkoutSnapshot snapshot, Swimmer swimmer, PacePolicy policy) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        return compile(snapshot.toWorkout(), swimmer, policy);
+    }
+
+    /** Fills goal/rest/interval for one set; returns false if the policy cannot time it. */
+    private boolean fillSet(SwimSet s, int from, FatigueModel.Tracker fatigue) {
+        if (s.getStroke() == null || swimmer.getSeedTime(s.getStroke()) == null) return false;
+        try {
+            policy.fillSet(workout, s, swimmer, goal, rest, interval, from, fatigue);
+            return true;
+        } catch (RuntimeException ex) {
+            // missing/invalid data for this set — leave it untimed
+            return false;
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Identity
+    // ----------------------------------------------------------
+
+    public Workout getWorkout() { return workout; }
+    public Swimmer getSwimmer() { return swimmer; }
+    public PacePolicy getPolicy() { return policy; }
+
+    /** Policy version the plan was compiled under. */
+    public long getPolicyVersion() { return policyVersion; }
+
+    /** Workout revision the plan was compiled from. */
+    public long getWorkoutRevision() { return workoutRevision; }
+
+    /**
+     * True if this plan was compiled for exactly these instances and none of them has
+     * changed since (workout revision, swimmer seeds, policy version).
+     */
+    public boolean isFor(Workout w, Swimmer s, PacePolicy p) {
+        return workout == w && swimmer == s && policy == p
+                && policyVersion == p.version()
+                && workoutRevision == w.getRevision()
+                && seedRevision == s.getSeedRevision();
+    }
+
+    // ----------------------------------------------------------
+    // Structure
+    // ----------------------------------------------------------
+
+    public int groupCount() { return groupSetStart.length - 1; }
+
+    /** Total number of sets across all groups. */
+    public int setCount() { return setReps.length; }
+
+    /** Number of sets in group {@code group}. */
+    public int setCount(int group) { return groupSetStart[group + 1] - groupSetStart[group]; }
+
+    /** Flat set index for the {@code set}-th set of group {@code group}. */
+    public int flatSetIndex(int group, int set) {
+        if (set < 0 || set >= setCount(group)) throw new IndexOutOfBoundsException("set " + set);
+        return groupSetStart[group] + set;
+    }
+
+    /** Flat set index of {@code s}, or -1 if the set was not part of the compiled workout. */
+    public int flatSetIndexOf(SwimSet s) {
+        Integer i = setIndex.get(s);
+        return (i == null) ? -1 : i;
+    }
+
+    /** Number of reps in one pass through a flat set. */
+    public int repCount(int flatSet) { return setReps[flatSet]; }
+
+    /** Number of passes through the group (SetGroup reps). */
+    public int passCount(int group) { return groupPasses[group]; }
+
+    /** Group that owns a flat set. */
+    public int groupOf(int flatSet) { return setGroup[flatSet]; }
+
+    /** True if goal/rest/interval are available for the set. */
+    public boolean isTimed(int flatSet) { return setTimed[flatSet]; }
+
+    // ----------------------------------------------------------
+    // Per-rep timing
+    // ----------------------------------------------------------
+
+    /** Goal time (seconds) for rep {@code rep} (zero-based) of a flat set, first group pass. */
+    public double goalSeconds(int flatSet, int rep) { return goalSeconds(flatSet, 0, rep); }
+
+    /** Rest after rep {@code rep} (zero-based) of a flat set, first group pass. */
+    public int restSeconds(int flatSet, int rep) { return restSeconds(flatSet, 0, rep); }
+
+    /** Send-off for rep {@code rep} (zero-based) of a flat set, first group pass. */
+    public int intervalSeconds(int flatSet, int rep) { return intervalSeconds(flatSet, 0, rep); }
+
+    /** Goal time (seconds) for rep {@code rep} of a flat set during group pass {@code pass}. */
+    public double goalSeconds(int flatSet, int pass, int rep) { return goal[repIndex(flatSet, pass, rep)]; }
+
+    /** Rest after rep {@code rep} of a flat set during group pass {@code pass}. */
+    public int restSeconds(int flatSet, int pass, int rep) { return rest[repIndex(flatSet, pass, rep)]; }
+
+    /** Send-off for rep {@code rep} of a flat set during group pass {@code pass}. */
+    public int intervalSeconds(int flatSet, int pass, int rep) { return interval[repIndex(flatSet, pass, rep)]; }
+
+    private int repIndex(int flatSet, int pass, int rep) {
+        if (!setTimed[flatSet]) throw new IllegalStateException("Set " + flatSet + " has no timing");
+        int g = setGroup[flatSet];
+        if (pass < 0 || pass >= groupPasses[g]) throw new IndexOutOfBoundsException("pass " + pass);
+        if (rep < 0 || rep >= setReps[flatSet]) throw new IndexOutOfBoundsException("rep " + rep);
+        return groupRepStart[g] + pass * passReps[g] + setRepOffset[flatSet] + rep;
+    }
+
+    // ----------------------------------------------------------
+    // Totals (seconds)
+    // ----------------------------------------------------------
+
+    /** Σ round(goal) for the set over every group pass. */
+    public long setSwimSeconds(int flatSet) { return setSwimSeconds[flatSet]; }
+
+    /** Σ rest for the set over every group pass. */
+    public long setRestSeconds(int flatSet) { return setRestSeconds[flatSet]; }
+
+    /** Swim seconds for the group, including group repeats. */
+    public long groupSwimSeconds(int group) { return groupSwimSeconds[group]; }
+
+    /** Intra-set rest seconds for the group, including group repeats. */
+    public long groupRestSeconds(int group) { return groupRestSeconds[group]; }
+
+    /** Rest taken after the group before the next one starts (0 after the last group). */
+    public int restAfterGroupSeconds(int group) { return restAfterGroupSeconds[group]; }
+
+    public long totalSwimSeconds() { return totalSwimSeconds; }
+    public long totalIntraRestSeconds() { return totalIntraRestSeconds; }
+    public long totalBetweenGroupRestSeconds() { return totalBetweenGroupRestSeconds; }
+
+    /** Swim + intra-set rest + between-group rest. */
+    public long totalSeconds() {
+        return totalSwimSeconds + totalIntraRestSeconds + totalBetweenGroupRestSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "PacingPlan{" +
+                "groups=" + groupCount() +
+                ", sets=" + setCount() +
+                ", reps=" + goal.length +
+                ", totalSeconds=" + totalSeconds() +
+                '}';
+    }
+}
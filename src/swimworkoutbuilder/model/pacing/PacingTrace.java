@@ -0,0 +1,295 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.DistanceFactors;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runtime pacing trace: a fixed-size ring buffer of every factor that went into a goal,
+ * rest, or send-off, for the workouts and swimmers being watched.
+ *
+ * <p>Replaces the old compile-time {@code DEBUG} printf in {@link DefaultPacePolicy}.
+ * Tracing is switched on at runtime with {@link #watch(UUID)} (a workout or swimmer id)
+ * or {@link #watchAll()}, and the last {@link #capacity()} rows can be dumped as CSV at
+ * any time to explain an unexpected send-off.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>When nothing is watched, {@link #isOn} is a single read of a static flag, so
+ *       policies can call it on every rep at no measurable cost.</li>
+ *   <li>Rows are stored column-wise in primitive arrays (ids are references to the
+ *       existing {@link UUID}s). Recording a row allocates nothing; the oldest row is
+ *       overwritten once the buffer is full.</li>
+ *   <li>The combined table multiplier is split back into its effort, distance, course,
+ *       and equipment factors only when a row is recorded.</li>
+ *   <li>Fields a step does not know are left blank in the CSV (e.g., rest on a goal row).</li>
+ *   <li>Rows are recorded where the numbers are computed; timings served from a
+ *       {@link CachingPacePolicy} cache hit are not recorded again.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * PacingTrace.watch(swimmer.getId());
+ * PacingPlan.compile(workout, swimmer, policy);
+ * PacingTrace.buffer().writeCsv(System.out);
+ * PacingTrace.stop();
+ * }</pre>
+ */
+public final class PacingTrace {
+
+    /** Which pricing step produced a row. */
+    public enum Kind { GOAL, REST, INTERVAL, BATCH }
+
+    /** Rows kept by the shared buffer. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final StrokeType[] STROKES = StrokeType.values();
+    private static final Effort[] EFFORTS = Effort.values();
+
+    // ----------------------------------------------------------
+    // Watch list (static; shared by all policies)
+    // ----------------------------------------------------------
+
+    private static volatile boolean on;
+    private static volatile boolean all;
+    private static final Set<UUID> watched = ConcurrentHashMap.newKeySet();
+    private static final PacingTrace BUFFER = new PacingTrace(DEFAULT_CAPACITY);
+
+    /** Trace every rep priced for this workout or swimmer id. */
+    public static void watch(UUID workoutOrSwimmerId) {
+        watched.add(Objects.requireNonNull(workoutOrSwimmerId, "workoutOrSwimmerId"));
+        on = true;
+    }
+
+    /** Stop tracing one workout or swimmer id. */
+    public static void unwatch(UUID workoutOrSwimmerId) {
+        watched.remove(workoutOrSwimmerId);
+        on = all || !watched.isEmpty();
+    }
+
+    /** Trace everything (use sparingly; the buffer only keeps the most recent rows). */
+    public static void watchAll() {
+        all = true;
+        on = true;
+    }
+
+    /** Stop all tracing. Rows already recorded are kept until {@link #clear()}. */
+    public static void stop() {
+        all = false;
+        watched.clear();
+        on = false;
+    }
+
+    /** True if reps priced for this workout/swimmer pair should be recorded. */
+    public static boolean isOn(Workout workout, Swimmer swimmer) {
+        if (!on) return false;
+        return all
+                || (workout != null && watched.contains(workout.getId()))
+                || (swimmer != null && watched.contains(swimmer.getId()));
+    }
+
+    /** The shared trace buffer. */
+    public static PacingTrace buffer() { return BUFFER; }
+
+    // ----------------------------------------------------------
+    // Ring buffer (column-wise)
+    // ----------------------------------------------------------
+
+    private final int capacity;
+    private long written;           // total rows ever recorded; next slot = written % capacity
+
+    private final byte[] kind;
+    private final UUID[] workoutId;
+    private final UUID[] swimmerId;
+    private final byte[] stroke;    // ordinal, -1 = none
+    private final byte[] effort;    // ordinal, -1 = none
+    private final int[] rep;
+    private final double[] meters;
+    private final double[] speed;
+    private final double[] mEffort;
+    private final double[] mDist;
+    private final double[] mCourse;
+    private final double[] mEquip;
+    private final double[] mPattern;
+    private final double[] mFatigue;
+    private final double[] goal;
+    private final double[] restPct;
+    private final int[] rest;
+    private final int[] rawInterval;
+    private final int[] interval;
+
+    /** Standalone buffer (tests, tools); policies record into {@link #buffer()}. */
+    public PacingTrace(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.capacity = capacity;
+        kind = new byte[capacity];
+        workoutId = new UUID[capacity];
+        swimmerId = new UUID[capacity];
+        stroke = new byte[capacity];
+        effort = new byte[capacity];
+        rep = new int[capacity];
+        meters = new double[capacity];
+        speed = new double[capacity];
+        mEffort = new double[capacity];
+        mDist = new double[capacity];
+        mCourse = new double[capacity];
+        mEquip = new double[capacity];
+        mPattern = new double[capacity];
+        mFatigue = new double[capacity];
+        goal = new double[capacity];
+        restPct = new double[capacity];
+        rest = new int[capacity];
+        rawInterval = new int[capacity];
+        interval = new int[capacity];
+    }
+
+    /** Maximum rows kept. */
+    public int capacity() { return capacity; }
+
+    /** Rows currently held (≤ capacity). */
+    public synchronized int size() { return (int) Math.min(written, capacity); }
+
+    /** Rows overwritten because the buffer was full. */
+    public synchronized long dropped() { return Math.max(0, written - capacity); }
+
+    /** Discards all rows. */
+    public synchronized void clear() {
+        written = 0;
+        Arrays.fill(workoutId, null);
+        Arrays.fill(swimmerId, null);
+    }
+
+    /**
+     * Records one pricing step. Pass {@code NaN} for unknown doubles and {@code -1} for
+     * unknown ints.
+     *
+     * @param speedMps    seed speed (m/s)
+     * @param mPattern    rep-pattern multiplier
+     * @param mFatigue    fatigue multiplier
+     * @param goalSeconds goal (unrounded for GOAL/BATCH rows, whole seconds otherwise)
+     * @param restPercent rest as a fraction of the goal
+     * @param restSeconds rest after the rep
+     * @param rawInterval goal + rest before rounding to 5
+     * @param intervalSeconds send-off
+     */
+    public synchronized void record(Kind k, Workout w, SwimSet set, Swimmer s, int repIndex,
+                                    double speedMps, double mPattern, double mFatigue,
+                                    double goalSeconds, double restPercent,
+                                    int restSeconds, int rawInterval, int intervalSeconds) {
+        int i = (int) (written % capacity);
+        written++;
+
+        Effort e = set.getEffort();
+        Course course = (w != null) ? w.getCourse() : set.getCourse();
+        kind[i] = (byte) k.ordinal();
+        workoutId[i] = (w != null) ? w.getId() : null;
+        swimmerId[i] = (s != null) ? s.getId() : null;
+        stroke[i] = (byte) ((set.getStroke() != null) ? set.getStroke().ordinal() : -1);
+        effort[i] = (byte) ((e != null) ? e.ordinal() : -1);
+        rep[i] = repIndex;
+        meters[i] = set.getDistancePerRep().toMeters();
+        speed[i] = speedMps;
+        mEffort[i] = (e != null) ? e.paceMultiplier() : 1.0;
+        mDist[i] = PaceMultiplierTable.usesDistanceFactor(e)
+                ? DistanceFactors.bucketFor(set.getDistancePerRep()).multiplier() : 1.0;
+        mCourse[i] = course.multiplier();
+        mEquip[i] = PaceMultiplierTable.equipmentMultiplier(set.getEquipmentMask());
+        this.mPattern[i] = mPattern;
+        this.mFatigue[i] = mFatigue;
+        goal[i] = goalSeconds;
+        restPct[i] = restPercent;
+        rest[i] = restSeconds;
+        this.rawInterval[i] = rawInterval;
+        interval[i] = intervalSeconds;
+    }
+
+    // ----------------------------------------------------------
+    // Output
+    // ----------------------------------------------------------
+
+    /** CSV header written by {@link #writeCsv}. */
+    public static final String CSV_HEADER =
+            "seq,kind,workout,swimmer,stroke,effort,rep,meters,speed_mps," +
+            "m_effort,m_dist,m_course,m_equip,m_pattern,m_fatigue," +
+            "goal_s,rest_pct,rest_s,raw_interval_s,interval_s,rounding_delta_s";
+
+    /** Writes the buffered rows, oldest first, as CSV (reps are 1-based). */
+    public synchronized void writeCsv(Appendable out) throws IOException {
+        out.append(CSV_HEADER).append('\n');
+        StringBuilder line = new StringBuilder(192);
+        long first = Math.max(0, written - capacity);
+        for (long seq = first; seq < written; seq++) {
+            int i = (int) (seq % capacity);
+            line.setLength(0);
+            line.append(seq).append(',')
+                .append(KINDS[kind[i]]).append(',');
+            if (workoutId[i] != null) line.append(workoutId[i]);
+            line.append(',');
+            if (swimmerId[i] != null) line.append(swimmerId[i]);
+            line.append(',');
+            if (stroke[i] >= 0) line.append(STROKES[stroke[i]].name());
+            line.append(',');
+            if (effort[i] >= 0) line.append(EFFORTS[effort[i]].name());
+            line.append(',').append(rep[i] + 1);
+            appendNum(line, meters[i]);
+            appendNum(line, speed[i]);
+            appendNum(line, mEffort[i]);
+            appendNum(line, mDist[i]);
+            appendNum(line, mCourse[i]);
+            appendNum(line, mEquip[i]);
+            appendNum(line, mPattern[i]);
+            appendNum(line, mFatigue[i]);
+            appendNum(line, goal[i]);
+            appendNum(line, restPct[i]);
+            appendInt(line, rest[i]);
+            appendInt(line, rawInterval[i]);
+            appendInt(line, interval[i]);
+            if (rawInterval[i] >= 0 && interval[i] >= 0) line.append(',').append(interval[i] - rawInterval[i]);
+            else line.append(',');
+            out.append(line).append('\n');
+        }
+    }
+
+    /** CSV as a String. */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeCsv(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    private static void appendNum(StringBuilder sb, double v) {
+        sb.append(',');
+        if (!Double.isNaN(v)) sb.append(v);
+    }
+
+    private static void appendInt(StringBuilder sb, int v) {
+        sb.append(',');
+        if (v >= 0) sb.append(v);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PacingTrace{" +
+                "size=" + size() +
+                ", capacity=" + capacity +
+                ", dropped=" + dropped() +
+                '}';
+    }
+}
@@ -0,0 +1,193 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.DistanceAccumulator;
+import swimworkoutbuilder.model.units.SwimTimeParser;
+import swimworkoutbuilder.model.units.TimeSpan;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Append-only history of swum reps (distance, stroke, effort, goal, actual time) stored
+ * column-wise in primitive arrays, for logs of millions of reps.
+ *
+ * <p>A rep held as objects costs a {@code Distance} (header + long + unit reference), two
+ * {@code TimeSpan}s (header + long each), and the record itself. Here a rep is three
+ * {@code long}s and two {@code byte}s ({@value #BYTES_PER_REP} bytes), and
+ * {@link Distance} / {@link TimeSpan} objects are created only when read through the
+ * object accessors.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Distances use the {@link Distance#pack()} codec (microUnits and display unit in one
+ *       long); times are raw milliseconds ({@link TimeSpan#toMillis()}).</li>
+ *   <li>An actual time of {@link #NO_TIME} marks a rep that was not timed (same value as
+ *       {@link SwimTimeParser#NO_TIME}), so imports can store parser results directly.</li>
+ *   <li>Primitive accessors ({@code goalMillis}, {@code distanceMicroUnits}, ...) never
+ *       allocate; use them in loops such as replaying a log into
+ *       {@link CalibratedPacePolicy}.</li>
+ *   <li>Columns grow by half again when full. Not thread-safe.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * PackedRepLog log = new PackedRepLog();
+ * log.add(set.getDistancePerRep(), set.getStroke(), set.getEffort(), goal, actual);
+ * for (int i = 0; i < log.size(); i++) {
+ *     if (log.isTimed(i)) sum += log.actualMillis(i) - log.goalMillis(i);
+ * }
+ * }</pre>
+ */
+public final class PackedRepLog {
+
+    /** Actual-time value for an untimed rep. */
+    public static final long NO_TIME = SwimTimeParser.NO_TIME;
+
+    /** Column bytes per rep (3 longs + 2 bytes). */
+    public static final int BYTES_PER_REP = 3 * Long.BYTES + 2;
+
+    private static final int DEFAULT_CAPACITY = 1_024;
+    private static final StrokeType[] STROKES = StrokeType.values();
+    private static final Effort[] EFFORTS = Effort.values();
+
+    private long[] distance;     // Distance.pack()
+    private long[] goalMs;
+    private long[] actualMs;     // NO_TIME if untimed
+    private byte[] stroke;       // ordinal
+    private byte[] effort;       // ordinal
+    private int size;
+
+    public PackedRepLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PackedRepLog(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0");
+        distance = new long[initialCapacity];
+        goalMs   = new long[initialCapacity];
+        actualMs = new long[initialCapacity];
+        stroke   = new byte[initialCapacity];
+        effort   = new byte[initialCapacity];
+    }
+
+    // ----------------------------------------------------------
+    // Append
+    // ----------------------------------------------------------
+
+    /**
+     * Appends one rep.
+     *
+     * @param actual actual time, or null if the rep was not timed
+     * @return the rep's index
+     */
+    public int add(Distance distance, StrokeType stroke, Effort effort, TimeSpan goal, TimeSpan actual) {
+        Objects.requireNonNull(distance, "distance");
+        Objects.requireNonNull(goal, "goal");
+        return addPacked(distance.pack(), stroke, effort, goal.toMillis(),
+                (actual == null) ? NO_TIME : actual.toMillis());
+    }
+
+    /**
+     * Appends one rep from already-packed values (no objects needed).
+     *
+     * @param packedDistance value from {@link Distance#pack()}
+     * @param actualMillis   actual time in ms, or {@link #NO_TIME}
+     * @return the rep's index
+     */
+    public int addPacked(long packedDistance, StrokeType stroke, Effort effort, long goalMillis, long actualMillis) {
+        Objects.requireNonNull(stroke, "stroke");
+        Objects.requireNonNull(effort, "effort");
+        if (goalMillis < 0) throw new IllegalArgumentException("goalMillis must be >= 0");
+        if (actualMillis < 0 && actualMillis != NO_TIME) throw new IllegalArgumentException("actualMillis must be >= 0 or NO_TIME");
+        if (size == distance.length) grow();
+        int i = size++;
+        distance[i] = packedDistance;
+        goalMs[i]   = goalMillis;
+        actualMs[i] = actualMillis;
+        this.stroke[i] = (byte) stroke.ordinal();
+        this.effort[i] = (byte) effort.ordinal();
+        return i;
+    }
+
+    // ----------------------------------------------------------
+    // Primitive access (no allocation)
+    // ----------------------------------------------------------
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public long packedDistance(int i)     { return distance[checkIndex(i)]; }
+    public long distanceMicroUnits(int i) { return Distance.packedMicroUnits(distance[checkIndex(i)]); }
+    public long goalMillis(int i)         { return goalMs[checkIndex(i)]; }
+    public long actualMillis(int i)       { return actualMs[checkIndex(i)]; }
+    public boolean isTimed(int i)         { return actualMs[checkIndex(i)] != NO_TIME; }
+    public StrokeType stroke(int i)       { return STROKES[stroke[checkIndex(i)]]; }
+    public Effort effort(int i)           { return EFFORTS[effort[checkIndex(i)]]; }
+
+    /** Adds every rep's distance to {@code acc}. */
+    public void addDistanceTo(DistanceAccumulator acc) {
+        for (int i = 0; i < size; i++) acc.addMicroUnits(Distance.packedMicroUnits(distance[i]), 1);
+    }
+
+    // ----------------------------------------------------------
+    // Object access (materialized on demand)
+    // ----------------------------------------------------------
+
+    /** Distance of rep {@code i} (a shared instance for standard distances). */
+    public Distance distance(int i) { return Distance.unpack(packedDistance(i)); }
+
+    public TimeSpan goal(int i) { return TimeSpan.ofMillis(goalMillis(i)); }
+
+    /** Actual time of rep {@code i}, or null if it was not timed. */
+    public TimeSpan actual(int i) {
+        long ms = actualMillis(i);
+        return (ms == NO_TIME) ? null : TimeSpan.ofMillis(ms);
+    }
+
+    // ----------------------------------------------------------
+    // Housekeeping
+    // ----------------------------------------------------------
+
+    /** Removes all reps (capacity is kept). */
+    public void clear() { size = 0; }
+
+    /** Shrinks the columns to the current size. */
+    public void trimToSize() {
+        if (size == distance.length) return;
+        resize(size);
+    }
+
+    /** Bytes held by the columns (excluding array headers). */
+    public long columnBytes() { return (long) distance.length * BYTES_PER_REP; }
+
+    private void grow() {
+        int cap = distance.length;
+        int newCap = Math.max(16, cap + (cap >> 1));
+        if (newCap < 0) newCap = Integer.MAX_VALUE - 8;   // overflow guard
+        resize(newCap);
+    }
+
+    private void resize(int cap) {
+        distance = Arrays.copyOf(distance, cap);
+        goalMs   = Arrays.copyOf(goalMs, cap);
+        actualMs = Arrays.copyOf(actualMs, cap);
+        stroke   = Arrays.copyOf(stroke, cap);
+        effort   = Arrays.copyOf(effort, cap);
+    }
+
+    private int checkIndex(int i) {
+        return Objects.checkIndex(i, size);
+    }
+
+    @Override
+    public String toString() {
+        return "PackedRepLog{" +
+                "size=" + size +
+                ", capacity=" + distance.length +
+                '}';
+    }
+}
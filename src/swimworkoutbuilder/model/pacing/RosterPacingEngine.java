@@ -0,0 +1,309 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.Workout;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes pacing for one {@link Workout} across a whole roster in parallel.
+ *
+ * <p>The roster is split into swimmer ranges on a {@link ForkJoinPool}. Every swimmer's
+ * reps are written straight into its own slice of shared flat arrays through
+ * {@link PacePolicy#fillSet}, so there are no per-swimmer plans to allocate or merge.</p>
+ *
+ * <h2>Layout</h2>
+ * <ul>
+ *   <li>Reps are numbered per swimmer in the order they are swum, exactly like
+ *       {@link PacingPlan}: groups → group passes → sets → reps.</li>
+ *   <li>Rep {@code k} of swimmer {@code i} is stored at {@code i × repsPerSwimmer + k}
+ *       in the {@code goal}, {@code rest}, and {@code interval} arrays.</li>
+ * </ul>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Each array element is written by exactly one task, and each swimmer is priced by
+ *       one task from start to finish (including its fatigue tracker), so the result is
+ *       identical for any pool size or split threshold.</li>
+ *   <li>The policy is shared between worker threads and must be thread-safe
+ *       ({@link DefaultPacePolicy} is stateless; {@link CachingPacePolicy} is synchronized).</li>
+ *   <li>Sets a swimmer cannot be timed for (e.g., missing seed) are flagged untimed and
+ *       left at zero, as in {@link PacingPlan}.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * RosterPacingEngine engine = new RosterPacingEngine();
+ * RosterPacingEngine.Result r = engine.compute(workout, roster, new DefaultPacePolicy());
+ * int sendOff = r.intervalSeconds(swimmerIndex, r.repIndex(flatSet, 0, 0));
+ * }</pre>
+ *
+ * @see PacingPlan
+ */
+public final class RosterPacingEngine {
+
+    /** Default number of swimmers below which a task stops splitting. */
+    public static final int DEFAULT_THRESHOLD = 8;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /** Engine on the common pool. */
+    public RosterPacingEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param pool      pool to run on
+     * @param threshold swimmers per leaf task (≥1)
+     */
+    public RosterPacingEngine(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) throw new IllegalArgumentException("threshold must be >= 1");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.threshold = threshold;
+    }
+
+    /**
+     * Prices every rep of {@code workout} for every swimmer in {@code roster}.
+     *
+     * @throws NullPointerException if any argument or roster entry is {@code null}
+     * @throws ArithmeticException if roster × reps (or roster × sets) exceeds an {@code int}
+     */
+    public Result compute(Workout workout, List<Swimmer> roster, PacePolicy policy) {
+        Objects.requireNonNull(workout, "workout");
+        Objects.requireNonNull(roster, "roster");
+        Objects.requireNonNull(policy, "policy");
+        Swimmer[] swimmers = roster.toArray(new Swimmer[0]);
+        for (Swimmer s : swimmers) Objects.requireNonNull(s, "roster entry");
+
+        Result result = new Result(workout, swimmers, policy);
+        if (swimmers.length > 0) {
+            pool.invoke(new Slice(result, 0, swimmers.length, threshold));
+        }
+        return result;
+    }
+
+    /** Splits [from, to) until it is at most {@code threshold} swimmers, then prices them. */
+    @SuppressWarnings("serial") // never serialized; ForkJoinTask is Serializable only by inheritance
+    private static final class Slice extends RecursiveAction {
+        private final Result result;
+        private final int from, to, threshold;
+
+        Slice(Result result, int from, int to, int threshold) {
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) result.fillSwimmer(i);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Slice(result, from, mid, threshold), new Slice(result, mid, to, threshold));
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Result (structure of arrays)
+    // ----------------------------------------------------------
+
+    /**
+     * Roster × rep timing. Read-only once {@link #compute} returns.
+     */
+    public static final class Result {
+        private final Workout workout;
+        private final Swimmer[] swimmers;
+        private final PacePolicy policy;
+
+        // Shared layout (same for every swimmer)
+        private final SwimSet[] sets;
+        private final int[] groupSetStart;      // length = groups + 1
+        private final int[] groupRepStart;      // length = groups + 1
+        private final int[] groupPasses;
+        private final int[] passReps;
+        private final int[] groupRestAfter;     // between-group rest, 0 after the last group
+        private final int[] setGroup;
+        private final int[] setRepOffset;
+        private final int repsPerSwimmer;
+
+        // swimmer × rep
+        private final double[] goal;
+        private final int[] rest;
+        private final int[] interval;
+        // swimmer × set
+        private final boolean[] timed;
+
+        private Result(Workout workout, Swimmer[] swimmers, PacePolicy policy) {
+            this.workout = workout;
+            this.swimmers = swimmers;
+            this.policy = policy;
+
+            List<SetGroup> groups = workout.getGroups();
+            int groupCount = groups.size();
+            int setCount = 0;
+            for (SetGroup g : groups) setCount += g.getSets().size();
+
+            sets = new SwimSet[setCount];
+            groupSetStart = new int[groupCount + 1];
+            groupRepStart = new int[groupCount + 1];
+            groupPasses = new int[groupCount];
+            passReps = new int[groupCount];
+            groupRestAfter = new int[groupCount];
+            setGroup = new int[setCount];
+            setRepOffset = new int[setCount];
+
+            int si = 0, ri = 0;
+            for (int gi = 0; gi < groupCount; gi++) {
+                SetGroup g = groups.get(gi);
+                groupSetStart[gi] = si;
+                groupRepStart[gi] = ri;
+                int perPass = 0;
+                for (SwimSet s : g.getSets()) {
+                    sets[si] = s;
+                    setGroup[si] = gi;
+                    setRepOffset[si] = perPass;
+                    perPass += s.getReps();
+                    si++;
+                }
+                groupPasses[gi] = Math.max(1, g.getReps());
+                passReps[gi] = perPass;
+                ri += perPass * groupPasses[gi];
+
+                int restAfter = (g.getRestAfterGroupSec() > 0)
+                        ? g.getRestAfterGroupSec()
+                        : workout.getDefaultRestBetweenGroupsSeconds();
+                if (gi < groupCount - 1) groupRestAfter[gi] = Math.max(0, restAfter);
+            }
+            groupSetStart[groupCount] = si;
+            groupRepStart[groupCount] = ri;
+            repsPerSwimmer = ri;
+
+            int cells = Math.multiplyExact(swimmers.length, ri);
+            goal = new double[cells];
+            rest = new int[cells];
+            interval = new int[cells];
+            timed = new boolean[Math.multiplyExact(swimmers.length, setCount)];
+        }
+
+        /** Prices one swimmer into its slice; called by exactly one task. */
+        private void fillSwimmer(int i) {
+            Swimmer swimmer = swimmers[i];
+            int base = i * repsPerSwimmer;
+            int setBase = i * sets.length;
+
+            FatigueModel model = policy.fatigueModel();
+            FatigueModel.Tracker fatigue = (model == null || model.isNone()) ? null : model.newTracker();
+
+            for (int gi = 0; gi < groupPasses.length; gi++) {
+                int first = groupSetStart[gi], last = groupSetStart[gi + 1];
+                for (int pass = 0; pass < groupPasses[gi]; pass++) {
+                    int passStart = base + groupRepStart[gi] + pass * passReps[gi];
+                    if (pass > 0 && fatigue == null) {
+                        int src = base + groupRepStart[gi];
+                        System.arraycopy(goal, src, goal, passStart, passReps[gi]);
+                        System.arraycopy(rest, src, rest, passStart, passReps[gi]);
+                        System.arraycopy(interval, src, interval, passStart, passReps[gi]);
+                        continue;
+                    }
+                    for (int k = first; k < last; k++) {
+                        if (pass > 0 && !timed[setBase + k]) continue;
+                        timed[setBase + k] = fillSet(swimmer, sets[k], passStart + setRepOffset[k], fatigue);
+                    }
+                }
+                if (fatigue != null) fatigue.rested(groupRestAfter[gi]);
+            }
+        }
+
+        private boolean fillSet(Swimmer swimmer, SwimSet s, int from, FatigueModel.Tracker fatigue) {
+            if (s.getStroke() == null || swimmer.getSeedTime(s.getStroke()) == null) return false;
+            try {
+                policy.fillSet(workout, s, swimmer, goal, rest, interval, from, fatigue);
+                return true;
+            } catch (RuntimeException ex) {
+                // missing/invalid data for this swimmer and set — leave it untimed
+                Arrays.fill(goal, from, from + s.getReps(), 0.0);
+                Arrays.fill(rest, from, from + s.getReps(), 0);
+                Arrays.fill(interval, from, from + s.getReps(), 0);
+                return false;
+            }
+        }
+
+        // ------------------------------------------------------
+        // Structure
+        // ------------------------------------------------------
+
+        public Workout getWorkout() { return workout; }
+        public PacePolicy getPolicy() { return policy; }
+
+        public int swimmerCount() { return swimmers.length; }
+        public Swimmer swimmer(int i) { return swimmers[i]; }
+
+        /** Reps swum by each swimmer (all sets, all group passes). */
+        public int repsPerSwimmer() { return repsPerSwimmer; }
+
+        public int groupCount() { return groupPasses.length; }
+        public int setCount() { return sets.length; }
+        public int passCount(int group) { return groupPasses[group]; }
+        public int groupOf(int flatSet) { return setGroup[flatSet]; }
+
+        /** Rep index (within a swimmer) of rep {@code rep} of a flat set during group pass {@code pass}. */
+        public int repIndex(int flatSet, int pass, int rep) {
+            int g = setGroup[flatSet];
+            if (pass < 0 || pass >= groupPasses[g]) throw new IndexOutOfBoundsException("pass " + pass);
+            if (rep < 0 || rep >= sets[flatSet].getReps()) throw new IndexOutOfBoundsException("rep " + rep);
+            return groupRepStart[g] + pass * passReps[g] + setRepOffset[flatSet] + rep;
+        }
+
+        /** True if the policy could time {@code flatSet} for swimmer {@code swimmer}. */
+        public boolean isTimed(int swimmer, int flatSet) {
+            Objects.checkIndex(flatSet, sets.length);
+            return timed[swimmer * sets.length + flatSet];
+        }
+
+        // ------------------------------------------------------
+        // swimmer × rep timing
+        // ------------------------------------------------------
+
+        public double goalSeconds(int swimmer, int rep) { return goal[cell(swimmer, rep)]; }
+        public int restSeconds(int swimmer, int rep) { return rest[cell(swimmer, rep)]; }
+        public int intervalSeconds(int swimmer, int rep) { return interval[cell(swimmer, rep)]; }
+
+        /** Σ round(goal) + Σ rest + between-group rest for one swimmer. */
+        public long totalSeconds(int swimmer) {
+            int from = cell(swimmer, 0);
+            long total = 0;
+            for (int k = from; k < from + repsPerSwimmer; k++) total += Math.round(goal[k]) + rest[k];
+            for (int r : groupRestAfter) total += r;
+            return total;
+        }
+
+        /** Copies of the flat arrays (swimmer-major: {@code swimmer × repsPerSwimmer + rep}). */
+        public double[] goals() { return goal.clone(); }
+        public int[] rests() { return rest.clone(); }
+        public int[] intervals() { return interval.clone(); }
+
+        private int cell(int swimmer, int rep) {
+            Objects.checkIndex(swimmer, swimmers.length);
+            Objects.checkIndex(rep, repsPerSwimmer);
+            return swimmer * repsPerSwimmer + rep;
+        }
+
+        @Override
+        public String toString() {
+            return "RosterPacingEngine.Result{" +
+                    "swimmers=" + swimmers.length +
+                    ", repsPerSwimmer=" + repsPerSwimmer +
+                    '}';
+        }
+    }
+}
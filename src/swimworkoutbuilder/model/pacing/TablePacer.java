@@ -0,0 +1,210 @@
+package swimworkoutbuilder.model.pacing;
+
+import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.WorkoutTable;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.RepPattern;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.units.Distance;
+
+import java.util.Objects;
+
+/**
+ * Batch pacing over a {@link WorkoutTable}: {@link DefaultPacePolicy}'s rules evaluated as
+ * indexed loops over the table's columns, producing the same per-set, per-group, and
+ * workout totals as {@link PacingPlan#compile} on the equivalent {@code Workout}.
+ *
+ * <p>Only {@link DefaultPacePolicy} itself is supported. Other policies (calibrated, CSS,
+ * coefficient, or a subclass overriding {@code fillSet}) price sets from state a table
+ * does not carry, so they go through {@link PacingPlan}.</p>
+ *
+ * <p>Seeds are resolved once per stroke, and the effort/distance/course/equipment
+ * multiplier and rest percentage once per set; the rep loop then touches only primitives.
+ * With no fatigue and no rep pattern a set's reps are identical, and without fatigue every
+ * group pass is identical, so those cases are multiplied out instead of looped.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Only totals are kept (per set, per group, per effort, workout), so pricing a season
+ *       keeps a few numbers per set rather than per rep. For per-rep goals and send-offs
+ *       use {@link PacingPlan}.</li>
+ *   <li>Fatigue follows the policy's {@link FatigueModel} and carries across sets, passes,
+ *       and between-group rest exactly as in {@link PacingPlan}.</li>
+ *   <li>The arithmetic is not restated here: the fresh goal, rest percentage, rep goal,
+ *       and rest rule are {@link DefaultPacePolicy}'s own package-private helpers, so a
+ *       change to the default rules reaches both paths.</li>
+ *   <li>Sets without a stroke or a usable seed are untimed and count as zero.</li>
+ *   <li>{@link PacingTrace} is not consulted; trace through {@link PacingPlan} instead.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * TablePacer.Result r = TablePacer.compute(WorkoutTable.of(plan), swimmer, new DefaultPacePolicy());
+ * long thresholdSeconds = r.secondsByEffort()[Effort.THRESHOLD.ordinal()];
+ * }</pre>
+ *
+ * @see WorkoutTable
+ */
+public final class TablePacer {
+
+    private static final StrokeType[] STROKES = StrokeType.values();
+    private static final Effort[] EFFORTS = Effort.values();
+
+    private TablePacer() {}
+
+    /**
+     * Prices every set of {@code table} for {@code swimmer}.
+     *
+     * @throws NullPointerException if any argument is {@code null}
+     * @throws IllegalArgumentException if {@code policy} is a subclass of {@link DefaultPacePolicy}
+     */
+    public static Result compute(WorkoutTable table, Swimmer swimmer, DefaultPacePolicy policy) {
+        Objects.requireNonNull(table, "table");
+        Objects.requireNonNull(swimmer, "swimmer");
+        Objects.requireNonNull(policy, "policy");
+        if (policy.getClass() != DefaultPacePolicy.class) {
+            throw new IllegalArgumentException("TablePacer supports DefaultPacePolicy only, not " + policy.getClass().getName());
+        }
+
+        // 1) Seeds per stroke (speed ≤ 0 marks "cannot time")
+        double[] speedMps = new double[STROKES.length];
+        double[] seedMeters = new double[STROKES.length];
+        for (StrokeType st : STROKES) {
+            SeedPace seed = swimmer.getSeedTime(st);
+            if (seed == null) continue;
+            speedMps[st.ordinal()] = seed.speedMps();
+            seedMeters[st.ordinal()] = seed.getOriginalDistance().toMeters();
+        }
+
+        // 2) Per-set constants: fresh goal and rest percentage
+        int sets = table.setCount();
+        Course course = table.getCourse();
+        Result res = new Result(table.groupCount(), sets);
+        double[] fresh = new double[sets];
+        double[] restPct = new double[sets];
+        for (int s = 0; s < sets; s++) {
+            int st = table.strokeOrdinal(s);
+            if (st == WorkoutTable.NO_ORDINAL || !(speedMps[st] > 0.0)) continue;
+            Effort effort = table.effort(s);
+            double repMeters = Distance.packedMeters(table.packedDistance(s));
+            double mTable = DefaultPacePolicy.tableMultiplier(effort, repMeters, course, table.equipmentMask(s));
+            fresh[s] = DefaultPacePolicy.freshGoal(repMeters, speedMps[st], mTable);
+            restPct[s] = DefaultPacePolicy.restPercent(effort, repMeters, seedMeters[st]);
+            res.setTimed[s] = true;
+        }
+
+        // 3) Forward pass over groups → passes → sets → reps
+        FatigueModel model = policy.fatigueModel();
+        FatigueModel.Tracker fatigue = (model == null || model.isNone()) ? null : model.newTracker();
+        int groups = table.groupCount();
+        for (int g = 0; g < groups; g++) {
+            int first = table.groupStart(g), last = table.groupEnd(g);
+            int passes = Math.max(1, table.groupReps(g));
+            int repeat = (fatigue == null) ? passes : 1;          // identical passes are multiplied out
+            for (int pass = 0; pass < passes; pass += repeat) {
+                for (int s = first; s < last; s++) {
+                    if (res.setTimed[s]) priceSet(table, s, fresh[s], restPct[s], fatigue, repeat, res);
+                }
+            }
+
+            for (int s = first; s < last; s++) {
+                res.groupSwimSeconds[g] += res.setSwimSeconds[s];
+                res.groupRestSeconds[g] += res.setRestSeconds[s];
+                int e = table.effortOrdinal(s);
+                if (e != WorkoutTable.NO_ORDINAL) res.secondsByEffort[e] += res.setSwimSeconds[s] + res.setRestSeconds[s];
+            }
+            res.totalSwimSeconds += res.groupSwimSeconds[g];
+            res.totalIntraRestSeconds += res.groupRestSeconds[g];
+
+            int restAfter = (table.groupRestAfterSeconds(g) > 0)
+                    ? table.groupRestAfterSeconds(g)
+                    : table.getDefaultRestBetweenGroupsSeconds();
+            if (g < groups - 1 && restAfter > 0) {
+                res.totalBetweenGroupRestSeconds += restAfter;
+                if (fatigue != null) fatigue.rested(restAfter);
+            }
+        }
+        return res;
+    }
+
+    // One pass through set s (counted `times` times), with DefaultPacePolicy's per-rep rules
+    private static void priceSet(WorkoutTable t, int s, double fresh, double pct,
+                                 FatigueModel.Tracker fatigue, int times, Result res) {
+        int reps = t.reps(s);
+        RepPattern pattern = t.repPattern(s);
+        long swim = 0, rest = 0;
+        if (fatigue == null && pattern == RepPattern.NONE) {
+            swim = Math.round(fresh) * reps;
+            rest = (long) DefaultPacePolicy.restFromGoal(fresh, pct) * reps;
+        } else {
+            int roundSize = t.patternRoundSize(s);
+            double repMeters = (fatigue == null) ? 0.0 : Distance.packedMeters(t.packedDistance(s));
+            Effort effort = (fatigue == null) ? null : t.effort(s);
+            for (int r = 0; r < reps; r++) {
+                double mPattern = pattern.multiplier(r, reps, roundSize);
+                double mFatigue = (fatigue == null) ? 1.0 : fatigue.multiplier();
+                double goal = DefaultPacePolicy.repGoal(fresh, mPattern, mFatigue);
+                int repRest = DefaultPacePolicy.restFromGoal(goal, pct);
+                swim += Math.round(goal);
+                rest += repRest;
+                if (fatigue == null) continue;
+                fatigue.swam(repMeters, effort);
+                fatigue.rested(repRest);
+            }
+        }
+        res.setSwimSeconds[s] += swim * times;
+        res.setRestSeconds[s] += rest * times;
+    }
+
+    // ----------------------------------------------------------
+    // Result
+    // ----------------------------------------------------------
+
+    /** Totals in seconds; set and group indices are those of the {@link WorkoutTable}. */
+    public static final class Result {
+        private final boolean[] setTimed;
+        private final long[] setSwimSeconds;      // Σ round(goal) over all passes
+        private final long[] setRestSeconds;      // Σ rest over all passes
+        private final long[] groupSwimSeconds;
+        private final long[] groupRestSeconds;
+        private final long[] secondsByEffort = new long[EFFORTS.length];
+        private long totalSwimSeconds;
+        private long totalIntraRestSeconds;
+        private long totalBetweenGroupRestSeconds;
+
+        private Result(int groups, int sets) {
+            setTimed = new boolean[sets];
+            setSwimSeconds = new long[sets];
+            setRestSeconds = new long[sets];
+            groupSwimSeconds = new long[groups];
+            groupRestSeconds = new long[groups];
+        }
+
+        public boolean isTimed(int set) { return setTimed[set]; }
+        public long setSwimSeconds(int set) { return setSwimSeconds[set]; }
+        public long setRestSeconds(int set) { return setRestSeconds[set]; }
+        public long groupSwimSeconds(int group) { return groupSwimSeconds[group]; }
+        public long groupRestSeconds(int group) { return groupRestSeconds[group]; }
+
+        /** Swim plus intra-set rest per {@link Effort#ordinal()} (a copy). */
+        public long[] secondsByEffort() { return secondsByEffort.clone(); }
+
+        public long totalSwimSeconds() { return totalSwimSeconds; }
+        public long totalIntraRestSeconds() { return totalIntraRestSeconds; }
+        public long totalBetweenGroupRestSeconds() { return totalBetweenGroupRestSeconds; }
+
+        /** Swim + intra-set rest + between-group rest, as {@link PacingPlan#totalSeconds()}. */
+        public long totalSeconds() {
+            return totalSwimSeconds + totalIntraRestSeconds + totalBetweenGroupRestSeconds;
+        }
+
+        @Override
+        public String toString() {
+            return "TablePacer.Result{" +
+                    "sets=" + setTimed.length +
+                    ", totalSeconds=" + totalSeconds() +
+                    '}';
+        }
+    }
+}
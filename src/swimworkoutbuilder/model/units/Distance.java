@@ -42,6 +42,11 @@ import java.util.Objects;
  *   <li>The conversion ratio is based on 1 yard = 0.9144 meters, consistent with
  *       official FINA and USA Swimming standards.</li>
  *   <li>Instances are immutable and thread-safe.</li>
+ *   <li>Every pool multiple from {@value #STANDARD_STEP} to {@value #STANDARD_MAX} in each
+ *       display unit is a shared flyweight: the factories and arithmetic return the cached
+ *       instance instead of allocating, and {@link #canonical(Distance)} swaps a loaded
+ *       value for it. Equality stays value-based; the shared instances just make the
+ *       {@code this == o} fast path in {@link #equals} hit.</li>
  * </ul>
  *
  * <h2>Example Usage</h2>
@@ -71,8 +76,30 @@ public final class Distance implements Comparable<Distance> {
     // Defines how the distance is expressed (YARDS or METERS). Independent of pool/course.
     public enum Unit { METERS, YARDS }
 
-    private static final long MICROUNITS_PER_METER = 10_000L;
-    private static final long MICROUNITS_PER_YARD = 9_144L; // exact: 0.9144 m * 10_000
+    static final long MICROUNITS_PER_METER = 10_000L;   // package-private: shared with DistanceAccumulator
+    static final long MICROUNITS_PER_YARD = 9_144L; // exact: 0.9144 m * 10_000
+
+    // --------- Flyweights for standard pool distances ---------
+
+    /** Smallest standard distance and spacing of the flyweight cache (one short-course length). */
+    public static final int STANDARD_STEP = 25;
+    /** Largest standard distance in the flyweight cache (the mile). */
+    public static final int STANDARD_MAX = 1650;
+
+    private static final int STANDARD_COUNT = STANDARD_MAX / STANDARD_STEP;   // 66 per unit
+    private static final long METERS_STEP_MICRO = STANDARD_STEP * MICROUNITS_PER_METER;
+    private static final long YARDS_STEP_MICRO  = STANDARD_STEP * MICROUNITS_PER_YARD;
+
+    // index k holds (k × 25) in the unit; index 0 is unused
+    private static final Distance[] STANDARD_METERS = new Distance[STANDARD_COUNT + 1];
+    private static final Distance[] STANDARD_YARDS  = new Distance[STANDARD_COUNT + 1];
+
+    static {
+        for (int k = 1; k <= STANDARD_COUNT; k++) {
+            STANDARD_METERS[k] = new Distance(k * METERS_STEP_MICRO, Unit.METERS);
+            STANDARD_YARDS[k]  = new Distance(k * YARDS_STEP_MICRO, Unit.YARDS);
+        }
+    }
 
     // canonical integer representation = mmeters x 10,0000 (prevent rounding errors)
     private final long microUnits;
@@ -87,27 +114,99 @@ public final class Distance implements Comparable<Distance> {
         this.display = Objects.requireNonNull(display, "display");
     }
 
-    /** Factory: exact when meters has ≤4 decimals; otherwise rounds to nearest 0.1 mm. */
+    /**
+     * Factory: exact when meters has ≤4 decimals; otherwise rounds to nearest 0.1 mm.
+     * Standard pool multiples (25–1650) return the shared instance.
+     */
     public static Distance ofMeters(double meters) {
+        int k = standardIndex(meters);
+        if (k > 0) return STANDARD_METERS[k];
         long v = Math.round(meters * MICROUNITS_PER_METER);
         return new Distance(v, Unit.METERS);
         // If you need guaranteed no-double path, add a BigDecimal overload.
     }
 
-    /** Factory: exact for any fractional/whole yards (because 1 yd = 9144 um4 exactly). */
+    /**
+     * Factory: exact for any fractional/whole yards (because 1 yd = 9144 um4 exactly).
+     * Standard pool multiples (25–1650) return the shared instance.
+     */
     public static Distance ofYards(double yards) {
+        int k = standardIndex(yards);
+        if (k > 0) return STANDARD_YARDS[k];
         long v = Math.round(yards * MICROUNITS_PER_YARD);
         return new Distance(v, Unit.YARDS);
     }
 
-    /** Exact factory (canonical). */
+    /** Exact factory (canonical); standard pool multiples return the shared instance. */
     public static Distance ofCanonicalMicroUnits(long microUnits, Unit display) {
-        return new Distance(microUnits, display);
+        Distance cached = lookupStandard(microUnits, Objects.requireNonNull(display, "display"));
+        return (cached != null) ? cached : new Distance(microUnits, display);
+    }
+
+    /**
+     * Returns the shared instance equal to {@code d} (same value and display unit) if it
+     * is a standard pool multiple, otherwise {@code d} itself. Use when loading large
+     * workout libraries so repeated distances share one object.
+     */
+    public static Distance canonical(Distance d) {
+        Objects.requireNonNull(d, "d");
+        Distance cached = lookupStandard(d.microUnits, d.display);
+        return (cached != null) ? cached : d;
+    }
+
+    /** Cache index for a whole multiple of 25 in [25, 1650], or 0 if {@code amount} is not one. */
+    private static int standardIndex(double amount) {
+        if (!(amount >= STANDARD_STEP && amount <= STANDARD_MAX)) return 0;
+        int whole = (int) amount;
+        if (whole != amount || whole % STANDARD_STEP != 0) return 0;
+        return whole / STANDARD_STEP;
+    }
+
+    private static Distance lookupStandard(long microUnits, Unit display) {
+        long step = (display == Unit.METERS) ? METERS_STEP_MICRO : YARDS_STEP_MICRO;
+        if (microUnits <= 0 || microUnits % step != 0) return null;
+        long k = microUnits / step;
+        if (k > STANDARD_COUNT) return null;
+        return (display == Unit.METERS) ? STANDARD_METERS[(int) k] : STANDARD_YARDS[(int) k];
+    }
+
+    /** Internal factory for arithmetic and unit changes; returns shared instances when possible. */
+    private static Distance of(long microUnits, Unit display) {
+        Distance cached = lookupStandard(microUnits, display);
+        return (cached != null) ? cached : new Distance(microUnits, display);
     }
 
     /** Canonical raw value (0.0001 m units). */
     public long rawMicroUnits() { return microUnits; }
 
+    // --------- Packed codec (bulk storage in long[] columns) ---------
+
+    /**
+     * Packs value and display unit into one {@code long}: {@code microUnits << 1 | unitBit}
+     * (0 = meters, 1 = yards). Lossless for |microUnits| &lt; 2^62 (about 4.6 × 10^14 m).
+     *
+     * @throws ArithmeticException if the value does not fit
+     */
+    public long pack() {
+        long shifted = microUnits << 1;
+        if ((shifted >> 1) != microUnits) throw new ArithmeticException("Distance too large to pack: " + this);
+        return shifted | (display == Unit.YARDS ? 1L : 0L);
+    }
+
+    /** Inverse of {@link #pack()}; standard distances come back as the shared instances. */
+    public static Distance unpack(long packed) {
+        return ofCanonicalMicroUnits(packedMicroUnits(packed), packedUnit(packed));
+    }
+
+    /** Canonical microUnits of a packed value, without creating a {@code Distance}. */
+    public static long packedMicroUnits(long packed) { return packed >> 1; }
+
+    /** Canonical meters of a packed value (same as {@link #toMeters()}), without creating a {@code Distance}. */
+    public static double packedMeters(long packed) { return (double) packedMicroUnits(packed) / MICROUNITS_PER_METER; }
+
+    /** Display unit of a packed value. */
+    public static Unit packedUnit(long packed) { return ((packed & 1L) != 0) ? Unit.YARDS : Unit.METERS; }
+
     /** Preferred display unit. */
     public Unit displayUnit() { return display; }
 
@@ -120,27 +219,27 @@ public final class Distance implements Comparable<Distance> {
     /** Convert to a new Distance with the requested display unit (value unchanged). */
     public Distance withDisplay(Unit unit) {
         if (unit == this.display) return this;
-        return new Distance(this.microUnits, unit);
+        return of(this.microUnits, Objects.requireNonNull(unit, "unit"));
     }
 
     // --------- Arithmetic (exact in canonical space) ---------
 
     public Distance plus(Distance other) {
-        return new Distance(Math.addExact(this.microUnits, other.microUnits), this.display);
+        return of(Math.addExact(this.microUnits, other.microUnits), this.display);
     }
 
     public Distance minus(Distance other) {
-        return new Distance(Math.subtractExact(this.microUnits, other.microUnits), this.display);
+        return of(Math.subtractExact(this.microUnits, other.microUnits), this.display);
     }
 
     public Distance times(int k) {
-        return new Distance(Math.multiplyExact(this.microUnits, k), this.display);
+        return of(Math.multiplyExact(this.microUnits, k), this.display);
     }
 
     public Distance times(double factor) {
         // Only use for policy multipliers; rounds to nearest 0.1 mm at the edge.
         long v = Math.round(this.microUnits * factor);
-        return new Distance(v, this.display);
+        return of(v, this.display);
     }
 
     // --------- Comparisons / Equality ---------
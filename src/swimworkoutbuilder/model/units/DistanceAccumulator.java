@@ -0,0 +1,85 @@
+package swimworkoutbuilder.model.units;
+
+import java.util.Objects;
+
+/**
+ * Mutable running total of distances in canonical 0.0001 m units.
+ *
+ * <p>Every distance aggregation in the model (set, group, workout) sums into one of
+ * these, so totals are computed one way everywhere: exactly, in {@code long}
+ * microUnits, with a {@link Distance} created only when the caller asks for one.
+ * Because 1 yd is exactly 9,144 microUnits, yard totals of SCY workouts are exact.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>All additions are overflow-checked ({@link Math#addExact},
+ *       {@link Math#multiplyExact}) and throw {@link ArithmeticException} instead of
+ *       wrapping.</li>
+ *   <li>Adding never allocates; {@link #toDistance} is the only boundary that creates an
+ *       object (and returns a shared instance for standard distances).</li>
+ *   <li>Not thread-safe: use one accumulator per aggregation.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * DistanceAccumulator acc = new DistanceAccumulator();
+ * for (SetGroup g : workout.getGroups()) g.addTotalTo(acc);
+ * long yards = Math.round(acc.toYards());
+ * }</pre>
+ *
+ * @see Distance
+ */
+public final class DistanceAccumulator {
+
+    private long microUnits;
+
+    public DistanceAccumulator() { }
+
+    /** Adds one distance. */
+    public DistanceAccumulator add(Distance d) {
+        Objects.requireNonNull(d, "d");
+        microUnits = Math.addExact(microUnits, d.rawMicroUnits());
+        return this;
+    }
+
+    /** Adds {@code perRep × times} (e.g., 8 × 25 for a set of eight 25s). */
+    public DistanceAccumulator add(Distance perRep, long times) {
+        Objects.requireNonNull(perRep, "perRep");
+        return addMicroUnits(perRep.rawMicroUnits(), times);
+    }
+
+    /** Adds {@code microUnits × times} in canonical 0.0001 m units. */
+    public DistanceAccumulator addMicroUnits(long microUnits, long times) {
+        this.microUnits = Math.addExact(this.microUnits, Math.multiplyExact(microUnits, times));
+        return this;
+    }
+
+    /** Adds another accumulator's total. */
+    public DistanceAccumulator add(DistanceAccumulator other) {
+        microUnits = Math.addExact(microUnits, other.microUnits);
+        return this;
+    }
+
+    /** Resets the total to zero for reuse. */
+    public DistanceAccumulator reset() {
+        microUnits = 0L;
+        return this;
+    }
+
+    /** Current total in canonical 0.0001 m units. */
+    public long microUnits() { return microUnits; }
+
+    public double toMeters() { return (double) microUnits / Distance.MICROUNITS_PER_METER; }
+
+    public double toYards()  { return (double) microUnits / Distance.MICROUNITS_PER_YARD; }
+
+    /** The total as a {@link Distance} shown in {@code display} units. */
+    public Distance toDistance(Distance.Unit display) {
+        return Distance.ofCanonicalMicroUnits(microUnits, display);
+    }
+
+    @Override
+    public String toString() {
+        return "DistanceAccumulator{" + toDistance(Distance.Unit.METERS) + '}';
+    }
+}
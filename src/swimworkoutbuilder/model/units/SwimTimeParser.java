@@ -0,0 +1,224 @@
+package swimworkoutbuilder.model.units;
+
+import java.util.Objects;
+
+/**
+ * Char-level parser for swim times in bulk imports (meet-result exports, roster files).
+ *
+ * <p>Accepts {@code "65.32"}, {@code "1:05.32"}, {@code "1:05"}, {@code "1:02:03.4"},
+ * and the no-time marks {@code NT}, {@code NS}, {@code DQ}, {@code SCR}, {@code DNF}
+ * (any case), with optional spaces or tabs around the value. Times parse straight from a
+ * {@link CharSequence} or an ASCII {@code byte[]} range into whole milliseconds.</p>
+ *
+ * <h2>Result encoding</h2>
+ * <p>Each call returns one {@code long}, so nothing is allocated and nothing is thrown:</p>
+ * <ul>
+ *   <li>{@code >= 0}: the time in milliseconds ({@link #isTime});</li>
+ *   <li>{@link #NO_TIME}: a no-time mark ({@link #isNoTime});</li>
+ *   <li>{@code < NO_TIME}: a syntax error; {@link #errorIndex} gives the absolute index of
+ *       the offending character (or {@code to} if the input ended early).</li>
+ * </ul>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Digits are accumulated as integers; fractions beyond milliseconds are rounded
+ *       half-up on the next digit, so {@code "59.9996"} is {@code 1:00.000}.</li>
+ *   <li>Seconds after a colon (and minutes after an hour colon) must be two digits or
+ *       fewer and below 60; a leading field has no upper bound ({@code "65.32"}).</li>
+ *   <li>Values above {@link #MAX_MILLIS} (~11.5 days) are reported as errors rather than
+ *       overflowing.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * long r = SwimTimeParser.parseMillis(line, start, end);
+ * if (SwimTimeParser.isTime(r)) swimmer.updateSeedTime(stroke, dist, TimeSpan.ofMillis(r));
+ * else if (SwimTimeParser.isError(r)) report(row, SwimTimeParser.errorIndex(r));
+ * }</pre>
+ */
+public final class SwimTimeParser {
+
+    /** Result for a no-time mark (NT, NS, DQ, SCR, DNF). */
+    public static final long NO_TIME = -1L;
+
+    /** Largest accepted time. */
+    public static final long MAX_MILLIS = 999_999_999L;
+
+    private static final int MAX_FIELDS = 3;   // h:mm:ss
+
+    private SwimTimeParser() { }
+
+    // ----------------------------------------------------------
+    // Entry points
+    // ----------------------------------------------------------
+
+    /** Parses the whole sequence. */
+    public static long parseMillis(CharSequence s) {
+        Objects.requireNonNull(s, "s");
+        return parse(s, 0, s.length());
+    }
+
+    /** Parses {@code s[from, to)}. */
+    public static long parseMillis(CharSequence s, int from, int to) {
+        Objects.requireNonNull(s, "s");
+        Objects.checkFromToIndex(from, to, s.length());
+        return parse(s, from, to);
+    }
+
+    /** Parses ASCII bytes {@code b[from, to)} (e.g., a field of a memory-mapped CSV). */
+    public static long parseMillis(byte[] b, int from, int to) {
+        Objects.requireNonNull(b, "b");
+        Objects.checkFromToIndex(from, to, b.length);
+        return parse(b, from, to);
+    }
+
+    // ----------------------------------------------------------
+    // Result helpers
+    // ----------------------------------------------------------
+
+    public static boolean isTime(long result)   { return result >= 0; }
+    public static boolean isNoTime(long result) { return result == NO_TIME; }
+    public static boolean isError(long result)  { return result < NO_TIME; }
+
+    /** Absolute index of the offending character for an error result. */
+    public static int errorIndex(long result) {
+        if (!isError(result)) throw new IllegalArgumentException("not an error result: " + result);
+        return (int) (-result - 2);
+    }
+
+    private static long error(int index) { return -2L - index; }
+
+    // ----------------------------------------------------------
+    // Core (one loop per source type, so the source is checked once per call)
+    // ----------------------------------------------------------
+
+    private static boolean isBlank(int c) { return c == ' ' || c == '\t'; }
+
+    private static long parse(CharSequence s, int from, int to) {
+        while (from < to && isBlank(s.charAt(from))) from++;
+        while (to > from && isBlank(s.charAt(to - 1))) to--;
+        if (from == to) return error(from);
+
+        int c0 = s.charAt(from);
+        if (c0 < '0' || c0 > '9') {
+            int len = to - from;
+            return parseMark(from, len, c0,
+                    (len > 1) ? s.charAt(from + 1) : 0,
+                    (len > 2) ? s.charAt(from + 2) : 0);
+        }
+
+        long total = 0;          // whole seconds so far (h → m → s)
+        long field = 0;          // current field value
+        int fieldDigits = 0;
+        int fields = 1;
+        int i = from;
+        for (; i < to; i++) {
+            int c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                field = field * 10 + (c - '0');
+                if (++fieldDigits > 9) return error(i);
+            } else if (c == ':') {
+                if (fieldDigits == 0 || fields == MAX_FIELDS) return error(i);
+                if (fields > 1 && (fieldDigits > 2 || field >= 60)) return error(i - 1);
+                total = total * 60 + field;
+                field = 0;
+                fieldDigits = 0;
+                fields++;
+            } else if (c == '.') {
+                break;
+            } else {
+                return error(i);
+            }
+        }
+        long whole = wholeMillis(total, field, fieldDigits, fields, i);
+        if (whole < 0 || i == to) return whole;
+
+        int frac = 0, fracDigits = 0;             // at '.'
+        for (i++; i < to; i++) {
+            int c = s.charAt(i);
+            if (c < '0' || c > '9') return error(i);
+            if (fracDigits < 3) frac = frac * 10 + (c - '0');
+            else if (fracDigits == 3 && c >= '5') frac++;   // round half-up on the 4th digit
+            fracDigits++;
+        }
+        return withFraction(whole, frac, fracDigits, to);
+    }
+
+    private static long parse(byte[] b, int from, int to) {
+        while (from < to && isBlank(b[from])) from++;
+        while (to > from && isBlank(b[to - 1])) to--;
+        if (from == to) return error(from);
+
+        int c0 = b[from] & 0xFF;
+        if (c0 < '0' || c0 > '9') {
+            int len = to - from;
+            return parseMark(from, len, c0,
+                    (len > 1) ? b[from + 1] & 0xFF : 0,
+                    (len > 2) ? b[from + 2] & 0xFF : 0);
+        }
+
+        long total = 0;
+        long field = 0;
+        int fieldDigits = 0;
+        int fields = 1;
+        int i = from;
+        for (; i < to; i++) {
+            int c = b[i] & 0xFF;
+            if (c >= '0' && c <= '9') {
+                field = field * 10 + (c - '0');
+                if (++fieldDigits > 9) return error(i);
+            } else if (c == ':') {
+                if (fieldDigits == 0 || fields == MAX_FIELDS) return error(i);
+                if (fields > 1 && (fieldDigits > 2 || field >= 60)) return error(i - 1);
+                total = total * 60 + field;
+                field = 0;
+                fieldDigits = 0;
+                fields++;
+            } else if (c == '.') {
+                break;
+            } else {
+                return error(i);
+            }
+        }
+        long whole = wholeMillis(total, field, fieldDigits, fields, i);
+        if (whole < 0 || i == to) return whole;
+
+        int frac = 0, fracDigits = 0;
+        for (i++; i < to; i++) {
+            int c = b[i] & 0xFF;
+            if (c < '0' || c > '9') return error(i);
+            if (fracDigits < 3) frac = frac * 10 + (c - '0');
+            else if (fracDigits == 3 && c >= '5') frac++;
+            fracDigits++;
+        }
+        return withFraction(whole, frac, fracDigits, to);
+    }
+
+    /** Closes the last whole-second field ending at {@code i}; an error result if it is invalid. */
+    private static long wholeMillis(long total, long field, int fieldDigits, int fields, int i) {
+        if (fieldDigits == 0) return error(i);
+        if (fields > 1 && (fieldDigits > 2 || field >= 60)) return error(i - 1);
+        total = total * 60 + field;
+        if (total > MAX_MILLIS / 1000) return error(i - 1);
+        return total * 1000;
+    }
+
+    private static long withFraction(long millis, int frac, int fracDigits, int to) {
+        if (fracDigits == 0) return error(to);
+        for (int k = fracDigits; k < 3; k++) frac *= 10;
+        millis += frac;
+        return (millis > MAX_MILLIS) ? error(to - 1) : millis;
+    }
+
+    /** NT, NS, DQ, SCR, DNF (case-insensitive), given the first three characters. */
+    private static long parseMark(int from, int len, int c0, int c1, int c2) {
+        int a = upper(c0), b = upper(c1), c = upper(c2);
+        if (len == 2 && ((a == 'N' && (b == 'T' || b == 'S')) || (a == 'D' && b == 'Q'))) return NO_TIME;
+        if (len == 3 && ((a == 'S' && b == 'C' && c == 'R') || (a == 'D' && b == 'N' && c == 'F'))) return NO_TIME;
+        return error(from);
+    }
+
+    private static int upper(int c) {
+        return (c >= 'a' && c <= 'z') ? c - ('a' - 'A') : c;
+    }
+}
@@ -0,0 +1,138 @@
+package swimworkoutbuilder.model.units;
+
+import java.io.IOException;
+
+/**
+ * Allocation-free formatting of swim times into a {@link StringBuilder} or any
+ * {@link Appendable}.
+ *
+ * <p>One place for every time shape the app prints:</p>
+ * <ul>
+ *   <li>{@link #appendMinSec} — {@code m:ss} (send-offs, totals in printouts);</li>
+ *   <li>{@link #appendCompact} — {@code m:ss}, or {@code Ns} under a minute (tree rows,
+ *       header, seed summary);</li>
+ *   <li>{@link #appendTenths} — {@code m:ss.d}, {@code m:ss}, {@code s.d}, or {@code s}
+ *       (seed entry form);</li>
+ *   <li>{@link #appendHundredths} — {@code m:ss.hh} ({@link TimeSpan#toString()}).</li>
+ * </ul>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Digits are appended straight from {@code long}s; no {@code String.format},
+ *       {@code Formatter}, or intermediate {@code String} is created. Callers that print
+ *       many lines should reuse one {@code StringBuilder}.</li>
+ *   <li>Inputs are whole units (seconds, tenths, or milliseconds); callers round
+ *       fractional seconds once, so carries (59.96 → 1:00.0) are handled here.</li>
+ *   <li>Negative whole-second values are clamped to 0 (a send-off is never negative);
+ *       negative hundredths keep their sign.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * StringBuilder line = new StringBuilder(64);
+ * TimeFormat.appendMinSec(line.append("on "), plan.intervalSeconds(set, rep));
+ * }</pre>
+ */
+public final class TimeFormat {
+
+    private TimeFormat() { }
+
+    // ----------------------------------------------------------
+    // StringBuilder forms
+    // ----------------------------------------------------------
+
+    /** Appends {@code m:ss} (e.g., {@code 1:05}); negative input prints {@code 0:00}. */
+    public static StringBuilder appendMinSec(StringBuilder sb, long seconds) {
+        if (seconds < 0) seconds = 0;
+        sb.append(seconds / 60).append(':');
+        return append2(sb, seconds % 60);
+    }
+
+    /** Appends {@code m:ss}, or {@code Ns} under one minute (e.g., {@code 45s}). */
+    public static StringBuilder appendCompact(StringBuilder sb, long seconds) {
+        if (seconds < 0) seconds = 0;
+        if (seconds < 60) return sb.append(seconds).append('s');
+        return appendMinSec(sb, seconds);
+    }
+
+    /**
+     * Appends a time given in tenths of a second: {@code m:ss.d} / {@code m:ss} from one
+     * minute up, {@code s.d} / {@code s} below; the tenths digit is dropped when zero.
+     */
+    public static StringBuilder appendTenths(StringBuilder sb, long tenths) {
+        if (tenths < 0) tenths = 0;
+        long whole = tenths / 10;
+        long t = tenths % 10;
+        if (whole >= 60) {
+            sb.append(whole / 60).append(':');
+            append2(sb, whole % 60);
+        } else {
+            sb.append(whole);
+        }
+        if (t != 0) sb.append('.').append(t);
+        return sb;
+    }
+
+    /** Appends {@code m:ss.hh} from milliseconds, rounded half-up to the hundredth. */
+    public static StringBuilder appendHundredths(StringBuilder sb, long millis) {
+        if (millis < 0) {
+            sb.append('-');
+            millis = -millis;
+        }
+        long hundredths = (millis + 5) / 10;
+        long seconds = hundredths / 100;
+        sb.append(seconds / 60).append(':');
+        append2(sb, seconds % 60).append('.');
+        return append2(sb, hundredths % 100);
+    }
+
+    // ----------------------------------------------------------
+    // Appendable forms (writers, print streams)
+    // ----------------------------------------------------------
+
+    /** {@link #appendMinSec(StringBuilder, long)} for any {@link Appendable}. */
+    public static Appendable appendMinSec(Appendable out, long seconds) throws IOException {
+        if (seconds < 0) seconds = 0;
+        appendLong(out, seconds / 60).append(':');
+        return append2(out, seconds % 60);
+    }
+
+    /** {@link #appendCompact(StringBuilder, long)} for any {@link Appendable}. */
+    public static Appendable appendCompact(Appendable out, long seconds) throws IOException {
+        if (seconds < 0) seconds = 0;
+        if (seconds < 60) return appendLong(out, seconds).append('s');
+        return appendMinSec(out, seconds);
+    }
+
+    // ----------------------------------------------------------
+    // String convenience (for labels that need a String anyway)
+    // ----------------------------------------------------------
+
+    /** {@code m:ss} as a String. */
+    public static String minSec(long seconds) {
+        return appendMinSec(new StringBuilder(8), seconds).toString();
+    }
+
+    /** {@code m:ss} or {@code Ns} as a String. */
+    public static String compact(long seconds) {
+        return appendCompact(new StringBuilder(8), seconds).toString();
+    }
+
+    // --- helpers ---
+
+    private static StringBuilder append2(StringBuilder sb, long v) {
+        if (v < 10) sb.append('0');
+        return sb.append(v);
+    }
+
+    private static Appendable append2(Appendable out, long v) throws IOException {
+        if (v < 10) out.append('0');
+        return appendLong(out, v);
+    }
+
+    // Appendable has no numeric overload; emit digits most-significant first
+    private static Appendable appendLong(Appendable out, long v) throws IOException {
+        if (v >= 10) appendLong(out, v / 10);
+        return out.append((char) ('0' + (v % 10)));
+    }
+}
@@ -115,19 +115,15 @@ public final class TimeSpan implements Comparable<TimeSpan> {
 
     /**
      * Returns a human-readable formatted string, e.g., {@code "1:23.45"}.
-     * <p>Displays minutes, seconds, and hundredths of a second.</p>
+     * <p>Displays minutes, seconds, and hundredths of a second (see {@link TimeFormat}).</p>
      */
     @Override
     public String toString() {
-        long total = millis;
-        long minutes = total / 60_000; total %= 60_000;
-        long seconds = total / 1_000;  total %= 1_000;
-        long hundredths = Math.round(total / 10.0);
-
-        // Normalize edge cases (e.g., 59.99 rounds up cleanly)
-        if (hundredths == 100) { hundredths = 0; seconds++; }
-        if (seconds == 60) { seconds = 0; minutes++; }
+        return appendTo(new StringBuilder(10)).toString();
+    }
 
-        return String.format("%d:%02d.%02d", minutes, seconds, hundredths);
+    /** Appends {@code m:ss.hh} to {@code sb} without creating a String. */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return TimeFormat.appendHundredths(sb, millis);
     }
 }
\ No newline at end of file
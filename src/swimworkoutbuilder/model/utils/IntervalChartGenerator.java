@@ -0,0 +1,285 @@
+package swimworkoutbuilder.model.utils;
+
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.CourseUnit;
+import swimworkoutbuilder.model.enums.Effort;
+import swimworkoutbuilder.model.enums.StrokeType;
+import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
+import swimworkoutbuilder.model.pacing.GoalKernel;
+import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Generates printable interval charts: send-off by seed time, for every rep distance,
+ * effort, and course.
+ *
+ * <p>Rows sweep the seed time per 100 (in the course's unit) from {@code fromSeconds} to
+ * {@code toSeconds} in {@code stepSeconds} steps. Columns are every (effort, rep distance)
+ * pair. Each cell is the send-off {@link DefaultPacePolicy} would give a swimmer with that
+ * seed for a set of that distance and effort (freestyle, no equipment).</p>
+ *
+ * <p>A distance that is not a whole number of lengths for a course (e.g. 25 or 75 in LCM)
+ * has no column in that course's chart: a {@link SwimSet} would snap it up to the next
+ * legal distance, so the send-off would not belong under its header. In CSV, where all
+ * courses share one header row, those cells are left empty.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Along a sweep only the seed speed changes. The per-column multiplier, rep distance,
+ *       and rest percentage (rep / seed distance is fixed) are resolved once per chart;
+ *       a row then costs one speed division plus a few flops per column. No
+ *       {@code Swimmer}, {@code SeedPace}, or policy call is made per cell.</li>
+ *   <li>Cells are computed with the same rules as the policy ({@link GoalKernel}), so the
+ *       chart matches what the app shows for that seed.</li>
+ *   <li>Output is streamed row by row to any {@link Appendable}; only one row of send-offs
+ *       is held in memory.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * try (Writer out = Files.newBufferedWriter(Path.of("intervals.html"))) {
+ *     new IntervalChartGenerator().writeHtml(out);
+ * }
+ * }</pre>
+ */
+public final class IntervalChartGenerator {
+
+    /** Common rep distances (in the course's unit). */
+    public static final int[] DEFAULT_DISTANCES = {25, 50, 75, 100, 150, 200, 300, 400};
+
+    private final double fromSeconds;
+    private final double toSeconds;
+    private final double stepSeconds;
+    private final int[] distances;
+    private final Effort[] efforts;
+    private final Course[] courses;
+
+    /** 0:55 to 2:00 per 100 in 0.5 s steps, all efforts, all courses, {@link #DEFAULT_DISTANCES}. */
+    public IntervalChartGenerator() {
+        this(55.0, 120.0, 0.5, DEFAULT_DISTANCES, Effort.values(), Course.values());
+    }
+
+    /**
+     * @param fromSeconds first seed per 100 (seconds, &gt;0)
+     * @param toSeconds   last seed per 100 (inclusive, ≥ fromSeconds)
+     * @param stepSeconds sweep step (&gt;0)
+     * @param distances   rep distances in the course unit (each &gt;0)
+     * @param efforts     efforts to include
+     * @param courses     one chart per course
+     */
+    public IntervalChartGenerator(double fromSeconds, double toSeconds, double stepSeconds,
+                                  int[] distances, Effort[] efforts, Course[] courses) {
+        if (!(fromSeconds > 0)) throw new IllegalArgumentException("fromSeconds must be > 0");
+        if (!(toSeconds >= fromSeconds)) throw new IllegalArgumentException("toSeconds must be >= fromSeconds");
+        if (!(stepSeconds > 0)) throw new IllegalArgumentException("stepSeconds must be > 0");
+        this.fromSeconds = fromSeconds;
+        this.toSeconds = toSeconds;
+        this.stepSeconds = stepSeconds;
+        this.distances = Objects.requireNonNull(distances, "distances").clone();
+        this.efforts = Objects.requireNonNull(efforts, "efforts").clone();
+        this.courses = Objects.requireNonNull(courses, "courses").clone();
+        for (int d : this.distances) if (d <= 0) throw new IllegalArgumentException("distance must be > 0");
+        for (Effort e : this.efforts) Objects.requireNonNull(e, "effort");
+        for (Course c : this.courses) Objects.requireNonNull(c, "course");
+    }
+
+    /** Number of seed rows per course. */
+    public int rowCount() {
+        return (int) Math.floor((toSeconds - fromSeconds) / stepSeconds + 1e-9) + 1;
+    }
+
+    /** Number of send-off columns per row (efforts × distances). */
+    public int columnCount() { return efforts.length * distances.length; }
+
+    // ----------------------------------------------------------
+    // Output
+    // ----------------------------------------------------------
+
+    /**
+     * Writes all charts as CSV: {@code course,seed_per_100,<EFFORT> <distance>,...}.
+     * Send-offs are {@code m:ss}; distances that are not legal for a course are empty.
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        StringBuilder line = new StringBuilder(16 * (columnCount() + 2));
+        line.append("course,seed_per_100");
+        for (Effort e : efforts) {
+            for (int d : distances) line.append(',').append(e.name()).append(' ').append(d);
+        }
+        out.append(line).append('\n');
+
+        for (Course course : courses) {
+            Sweep sweep = new Sweep(course);
+            for (int row = 0; row < rowCount(); row++) {
+                double seed = seedAt(row);
+                sweep.evaluate(seed);
+                line.setLength(0);
+                line.append(course.name()).append(',');
+                appendSeed(line, seed);
+                for (int c = 0; c < sweep.sendOff.length; c++) {
+                    line.append(',');
+                    if (sweep.isLegal(c)) TimeFormat.appendMinSec(line, sweep.sendOff[c]);
+                }
+                out.append(line).append('\n');
+            }
+        }
+    }
+
+    /** Writes all charts as a standalone HTML page (one table per course). */
+    public void writeHtml(Appendable out) throws IOException {
+        out.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n")
+           .append("<title>Interval Chart</title>\n")
+           .append("<style>\n")
+           .append("body{font-family:sans-serif}\n")
+           .append("table{border-collapse:collapse;margin-bottom:2em}\n")
+           .append("th,td{border:1px solid #999;padding:2px 6px;text-align:right}\n")
+           .append("tbody tr:nth-child(even){background:#eef}\n")
+           .append("</style>\n</head>\n<body>\n");
+
+        StringBuilder line = new StringBuilder(16 * (columnCount() + 2));
+        for (Course course : courses) {
+            String unit = (course.getUnit() == CourseUnit.YARDS) ? "yd" : "m";
+            Sweep sweep = new Sweep(course);
+            out.append("<h2>").append(course.getDescription()).append("</h2>\n<table>\n<thead>\n");
+
+            line.setLength(0);
+            line.append("<tr><th rowspan=\"2\">Seed / 100").append(unit).append("</th>");
+            for (Effort e : efforts) {
+                line.append("<th colspan=\"").append(sweep.legalCount).append("\">")
+                    .append(e.getLabel()).append("</th>");
+            }
+            out.append(line).append("</tr>\n");
+
+            line.setLength(0);
+            line.append("<tr>");
+            for (int i = 0; i < efforts.length; i++) {
+                for (int d = 0; d < distances.length; d++) {
+                    if (sweep.legal[d]) line.append("<th>").append(distances[d]).append(unit).append("</th>");
+                }
+            }
+            out.append(line).append("</tr>\n</thead>\n<tbody>\n");
+
+            for (int row = 0; row < rowCount(); row++) {
+                double seed = seedAt(row);
+                sweep.evaluate(seed);
+                line.setLength(0);
+                line.append("<tr><th>");
+                appendSeed(line, seed);
+                line.append("</th>");
+                for (int c = 0; c < sweep.sendOff.length; c++) {
+                    if (!sweep.isLegal(c)) continue;
+                    line.append("<td>");
+                    TimeFormat.appendMinSec(line, sweep.sendOff[c]);
+                    line.append("</td>");
+                }
+                out.append(line).append("</tr>\n");
+            }
+            out.append("</tbody>\n</table>\n");
+        }
+        out.append("</body>\n</html>\n");
+    }
+
+    /** CSV as a String (convenience for small charts and tests). */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeCsv(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    // ----------------------------------------------------------
+    // Internals
+    // ----------------------------------------------------------
+
+    private double seedAt(int row) { return fromSeconds + row * stepSeconds; }
+
+    /**
+     * Per-course column constants plus one reusable row of send-offs.
+     * Column {@code c} is effort {@code c / distances.length}, distance {@code c % distances.length}.
+     */
+    private final class Sweep {
+        final boolean[] legal;       // per distance: a whole number of lengths in this course
+        final int legalCount;
+        final double seedMeters;
+        final double[] repMeters;
+        final double[] multiplier;
+        final double[] restPct;
+        final int[] sendOff;
+
+        Sweep(Course course) {
+            boolean yards = course.getUnit() == CourseUnit.YARDS;
+            seedMeters = (yards ? Distance.ofYards(100) : Distance.ofMeters(100)).toMeters();
+
+            // A throwaway workout/set per column resolves the policy's per-set inputs once
+            Workout w = new Workout(UUID.randomUUID(), "Interval Chart", course);
+            int n = columnCount();
+            repMeters = new double[n];
+            multiplier = new double[n];
+            restPct = new double[n];
+            sendOff = new int[n];
+            legal = new boolean[distances.length];
+            int count = 0;
+            for (int i = 0; i < distances.length; i++) {
+                Distance rep = rep(distances[i], yards);
+                legal[i] = new SwimSet(StrokeType.FREESTYLE, 1, rep, Effort.EASY, course).getDistancePerRep().equals(rep);
+                if (legal[i]) count++;
+            }
+            legalCount = count;
+
+            int c = 0;
+            for (Effort e : efforts) {
+                for (int i = 0; i < distances.length; i++, c++) {
+                    if (!legal[i]) continue;
+                    SwimSet set = new SwimSet(StrokeType.FREESTYLE, 1, rep(distances[i], yards), e, course);
+                    repMeters[c]  = set.getDistancePerRep().toMeters();
+                    multiplier[c] = GoalKernel.setMultiplier(w, set);
+                    restPct[c]    = GoalKernel.restPercent(set, seedMeters);
+                }
+            }
+        }
+
+        /** Fills {@link #sendOff} for one seed time (seconds per 100). */
+        void evaluate(double seedSeconds) {
+            // Same speed SeedPace derives from a millisecond-precision seed time
+            double speedMps = seedMeters / (Math.round(seedSeconds * 1000.0) / 1000.0);
+            for (int c = 0; c < sendOff.length; c++) {
+                if (!isLegal(c)) continue;
+                double goal = (repMeters[c] / speedMps) * multiplier[c];
+                sendOff[c] = GoalKernel.intervalSeconds(goal, GoalKernel.restSeconds(goal, restPct[c]));
+            }
+        }
+
+        boolean isLegal(int column) { return legal[column % distances.length]; }
+
+        private Distance rep(int d, boolean yards) {
+            return yards ? Distance.ofYards(d) : Distance.ofMeters(d);
+        }
+    }
+
+    /** Appends a seed as {@code m:ss.s}. */
+    private static void appendSeed(StringBuilder sb, double seconds) {
+        long tenths = Math.round(seconds * 10.0);
+        TimeFormat.appendMinSec(sb, tenths / 10);
+        sb.append('.').append(tenths % 10);
+    }
+
+    @Override
+    public String toString() {
+        return "IntervalChartGenerator{" +
+                "seeds=" + fromSeconds + ".." + toSeconds + " step " + stepSeconds +
+                ", distances=" + Arrays.toString(distances) +
+                ", efforts=" + efforts.length +
+                ", courses=" + Arrays.toString(courses) +
+                '}';
+    }
+}
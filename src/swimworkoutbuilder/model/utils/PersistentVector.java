@@ -0,0 +1,230 @@
+package swimworkoutbuilder.model.utils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable indexed sequence with cheap "modified copies": {@link #set} and
+ * {@link #append} return a new vector that shares all but one path of nodes with the old one.
+ *
+ * <p>Elements live in a 32-way trie of arrays plus a separate tail array for the last
+ * (up to 32) elements, so reads are at most a few array hops, an update copies
+ * {@code O(log32 n)} small arrays, and appends usually copy only the tail. Old versions are
+ * never touched, which makes any version safe to read from other threads once published.</p>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Nodes are plain {@code Object[]}; the vector's fields are final, so a vector handed
+ *       to another thread is seen fully built.</li>
+ *   <li>{@link #of(Collection)} builds the trie bottom-up in one pass rather than by repeated
+ *       appends.</li>
+ *   <li>Insertion or removal in the middle is not supported structurally; callers rebuild
+ *       with {@link #of(Collection)} (elements are still shared).</li>
+ *   <li>Null elements are allowed.</li>
+ * </ul>
+ *
+ * <h2>Typical Usage</h2>
+ * <pre>{@code
+ * PersistentVector<String> v1 = PersistentVector.of(List.of("a", "b", "c"));
+ * PersistentVector<String> v2 = v1.set(1, "B");   // v1 still reads a, b, c
+ * PersistentVector<String> v3 = v2.append("d");
+ * }</pre>
+ *
+ * @param <E> element type
+ */
+public final class PersistentVector<E> implements Iterable<E> {
+
+    private static final int BITS  = 5;
+    private static final int WIDTH = 1 << BITS;   // 32
+    private static final int MASK  = WIDTH - 1;
+
+    private static final Object[] NO_TAIL = new Object[0];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, new Object[WIDTH], NO_TAIL);
+
+    private final int size;
+    private final int shift;          // BITS × (levels above the leaves)
+    private final Object[] root;
+    private final Object[] tail;      // last 1..32 elements (empty only when size == 0)
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    // ----------------------------------------------------------
+    // Factories
+    // ----------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /** A vector holding {@code items} in iteration order. */
+    public static <E> PersistentVector<E> of(Collection<? extends E> items) {
+        Objects.requireNonNull(items, "items");
+        Object[] all = items.toArray();
+        int n = all.length;
+        if (n == 0) return empty();
+
+        int tailOffset = tailOffset(n);
+        Object[] tail = Arrays.copyOfRange(all, tailOffset, n);
+
+        // Leaves, then parents of 32, until one level fits in the root
+        int leafCount = tailOffset >>> BITS;
+        Object[] level = new Object[leafCount];
+        for (int i = 0; i < leafCount; i++) level[i] = Arrays.copyOfRange(all, i << BITS, (i + 1) << BITS);
+        int shift = BITS;
+        while (level.length > WIDTH) {
+            Object[] parents = new Object[(level.length + MASK) >>> BITS];
+            for (int p = 0; p < parents.length; p++) {
+                Object[] node = new Object[WIDTH];
+                System.arraycopy(level, p << BITS, node, 0, Math.min(WIDTH, level.length - (p << BITS)));
+                parents[p] = node;
+            }
+            level = parents;
+            shift += BITS;
+        }
+        Object[] root = new Object[WIDTH];
+        System.arraycopy(level, 0, root, 0, level.length);
+        return new PersistentVector<>(n, shift, root, tail);
+    }
+
+    // ----------------------------------------------------------
+    // Reads
+    // ----------------------------------------------------------
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) leafFor(Objects.checkIndex(index, size))[index & MASK];
+    }
+
+    /** Read-only {@link List} view (no copy). */
+    public List<E> asList() {
+        return new ListView();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int i;
+            private Object[] leaf;
+
+            @Override public boolean hasNext() { return i < size; }
+
+            @SuppressWarnings("unchecked")
+            @Override public E next() {
+                if (i >= size) throw new NoSuchElementException();
+                if ((i & MASK) == 0 || leaf == null) leaf = leafFor(i);   // one trie walk per 32 elements
+                return (E) leaf[i++ & MASK];
+            }
+        };
+    }
+
+    // ----------------------------------------------------------
+    // Updates (new vector; this one is unchanged)
+    // ----------------------------------------------------------
+
+    /** A copy with {@code index} replaced; returns {@code this} if the element is already there. */
+    public PersistentVector<E> set(int index, E value) {
+        Objects.checkIndex(index, size);
+        if (leafFor(index)[index & MASK] == value) return this;
+        if (index >= tailOffset(size)) {
+            Object[] t = tail.clone();
+            t[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, t);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, value), tail);
+    }
+
+    /** A copy with {@code value} added at the end. */
+    public PersistentVector<E> append(E value) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] t = Arrays.copyOf(tail, tail.length + 1);
+            t[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, t);
+        }
+        // Tail is full: push it into the trie, start a new tail
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {          // trie is full: grow a level
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { value });
+    }
+
+    // ----------------------------------------------------------
+    // Trie helpers
+    // ----------------------------------------------------------
+
+    private static int tailOffset(int size) {
+        return (size < WIDTH) ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(size)) return tail;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) node = (Object[]) node[(index >>> level) & MASK];
+        return node;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int sub = (index >>> level) & MASK;
+            copy[sub] = assoc(level - BITS, (Object[]) node[sub], index, value);
+        }
+        return copy;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int sub = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        Object[] insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[sub];
+            insert = (child != null) ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        copy[sub] = insert;
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) return node;
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private final class ListView extends AbstractList<E> implements RandomAccess {
+        @Override public E get(int index) { return PersistentVector.this.get(index); }
+        @Override public int size() { return size; }
+        @Override public Iterator<E> iterator() { return PersistentVector.this.iterator(); }
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+}
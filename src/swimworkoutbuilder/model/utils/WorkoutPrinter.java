@@ -6,12 +6,22 @@ import swimworkoutbuilder.model.Swimmer;
 import swimworkoutbuilder.model.Workout;
 import swimworkoutbuilder.model.enums.Course;
 import swimworkoutbuilder.model.pacing.PacePolicy;
+import swimworkoutbuilder.model.pacing.PacingPlan;
 import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.DistanceAccumulator;
+import swimworkoutbuilder.model.units.TimeFormat;
 
 public final class WorkoutPrinter {
     private WorkoutPrinter() {}
 
     public static void printWorkout(Workout w, Swimmer swimmer, PacePolicy policy) {
+        printWorkout(PacingPlan.compile(w, swimmer, policy));
+    }
+
+    /** Prints a workout using timing already compiled into {@code plan}. */
+    public static void printWorkout(PacingPlan plan) {
+        Workout w = plan.getWorkout();
+        Swimmer swimmer = plan.getSwimmer();
         boolean displayYards = (w.getCourse() == Course.SCY);
         String unitLabel = displayYards ? "yd" : "m";
 
@@ -25,16 +35,14 @@ public final class WorkoutPrinter {
         }
         System.out.println();
 
-        long workoutSwimSeconds = 0;
-        long workoutIntraRestSeconds = 0;
-        long workoutBetweenGroupRestSeconds = 0;
-        long workoutDisplayDistance = 0; // yards for SCY, meters otherwise
+        DistanceAccumulator workoutDistance = new DistanceAccumulator();
+        DistanceAccumulator groupDistance = new DistanceAccumulator();   // reused per group
+        StringBuilder line = new StringBuilder(64);                       // reused per rep line
 
         System.out.println("Groups (" + w.getGroups().size() + "):");
         int groupIndex = 0;
 
         for (SetGroup g : w.getGroups()) {
-            groupIndex++;
             int groupReps = Math.max(1, g.getReps());
 
             System.out.printf("  %d) %s", g.getOrder(), g.getName());
@@ -44,14 +52,11 @@ public final class WorkoutPrinter {
                 System.out.println("     - " + g.getNotes());
             }
 
-            long singlePassGroupSwimSec = 0;
-            long singlePassGroupIntraRestSec = 0;
-            long singlePassGroupDisplayDist = 0; // yards or meters per display rules
-
             int idx = 1;
             for (SwimSet s : g.getSets()) {
                 int reps = s.getReps();
                 Distance rep = s.getDistancePerRep();
+                int flatSet = plan.flatSetIndex(groupIndex, idx - 1);
 
                 // Per-rep display distance (snap to lap size for SCY display)
                 int repDisplayDist = displayYards
@@ -60,41 +65,41 @@ public final class WorkoutPrinter {
 
                 String strokeShort = (s.getStroke() == null) ? "" : s.getStroke().getShortLabel();
 
-                System.out.printf("     %d. %dx%d%s %-14s %-12s%n",
+                String pattern = s.getRepPattern().describe(reps, s.getPatternRoundSize());
+
+                System.out.printf("     %d. %dx%d%s %-14s %-12s%s%n",
                         idx++,
                         reps,
                         repDisplayDist, unitLabel,
                         strokeShort,
-                        (s.getEffort() != null ? s.getEffort().getLabel() : "")
+                        (s.getEffort() != null ? s.getEffort().getLabel() : ""),
+                        (pattern.isEmpty() ? "" : " " + pattern)
                 );
 
-                for (int r = 1; r <= reps; r++) {
-                    double goal  = policy.goalSeconds(w, s, swimmer, r);
-                    int interval = policy.intervalSeconds(w, s, swimmer, r);
-                    int rest     = policy.restSeconds(w, s, swimmer, r);
-
-                    singlePassGroupSwimSec      += Math.round(goal);
-                    singlePassGroupIntraRestSec += rest;
-
-                    System.out.printf("         #%d  goal %s | on %s | rest %s%n",
-                            r, mmss(goal), mmss(interval), mmss(rest));
+                if (plan.isTimed(flatSet)) {
+                    for (int r = 0; r < reps; r++) {
+                        line.setLength(0);
+                        line.append("         #").append(r + 1).append("  goal ");
+                        TimeFormat.appendMinSec(line, Math.round(plan.goalSeconds(flatSet, r))).append(" | on ");
+                        TimeFormat.appendMinSec(line, plan.intervalSeconds(flatSet, r)).append(" | rest ");
+                        TimeFormat.appendMinSec(line, plan.restSeconds(flatSet, r));
+                        System.out.println(line);
+                    }
+                } else {
+                    System.out.println("         (no timing: missing seed for " + strokeShort + ")");
                 }
 
                 if (s.getNotes() != null && !s.getNotes().isBlank()) {
                     System.out.println("         note: " + s.getNotes());
                 }
-
-                // Add display distance for this set to the group display total
-                singlePassGroupDisplayDist += (long) reps * repDisplayDist;
             }
 
-            long groupDisplayTotal = singlePassGroupDisplayDist * groupReps;
-            long groupSwimSecondsTotal = singlePassGroupSwimSec * groupReps;
-            long groupIntraRestTotal   = singlePassGroupIntraRestSec * groupReps;
-
-            workoutDisplayDistance      += groupDisplayTotal;
-            workoutSwimSeconds          += groupSwimSecondsTotal;
-            workoutIntraRestSeconds     += groupIntraRestTotal;
+            // Exact group total (canonical microUnits), rounded once for display
+            g.addTotalTo(groupDistance.reset());
+            workoutDistance.add(groupDistance);
+            long groupDisplayTotal = displayRounded(groupDistance, displayYards);
+            long groupSwimSecondsTotal = plan.groupSwimSeconds(groupIndex);
+            long groupIntraRestTotal   = plan.groupRestSeconds(groupIndex);
 
             System.out.printf("     Group totals: distance=%d%s  swim=%s  rest=%s  total=%s%n",
                     groupDisplayTotal, unitLabel,
@@ -102,32 +107,31 @@ public final class WorkoutPrinter {
                     mmss(groupIntraRestTotal),
                     mmss(groupSwimSecondsTotal + groupIntraRestTotal));
 
-            // Between-group rest (use group's override if present, else workout default)
-            int restAfter = (g.getRestAfterGroupSec() > 0)
-                    ? g.getRestAfterGroupSec()
-                    : w.getDefaultRestBetweenGroupsSeconds();
-
-            if (groupIndex < w.getGroups().size() && restAfter > 0) {
-                workoutBetweenGroupRestSeconds += restAfter;
+            int restAfter = plan.restAfterGroupSeconds(groupIndex);
+            if (restAfter > 0) {
                 System.out.println("     (+" + mmss(restAfter) + " rest after group)");
             }
 
             System.out.println();
+            groupIndex++;
         }
 
-        long workoutTotalSeconds = workoutSwimSeconds + workoutIntraRestSeconds + workoutBetweenGroupRestSeconds;
-
         System.out.println("Totals:");
-        System.out.println("  swim time:          " + mmss(workoutSwimSeconds));
-        System.out.println("  intra-set rest:     " + mmss(workoutIntraRestSeconds));
-        System.out.println("  between-group rest: " + mmss(workoutBetweenGroupRestSeconds));
+        System.out.println("  swim time:          " + mmss(plan.totalSwimSeconds()));
+        System.out.println("  intra-set rest:     " + mmss(plan.totalIntraRestSeconds()));
+        System.out.println("  between-group rest: " + mmss(plan.totalBetweenGroupRestSeconds()));
         System.out.println("  ------------------------------------");
-        System.out.println("  workout total:      " + mmss(workoutTotalSeconds));
-        System.out.println("  total distance:     " + workoutDisplayDistance + " " + unitLabel);
+        System.out.println("  workout total:      " + mmss(plan.totalSeconds()));
+        System.out.println("  total distance:     " + displayRounded(workoutDistance, displayYards) + " " + unitLabel);
         System.out.println("==================================================");
         System.out.println();
     }
 
+    // whole yards for SCY, whole meters otherwise
+    private static long displayRounded(DistanceAccumulator d, boolean yards) {
+        return Math.round(yards ? d.toYards() : d.toMeters());
+    }
+
     // snap yard counts to pool lap increments for SCY (25 yd)
     private static int snapToLapYards(int yards) {
         int lap = 25;
@@ -136,7 +140,6 @@ public final class WorkoutPrinter {
     }
 
     private static String mmss(double seconds) {
-        long s = Math.max(0, Math.round(seconds));
-        return String.format("%d:%02d", s / 60, s % 60);
+        return TimeFormat.minSec(Math.round(seconds));
     }
 }
\ No newline at end of file
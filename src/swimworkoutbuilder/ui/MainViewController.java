@@ -8,6 +8,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
@@ -15,26 +16,40 @@ import javafx.util.Callback;
 import swimworkoutbuilder.model.SetGroup;
 import swimworkoutbuilder.model.SwimSet;
 import swimworkoutbuilder.model.Swimmer;
+import swimworkoutbuilder.model.UndoJournal;
 import swimworkoutbuilder.model.Workout;
 import swimworkoutbuilder.model.enums.Course;
+import swimworkoutbuilder.model.enums.RepPattern;
 import swimworkoutbuilder.model.enums.StrokeType;
 import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.TimeFormat;
 
+import swimworkoutbuilder.model.pacing.CoefficientPacePolicy;
 import swimworkoutbuilder.model.pacing.PacePolicy;
-import swimworkoutbuilder.model.pacing.DefaultPacePolicy;
-
+import swimworkoutbuilder.model.pacing.PacePolicyRegistry;
+import swimworkoutbuilder.model.pacing.PacingPlan;
+import swimworkoutbuilder.model.utils.IntervalChartGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /** Controller for MainView.fxml. */
 public class MainViewController {
 
-    private final PacePolicy pace = new DefaultPacePolicy();
+    private final PacePolicyRegistry paceRegistry = PacePolicyRegistry.withDefaults();
 
     @FXML private TreeView<Object> workoutTree;
     @FXML private ChoiceBox<Course> courseChoice;
     @FXML private Label lblSwimmer;        // right-pane helper label (we'll use for seed summary)
     @FXML private TextArea previewArea;
+    @FXML private Menu pacingMenu;
 
     // header panel
     @FXML private VBox  workoutHeader;
@@ -50,6 +65,11 @@ public class MainViewController {
 
     private Swimmer currentSwimmer;
     private Workout workout;
+    private PacingPlan plan;   // compiled timing for (workout, currentSwimmer, pace()); null = stale
+    private final ToggleGroup pacingToggle = new ToggleGroup();
+    private WorkoutViewSync viewSync;                                   // patches tree + preview from model events
+    private final Map<Object, Runnable> liveCells = new IdentityHashMap<>();   // value → redraw of the cell showing it
+    private UndoJournal journal;                                        // undo/redo for the current workout; null = none
 
     @FXML
     private void initialize() {
@@ -57,7 +77,8 @@ public class MainViewController {
 
         workoutTree.setShowRoot(false);
         workoutTree.setCellFactory(makeCellFactory());
-        workoutTree.setRoot(new TreeItem<>("ROOT"));
+        viewSync = new WorkoutViewSync(workoutTree, previewArea, previewRenderer(),
+                this::redrawCell, this::afterViewFlush);
 
         workoutTree.setOnKeyPressed(ke -> {
             if (ke.getCode() == KeyCode.DELETE || ke.getCode() == KeyCode.BACK_SPACE) {
@@ -78,71 +99,65 @@ public class MainViewController {
 
         initCourseChoice();
         installHeaderContextMenu();
+        initPacingMenu();
 
-        refreshHeader();
-        refreshPreview();
+        viewSync.bind(null);
     }
 
     // public API
     public void setWorkout(Workout w) {
+        if (journal != null) journal.close();
         this.workout = w;
-        rebuildTree();
-        refreshHeader();
+        this.journal = (w == null) ? null : new UndoJournal(w);
+        viewSync.bind(w);
     }
 
     public void setCurrentSwimmer(Swimmer s) {
         this.currentSwimmer = s;
+        syncPacingMenu();
         updateRightPaneSwimmerSummary();
-        refreshHeader();
-        rebuildTree(); // so timing appears on rows
-    }
-
-    // build/refresh tree + preview
-    private void rebuildTree() {
-        TreeItem<Object> root = new TreeItem<>("ROOT");
-        if (workout != null) {
-            for (SetGroup g : workout.getGroups()) {
-                TreeItem<Object> gItem = new TreeItem<>(g);
-                for (SwimSet s : g.getSets()) gItem.getChildren().add(new TreeItem<>(s));
-                gItem.setExpanded(true);
-                root.getChildren().add(gItem);
-            }
-        }
-        workoutTree.setRoot(root);
-        refreshPreview();
+        viewSync.refreshTiming(); // so timing appears on rows
     }
 
-    private void refreshPreview() {
-        if (previewArea == null) return;
-        if (workout == null) { previewArea.setText("(no workout)"); return; }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("Workout: ").append(nullToDash(workout.getName())).append("\n")
-                .append("Course: ").append(workout.getCourse()).append("\n\n");
+    // preview text (the sync caches lines and asks for the ones that changed)
+    private WorkoutViewSync.Renderer previewRenderer() {
+        return new WorkoutViewSync.Renderer() {
+            @Override public String headerLines(Workout w) {
+                return "Workout: " + nullToDash(w.getName()) + "\n" + "Course: " + w.getCourse() + "\n\n";
+            }
 
-        int gi = 1;
-        for (SetGroup g : workout.getGroups()) {
-            sb.append(gi++).append(") ").append(g.getName());
-            if (g.getReps() > 1) sb.append(" x").append(g.getReps());
-            if (!isBlank(g.getNotes())) sb.append(" — ").append(g.getNotes());
-            sb.append("\n");
+            @Override public String groupLine(int number, SetGroup g) {
+                StringBuilder sb = new StringBuilder().append(number).append(") ").append(g.getName());
+                if (g.getReps() > 1) sb.append(" x").append(g.getReps());
+                if (!isBlank(g.getNotes())) sb.append(" — ").append(g.getNotes());
+                return sb.append("\n").toString();
+            }
 
-            int si = 1;
-            for (SwimSet s : g.getSets()) {
+            @Override public String setLine(int number, SwimSet s) {
                 String strokeShort = (s.getStroke() == null) ? "" : s.getStroke().getShortLabel();
                 String effort      = (s.getEffort() == null) ? "" : s.getEffort().getLabel();
 
-                String timing = computeTimingSnippet(workout, s); // "@ 1:05 (goal 0:51)"
-                sb.append("   ").append(si++).append(". ")
+                StringBuilder sb = new StringBuilder("   ").append(number).append(". ")
                         .append(s.getReps()).append("x").append(displayDistance(s)).append(" ")
-                        .append(strokeShort).append(timing.isEmpty() ? "" : " " + timing);
+                        .append(strokeShort);
+                int mark = sb.length();
+                sb.append(' ');
+                if (!appendTimingSnippet(sb, workout, s)) sb.setLength(mark); // " @ 1:05 (goal 0:51)"
                 if (!effort.isEmpty()) sb.append(", ").append(effort);
                 if (!isBlank(s.getNotes())) sb.append(" — ").append(s.getNotes());
-                sb.append("\n");
+                return sb.append("\n").toString();
             }
-            sb.append("\n");
-        }
-        previewArea.setText(sb.toString());
+
+            @Override public long timingKey(SwimSet s) {
+                return MainViewController.this.timingKey(s);
+            }
+        };
+    }
+
+    /** Re-renders the visible cell showing {@code value}, if there is one. */
+    private void redrawCell(Object value) {
+        Runnable redraw = liveCells.get(value);
+        if (redraw != null) redraw.run();
     }
 
     // cell factory
@@ -161,6 +176,8 @@ public class MainViewController {
             private final MenuItem miAddSet       = new MenuItem("Add Set…");
             private final MenuItem miAddGroupAfter= new MenuItem("Add Group After…");
             private final MenuItem miDelete       = new MenuItem("Delete");
+            private final Runnable redraw = () -> updateItem(getItem(), isEmpty());
+            private Object shown;   // value registered in liveCells for this cell
 
             {
                 card.getStyleClass().add("work-card");
@@ -194,7 +211,6 @@ public class MainViewController {
                         g.setReps(edited.getReps());
                         g.setNotes(edited.getNotes());
                         g.setRestAfterGroupSec(edited.getRestAfterGroupSec());
-                        rebuildTree(); refreshHeader();
                     }
                 } else if (v instanceof SwimSet s) {
                     SwimSet edited = showSetFormDialog(null, s);
@@ -205,7 +221,8 @@ public class MainViewController {
                         s.setDistancePerRep(edited.getDistancePerRep());
                         s.setNotes(edited.getNotes());
                         s.setEquipment(edited.getEquipment());
-                        rebuildTree(); refreshHeader();
+                        s.setRepPattern(edited.getRepPattern());
+                        s.setPatternRoundSize(edited.getPatternRoundSize());
                     }
                 }
             }
@@ -214,7 +231,7 @@ public class MainViewController {
                 if (!(v instanceof SetGroup g)) return;
                 SwimSet created = showSetFormDialog(g, null);
                 if (created == null) return;
-                g.addSet(created); rebuildTree(); refreshHeader();
+                g.addSet(created);
             }
             private void onAddGroupClicked() {
                 Object v = getItem();
@@ -224,7 +241,7 @@ public class MainViewController {
                 List<SetGroup> groups = workout.getGroups();
                 int anchorIdx = groups.indexOf(anchor);
                 groups.add(anchorIdx >= 0 ? anchorIdx + 1 : groups.size(), created);
-                normalizeGroupOrders(); rebuildTree(); refreshHeader();
+                normalizeGroupOrders();
             }
             private void onDeleteClicked() {
                 Object v = getItem();
@@ -235,6 +252,9 @@ public class MainViewController {
             @Override
             protected void updateItem(Object value, boolean empty) {
                 super.updateItem(value, empty);
+                if (shown != null && liveCells.get(shown) == redraw) liveCells.remove(shown);
+                shown = (empty) ? null : value;
+                if (shown != null) liveCells.put(shown, redraw);
                 setText(null); setGraphic(null); setContextMenu(null);
                 if (empty || value == null) return;
 
@@ -256,12 +276,13 @@ public class MainViewController {
                     String effort      = (s.getEffort() != null) ? s.getEffort().getLabel() : "";
                     String eqText      = formatEquipment(s.getEquipment());
 
-                    String timing = computeTimingSnippet(workout, s); // "@ 1:05 (goal 0:51)"
                     StringBuilder tl = new StringBuilder()
                             .append(s.getReps()).append("×")
                             .append(displayDistance(s)).append(" ")
                             .append(strokeShort);
-                    if (!timing.isEmpty()) tl.append(" ").append(timing);
+                    int mark = tl.length();
+                    tl.append(' ');
+                    if (!appendTimingSnippet(tl, workout, s)) tl.setLength(mark); // " @ 1:05 (goal 0:51)"
                     if (!effort.isEmpty()) tl.append(", ").append(effort);
                     if (!eqText.isEmpty()) tl.append("  [").append(eqText).append("]");
                     title.setText(tl.toString());
@@ -292,6 +313,12 @@ public class MainViewController {
         workoutHeader.setOnContextMenuRequested(e -> cm.show(workoutHeader, e.getScreenX(), e.getScreenY()));
     }
 
+    // Runs once the view has caught up with a batch of edits: one user action = one undo step
+    private void afterViewFlush() {
+        refreshHeader();
+        if (journal != null) journal.checkpoint();
+    }
+
     private void refreshHeader() {
         if (hdrSwimmer != null) {
             hdrSwimmer.setText("Swimmer: " + (currentSwimmer == null ? "—" : displayName(currentSwimmer)));
@@ -318,12 +345,20 @@ public class MainViewController {
             hdrNotes.setVisible(has); hdrNotes.setManaged(has);
         }
 
-        Distance total = computeTotalDistance(workout);
+        Distance total = workout.totalDistance();
         if (hdrSummaryDistance != null) hdrSummaryDistance.setText(fmtDistanceForCourse(total, workout.getCourse()));
         if (hdrSummaryDuration != null) hdrSummaryDuration.setText("Duration:");
-        if (hdrSummarySwim != null)     hdrSummarySwim.setText("— swimming");
-        if (hdrSummaryRest != null)     hdrSummaryRest.setText("— rest");
-        if (hdrSummaryTotal != null)    hdrSummaryTotal.setText("— total");
+        PacingPlan p = pacingPlan();
+        if (p == null) {
+            if (hdrSummarySwim != null)  hdrSummarySwim.setText("— swimming");
+            if (hdrSummaryRest != null)  hdrSummaryRest.setText("— rest");
+            if (hdrSummaryTotal != null) hdrSummaryTotal.setText("— total");
+        } else {
+            long rest = p.totalIntraRestSeconds() + p.totalBetweenGroupRestSeconds();
+            if (hdrSummarySwim != null)  hdrSummarySwim.setText(fmtSecs(p.totalSwimSeconds()) + " swimming");
+            if (hdrSummaryRest != null)  hdrSummaryRest.setText(fmtSecs(rest) + " rest");
+            if (hdrSummaryTotal != null) hdrSummaryTotal.setText(fmtSecs(p.totalSeconds()) + " total");
+        }
         if (hdrPool != null) {
             String pool = switch (workout.getCourse()) {
                 case SCY -> "25 yds";
@@ -398,10 +433,9 @@ public class MainViewController {
             dialog.setScene(new Scene(root));
             dialog.showAndWait();
 
-            // After seeds change: refresh timing everywhere
+            // After seeds change: redraw the rows whose timing moved (the plan sees the seed revision)
             updateRightPaneSwimmerSummary();
-            refreshHeader();
-            rebuildTree();
+            viewSync.refreshTiming();
         } catch (Exception ex) {
             new Alert(Alert.AlertType.ERROR, "Could not open Seed Times form:\n" + ex.getMessage()).showAndWait();
             ex.printStackTrace();
@@ -476,7 +510,6 @@ public class MainViewController {
                 workout.setName(edited.getName());
                 workout.setCourse(edited.getCourse());
                 workout.setNotes(edited.getNotes());
-                refreshHeader(); rebuildTree();
             }
         } catch (Exception ex) {
             new Alert(Alert.AlertType.ERROR, "Could not open Workout form:\n" + ex.getMessage()).showAndWait();
@@ -496,17 +529,15 @@ public class MainViewController {
                 .showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK;
         if (!ok) return;
 
-        workout = null;
-        workoutTree.setRoot(new TreeItem<>("ROOT"));
-        refreshHeader(); refreshPreview();
+        setWorkout(null);
     }
 
     @FXML private void handleAddGroup() {
         if (workout == null) { new Alert(Alert.AlertType.WARNING, "Create a workout first.").showAndWait(); return; }
         SetGroup created = showSetGroupDialog(null);
         if (created == null) return;
-        workout.getGroups().add(created);
-        normalizeGroupOrders(); rebuildTree(); refreshHeader();
+        workout.addSetGroup(created);
+        normalizeGroupOrders();
     }
 
     @FXML private void handleAddSet() {
@@ -518,7 +549,34 @@ public class MainViewController {
         SwimSet created = showSetFormDialog(g, null);
         if (created == null) return;
         g.addSet(created);
-        rebuildTree(); refreshHeader();
+    }
+
+    @FXML private void handleUndo() {
+        if (journal != null) journal.undo();
+    }
+
+    @FXML private void handleRedo() {
+        if (journal != null) journal.redo();
+    }
+
+    @FXML
+    private void handleExportIntervalChart(ActionEvent e) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Interval Chart");
+        chooser.setInitialFileName("interval-chart.html");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("HTML", "*.html"),
+                new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = chooser.showSaveDialog(workoutTree.getScene().getWindow());
+        if (file == null) return;
+
+        IntervalChartGenerator chart = new IntervalChartGenerator();
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            if (file.getName().toLowerCase().endsWith(".csv")) chart.writeCsv(out);
+            else chart.writeHtml(out);
+        } catch (IOException ex) {
+            new Alert(Alert.AlertType.ERROR, "Could not write " + file.getName() + ":\n" + ex.getMessage()).showAndWait();
+        }
     }
 
     @FXML
@@ -589,15 +647,14 @@ public class MainViewController {
                 .filter(g -> g.getSets().contains(target)).findFirst().orElse(null);
         if (parent == null) return;
         if (!confirm("Delete Set", "Delete this set?\n\n" + target)) return;
-        parent.getSets().remove(target);
-        rebuildTree(); refreshHeader();
+        parent.removeSet(target);
     }
 
     private void deleteGroup(SetGroup g) {
         if (workout == null || g == null) return;
         if (!confirm("Delete Group", "Delete the group \"" + g.getName() + "\" and all its sets?")) return;
         workout.getGroups().remove(g);
-        normalizeGroupOrders(); rebuildTree(); refreshHeader();
+        normalizeGroupOrders();
     }
 
     private boolean confirm(String title, String message) {
@@ -613,18 +670,6 @@ public class MainViewController {
         for (SetGroup g : workout.getGroups()) g.setOrder(order++);
     }
 
-    private static Distance computeTotalDistance(Workout w) {
-        double meters = 0.0;
-        for (SetGroup g : w.getGroups()) {
-            double perGroupMeters = 0.0;
-            for (SwimSet s : g.getSets()) {
-                perGroupMeters += s.getDistancePerRep().toMeters() * Math.max(1, s.getReps());
-            }
-            meters += perGroupMeters * Math.max(1, g.getReps());
-        }
-        return Distance.ofMeters(meters);
-    }
-
     private static String fmtDistanceForCourse(Distance d, Course c) {
         int yards  = (int)Math.round(d.toYards());
         int meters = (int)Math.round(d.toMeters());
@@ -657,9 +702,8 @@ public class MainViewController {
         courseChoice.getItems().setAll(Course.SCY, Course.SCM, Course.LCM);
         courseChoice.setValue(Course.SCY);
         courseChoice.getSelectionModel().selectedItemProperty().addListener((obs, oldC, newC) -> {
-            if (workout != null && newC != null) {
-                workout.setCourse(newC);
-                rebuildTree(); refreshHeader();
+            if (workout != null && newC != null && newC != workout.getCourse()) {
+                workout.setCourse(newC);   // the change event rebuilds the views
             }
         });
     }
@@ -669,25 +713,147 @@ public class MainViewController {
 
     // ====== NEW: timing + seed summary ======
 
-    /** Computes " @ 1:05 (goal 0:51)" for a set using the active swimmer; blank if not computable. */
-    private String computeTimingSnippet(Workout w, SwimSet s) {
-        if (w == null || currentSwimmer == null || s == null || s.getStroke() == null) return "";
-        if (currentSwimmer.getSeedTime(s.getStroke()) == null) return "";
-        try {
-            double goalSecs = pace.goalSeconds(w, s, currentSwimmer, 0);
-            int interval = pace.intervalSeconds(w, s, currentSwimmer, 0);
-            int goalRounded = (int)Math.round(goalSecs);
-            return " @ " + fmtSecs(interval) + " (goal " + fmtSecs(goalRounded) + ")";
-        } catch (RuntimeException ex) {
-            // missing data/etc — just hide timing
-            return "";
+    /** Returns the compiled plan for the current workout/swimmer, compiling it if stale; null if not computable. */
+    private PacingPlan pacingPlan() {
+        if (workout == null || currentSwimmer == null) return null;
+        PacePolicy pace = pace();
+        if (plan == null || !plan.isFor(workout, currentSwimmer, pace)) {
+            plan = PacingPlan.compile(workout, currentSwimmer, pace);
+        }
+        return plan;
+    }
+
+    /**
+     * Fingerprint of the timing shown for {@code s} (first/last interval and goal), read from
+     * the plan; -1 when untimed. Lets the view sync redraw only rows whose timing moved.
+     */
+    private long timingKey(SwimSet s) {
+        PacingPlan p = pacingPlan();
+        int idx = (p == null) ? -1 : p.flatSetIndexOf(s);
+        if (idx < 0 || !p.isTimed(idx)) return -1L;
+        int last = p.repCount(idx) - 1;
+        return (key16(p.intervalSeconds(idx, 0)) << 48)
+                | (key16(Math.round(p.goalSeconds(idx, 0))) << 32)
+                | (key16(p.intervalSeconds(idx, last)) << 16)
+                | key16(Math.round(p.goalSeconds(idx, last)));
+    }
+
+    private static long key16(long seconds) {
+        return Math.max(0, Math.min(seconds, 0xFFFE));
+    }
+
+    // ====== Pacing policy selection ======
+
+    /** Training group of the active swimmer (their team), or null for the default selection. */
+    private String trainingGroup() {
+        if (currentSwimmer == null || isBlank(currentSwimmer.getTeamName())) return null;
+        return currentSwimmer.getTeamName();
+    }
+
+    /** Policy in effect for the active swimmer's training group. */
+    private PacePolicy pace() {
+        return paceRegistry.policyFor(trainingGroup());
+    }
+
+    private void initPacingMenu() {
+        if (pacingMenu == null) return;
+        pacingMenu.getItems().clear();
+        for (String name : paceRegistry.names()) {
+            RadioMenuItem item = new RadioMenuItem(name);
+            item.setUserData(name);
+            item.setToggleGroup(pacingToggle);
+            item.setOnAction(e -> selectPacePolicy(name));
+            pacingMenu.getItems().add(item);
         }
+        MenuItem followDefault = new MenuItem("Use Default Selection for This Group");
+        followDefault.setOnAction(e -> clearGroupPacePolicy());
+        MenuItem coefficients = new MenuItem("Custom Coefficients…");
+        coefficients.setOnAction(e -> handleCustomCoefficients());
+        pacingMenu.getItems().addAll(new SeparatorMenuItem(), followDefault, coefficients);
+        syncPacingMenu();
+    }
+
+    /** Checks the radio item for the policy in effect for the active swimmer's group. */
+    private void syncPacingMenu() {
+        String selected = paceRegistry.selectedName(trainingGroup());
+        for (Toggle t : pacingToggle.getToggles()) {
+            t.setSelected(t.getUserData().equals(selected));
+        }
+    }
+
+    /**
+     * Selects a policy for the active swimmer's training group (or the default selection
+     * when the swimmer has no team). Nothing is recomputed here: the plan recompiles on its
+     * first read because the policy no longer matches, and only rows whose timing moved redraw.
+     */
+    private void selectPacePolicy(String name) {
+        String group = trainingGroup();
+        if (group == null) paceRegistry.select(name);
+        else paceRegistry.select(group, name);
+        refreshTimingViews();
+    }
+
+    private void clearGroupPacePolicy() {
+        String group = trainingGroup();
+        if (group == null) return;
+        paceRegistry.select(group, null);
+        syncPacingMenu();
+        refreshTimingViews();
+    }
+
+    /** Edits the goal and rest scales of the "Custom" policy; its version change marks plans stale. */
+    private void handleCustomCoefficients() {
+        if (!(paceRegistry.get(PacePolicyRegistry.CUSTOM) instanceof CoefficientPacePolicy custom)) return;
+        TextInputDialog d = new TextInputDialog(custom.getGoalScale() + ", " + custom.getRestScale());
+        d.setTitle("Custom Coefficients");
+        d.setHeaderText("Goal scale, rest scale (e.g., 0.98, 1.25)");
+        d.showAndWait().ifPresent(text -> {
+            String[] parts = text.split(",");
+            try {
+                if (parts.length != 2) throw new IllegalArgumentException("Enter two numbers separated by a comma.");
+                double goalScale = Double.parseDouble(parts[0].trim());
+                double restScale = Double.parseDouble(parts[1].trim());
+                if (!(goalScale > 0) || !(restScale >= 0)) throw new IllegalArgumentException("Goal scale must be > 0 and rest scale ≥ 0.");
+                custom.setGoalScale(goalScale);
+                custom.setRestScale(restScale);
+            } catch (IllegalArgumentException ex) {
+                new Alert(Alert.AlertType.ERROR, "Invalid coefficients:\n" + ex.getMessage()).showAndWait();
+                return;
+            }
+            refreshTimingViews();
+        });
+    }
+
+    /** Re-renders timing without rebuilding the tree; stale plans are detected by version compare. */
+    private void refreshTimingViews() {
+        viewSync.refreshTiming();
     }
 
-    private static String fmtSecs(int secs) {
-        if (secs < 0) secs = 0;
-        int m = secs / 60, s = secs % 60;
-        return (m > 0) ? (m + ":" + String.format("%02d", s)) : (s + "s");
+    /**
+     * Appends " @ 1:05 (goal 0:51)" for a set using the active swimmer; returns false
+     * (appending nothing) if not computable.
+     */
+    private boolean appendTimingSnippet(StringBuilder sb, Workout w, SwimSet s) {
+        if (w == null || s == null) return false;
+        PacingPlan p = pacingPlan();
+        if (p == null) return false;
+        int idx = p.flatSetIndexOf(s);
+        if (idx < 0 || !p.isTimed(idx)) return false; // missing data/etc — just hide timing
+        int interval = p.intervalSeconds(idx, 0);
+        long goalRounded = Math.round(p.goalSeconds(idx, 0));
+        int last = p.repCount(idx) - 1;
+        boolean range = s.getRepPattern() != RepPattern.NONE && last > 0;   // patterned: first → last rep
+
+        TimeFormat.appendCompact(sb.append(" @ "), interval);
+        if (range) TimeFormat.appendCompact(sb.append('→'), p.intervalSeconds(idx, last));
+        TimeFormat.appendCompact(sb.append(" (goal "), goalRounded);
+        if (range) TimeFormat.appendCompact(sb.append('→'), Math.round(p.goalSeconds(idx, last)));
+        sb.append(')');
+        return true;
+    }
+
+    private static String fmtSecs(long secs) {
+        return TimeFormat.compact(secs);
     }
 
     /** Shows a compact seed summary in the right pane label. */
@@ -699,32 +865,23 @@ public class MainViewController {
         Course c = (workout != null ? workout.getCourse() : Course.SCY);
         boolean yards = (c == Course.SCY);
 
-        String free   = seedPer100(currentSwimmer, StrokeType.FREESTYLE, yards);
-        String back   = seedPer100(currentSwimmer, StrokeType.BACKSTROKE, yards);
-        String breast = seedPer100(currentSwimmer, StrokeType.BREASTSTROKE, yards);
-        String fly    = seedPer100(currentSwimmer, StrokeType.BUTTERFLY, yards);
-        String im     = seedPer100(currentSwimmer, StrokeType.INDIVIDUAL_MEDLEY, yards);
-
-        String summary = String.format("Swimmer: %s   •  Seeds: Free %s, Back %s, Breast %s, Fly %s, IM %s",
-                name,
-                (free.isEmpty() ? "—" : free),
-                (back.isEmpty() ? "—" : back),
-                (breast.isEmpty() ? "—" : breast),
-                (fly.isEmpty() ? "—" : fly),
-                (im.isEmpty() ? "—" : im));
+        StringBuilder summary = new StringBuilder(96).append("Swimmer: ").append(name).append("   •  Seeds: ");
+        appendSeedPer100(summary.append("Free "), currentSwimmer, StrokeType.FREESTYLE, yards);
+        appendSeedPer100(summary.append(", Back "), currentSwimmer, StrokeType.BACKSTROKE, yards);
+        appendSeedPer100(summary.append(", Breast "), currentSwimmer, StrokeType.BREASTSTROKE, yards);
+        appendSeedPer100(summary.append(", Fly "), currentSwimmer, StrokeType.BUTTERFLY, yards);
+        appendSeedPer100(summary.append(", IM "), currentSwimmer, StrokeType.INDIVIDUAL_MEDLEY, yards);
 
-        lblSwimmer.setText(summary);
+        lblSwimmer.setText(summary.toString());
     }
 
-    private static String seedPer100(Swimmer s, StrokeType st, boolean yards) {
+    /** Appends the seed as time per 100 (e.g., "1:18" or "58s"), or "—" if the stroke has none. */
+    private static void appendSeedPer100(StringBuilder sb, Swimmer s, StrokeType st, boolean yards) {
         var sp = s.getSeedTime(st);
-        if (sp == null) return "";
+        double v = (sp == null) ? 0.0 : sp.speedMps();
+        if (!(v > 0)) { sb.append('—'); return; }
         double metersFor100 = yards ? Distance.ofYards(100).toMeters() : Distance.ofMeters(100).toMeters();
-        double v = sp.speedMps();
-        if (v <= 0) return "";
-        int secs = (int)Math.round(metersFor100 / v);
-        int m = secs / 60, sec = secs % 60;
-        return (m > 0) ? (m + ":" + String.format("%02d", sec)) : (sec + "s");
+        TimeFormat.appendCompact(sb, Math.round(metersFor100 / v));
     }
 
     private static String displayName(Swimmer s) {
@@ -9,6 +9,8 @@ import swimworkoutbuilder.model.enums.Course;
 import swimworkoutbuilder.model.enums.StrokeType;
 import swimworkoutbuilder.model.pacing.SeedPace;
 import swimworkoutbuilder.model.units.Distance;
+import swimworkoutbuilder.model.units.SwimTimeParser;
+import swimworkoutbuilder.model.units.TimeFormat;
 
 import java.util.EnumMap;
 import java.util.Map;
@@ -170,43 +172,16 @@ public class SeedFormController {
 
     // --- time parsing/formatting ---
 
-    /** Accepts "mm:ss", "m:ss.d", "ss", "ss.dd". Returns NaN if invalid. */
+    /** Accepts "mm:ss", "m:ss.d", "ss", "ss.dd". Returns NaN if invalid (or a no-time mark). */
     private static double parseTimeSeconds(String s) {
-        if (s == null || s.isBlank()) return Double.NaN;
-        s = s.trim();
-        int i = s.indexOf(':');
-        if (i >= 0) {
-            String m = s.substring(0, i).trim();
-            String sec = s.substring(i + 1).trim();
-            try {
-                int minutes = Integer.parseInt(m);
-                double seconds = Double.parseDouble(sec);
-                if (minutes < 0 || seconds < 0) return Double.NaN;
-                return minutes * 60.0 + seconds;
-            } catch (NumberFormatException ex) {
-                return Double.NaN;
-            }
-        }
-        try {
-            double seconds = Double.parseDouble(s);
-            return seconds >= 0 ? seconds : Double.NaN;
-        } catch (NumberFormatException ex) {
-            return Double.NaN;
-        }
+        if (s == null) return Double.NaN;
+        long ms = SwimTimeParser.parseMillis(s);
+        return SwimTimeParser.isTime(ms) ? ms / 1000.0 : Double.NaN;
     }
 
-    /** Nicely formats seconds into mm:ss(.d) or s(.d). */
+    /** Nicely formats seconds into mm:ss(.d) or s(.d), rounded to the tenth. */
     private static String formatSeconds(double secs) {
         if (!(secs > 0)) return "";
-        int whole = (int)Math.floor(secs);
-        int m = whole / 60;
-        int s = whole % 60;
-        double frac = secs - whole;
-        if (m > 0) {
-            if (frac >= 0.05) return String.format("%d:%02d.%1d", m, s, (int)Math.round(frac*10));
-            return String.format("%d:%02d", m, s);
-        }
-        if (frac >= 0.05) return String.format("%.1f", secs);
-        return Integer.toString(whole);
+        return TimeFormat.appendTenths(new StringBuilder(8), Math.round(secs * 10)).toString();
     }
 }
\ No newline at end of file
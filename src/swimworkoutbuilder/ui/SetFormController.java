@@ -7,6 +7,7 @@ import swimworkoutbuilder.model.SwimSet;
 import swimworkoutbuilder.model.enums.Course;
 import swimworkoutbuilder.model.enums.Effort;
 import swimworkoutbuilder.model.enums.Equipment;
+import swimworkoutbuilder.model.enums.RepPattern;
 import swimworkoutbuilder.model.enums.StrokeType;
 import swimworkoutbuilder.model.units.Distance;
 
@@ -34,6 +35,9 @@ public class SetFormController {
     @FXML private Spinner<Integer>      spDistance;
     @FXML private Label                 lblDistance;
     @FXML private CheckBox chkPullBuoy, chkPaddles, chkSnorkel, chkFins;
+    @FXML private ChoiceBox<RepPattern> cbPattern;
+    @FXML private Label                 lblRound;
+    @FXML private Spinner<Integer>      spRound;   // DESCEND round size; 0 = whole set
     @FXML private TextArea taNotes;
     @FXML private Button btnSave, btnCancel;
 
@@ -76,6 +80,14 @@ public class SetFormController {
         spDistance.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(25, 5000, 50, 25));
         spDistance.setEditable(true);
 
+        // Rep pattern (round size only applies to DESCEND)
+        cbPattern.getItems().setAll(RepPattern.values());
+        cbPattern.setValue(RepPattern.NONE);
+        spRound.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 999, 0));
+        spRound.setEditable(true);
+        lblRound.visibleProperty().bind(cbPattern.valueProperty().isEqualTo(RepPattern.DESCEND));
+        spRound.visibleProperty().bind(lblRound.visibleProperty());
+
         // Buttons keyboard-friendly
         btnSave.setDefaultButton(true);
         btnCancel.setCancelButton(true);
@@ -112,6 +124,10 @@ public class SetFormController {
         }
         spDistance.getValueFactory().setValue(Math.max(1, dist));
 
+        // Rep pattern
+        cbPattern.setValue(initial.getRepPattern());
+        spRound.getValueFactory().setValue(initial.getPatternRoundSize());
+
         // Notes
         taNotes.setText(initial.getNotes() == null ? "" : initial.getNotes());
 
@@ -153,6 +169,10 @@ public class SetFormController {
         if (chkFins.isSelected())     eq.add(Equipment.FINS);
         s.setEquipment(eq);
 
+        // Rep pattern
+        s.setRepPattern(cbPattern.getValue());
+        s.setPatternRoundSize(spRound.getValue() == null ? 0 : Math.max(0, spRound.getValue()));
+
         result = s;
         close();
     }
@@ -56,11 +56,8 @@ public class WorkoutEditorController {
 
         // Display totals in the workout’s display unit (yards for SCY, meters otherwise)
         boolean yards = (workout.getCourse() == Course.SCY);
-        long dist = 0L;
-        for (SetGroup g : workout.getGroups()) {
-            dist += (yards ? Math.round(g.totalDistance().toYards())
-                    : Math.round(g.totalDistance().toMeters()));
-        }
+        Distance total = workout.totalDistance();
+        long dist = yards ? Math.round(total.toYards()) : Math.round(total.toMeters());
         // Time totals are printed in WorkoutPrinter; here we keep it simple.
         lblTotals.setText(dist + (yards ? " yd" : " m"));
     }
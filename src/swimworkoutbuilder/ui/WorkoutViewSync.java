@@ -0,0 +1,299 @@
+package swimworkoutbuilder.ui;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+
+import swimworkoutbuilder.model.SetGroup;
+import swimworkoutbuilder.model.SwimSet;
+import swimworkoutbuilder.model.Workout;
+import swimworkoutbuilder.model.WorkoutChangeBatch;
+import swimworkoutbuilder.model.WorkoutEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the main window's workout tree and preview text in step with a {@link Workout}
+ * by patching only what changed.
+ *
+ * <p>The sync listens to the workout's {@link WorkoutEvent}s through a
+ * {@link WorkoutChangeBatch}. The first event of a burst schedules one flush with
+ * {@link Platform#runLater}, so everything a dialog or menu action edits lands in a single
+ * update after the handler returns. A flush then:</p>
+ * <ol>
+ *   <li>replays additions, removals, and moves on the existing {@link TreeItem}s;</li>
+ *   <li>redraws the cells of edited sets and groups, plus any set whose timing moved
+ *       (a set's reps change the fatigue of every later set), found by comparing a cheap
+ *       per-set timing key instead of re-rendering every row;</li>
+ *   <li>re-renders only the affected preview lines and splices them into the text area.</li>
+ * </ol>
+ *
+ * <h2>Design Notes</h2>
+ * <ul>
+ *   <li>Preview lines are cached per owner (workout header, group, set, group spacer).
+ *       Edits in place are spliced with {@link TextArea#replaceText}; structural changes
+ *       reassemble the text from the cache, rendering only new or renumbered lines.</li>
+ *   <li>Workout metadata changes (course switches every displayed distance) and very
+ *       large bursts fall back to a full rebuild.</li>
+ *   <li>FX thread only.</li>
+ * </ul>
+ */
+final class WorkoutViewSync {
+
+    /** Text and timing supplied by the controller (timing comes from its compiled plan). */
+    interface Renderer {
+        /** "Workout: …\nCourse: …\n\n" */
+        String headerLines(Workout w);
+        /** "1) Main x3 — notes\n" */
+        String groupLine(int number, SetGroup g);
+        /** "   2. 4x100yd FR @ 1:30 (goal 1:12), Endurance\n" */
+        String setLine(int number, SwimSet s);
+        /** Changes whenever the timing shown for {@code s} changes; read from the plan, no pacing math. */
+        long timingKey(SwimSet s);
+    }
+
+    /** Bursts with more structural events than this rebuild instead of patching. */
+    private static final int MAX_PATCH_EVENTS = 64;
+
+    private static final Object GROUP_END = new Object();   // owner of the blank line after a group
+
+    private final TreeView<Object> tree;
+    private final TextArea preview;
+    private final Renderer renderer;
+    private final Consumer<Object> redrawCell;
+    private final Runnable afterFlush;
+    private final WorkoutChangeBatch pending = new WorkoutChangeBatch(this::scheduleFlush);
+
+    private Workout workout;
+    private final Map<Object, TreeItem<Object>> items = new IdentityHashMap<>();
+    private final Map<SwimSet, Long> timingKeys = new IdentityHashMap<>();
+    private final List<Line> lines = new ArrayList<>();
+    private boolean flushScheduled;
+
+    /** One preview line (or block) and who it belongs to. */
+    private static final class Line {
+        final Object owner;
+        int number;
+        String text;
+        Line(Object owner, int number, String text) { this.owner = owner; this.number = number; this.text = text; }
+    }
+
+    /**
+     * @param redrawCell re-renders the visible cell showing a value, if any
+     * @param afterFlush runs after every flush (e.g., header totals)
+     */
+    WorkoutViewSync(TreeView<Object> tree, TextArea preview, Renderer renderer,
+                    Consumer<Object> redrawCell, Runnable afterFlush) {
+        this.tree = tree;
+        this.preview = preview;
+        this.renderer = renderer;
+        this.redrawCell = redrawCell;
+        this.afterFlush = afterFlush;
+    }
+
+    // ----------------------------------------------------------
+    // Binding
+    // ----------------------------------------------------------
+
+    /** Shows {@code w} (or nothing), rebuilding the tree and preview once. */
+    void bind(Workout w) {
+        if (workout != null) workout.removeChangeListener(pending);
+        workout = w;
+        pending.clear();
+        if (workout != null) workout.addChangeListener(pending);
+        rebuild();
+    }
+
+    /** Throws away every item and line and builds them again from the workout. */
+    void rebuild() {
+        pending.clear();
+        items.clear();
+        timingKeys.clear();
+        lines.clear();
+
+        TreeItem<Object> root = new TreeItem<>("ROOT");
+        if (workout != null) {
+            for (SetGroup g : workout.getGroups()) root.getChildren().add(groupItem(g));
+            for (SetGroup g : workout.getGroups()) {
+                for (SwimSet s : g.getSets()) timingKeys.put(s, renderer.timingKey(s));
+            }
+        }
+        tree.setRoot(root);
+        if (preview != null) preview.setText(assemble(Collections.emptySet()));
+        afterFlush.run();
+    }
+
+    /** Timing may have moved without a model event (seeds, pacing policy): redraw what changed. */
+    void refreshTiming() {
+        flush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        Platform.runLater(this::flush);
+    }
+
+    // ----------------------------------------------------------
+    // Flush
+    // ----------------------------------------------------------
+
+    private void flush() {
+        flushScheduled = false;
+        if (workout == null) { pending.clear(); return; }
+        if (pending.hasWorkoutChange() || pending.structuralEvents().size() > MAX_PATCH_EVENTS) {
+            rebuild();
+            return;
+        }
+
+        // 1) Structure
+        boolean structural = pending.hasStructuralChanges();
+        if (structural && !replayStructure()) { rebuild(); return; }
+
+        // 2) What needs redrawing: edits in place + timing that moved
+        Set<Object> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+        dirty.addAll(pending.changedSets());
+        dirty.addAll(pending.changedGroups());
+        Map<SwimSet, Long> keys = new IdentityHashMap<>();
+        for (SetGroup g : workout.getGroups()) {
+            for (SwimSet s : g.getSets()) {
+                long k = renderer.timingKey(s);
+                Long old = timingKeys.get(s);
+                if (old == null || old != k) dirty.add(s);
+                keys.put(s, k);
+            }
+        }
+        timingKeys.clear();
+        timingKeys.putAll(keys);
+        pending.clear();
+
+        for (Object o : dirty) {
+            if (items.containsKey(o)) redrawCell.accept(o);
+        }
+
+        // 3) Preview
+        if (preview != null) {
+            if (structural) preview.setText(assemble(dirty));
+            else spliceLines(dirty);
+        }
+        afterFlush.run();
+    }
+
+    /** Applies the batch's additions, removals, and moves to the tree; false if it no longer lines up. */
+    private boolean replayStructure() {
+        ObservableList<TreeItem<Object>> roots = tree.getRoot().getChildren();
+        // Groups added in this burst are built from their current sets; later set events for them are already included.
+        Set<SetGroup> fresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (WorkoutEvent e : pending.structuralEvents()) {
+                switch (e.getKind()) {
+                    case GROUP_ADDED -> {
+                        fresh.add(e.getGroup());
+                        roots.add(e.getToIndex(), groupItem(e.getGroup()));
+                    }
+                    case GROUP_REMOVED -> forget(roots.remove(e.getFromIndex()));
+                    case GROUP_MOVED -> roots.add(e.getToIndex(), roots.remove(e.getFromIndex()));
+                    case SET_ADDED, SET_REMOVED, SET_MOVED -> {
+                        if (fresh.contains(e.getGroup())) continue;
+                        TreeItem<Object> gItem = items.get(e.getGroup());
+                        if (gItem == null) return false;
+                        ObservableList<TreeItem<Object>> kids = gItem.getChildren();
+                        switch (e.getKind()) {
+                            case SET_ADDED   -> kids.add(e.getToIndex(), setItem(e.getSet()));
+                            case SET_REMOVED -> forget(kids.remove(e.getFromIndex()));
+                            default          -> kids.add(e.getToIndex(), kids.remove(e.getFromIndex()));
+                        }
+                    }
+                    default -> { }
+                }
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            return false;
+        }
+        return true;
+    }
+
+    // ----------------------------------------------------------
+    // Tree items
+    // ----------------------------------------------------------
+
+    private TreeItem<Object> groupItem(SetGroup g) {
+        TreeItem<Object> gItem = new TreeItem<>(g);
+        for (SwimSet s : g.getSets()) gItem.getChildren().add(setItem(s));
+        gItem.setExpanded(true);
+        items.put(g, gItem);
+        return gItem;
+    }
+
+    private TreeItem<Object> setItem(SwimSet s) {
+        TreeItem<Object> item = new TreeItem<>(s);
+        items.put(s, item);
+        return item;
+    }
+
+    private void forget(TreeItem<Object> item) {
+        items.remove(item.getValue(), item);
+        for (TreeItem<Object> child : item.getChildren()) items.remove(child.getValue(), child);
+    }
+
+    // ----------------------------------------------------------
+    // Preview lines
+    // ----------------------------------------------------------
+
+    /** Rebuilds the line list in workout order, reusing cached text for clean, same-numbered lines. */
+    private String assemble(Set<Object> dirty) {
+        Map<Object, Line> cached = new IdentityHashMap<>();
+        for (Line l : lines) if (l.owner != GROUP_END) cached.put(l.owner, l);
+        lines.clear();
+        if (workout == null) return "(no workout)";
+
+        lines.add(new Line(workout, 0, renderer.headerLines(workout)));
+        int gi = 1;
+        for (SetGroup g : workout.getGroups()) {
+            lines.add(line(cached, dirty, g, gi++));
+            int si = 1;
+            for (SwimSet s : g.getSets()) lines.add(line(cached, dirty, s, si++));
+            lines.add(new Line(GROUP_END, 0, "\n"));
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Line l : lines) sb.append(l.text);
+        return sb.toString();
+    }
+
+    private Line line(Map<Object, Line> cached, Set<Object> dirty, Object owner, int number) {
+        Line l = cached.remove(owner);
+        if (l != null && l.number == number && !dirty.contains(owner)) return l;
+        return new Line(owner, number, render(owner, number));
+    }
+
+    /** Edits in place: re-render the dirty lines and splice each into the text area. */
+    private void spliceLines(Set<Object> dirty) {
+        int offset = 0;
+        for (Line l : lines) {
+            int len = l.text.length();
+            if (l.owner != GROUP_END && l.owner != workout && dirty.contains(l.owner)) {
+                String text = render(l.owner, l.number);
+                if (!text.equals(l.text)) {
+                    preview.replaceText(offset, offset + len, text);
+                    l.text = text;
+                    len = text.length();
+                }
+            }
+            offset += len;
+        }
+    }
+
+    private String render(Object owner, int number) {
+        return (owner instanceof SetGroup g)
+                ? renderer.groupLine(number, g)
+                : renderer.setLine(number, (SwimSet) owner);
+    }
+}